@@ -15,7 +15,7 @@ public class AssemblyDefBuilder : IBuilder<ast.AssemblyDef>
     private ast.Visibility _Visibility;
     private ast_model.Symbols.IScope _EnclosingScope;
     private ast_model.Symbols.ISymbolTable _SymbolTable;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.AssemblyDef Build()
     {
@@ -87,7 +87,7 @@ public class AssemblyDefBuilder : IBuilder<ast.AssemblyDef>
         return this;
     }
 
-    public AssemblyDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public AssemblyDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -102,7 +102,7 @@ public class ModuleDefBuilder : IBuilder<ast.ModuleDef>
     private ast.Visibility _Visibility;
     private ast_model.Symbols.IScope _EnclosingScope;
     private ast_model.Symbols.ISymbolTable _SymbolTable;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ModuleDef Build()
     {
@@ -162,7 +162,7 @@ public class ModuleDefBuilder : IBuilder<ast.ModuleDef>
         return this;
     }
 
-    public ModuleDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ModuleDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -173,7 +173,7 @@ public class TypeParameterDefBuilder : IBuilder<ast.TypeParameterDef>
     private ast.TypeParameterName _Name;
     private List<ast.TypeConstraint> _Constraints = [];
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.TypeParameterDef Build()
     {
@@ -204,7 +204,7 @@ public class TypeParameterDefBuilder : IBuilder<ast.TypeParameterDef>
         return this;
     }
 
-    public TypeParameterDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public TypeParameterDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -213,7 +213,7 @@ public class TypeParameterDefBuilder : IBuilder<ast.TypeParameterDef>
 public class InterfaceConstraintBuilder : IBuilder<ast.InterfaceConstraint>
 {
     private ast_model.TypeSystem.TypeName _InterfaceName;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.InterfaceConstraint Build()
     {
@@ -227,7 +227,7 @@ public class InterfaceConstraintBuilder : IBuilder<ast.InterfaceConstraint>
         return this;
     }
 
-    public InterfaceConstraintBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public InterfaceConstraintBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -236,7 +236,7 @@ public class InterfaceConstraintBuilder : IBuilder<ast.InterfaceConstraint>
 public class BaseClassConstraintBuilder : IBuilder<ast.BaseClassConstraint>
 {
     private ast_model.TypeSystem.TypeName _BaseClassName;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.BaseClassConstraint Build()
     {
@@ -250,7 +250,7 @@ public class BaseClassConstraintBuilder : IBuilder<ast.BaseClassConstraint>
         return this;
     }
 
-    public BaseClassConstraintBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public BaseClassConstraintBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -258,7 +258,7 @@ public class BaseClassConstraintBuilder : IBuilder<ast.BaseClassConstraint>
 }
 public class ConstructorConstraintBuilder : IBuilder<ast.ConstructorConstraint>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ConstructorConstraint Build()
     {
@@ -266,7 +266,7 @@ public class ConstructorConstraintBuilder : IBuilder<ast.ConstructorConstraint>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public ConstructorConstraintBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ConstructorConstraintBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -284,7 +284,7 @@ public class FunctionDefBuilder : IBuilder<ast.FunctionDef>
     private ast.Visibility _Visibility;
     private ast_model.Symbols.IScope _EnclosingScope;
     private ast_model.Symbols.ISymbolTable _SymbolTable;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.FunctionDef Build()
     {
@@ -362,7 +362,7 @@ public class FunctionDefBuilder : IBuilder<ast.FunctionDef>
         return this;
     }
 
-    public FunctionDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public FunctionDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -373,7 +373,7 @@ public class FunctorDefBuilder : IBuilder<ast.FunctorDef>
     private ast.FunctionDef _InvocationFuncDev;
     private ast_model.Symbols.IScope _EnclosingScope;
     private ast_model.Symbols.ISymbolTable _SymbolTable;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.FunctorDef Build()
     {
@@ -399,7 +399,7 @@ public class FunctorDefBuilder : IBuilder<ast.FunctorDef>
         return this;
     }
 
-    public FunctorDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public FunctorDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -413,7 +413,7 @@ public class FieldDefBuilder : IBuilder<ast.FieldDef>
     private ast.CollectionType _CollectionType;
     private System.Boolean _IsReadOnly;
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.FieldDef Build()
     {
@@ -457,7 +457,7 @@ public class FieldDefBuilder : IBuilder<ast.FieldDef>
         return this;
     }
 
-    public FieldDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public FieldDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -476,7 +476,7 @@ public class PropertyDefBuilder : IBuilder<ast.PropertyDef>
     private ast.CollectionType _CollectionType;
     private System.Boolean _IsReadOnly;
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.PropertyDef Build()
     {
@@ -550,7 +550,7 @@ public class PropertyDefBuilder : IBuilder<ast.PropertyDef>
         return this;
     }
 
-    public PropertyDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public PropertyDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -563,7 +563,7 @@ public class MethodDefBuilder : IBuilder<ast.MethodDef>
     private ast.CollectionType _CollectionType;
     private System.Boolean _IsReadOnly;
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.MethodDef Build()
     {
@@ -601,7 +601,7 @@ public class MethodDefBuilder : IBuilder<ast.MethodDef>
         return this;
     }
 
-    public MethodDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public MethodDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -616,7 +616,7 @@ public class OverloadedFunctionDefinitionBuilder : IBuilder<ast.OverloadedFuncti
     private ast.CollectionType _CollectionType;
     private System.Boolean _IsReadOnly;
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.OverloadedFunctionDefinition Build()
     {
@@ -671,7 +671,7 @@ public class OverloadedFunctionDefinitionBuilder : IBuilder<ast.OverloadedFuncti
         return this;
     }
 
-    public OverloadedFunctionDefinitionBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public OverloadedFunctionDefinitionBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -690,7 +690,7 @@ public class OverloadedFunctionDefBuilder : IBuilder<ast.OverloadedFunctionDef>
     private ast.Visibility _Visibility;
     private ast_model.Symbols.IScope _EnclosingScope;
     private ast_model.Symbols.ISymbolTable _SymbolTable;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.OverloadedFunctionDef Build()
     {
@@ -774,7 +774,7 @@ public class OverloadedFunctionDefBuilder : IBuilder<ast.OverloadedFunctionDef>
         return this;
     }
 
-    public OverloadedFunctionDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public OverloadedFunctionDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -785,7 +785,7 @@ public class InferenceRuleDefBuilder : IBuilder<ast.InferenceRuleDef>
     private ast.Expression _Antecedent;
     private ast.KnowledgeManagementBlock _Consequent;
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.InferenceRuleDef Build()
     {
@@ -811,7 +811,7 @@ public class InferenceRuleDefBuilder : IBuilder<ast.InferenceRuleDef>
         return this;
     }
 
-    public InferenceRuleDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public InferenceRuleDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -825,7 +825,7 @@ public class ParamDefBuilder : IBuilder<ast.ParamDef>
     private ast.Expression _ParameterConstraint;
     private ast.ParamDestructureDef _DestructureDef;
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ParamDef Build()
     {
@@ -869,7 +869,7 @@ public class ParamDefBuilder : IBuilder<ast.ParamDef>
         return this;
     }
 
-    public ParamDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ParamDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -879,7 +879,7 @@ public class ParamDestructureDefBuilder : IBuilder<ast.ParamDestructureDef>
 {
     private List<ast.PropertyBindingDef> _Bindings = [];
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ParamDestructureDef Build()
     {
@@ -904,7 +904,7 @@ public class ParamDestructureDefBuilder : IBuilder<ast.ParamDestructureDef>
         return this;
     }
 
-    public ParamDestructureDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ParamDestructureDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -916,7 +916,7 @@ public class PropertyBindingDefBuilder : IBuilder<ast.PropertyBindingDef>
     private ast.MemberName _ReferencedPropertyName;
     private ast.ParamDestructureDef _DestructureDef;
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.PropertyBindingDef Build()
     {
@@ -948,7 +948,7 @@ public class PropertyBindingDefBuilder : IBuilder<ast.PropertyBindingDef>
         return this;
     }
 
-    public PropertyBindingDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public PropertyBindingDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -957,7 +957,7 @@ public class PropertyBindingDefBuilder : IBuilder<ast.PropertyBindingDef>
 public class TypeDefBuilder : IBuilder<ast.TypeDef>
 {
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.TypeDef Build()
     {
@@ -971,7 +971,7 @@ public class TypeDefBuilder : IBuilder<ast.TypeDef>
         return this;
     }
 
-    public TypeDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public TypeDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -987,7 +987,7 @@ public class ClassDefBuilder : IBuilder<ast.ClassDef>
     private ast.Visibility _Visibility;
     private ast_model.Symbols.IScope _EnclosingScope;
     private ast_model.Symbols.ISymbolTable _SymbolTable;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ClassDef Build()
     {
@@ -1058,7 +1058,7 @@ public class ClassDefBuilder : IBuilder<ast.ClassDef>
         return this;
     }
 
-    public ClassDefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ClassDefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1070,7 +1070,7 @@ public class VariableDeclBuilder : IBuilder<ast.VariableDecl>
     private ast_model.TypeSystem.TypeName _TypeName;
     private ast.CollectionType _CollectionType;
     private ast.Visibility _Visibility;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.VariableDecl Build()
     {
@@ -1102,7 +1102,7 @@ public class VariableDeclBuilder : IBuilder<ast.VariableDecl>
         return this;
     }
 
-    public VariableDeclBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public VariableDeclBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1112,7 +1112,7 @@ public class AssemblyRefBuilder : IBuilder<ast.AssemblyRef>
 {
     private System.String _PublicKeyToken;
     private System.String _Version;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.AssemblyRef Build()
     {
@@ -1132,7 +1132,7 @@ public class AssemblyRefBuilder : IBuilder<ast.AssemblyRef>
         return this;
     }
 
-    public AssemblyRefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public AssemblyRefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1141,7 +1141,7 @@ public class AssemblyRefBuilder : IBuilder<ast.AssemblyRef>
 public class MemberRefBuilder : IBuilder<ast.MemberRef>
 {
     private ast.MemberDef _Member;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.MemberRef Build()
     {
@@ -1155,7 +1155,7 @@ public class MemberRefBuilder : IBuilder<ast.MemberRef>
         return this;
     }
 
-    public MemberRefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public MemberRefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1164,7 +1164,7 @@ public class MemberRefBuilder : IBuilder<ast.MemberRef>
 public class PropertyRefBuilder : IBuilder<ast.PropertyRef>
 {
     private ast.PropertyDef _Property;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.PropertyRef Build()
     {
@@ -1178,7 +1178,7 @@ public class PropertyRefBuilder : IBuilder<ast.PropertyRef>
         return this;
     }
 
-    public PropertyRefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public PropertyRefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1186,7 +1186,7 @@ public class PropertyRefBuilder : IBuilder<ast.PropertyRef>
 }
 public class TypeRefBuilder : IBuilder<ast.TypeRef>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.TypeRef Build()
     {
@@ -1194,7 +1194,7 @@ public class TypeRefBuilder : IBuilder<ast.TypeRef>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public TypeRefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public TypeRefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1203,7 +1203,7 @@ public class TypeRefBuilder : IBuilder<ast.TypeRef>
 public class VarRefBuilder : IBuilder<ast.VarRef>
 {
     private ast.MemberName _ReferencedVariableName;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.VarRef Build()
     {
@@ -1217,7 +1217,7 @@ public class VarRefBuilder : IBuilder<ast.VarRef>
         return this;
     }
 
-    public VarRefBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public VarRefBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1226,7 +1226,7 @@ public class VarRefBuilder : IBuilder<ast.VarRef>
 public class GraphNamespaceAliasBuilder : IBuilder<ast.GraphNamespaceAlias>
 {
     private System.Uri _Uri;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.GraphNamespaceAlias Build()
     {
@@ -1240,7 +1240,7 @@ public class GraphNamespaceAliasBuilder : IBuilder<ast.GraphNamespaceAlias>
         return this;
     }
 
-    public GraphNamespaceAliasBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public GraphNamespaceAliasBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1250,7 +1250,7 @@ public class AssignmentStatementBuilder : IBuilder<ast.AssignmentStatement>
 {
     private ast.Expression _LValue;
     private ast.Expression _RValue;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.AssignmentStatement Build()
     {
@@ -1270,7 +1270,7 @@ public class AssignmentStatementBuilder : IBuilder<ast.AssignmentStatement>
         return this;
     }
 
-    public AssignmentStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public AssignmentStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1279,7 +1279,7 @@ public class AssignmentStatementBuilder : IBuilder<ast.AssignmentStatement>
 public class BlockStatementBuilder : IBuilder<ast.BlockStatement>
 {
     private List<ast.Statement> _Statements = [];
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.BlockStatement Build()
     {
@@ -1298,7 +1298,7 @@ public class BlockStatementBuilder : IBuilder<ast.BlockStatement>
         _Statements.Add(value);
         return this;
     }
-    public BlockStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public BlockStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1307,7 +1307,7 @@ public class BlockStatementBuilder : IBuilder<ast.BlockStatement>
 public class KnowledgeManagementBlockBuilder : IBuilder<ast.KnowledgeManagementBlock>
 {
     private List<ast.KnowledgeManagementStatement> _Statements = [];
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.KnowledgeManagementBlock Build()
     {
@@ -1326,7 +1326,7 @@ public class KnowledgeManagementBlockBuilder : IBuilder<ast.KnowledgeManagementB
         _Statements.Add(value);
         return this;
     }
-    public KnowledgeManagementBlockBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public KnowledgeManagementBlockBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1335,7 +1335,7 @@ public class KnowledgeManagementBlockBuilder : IBuilder<ast.KnowledgeManagementB
 public class ExpStatementBuilder : IBuilder<ast.ExpStatement>
 {
     private ast.Expression _RHS;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ExpStatement Build()
     {
@@ -1349,7 +1349,7 @@ public class ExpStatementBuilder : IBuilder<ast.ExpStatement>
         return this;
     }
 
-    public ExpStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ExpStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1357,7 +1357,7 @@ public class ExpStatementBuilder : IBuilder<ast.ExpStatement>
 }
 public class EmptyStatementBuilder : IBuilder<ast.EmptyStatement>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.EmptyStatement Build()
     {
@@ -1365,7 +1365,7 @@ public class EmptyStatementBuilder : IBuilder<ast.EmptyStatement>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public EmptyStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public EmptyStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1378,7 +1378,7 @@ public class ForStatementBuilder : IBuilder<ast.ForStatement>
     private ast.Expression _IncrementExpression;
     private ast.VariableDecl _LoopVariable;
     private ast.BlockStatement _Body;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ForStatement Build()
     {
@@ -1416,7 +1416,7 @@ public class ForStatementBuilder : IBuilder<ast.ForStatement>
         return this;
     }
 
-    public ForStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ForStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1427,7 +1427,7 @@ public class ForeachStatementBuilder : IBuilder<ast.ForeachStatement>
     private ast.Expression _Collection;
     private ast.VariableDecl _LoopVariable;
     private ast.BlockStatement _Body;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ForeachStatement Build()
     {
@@ -1453,7 +1453,7 @@ public class ForeachStatementBuilder : IBuilder<ast.ForeachStatement>
         return this;
     }
 
-    public ForeachStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ForeachStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1462,7 +1462,7 @@ public class ForeachStatementBuilder : IBuilder<ast.ForeachStatement>
 public class GuardStatementBuilder : IBuilder<ast.GuardStatement>
 {
     private ast.Expression _Condition;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.GuardStatement Build()
     {
@@ -1476,7 +1476,7 @@ public class GuardStatementBuilder : IBuilder<ast.GuardStatement>
         return this;
     }
 
-    public GuardStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public GuardStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1487,7 +1487,7 @@ public class IfElseStatementBuilder : IBuilder<ast.IfElseStatement>
     private ast.Expression _Condition;
     private ast.BlockStatement _ThenBlock;
     private ast.BlockStatement _ElseBlock;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.IfElseStatement Build()
     {
@@ -1513,7 +1513,7 @@ public class IfElseStatementBuilder : IBuilder<ast.IfElseStatement>
         return this;
     }
 
-    public IfElseStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public IfElseStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1522,7 +1522,7 @@ public class IfElseStatementBuilder : IBuilder<ast.IfElseStatement>
 public class ReturnStatementBuilder : IBuilder<ast.ReturnStatement>
 {
     private ast.Expression _ReturnValue;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ReturnStatement Build()
     {
@@ -1536,7 +1536,7 @@ public class ReturnStatementBuilder : IBuilder<ast.ReturnStatement>
         return this;
     }
 
-    public ReturnStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ReturnStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1546,7 +1546,7 @@ public class VarDeclStatementBuilder : IBuilder<ast.VarDeclStatement>
 {
     private ast.VariableDecl _VariableDecl;
     private ast.Expression _InitialValue;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.VarDeclStatement Build()
     {
@@ -1566,7 +1566,7 @@ public class VarDeclStatementBuilder : IBuilder<ast.VarDeclStatement>
         return this;
     }
 
-    public VarDeclStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public VarDeclStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1576,7 +1576,7 @@ public class WhileStatementBuilder : IBuilder<ast.WhileStatement>
 {
     private ast.Expression _Condition;
     private ast.BlockStatement _Body;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.WhileStatement Build()
     {
@@ -1596,7 +1596,7 @@ public class WhileStatementBuilder : IBuilder<ast.WhileStatement>
         return this;
     }
 
-    public WhileStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public WhileStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1606,7 +1606,7 @@ public class TryStatementBuilder : IBuilder<ast.TryStatement>
 {
     private ast.BlockStatement _TryBlock;
     private List<ast.CatchClause> _CatchClauses = [];
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.TryStatement Build()
     {
@@ -1631,7 +1631,7 @@ public class TryStatementBuilder : IBuilder<ast.TryStatement>
         _CatchClauses.Add(value);
         return this;
     }
-    public TryStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public TryStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1640,7 +1640,7 @@ public class TryStatementBuilder : IBuilder<ast.TryStatement>
 public class CatchClauseBuilder : IBuilder<ast.CatchClause>
 {
     private ast.BlockStatement _Body;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.CatchClause Build()
     {
@@ -1654,7 +1654,7 @@ public class CatchClauseBuilder : IBuilder<ast.CatchClause>
         return this;
     }
 
-    public CatchClauseBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public CatchClauseBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1662,7 +1662,7 @@ public class CatchClauseBuilder : IBuilder<ast.CatchClause>
 }
 public class ThrowStatementBuilder : IBuilder<ast.ThrowStatement>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ThrowStatement Build()
     {
@@ -1670,7 +1670,7 @@ public class ThrowStatementBuilder : IBuilder<ast.ThrowStatement>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public ThrowStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ThrowStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1682,7 +1682,7 @@ public class AssertionStatementBuilder : IBuilder<ast.AssertionStatement>
     private ast.AssertionSubject _AssertionSubject;
     private ast.AssertionPredicate _AssertionPredicate;
     private ast.AssertionObject _AssertionObject;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.AssertionStatement Build()
     {
@@ -1714,7 +1714,7 @@ public class AssertionStatementBuilder : IBuilder<ast.AssertionStatement>
         return this;
     }
 
-    public AssertionStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public AssertionStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1722,7 +1722,7 @@ public class AssertionStatementBuilder : IBuilder<ast.AssertionStatement>
 }
 public class AssertionObjectBuilder : IBuilder<ast.AssertionObject>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.AssertionObject Build()
     {
@@ -1730,7 +1730,7 @@ public class AssertionObjectBuilder : IBuilder<ast.AssertionObject>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public AssertionObjectBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public AssertionObjectBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1738,7 +1738,7 @@ public class AssertionObjectBuilder : IBuilder<ast.AssertionObject>
 }
 public class AssertionPredicateBuilder : IBuilder<ast.AssertionPredicate>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.AssertionPredicate Build()
     {
@@ -1746,7 +1746,7 @@ public class AssertionPredicateBuilder : IBuilder<ast.AssertionPredicate>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public AssertionPredicateBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public AssertionPredicateBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1754,7 +1754,7 @@ public class AssertionPredicateBuilder : IBuilder<ast.AssertionPredicate>
 }
 public class AssertionSubjectBuilder : IBuilder<ast.AssertionSubject>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.AssertionSubject Build()
     {
@@ -1762,7 +1762,7 @@ public class AssertionSubjectBuilder : IBuilder<ast.AssertionSubject>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public AssertionSubjectBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public AssertionSubjectBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1770,7 +1770,7 @@ public class AssertionSubjectBuilder : IBuilder<ast.AssertionSubject>
 }
 public class RetractionStatementBuilder : IBuilder<ast.RetractionStatement>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.RetractionStatement Build()
     {
@@ -1778,7 +1778,7 @@ public class RetractionStatementBuilder : IBuilder<ast.RetractionStatement>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public RetractionStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public RetractionStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1786,7 +1786,7 @@ public class RetractionStatementBuilder : IBuilder<ast.RetractionStatement>
 }
 public class WithScopeStatementBuilder : IBuilder<ast.WithScopeStatement>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.WithScopeStatement Build()
     {
@@ -1794,7 +1794,7 @@ public class WithScopeStatementBuilder : IBuilder<ast.WithScopeStatement>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public WithScopeStatementBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public WithScopeStatementBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1805,7 +1805,7 @@ public class BinaryExpBuilder : IBuilder<ast.BinaryExp>
     private ast.Expression _LHS;
     private ast.Operator _Operator;
     private ast.Expression _RHS;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.BinaryExp Build()
     {
@@ -1831,7 +1831,7 @@ public class BinaryExpBuilder : IBuilder<ast.BinaryExp>
         return this;
     }
 
-    public BinaryExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public BinaryExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1840,7 +1840,7 @@ public class BinaryExpBuilder : IBuilder<ast.BinaryExp>
 public class CastExpBuilder : IBuilder<ast.CastExp>
 {
     private ast_model.TypeSystem.FifthType _TargetType;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.CastExp Build()
     {
@@ -1854,7 +1854,7 @@ public class CastExpBuilder : IBuilder<ast.CastExp>
         return this;
     }
 
-    public CastExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public CastExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1862,7 +1862,7 @@ public class CastExpBuilder : IBuilder<ast.CastExp>
 }
 public class LambdaExpBuilder : IBuilder<ast.LambdaExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.LambdaExp Build()
     {
@@ -1870,7 +1870,7 @@ public class LambdaExpBuilder : IBuilder<ast.LambdaExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public LambdaExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public LambdaExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1878,7 +1878,7 @@ public class LambdaExpBuilder : IBuilder<ast.LambdaExp>
 }
 public class FuncCallExpBuilder : IBuilder<ast.FuncCallExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.FuncCallExp Build()
     {
@@ -1886,7 +1886,7 @@ public class FuncCallExpBuilder : IBuilder<ast.FuncCallExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public FuncCallExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public FuncCallExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1895,7 +1895,7 @@ public class FuncCallExpBuilder : IBuilder<ast.FuncCallExp>
 public class BaseConstructorCallBuilder : IBuilder<ast.BaseConstructorCall>
 {
     private List<ast.Expression> _Arguments = [];
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.BaseConstructorCall Build()
     {
@@ -1914,7 +1914,7 @@ public class BaseConstructorCallBuilder : IBuilder<ast.BaseConstructorCall>
         _Arguments.Add(value);
         return this;
     }
-    public BaseConstructorCallBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public BaseConstructorCallBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1922,7 +1922,7 @@ public class BaseConstructorCallBuilder : IBuilder<ast.BaseConstructorCall>
 }
 public class Int8LiteralExpBuilder : IBuilder<ast.Int8LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Int8LiteralExp Build()
     {
@@ -1930,7 +1930,7 @@ public class Int8LiteralExpBuilder : IBuilder<ast.Int8LiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public Int8LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public Int8LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1938,7 +1938,7 @@ public class Int8LiteralExpBuilder : IBuilder<ast.Int8LiteralExp>
 }
 public class Int16LiteralExpBuilder : IBuilder<ast.Int16LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Int16LiteralExp Build()
     {
@@ -1946,7 +1946,7 @@ public class Int16LiteralExpBuilder : IBuilder<ast.Int16LiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public Int16LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public Int16LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1954,7 +1954,7 @@ public class Int16LiteralExpBuilder : IBuilder<ast.Int16LiteralExp>
 }
 public class Int32LiteralExpBuilder : IBuilder<ast.Int32LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Int32LiteralExp Build()
     {
@@ -1962,7 +1962,7 @@ public class Int32LiteralExpBuilder : IBuilder<ast.Int32LiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public Int32LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public Int32LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1970,7 +1970,7 @@ public class Int32LiteralExpBuilder : IBuilder<ast.Int32LiteralExp>
 }
 public class Int64LiteralExpBuilder : IBuilder<ast.Int64LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Int64LiteralExp Build()
     {
@@ -1978,7 +1978,7 @@ public class Int64LiteralExpBuilder : IBuilder<ast.Int64LiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public Int64LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public Int64LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -1986,7 +1986,7 @@ public class Int64LiteralExpBuilder : IBuilder<ast.Int64LiteralExp>
 }
 public class UnsignedInt8LiteralExpBuilder : IBuilder<ast.UnsignedInt8LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.UnsignedInt8LiteralExp Build()
     {
@@ -1994,7 +1994,7 @@ public class UnsignedInt8LiteralExpBuilder : IBuilder<ast.UnsignedInt8LiteralExp
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public UnsignedInt8LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public UnsignedInt8LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2002,7 +2002,7 @@ public class UnsignedInt8LiteralExpBuilder : IBuilder<ast.UnsignedInt8LiteralExp
 }
 public class UnsignedInt16LiteralExpBuilder : IBuilder<ast.UnsignedInt16LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.UnsignedInt16LiteralExp Build()
     {
@@ -2010,7 +2010,7 @@ public class UnsignedInt16LiteralExpBuilder : IBuilder<ast.UnsignedInt16LiteralE
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public UnsignedInt16LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public UnsignedInt16LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2018,7 +2018,7 @@ public class UnsignedInt16LiteralExpBuilder : IBuilder<ast.UnsignedInt16LiteralE
 }
 public class UnsignedInt32LiteralExpBuilder : IBuilder<ast.UnsignedInt32LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.UnsignedInt32LiteralExp Build()
     {
@@ -2026,7 +2026,7 @@ public class UnsignedInt32LiteralExpBuilder : IBuilder<ast.UnsignedInt32LiteralE
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public UnsignedInt32LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public UnsignedInt32LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2034,7 +2034,7 @@ public class UnsignedInt32LiteralExpBuilder : IBuilder<ast.UnsignedInt32LiteralE
 }
 public class UnsignedInt64LiteralExpBuilder : IBuilder<ast.UnsignedInt64LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.UnsignedInt64LiteralExp Build()
     {
@@ -2042,7 +2042,7 @@ public class UnsignedInt64LiteralExpBuilder : IBuilder<ast.UnsignedInt64LiteralE
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public UnsignedInt64LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public UnsignedInt64LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2050,7 +2050,7 @@ public class UnsignedInt64LiteralExpBuilder : IBuilder<ast.UnsignedInt64LiteralE
 }
 public class Float4LiteralExpBuilder : IBuilder<ast.Float4LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Float4LiteralExp Build()
     {
@@ -2058,7 +2058,7 @@ public class Float4LiteralExpBuilder : IBuilder<ast.Float4LiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public Float4LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public Float4LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2066,7 +2066,7 @@ public class Float4LiteralExpBuilder : IBuilder<ast.Float4LiteralExp>
 }
 public class Float8LiteralExpBuilder : IBuilder<ast.Float8LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Float8LiteralExp Build()
     {
@@ -2074,7 +2074,7 @@ public class Float8LiteralExpBuilder : IBuilder<ast.Float8LiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public Float8LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public Float8LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2082,7 +2082,7 @@ public class Float8LiteralExpBuilder : IBuilder<ast.Float8LiteralExp>
 }
 public class Float16LiteralExpBuilder : IBuilder<ast.Float16LiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Float16LiteralExp Build()
     {
@@ -2090,7 +2090,7 @@ public class Float16LiteralExpBuilder : IBuilder<ast.Float16LiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public Float16LiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public Float16LiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2098,7 +2098,7 @@ public class Float16LiteralExpBuilder : IBuilder<ast.Float16LiteralExp>
 }
 public class BooleanLiteralExpBuilder : IBuilder<ast.BooleanLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.BooleanLiteralExp Build()
     {
@@ -2106,7 +2106,7 @@ public class BooleanLiteralExpBuilder : IBuilder<ast.BooleanLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public BooleanLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public BooleanLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2114,7 +2114,7 @@ public class BooleanLiteralExpBuilder : IBuilder<ast.BooleanLiteralExp>
 }
 public class CharLiteralExpBuilder : IBuilder<ast.CharLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.CharLiteralExp Build()
     {
@@ -2122,7 +2122,7 @@ public class CharLiteralExpBuilder : IBuilder<ast.CharLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public CharLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public CharLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2130,7 +2130,7 @@ public class CharLiteralExpBuilder : IBuilder<ast.CharLiteralExp>
 }
 public class StringLiteralExpBuilder : IBuilder<ast.StringLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.StringLiteralExp Build()
     {
@@ -2138,7 +2138,7 @@ public class StringLiteralExpBuilder : IBuilder<ast.StringLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public StringLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public StringLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2146,7 +2146,7 @@ public class StringLiteralExpBuilder : IBuilder<ast.StringLiteralExp>
 }
 public class DateLiteralExpBuilder : IBuilder<ast.DateLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.DateLiteralExp Build()
     {
@@ -2154,7 +2154,7 @@ public class DateLiteralExpBuilder : IBuilder<ast.DateLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public DateLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public DateLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2162,7 +2162,7 @@ public class DateLiteralExpBuilder : IBuilder<ast.DateLiteralExp>
 }
 public class TimeLiteralExpBuilder : IBuilder<ast.TimeLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.TimeLiteralExp Build()
     {
@@ -2170,7 +2170,7 @@ public class TimeLiteralExpBuilder : IBuilder<ast.TimeLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public TimeLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public TimeLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2178,7 +2178,7 @@ public class TimeLiteralExpBuilder : IBuilder<ast.TimeLiteralExp>
 }
 public class DateTimeLiteralExpBuilder : IBuilder<ast.DateTimeLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.DateTimeLiteralExp Build()
     {
@@ -2186,7 +2186,7 @@ public class DateTimeLiteralExpBuilder : IBuilder<ast.DateTimeLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public DateTimeLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public DateTimeLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2194,7 +2194,7 @@ public class DateTimeLiteralExpBuilder : IBuilder<ast.DateTimeLiteralExp>
 }
 public class DurationLiteralExpBuilder : IBuilder<ast.DurationLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.DurationLiteralExp Build()
     {
@@ -2202,7 +2202,7 @@ public class DurationLiteralExpBuilder : IBuilder<ast.DurationLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public DurationLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public DurationLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2210,7 +2210,7 @@ public class DurationLiteralExpBuilder : IBuilder<ast.DurationLiteralExp>
 }
 public class UriLiteralExpBuilder : IBuilder<ast.UriLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.UriLiteralExp Build()
     {
@@ -2218,7 +2218,7 @@ public class UriLiteralExpBuilder : IBuilder<ast.UriLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public UriLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public UriLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2226,7 +2226,7 @@ public class UriLiteralExpBuilder : IBuilder<ast.UriLiteralExp>
 }
 public class AtomLiteralExpBuilder : IBuilder<ast.AtomLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.AtomLiteralExp Build()
     {
@@ -2234,7 +2234,7 @@ public class AtomLiteralExpBuilder : IBuilder<ast.AtomLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public AtomLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public AtomLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2243,7 +2243,7 @@ public class AtomLiteralExpBuilder : IBuilder<ast.AtomLiteralExp>
 public class TriGLiteralExpressionBuilder : IBuilder<ast.TriGLiteralExpression>
 {
     private System.String _Content;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.TriGLiteralExpression Build()
     {
@@ -2257,7 +2257,7 @@ public class TriGLiteralExpressionBuilder : IBuilder<ast.TriGLiteralExpression>
         return this;
     }
 
-    public TriGLiteralExpressionBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public TriGLiteralExpressionBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2266,7 +2266,7 @@ public class TriGLiteralExpressionBuilder : IBuilder<ast.TriGLiteralExpression>
 public class InterpolatedExpressionBuilder : IBuilder<ast.InterpolatedExpression>
 {
     private ast.Expression _Expression;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.InterpolatedExpression Build()
     {
@@ -2280,7 +2280,7 @@ public class InterpolatedExpressionBuilder : IBuilder<ast.InterpolatedExpression
         return this;
     }
 
-    public InterpolatedExpressionBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public InterpolatedExpressionBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2291,7 +2291,7 @@ public class SparqlLiteralExpressionBuilder : IBuilder<ast.SparqlLiteralExpressi
     private System.String _SparqlText;
     private List<ast.VariableBinding> _Bindings = [];
     private List<ast.Interpolation> _Interpolations = [];
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.SparqlLiteralExpression Build()
     {
@@ -2327,7 +2327,7 @@ public class SparqlLiteralExpressionBuilder : IBuilder<ast.SparqlLiteralExpressi
         _Interpolations.Add(value);
         return this;
     }
-    public SparqlLiteralExpressionBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public SparqlLiteralExpressionBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2338,7 +2338,7 @@ public class VariableBindingBuilder : IBuilder<ast.VariableBinding>
     private System.String _Name;
     private System.Int32 _PositionInLiteral;
     private System.Int32 _Length;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.VariableBinding Build()
     {
@@ -2364,7 +2364,7 @@ public class VariableBindingBuilder : IBuilder<ast.VariableBinding>
         return this;
     }
 
-    public VariableBindingBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public VariableBindingBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2375,7 +2375,7 @@ public class InterpolationBuilder : IBuilder<ast.Interpolation>
     private System.Int32 _Position;
     private System.Int32 _Length;
     private ast.Expression _Expression;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Interpolation Build()
     {
@@ -2401,7 +2401,7 @@ public class InterpolationBuilder : IBuilder<ast.Interpolation>
         return this;
     }
 
-    public InterpolationBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public InterpolationBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2411,7 +2411,7 @@ public class QueryApplicationExpBuilder : IBuilder<ast.QueryApplicationExp>
 {
     private ast.Expression _Query;
     private ast.Expression _Store;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.QueryApplicationExp Build()
     {
@@ -2431,7 +2431,7 @@ public class QueryApplicationExpBuilder : IBuilder<ast.QueryApplicationExp>
         return this;
     }
 
-    public QueryApplicationExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public QueryApplicationExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2441,7 +2441,7 @@ public class MemberAccessExpBuilder : IBuilder<ast.MemberAccessExp>
 {
     private ast.Expression _LHS;
     private ast.Expression _RHS;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.MemberAccessExp Build()
     {
@@ -2461,7 +2461,7 @@ public class MemberAccessExpBuilder : IBuilder<ast.MemberAccessExp>
         return this;
     }
 
-    public MemberAccessExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public MemberAccessExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2471,7 +2471,7 @@ public class IndexerExpressionBuilder : IBuilder<ast.IndexerExpression>
 {
     private ast.Expression _IndexExpression;
     private ast.Expression _OffsetExpression;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.IndexerExpression Build()
     {
@@ -2491,7 +2491,7 @@ public class IndexerExpressionBuilder : IBuilder<ast.IndexerExpression>
         return this;
     }
 
-    public IndexerExpressionBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public IndexerExpressionBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2499,7 +2499,7 @@ public class IndexerExpressionBuilder : IBuilder<ast.IndexerExpression>
 }
 public class ObjectInitializerExpBuilder : IBuilder<ast.ObjectInitializerExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ObjectInitializerExp Build()
     {
@@ -2507,7 +2507,7 @@ public class ObjectInitializerExpBuilder : IBuilder<ast.ObjectInitializerExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public ObjectInitializerExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ObjectInitializerExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2515,7 +2515,7 @@ public class ObjectInitializerExpBuilder : IBuilder<ast.ObjectInitializerExp>
 }
 public class PropertyInitializerExpBuilder : IBuilder<ast.PropertyInitializerExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.PropertyInitializerExp Build()
     {
@@ -2523,7 +2523,7 @@ public class PropertyInitializerExpBuilder : IBuilder<ast.PropertyInitializerExp
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public PropertyInitializerExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public PropertyInitializerExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2533,7 +2533,7 @@ public class UnaryExpBuilder : IBuilder<ast.UnaryExp>
 {
     private ast.Operator _Operator;
     private ast.Expression _Operand;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.UnaryExp Build()
     {
@@ -2553,7 +2553,7 @@ public class UnaryExpBuilder : IBuilder<ast.UnaryExp>
         return this;
     }
 
-    public UnaryExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public UnaryExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2562,7 +2562,7 @@ public class UnaryExpBuilder : IBuilder<ast.UnaryExp>
 public class ThrowExpBuilder : IBuilder<ast.ThrowExp>
 {
     private ast.Expression _Exception;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ThrowExp Build()
     {
@@ -2576,7 +2576,7 @@ public class ThrowExpBuilder : IBuilder<ast.ThrowExp>
         return this;
     }
 
-    public ThrowExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ThrowExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2585,7 +2585,7 @@ public class ThrowExpBuilder : IBuilder<ast.ThrowExp>
 public class VarRefExpBuilder : IBuilder<ast.VarRefExp>
 {
     private System.String _VarName;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.VarRefExp Build()
     {
@@ -2599,7 +2599,7 @@ public class VarRefExpBuilder : IBuilder<ast.VarRefExp>
         return this;
     }
 
-    public VarRefExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public VarRefExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2608,7 +2608,7 @@ public class VarRefExpBuilder : IBuilder<ast.VarRefExp>
 public class ListLiteralBuilder : IBuilder<ast.ListLiteral>
 {
     private List<ast.Expression> _ElementExpressions = [];
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ListLiteral Build()
     {
@@ -2627,7 +2627,7 @@ public class ListLiteralBuilder : IBuilder<ast.ListLiteral>
         _ElementExpressions.Add(value);
         return this;
     }
-    public ListLiteralBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ListLiteralBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2639,7 +2639,7 @@ public class ListComprehensionBuilder : IBuilder<ast.ListComprehension>
     private ast.Expression _Source;
     private System.String _VarName;
     private List<ast.Expression> _Constraints = [];
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.ListComprehension Build()
     {
@@ -2676,7 +2676,7 @@ public class ListComprehensionBuilder : IBuilder<ast.ListComprehension>
         _Constraints.Add(value);
         return this;
     }
-    public ListComprehensionBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public ListComprehensionBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2684,7 +2684,7 @@ public class ListComprehensionBuilder : IBuilder<ast.ListComprehension>
 }
 public class AtomBuilder : IBuilder<ast.Atom>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Atom Build()
     {
@@ -2692,7 +2692,7 @@ public class AtomBuilder : IBuilder<ast.Atom>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public AtomBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public AtomBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2700,7 +2700,7 @@ public class AtomBuilder : IBuilder<ast.Atom>
 }
 public class TripleLiteralExpBuilder : IBuilder<ast.TripleLiteralExp>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.TripleLiteralExp Build()
     {
@@ -2708,7 +2708,7 @@ public class TripleLiteralExpBuilder : IBuilder<ast.TripleLiteralExp>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public TripleLiteralExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public TripleLiteralExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2717,7 +2717,7 @@ public class TripleLiteralExpBuilder : IBuilder<ast.TripleLiteralExp>
 public class MalformedTripleExpBuilder : IBuilder<ast.MalformedTripleExp>
 {
     private System.String _MalformedKind;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.MalformedTripleExp Build()
     {
@@ -2731,7 +2731,7 @@ public class MalformedTripleExpBuilder : IBuilder<ast.MalformedTripleExp>
         return this;
     }
 
-    public MalformedTripleExpBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public MalformedTripleExpBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2739,7 +2739,7 @@ public class MalformedTripleExpBuilder : IBuilder<ast.MalformedTripleExp>
 }
 public class GraphBuilder : IBuilder<ast.Graph>
 {
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.Graph Build()
     {
@@ -2747,7 +2747,7 @@ public class GraphBuilder : IBuilder<ast.Graph>
              Annotations = this._Annotations // from AnnotatedThing
         };
     }
-    public GraphBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public GraphBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
@@ -2757,7 +2757,7 @@ public class NamespaceImportDirectiveBuilder : IBuilder<ast.NamespaceImportDirec
 {
     private System.String _Namespace;
     private ast.SourceLocationMetadata _Location;
-    private Dictionary<System.String, System.Object> _Annotations;
+    private ast.AnnotationMap _Annotations;
     
     public ast.NamespaceImportDirective Build()
     {
@@ -2777,7 +2777,7 @@ public class NamespaceImportDirectiveBuilder : IBuilder<ast.NamespaceImportDirec
         return this;
     }
 
-    public NamespaceImportDirectiveBuilder WithAnnotations(Dictionary<System.String, System.Object> value){
+    public NamespaceImportDirectiveBuilder WithAnnotations(ast.AnnotationMap value){
         _Annotations = value;
         return this;
     }
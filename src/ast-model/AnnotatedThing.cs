@@ -4,12 +4,14 @@ namespace ast;
 
 public abstract record AnnotatedThing : IAnnotated
 {
+    private AnnotationMap? _annotations;
+
     [Ignore, IgnoreDuringVisit]
     public object this[string index]
     {
         get
         {
-            if (Annotations.TryGetValue(index, out var result))
+            if (_annotations != null && _annotations.TryGetValue(index, out var result))
             {
                 return result;
             }
@@ -22,18 +24,32 @@ public abstract record AnnotatedThing : IAnnotated
         }
     }
 
+    /// <summary>
+    /// The node's annotations. Nothing is allocated until they are first used; the indexer,
+    /// <see cref="HasAnnotation"/> and <see cref="TryGetAnnotation{T}"/> read them without allocating.
+    /// </summary>
+    /// <remarks>
+    /// A <c>with</c> copy shares the original's map once it has been allocated, as it shared the dictionary
+    /// before. A node whose annotations were never used has no map to share, so it and its copies each get
+    /// their own on first write. Pass <c>Annotations = new AnnotationMap(original.Annotations)</c> to copy
+    /// deliberately.
+    /// </remarks>
     [IgnoreDuringVisit]
-    public Dictionary<string, object> Annotations { get; init; } = [];
+    public AnnotationMap Annotations
+    {
+        get => _annotations ?? Interlocked.CompareExchange(ref _annotations, new AnnotationMap(), null) ?? _annotations!;
+        init => _annotations = value;
+    }
 
     public bool HasAnnotation(string key)
     {
-        return Annotations.ContainsKey(key);
+        return _annotations != null && _annotations.ContainsKey(key);
     }
 
     public bool TryGetAnnotation<T>(string name, out T result) where T : class
     {
         result = default;
-        if (Annotations.TryGetValue(name, out var tmp))
+        if (_annotations != null && _annotations.TryGetValue(name, out var tmp))
         {
             result = tmp as T;
         }
@@ -0,0 +1,284 @@
+using System.Diagnostics.CodeAnalysis;
+
+namespace ast;
+
+/// <summary>
+/// Keys of the annotations that phases read on hot paths. <see cref="AnnotationMap"/> stores their values in
+/// typed fields rather than in its dictionary.
+/// </summary>
+public static class AnnotationKeys
+{
+    public const string FunctionName = "FunctionName";
+    public const string ExternalType = "ExternalType";
+    public const string ExternalMethodName = "ExternalMethodName";
+    public const string IsInstanceMethod = "IsInstanceMethod";
+}
+
+/// <summary>
+/// The annotations of one AST node.
+/// </summary>
+/// <remarks>
+/// Values of the well-known <see cref="AnnotationKeys"/> live in typed fields, so the common case of a call
+/// carrying its function name and external binding costs one small object and no boxing or hashing. Any other
+/// key, or a well-known key holding a value of an unexpected type, goes to a dictionary that is only allocated
+/// when such a key is first stored. Dictionaries convert implicitly, so existing initialisers keep working.
+/// </remarks>
+[Ignore]
+public sealed class AnnotationMap : IDictionary<string, object>
+{
+    private static readonly object BoxedTrue = true;
+    private static readonly object BoxedFalse = false;
+
+    private string? _functionName;
+    private string? _externalMethodName;
+    private Type? _externalType;
+    private bool? _isInstanceMethod;
+    private Dictionary<string, object>? _other;
+
+    public AnnotationMap()
+    {
+    }
+
+    public AnnotationMap(IEnumerable<KeyValuePair<string, object>> annotations)
+    {
+        ArgumentNullException.ThrowIfNull(annotations);
+        foreach (var (key, value) in annotations)
+        {
+            this[key] = value;
+        }
+    }
+
+    /// <summary>The <see cref="AnnotationKeys.FunctionName"/> annotation, or null when absent.</summary>
+    public string? FunctionName
+    {
+        get => _functionName;
+        set => SetOrRemove(AnnotationKeys.FunctionName, value);
+    }
+
+    /// <summary>The <see cref="AnnotationKeys.ExternalMethodName"/> annotation, or null when absent.</summary>
+    public string? ExternalMethodName
+    {
+        get => _externalMethodName;
+        set => SetOrRemove(AnnotationKeys.ExternalMethodName, value);
+    }
+
+    /// <summary>The <see cref="AnnotationKeys.ExternalType"/> annotation, or null when absent.</summary>
+    public Type? ExternalType
+    {
+        get => _externalType;
+        set => SetOrRemove(AnnotationKeys.ExternalType, value);
+    }
+
+    /// <summary>The <see cref="AnnotationKeys.IsInstanceMethod"/> annotation, or null when absent.</summary>
+    public bool? IsInstanceMethod
+    {
+        get => _isInstanceMethod;
+        set => SetOrRemove(AnnotationKeys.IsInstanceMethod, value);
+    }
+
+    public object this[string key]
+    {
+        get => TryGetValue(key, out var value)
+            ? value
+            : throw new KeyNotFoundException($"The annotation '{key}' is not present.");
+        set
+        {
+            ArgumentNullException.ThrowIfNull(key);
+            if (TrySetSlot(key, value))
+            {
+                _other?.Remove(key);
+            }
+            else
+            {
+                ClearSlot(key);
+                (_other ??= new Dictionary<string, object>(StringComparer.Ordinal))[key] = value;
+            }
+        }
+    }
+
+    public int Count
+    {
+        get
+        {
+            var count = _other?.Count ?? 0;
+            if (_functionName != null) count++;
+            if (_externalMethodName != null) count++;
+            if (_externalType != null) count++;
+            if (_isInstanceMethod != null) count++;
+            return count;
+        }
+    }
+
+    public bool IsReadOnly => false;
+
+    public ICollection<string> Keys => this.Select(pair => pair.Key).ToList();
+
+    public ICollection<object> Values => this.Select(pair => pair.Value).ToList();
+
+    public bool TryGetValue(string key, [MaybeNullWhen(false)] out object value)
+    {
+        ArgumentNullException.ThrowIfNull(key);
+        value = key switch
+        {
+            AnnotationKeys.FunctionName => _functionName,
+            AnnotationKeys.ExternalMethodName => _externalMethodName,
+            AnnotationKeys.ExternalType => _externalType,
+            AnnotationKeys.IsInstanceMethod => Box(_isInstanceMethod),
+            _ => null
+        };
+
+        if (value != null)
+        {
+            return true;
+        }
+
+        return _other != null && _other.TryGetValue(key, out value);
+    }
+
+    public bool ContainsKey(string key) => TryGetValue(key, out _);
+
+    public void Add(string key, object value)
+    {
+        if (ContainsKey(key))
+        {
+            throw new ArgumentException($"An annotation with the key '{key}' is already present.", nameof(key));
+        }
+
+        this[key] = value;
+    }
+
+    public void Add(KeyValuePair<string, object> item) => Add(item.Key, item.Value);
+
+    public bool TryAdd(string key, object value)
+    {
+        if (ContainsKey(key))
+        {
+            return false;
+        }
+
+        this[key] = value;
+        return true;
+    }
+
+    public bool Remove(string key)
+    {
+        ArgumentNullException.ThrowIfNull(key);
+        return ClearSlot(key) | (_other?.Remove(key) ?? false);
+    }
+
+    public void Clear()
+    {
+        _functionName = null;
+        _externalMethodName = null;
+        _externalType = null;
+        _isInstanceMethod = null;
+        _other = null;
+    }
+
+    public IEnumerator<KeyValuePair<string, object>> GetEnumerator()
+    {
+        if (_functionName != null)
+            yield return new(AnnotationKeys.FunctionName, _functionName);
+        if (_externalMethodName != null)
+            yield return new(AnnotationKeys.ExternalMethodName, _externalMethodName);
+        if (_externalType != null)
+            yield return new(AnnotationKeys.ExternalType, _externalType);
+        if (_isInstanceMethod != null)
+            yield return new(AnnotationKeys.IsInstanceMethod, Box(_isInstanceMethod)!);
+
+        if (_other != null)
+        {
+            foreach (var pair in _other)
+            {
+                yield return pair;
+            }
+        }
+    }
+
+    IEnumerator IEnumerable.GetEnumerator() => GetEnumerator();
+
+    bool ICollection<KeyValuePair<string, object>>.Contains(KeyValuePair<string, object> item) =>
+        TryGetValue(item.Key, out var value) && Equals(value, item.Value);
+
+    void ICollection<KeyValuePair<string, object>>.CopyTo(KeyValuePair<string, object>[] array, int arrayIndex)
+    {
+        ArgumentNullException.ThrowIfNull(array);
+        foreach (var pair in this)
+        {
+            array[arrayIndex++] = pair;
+        }
+    }
+
+    bool ICollection<KeyValuePair<string, object>>.Remove(KeyValuePair<string, object> item) =>
+        ((ICollection<KeyValuePair<string, object>>)this).Contains(item) && Remove(item.Key);
+
+    public static implicit operator AnnotationMap(Dictionary<string, object> annotations) =>
+        annotations == null ? null! : new AnnotationMap(annotations);
+
+    private void SetOrRemove(string key, object? value)
+    {
+        if (value == null)
+        {
+            Remove(key);
+        }
+        else
+        {
+            this[key] = value;
+        }
+    }
+
+    // Stores a well-known key in its field; false when the key is not well known or the value has another type.
+    private bool TrySetSlot(string key, object value)
+    {
+        switch (key)
+        {
+            case AnnotationKeys.FunctionName when value is string functionName:
+                _functionName = functionName;
+                return true;
+            case AnnotationKeys.ExternalMethodName when value is string methodName:
+                _externalMethodName = methodName;
+                return true;
+            case AnnotationKeys.ExternalType when value is Type type:
+                _externalType = type;
+                return true;
+            case AnnotationKeys.IsInstanceMethod when value is bool isInstance:
+                _isInstanceMethod = isInstance;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private bool ClearSlot(string key)
+    {
+        bool present;
+        switch (key)
+        {
+            case AnnotationKeys.FunctionName:
+                present = _functionName != null;
+                _functionName = null;
+                return present;
+            case AnnotationKeys.ExternalMethodName:
+                present = _externalMethodName != null;
+                _externalMethodName = null;
+                return present;
+            case AnnotationKeys.ExternalType:
+                present = _externalType != null;
+                _externalType = null;
+                return present;
+            case AnnotationKeys.IsInstanceMethod:
+                present = _isInstanceMethod != null;
+                _isInstanceMethod = null;
+                return present;
+            default:
+                return false;
+        }
+    }
+
+    private static object? Box(bool? value) => value switch
+    {
+        true => BoxedTrue,
+        false => BoxedFalse,
+        null => null
+    };
+}
@@ -4,6 +4,7 @@ using System.Reflection.Metadata;
 using System.Runtime.InteropServices;
 using Microsoft.CodeAnalysis;
 using ast;
+using compiler.Incremental;
 using compiler.NamespaceResolution;
 using compiler.LanguageTransformations;
 
@@ -84,13 +85,26 @@ public class Compiler
                 return CompilationResult.Failed(2, diagnostics);
             }
 
+            // Incremental builds only transform and translate the modules affected by changes
+            var incremental = options.Incremental && parseResult.ast is AssemblyDef { Modules.Count: > 1 } parsedAssembly
+                                                  && _translator is LoweredAstToRoslynTranslator
+                ? IncrementalBuild.Prepare(parsedAssembly, options)
+                : null;
+            if (incremental != null && options.Diagnostics)
+            {
+                diagnostics.Add(new Diagnostic(DiagnosticLevel.Info,
+                    $"Incremental build: analysing {incremental.AnalysisAssembly.Modules.Count} of {incremental.ModuleCount} modules"));
+            }
+
             // Phase 2: Transform
             if (options.Diagnostics)
             {
                 diagnostics.Add(new Diagnostic(DiagnosticLevel.Info, "Starting transform phase"));
             }
 
-            var transformedAst = TransformPhase(parseResult.ast, diagnostics, options.Diagnostics, options.TargetFramework);
+            var transformedAst = incremental is { AnalysisAssembly.Modules.Count: 0 }
+                ? incremental.AnalysisAssembly
+                : TransformPhase(incremental?.AnalysisAssembly ?? parseResult.ast, diagnostics, options.Diagnostics, options.TargetFramework);
             if (transformedAst == null)
             {
                 return CompilationResult.Failed(3, diagnostics);
@@ -108,7 +122,7 @@ public class Compiler
                 diagnostics.Add(new Diagnostic(DiagnosticLevel.Info, "Starting assembly phase"));
             }
 
-            var (assemblyResult, assemblyPath) = await RoslynEmissionPhase(transformedAst, options, diagnostics);
+            var (assemblyResult, assemblyPath) = await RoslynEmissionPhase(transformedAst, options, diagnostics, incremental);
 
             if (!assemblyResult)
             {
@@ -221,6 +235,7 @@ Options:
   --args <args>             Arguments to pass to program when running
   --keep-temp               Keep temporary files
   --diagnostics             Enable diagnostic output
+  --incremental             Reuse generated code of modules unaffected since the last incremental build
 
 Examples:
     fifthc --source hello.5th --output hello.exe
@@ -455,7 +470,7 @@ Examples:
     }
 
 
-    private async Task<(bool success, string? outputPath)> RoslynEmissionPhase(AstThing transformedAst, CompilerOptions options, List<Diagnostic> diagnostics)
+    private async Task<(bool success, string? outputPath)> RoslynEmissionPhase(AstThing transformedAst, CompilerOptions options, List<Diagnostic> diagnostics, IncrementalBuild? incremental = null)
     {
         try
         {
@@ -479,11 +494,15 @@ Examples:
             {
                 AdditionalReferences = options.References?
                     .Where(r => !string.IsNullOrWhiteSpace(r) && File.Exists(r))
-                    .ToList()
+                    .ToList(),
+                AllowStubMain = incremental == null,
+                EmitProfiling = options.Profile
             };
 
             // Translate the AST to C# sources
-            var translationResult = translator.Translate(assemblyDef, translatorOptions);
+            var translationResult = assemblyDef.Modules.Count == 0 && incremental != null
+                ? new TranslationResult([], new MappingTable())
+                : translator.Translate(assemblyDef, translatorOptions);
 
             // Check for translation diagnostics
             if (translationResult.Diagnostics != null && translationResult.Diagnostics.Any())
@@ -500,14 +519,17 @@ Examples:
                 }
             }
 
+            // Unaffected modules of an incremental build keep the sources generated last time
+            var sources = incremental?.MergeSources(assemblyDef.Modules, translationResult.Sources) ?? translationResult.Sources;
+
             // For now, write the generated C# sources to disk for inspection
-            if (options.Diagnostics && translationResult.Sources.Any())
+            if (options.Diagnostics && sources.Any())
             {
                 var debugDir = Path.Combine(Directory.GetCurrentDirectory(), "build_debug_roslyn");
 
-                for (int i = 0; i < translationResult.Sources.Count; i++)
+                for (int i = 0; i < sources.Count; i++)
                 {
-                    await WriteSourceFileWithRetryAsync(debugDir, i, translationResult.Sources[i], diagnostics);
+                    await WriteSourceFileWithRetryAsync(debugDir, i, sources[i], diagnostics);
                 }
             }
 
@@ -519,10 +541,10 @@ Examples:
 
             // Parse the C# sources into syntax trees
             var syntaxTrees = new List<Microsoft.CodeAnalysis.SyntaxTree>();
-            for (int i = 0; i < translationResult.Sources.Count; i++)
+            for (int i = 0; i < sources.Count; i++)
             {
                 var syntaxTree = Microsoft.CodeAnalysis.CSharp.CSharpSyntaxTree.ParseText(
-                    translationResult.Sources[i],
+                    sources[i],
                     path: $"generated_{i}.cs",
                     encoding: System.Text.Encoding.UTF8);
                 syntaxTrees.Add(syntaxTree);
@@ -729,6 +751,21 @@ Examples:
                 return (false, null);
             }
 
+            incremental?.Save(sources);
+
+            // Keep the source mapping beside the PDB so exceptions can be mapped back without recompiling.
+            // Incremental builds only translate some modules, so their mapping would be partial.
+            var mappingPath = Path.ChangeExtension(outputPath, MappingTable.FileExtension);
+            if (incremental == null)
+            {
+                translationResult.Mapping.SetSourcePaths(syntaxTrees.Select(t => t.FilePath));
+                translationResult.Mapping.Save(mappingPath);
+            }
+            else if (File.Exists(mappingPath))
+            {
+                File.Delete(mappingPath);
+            }
+
             if (options.Diagnostics)
             {
                 diagnostics.Add(new Diagnostic(DiagnosticLevel.Info, $"Successfully compiled assembly: {outputPath}"));
@@ -12,6 +12,10 @@ namespace compiler;
 /// <param name="Diagnostics">Whether to emit diagnostic information</param>
 /// <param name="TargetFramework">Target-framework moniker (e.g. "net8.0"). Drives runtime-config
 /// generation and can be used to select appropriate framework assemblies.</param>
+/// <param name="Incremental">Whether build reuses the generated code of modules unaffected since the
+/// previous incremental build of the same output</param>
+/// <param name="Profile">Whether the generated program records call counts and timings of its functions,
+/// guard clauses and query applications (see <c>Fifth.System.Profiling</c>)</param>
 public record CompilerOptions(
     CompilerCommand Command = CompilerCommand.Build,
     string Source = "",
@@ -23,7 +27,9 @@ public record CompilerOptions(
     IReadOnlyList<string>? SourceFiles = null,
     string? SourceManifest = null,
     IReadOnlyList<string>? References = null,
-    string TargetFramework = FrameworkReferenceSettings.DefaultTargetFramework)
+    string TargetFramework = FrameworkReferenceSettings.DefaultTargetFramework,
+    bool Incremental = false,
+    bool Profile = false)
 {
     /// <summary>
     /// Create default options
@@ -0,0 +1,316 @@
+using System.Text;
+using System.Text.Json;
+using compiler.NamespaceResolution;
+
+namespace compiler.Incremental;
+
+/// <summary>
+/// Decides which modules of a multi-module build must be re-analysed and re-translated, and supplies the
+/// generated C# of every other module from the previous build.
+/// </summary>
+/// <remarks>
+/// After a successful build, each module's generated source is stored in <see cref="CacheDirectoryName"/>
+/// beside the output, together with a hash of the module's text and of its <see cref="ModuleSurface"/>.
+/// On the next build a module is dirty when its text changed, or when a namespace it imports, directly or
+/// through the <see cref="NamespaceImportGraph"/>, holds a module whose surface changed. Dirty modules
+/// go through the pipeline together with the modules of every namespace they import, because imported
+/// symbols come from there, and so on for the modules that brings in. All other modules keep their cached source. A different compiler build,
+/// a change to the build options or references, or a change to the set of modules means a full build.
+/// </remarks>
+public sealed class IncrementalBuild
+{
+    public const string CacheDirectoryName = ".fifthcache";
+
+    private const int FormatVersion = 1;
+
+    private readonly string _cacheFile;
+    private readonly string _buildKey;
+    private readonly IReadOnlyList<ModuleState> _modules;
+    private readonly IReadOnlyDictionary<string, string> _cachedSources;
+
+    private sealed record ModuleState(string Path, string Namespace, string SourceHash, string SurfaceHash, IReadOnlyList<string> Imports);
+
+    private IncrementalBuild(
+        string cacheFile,
+        string buildKey,
+        IReadOnlyList<ModuleState> modules,
+        IReadOnlyDictionary<string, string> cachedSources,
+        AssemblyDef analysisAssembly)
+    {
+        _cacheFile = cacheFile;
+        _buildKey = buildKey;
+        _modules = modules;
+        _cachedSources = cachedSources;
+        AnalysisAssembly = analysisAssembly;
+    }
+
+    /// <summary>The modules to run through the pipeline and translate; empty when nothing changed.</summary>
+    public AssemblyDef AnalysisAssembly { get; }
+
+    /// <summary>Number of modules in the program.</summary>
+    public int ModuleCount => _modules.Count;
+
+    /// <summary>True when every module is analysed, either because there is no usable cache or because all are dirty.</summary>
+    public bool IsFullBuild => AnalysisAssembly.Modules.Count == _modules.Count;
+
+    /// <summary>
+    /// Fingerprints the freshly parsed <paramref name="assembly"/> and compares it with the cache written by the previous build.
+    /// </summary>
+    public static IncrementalBuild Prepare(AssemblyDef assembly, CompilerOptions options)
+    {
+        ArgumentNullException.ThrowIfNull(assembly);
+        ArgumentNullException.ThrowIfNull(options);
+
+        var metadata = assembly.Modules.Select(ModuleMetadata.FromModule).ToList();
+        var modules = metadata
+            .Select(m => new ModuleState(
+                m.ModulePath,
+                m.DeclaredNamespace,
+                HashSource(m.ModulePath),
+                ModuleSurface.Hash(m),
+                m.Imports.Select(i => i.Namespace).ToList()))
+            .ToList();
+
+        var cacheFile = CacheFileFor(options);
+        var buildKey = ComputeBuildKey(options, modules);
+        var previous = Load(cacheFile, buildKey);
+        if (previous == null)
+        {
+            return new IncrementalBuild(cacheFile, buildKey, modules, new Dictionary<string, string>(), assembly);
+        }
+
+        var analysed = SelectModulesToAnalyse(modules, metadata, previous);
+        if (analysed.Count == modules.Count)
+        {
+            return new IncrementalBuild(cacheFile, buildKey, modules, new Dictionary<string, string>(), assembly);
+        }
+
+        var cachedSources = modules
+            .Where(m => !analysed.Contains(m.Path))
+            .ToDictionary(m => m.Path, m => previous[m.Path].GeneratedSource, StringComparer.Ordinal);
+
+        var annotations = new AnnotationMap(assembly.Annotations)
+        {
+            [ModuleResolver.ModuleMetadataKey] = metadata.Where(m => analysed.Contains(m.ModulePath)).ToList()
+        };
+        var analysisAssembly = assembly with
+        {
+            Modules = assembly.Modules.Where((_, i) => analysed.Contains(modules[i].Path)).ToList(),
+            Annotations = annotations
+        };
+
+        return new IncrementalBuild(cacheFile, buildKey, modules, cachedSources, analysisAssembly);
+    }
+
+    /// <summary>
+    /// Combines the sources just generated for <paramref name="translatedModules"/> with the cached sources of the
+    /// other modules, in program order.
+    /// </summary>
+    /// <exception cref="InvalidOperationException">Thrown when the translator did not produce one source per module.</exception>
+    public IReadOnlyList<string> MergeSources(IReadOnlyList<ModuleDef> translatedModules, IReadOnlyList<string> sources)
+    {
+        if (translatedModules.Count != sources.Count)
+        {
+            throw new InvalidOperationException(
+                $"Incremental build expected one generated source per module but got {sources.Count} for {translatedModules.Count} modules.");
+        }
+
+        var generated = new Dictionary<string, string>(StringComparer.Ordinal);
+        for (var i = 0; i < translatedModules.Count; i++)
+        {
+            var path = ModuleMetadata.FromModule(translatedModules[i]).ModulePath;
+            if (!_modules.Any(m => m.Path == path))
+            {
+                throw new InvalidOperationException($"Translated module '{path}' is not part of the program being built.");
+            }
+            generated[path] = sources[i];
+        }
+
+        return _modules
+            .Select(m => generated.TryGetValue(m.Path, out var source) || _cachedSources.TryGetValue(m.Path, out source)
+                ? source
+                : throw new InvalidOperationException($"No generated source for module '{m.Path}'."))
+            .ToList();
+    }
+
+    /// <summary>
+    /// Records <paramref name="mergedSources"/> (as returned by <see cref="MergeSources"/>) for the next build.
+    /// </summary>
+    public void Save(IReadOnlyList<string> mergedSources)
+    {
+        var manifest = new BuildManifest(
+            FormatVersion,
+            _buildKey,
+            _modules.Select((m, i) => new CachedModule(m.Path, m.SourceHash, m.SurfaceHash, mergedSources[i])).ToList());
+
+        try
+        {
+            Directory.CreateDirectory(Path.GetDirectoryName(_cacheFile)!);
+
+            // Write beside the target and swap it in, so an interrupted build never leaves a truncated cache.
+            var temp = _cacheFile + ".tmp";
+            using (var stream = File.Create(temp))
+            {
+                JsonSerializer.Serialize(stream, manifest);
+            }
+            File.Move(temp, _cacheFile, overwrite: true);
+        }
+        catch (System.Exception ex) when (ex is IOException or UnauthorizedAccessException)
+        {
+            // The cache only speeds up the next build; this build's output is unaffected.
+        }
+    }
+
+    private static HashSet<string> SelectModulesToAnalyse(
+        IReadOnlyList<ModuleState> modules,
+        IReadOnlyList<ModuleMetadata> metadata,
+        IReadOnlyDictionary<string, CachedModule> previous)
+    {
+        var graph = NamespaceImportGraph.FromModules(metadata);
+
+        var changedSurfaces = new HashSet<string>(StringComparer.Ordinal);
+        foreach (var module in modules)
+        {
+            if (previous[module.Path].SurfaceHash != module.SurfaceHash)
+            {
+                changedSurfaces.Add(module.Namespace);
+            }
+        }
+
+        var analysed = new HashSet<string>(StringComparer.Ordinal);
+        var required = new HashSet<string>(StringComparer.Ordinal);
+        foreach (var module in modules)
+        {
+            var visible = VisibleNamespaces(module, graph);
+            if (previous[module.Path].SourceHash != module.SourceHash || visible.Overlaps(changedSurfaces))
+            {
+                analysed.Add(module.Path);
+                required.UnionWith(visible);
+            }
+        }
+
+        // Modules sharing a namespace with a changed surface are re-checked for duplicate declarations.
+        required.UnionWith(changedSurfaces);
+
+        // A module pulled in by namespace needs the namespaces it imports as well, so repeat until the set
+        // stops growing.
+        bool grew;
+        do
+        {
+            grew = false;
+            required.Remove(string.Empty);
+            foreach (var module in modules)
+            {
+                if (required.Contains(module.Namespace) && analysed.Add(module.Path))
+                {
+                    required.UnionWith(VisibleNamespaces(module, graph));
+                    grew = true;
+                }
+            }
+        }
+        while (grew);
+
+        return analysed;
+    }
+
+    private static HashSet<string> VisibleNamespaces(ModuleState module, NamespaceImportGraph graph)
+    {
+        var visible = new HashSet<string>(StringComparer.Ordinal);
+        foreach (var import in module.Imports)
+        {
+            visible.Add(import);
+            visible.UnionWith(graph.TraverseImports(import));
+        }
+
+        return visible;
+    }
+
+    private static string CacheFileFor(CompilerOptions options)
+    {
+        var output = Path.GetFullPath(options.Output);
+        var directory = Path.GetDirectoryName(output) ?? Directory.GetCurrentDirectory();
+        return Path.Combine(directory, CacheDirectoryName, Path.GetFileName(output) + ".json");
+    }
+
+    private static string ComputeBuildKey(CompilerOptions options, IReadOnlyList<ModuleState> modules)
+    {
+        var sb = new StringBuilder();
+        sb.Append(FormatVersion).Append('\n');
+        sb.Append(typeof(IncrementalBuild).Assembly.ManifestModule.ModuleVersionId).Append('\n');
+        sb.Append(options.OutputType.ToLowerInvariant()).Append('\n');
+        sb.Append(options.TargetFramework).Append('\n');
+        sb.Append(options.Profile ? "profile" : "noprofile").Append('\n');
+
+        foreach (var reference in options.References ?? [])
+        {
+            if (string.IsNullOrWhiteSpace(reference))
+            {
+                continue;
+            }
+
+            // A reference may name a directory of assemblies, as in RoslynEmissionPhase.
+            var files = Directory.Exists(reference)
+                ? Directory.EnumerateFiles(reference, "*.dll", SearchOption.TopDirectoryOnly).OrderBy(f => f, StringComparer.Ordinal)
+                : Enumerable.Repeat(reference, 1);
+            foreach (var file in files)
+            {
+                var info = new FileInfo(file);
+                sb.Append("ref ").Append(info.FullName);
+                if (info.Exists)
+                {
+                    sb.Append('|').Append(info.LastWriteTimeUtc.Ticks).Append('|').Append(info.Length);
+                }
+                sb.Append('\n');
+            }
+        }
+
+        foreach (var module in modules)
+        {
+            sb.Append("module ").Append(module.Path).Append('\n');
+        }
+
+        return ModuleSurface.HashText(sb.ToString());
+    }
+
+    private static string HashSource(string path)
+    {
+        try
+        {
+            return ModuleSurface.HashText(File.ReadAllText(path));
+        }
+        catch (System.Exception ex) when (ex is IOException or UnauthorizedAccessException)
+        {
+            // An unreadable source never matches the cache, so the module is always rebuilt.
+            return Guid.NewGuid().ToString("N");
+        }
+    }
+
+    private static Dictionary<string, CachedModule>? Load(string cacheFile, string buildKey)
+    {
+        if (!File.Exists(cacheFile))
+        {
+            return null;
+        }
+
+        try
+        {
+            using var stream = File.OpenRead(cacheFile);
+            var manifest = JsonSerializer.Deserialize<BuildManifest>(stream);
+            if (manifest == null || manifest.Version != FormatVersion || manifest.BuildKey != buildKey)
+            {
+                return null;
+            }
+
+            return manifest.Modules.ToDictionary(m => m.Path, StringComparer.Ordinal);
+        }
+        catch (System.Exception ex) when (ex is IOException or JsonException or ArgumentException)
+        {
+            // A corrupt cache is ignored and rewritten by this build.
+            return null;
+        }
+    }
+}
+
+internal sealed record BuildManifest(int Version, string BuildKey, List<CachedModule> Modules);
+
+internal sealed record CachedModule(string Path, string SourceHash, string SurfaceHash, string GeneratedSource);
@@ -0,0 +1,105 @@
+using System.Security.Cryptography;
+using System.Text;
+using compiler.NamespaceResolution;
+
+namespace compiler.Incremental;
+
+/// <summary>
+/// Fingerprints the part of a module that other modules can observe: its namespace, its imports
+/// (which other modules see transitively) and the signatures of its classes and functions. Bodies,
+/// guards' expressions and comments are left out, so editing them leaves the fingerprint unchanged.
+/// </summary>
+internal static class ModuleSurface
+{
+    /// <summary>
+    /// Hashes the surface of a freshly parsed module. Call it before the pipeline runs, since later phases rewrite declarations.
+    /// </summary>
+    public static string Hash(ModuleMetadata module)
+    {
+        var sb = new StringBuilder();
+        sb.Append("namespace ").Append(module.DeclaredNamespace).Append('\n');
+
+        foreach (var import in module.Imports.Select(i => i.Namespace).OrderBy(n => n, StringComparer.Ordinal))
+        {
+            sb.Append("import ").Append(import).Append('\n');
+        }
+
+        foreach (var classDef in module.Module.Classes ?? [])
+        {
+            AppendClass(sb, classDef);
+        }
+
+        foreach (var function in module.Module.Functions ?? [])
+        {
+            if (function is FunctionDef functionDef)
+            {
+                AppendFunction(sb, functionDef);
+            }
+        }
+
+        return HashText(sb.ToString());
+    }
+
+    public static string HashText(string text) => Convert.ToHexString(SHA256.HashData(Encoding.UTF8.GetBytes(text)));
+
+    private static void AppendClass(StringBuilder sb, ClassDef classDef)
+    {
+        sb.Append("class ").Append(classDef.Visibility).Append(' ').Append(classDef.Name.Value);
+        AppendTypeParameters(sb, classDef.TypeParameters);
+        sb.Append(" : ").AppendJoin(',', classDef.BaseClasses ?? []);
+        sb.Append(" in ").Append(classDef.AliasScope).Append('\n');
+
+        foreach (var member in classDef.MemberDefs ?? [])
+        {
+            if (member is MethodDef { FunctionDef: { } method })
+            {
+                sb.Append("  ");
+                AppendFunction(sb, method);
+                continue;
+            }
+
+            sb.Append("  ").Append(member.GetType().Name).Append(' ').Append(member.Visibility).Append(' ')
+                .Append(member.Name.Value).Append(':').Append(member.TypeName.Value).Append(':').Append(member.CollectionType)
+                .Append(member.IsReadOnly ? " readonly" : string.Empty).Append('\n');
+        }
+    }
+
+    private static void AppendFunction(StringBuilder sb, FunctionDef function)
+    {
+        sb.Append("fn ").Append(function.Visibility).Append(' ').Append(function.Name.Value);
+        AppendTypeParameters(sb, function.TypeParameters);
+        sb.Append('(');
+        foreach (var param in function.Params ?? [])
+        {
+            sb.Append(param.Name).Append(':').Append(param.TypeName.Value).Append(':').Append(param.CollectionType);
+            if (param.ParameterConstraint != null || param.DestructureDef != null)
+            {
+                // Guarded overloads dispatch on the parameter, so whether one exists is part of the signature.
+                sb.Append(" guarded");
+            }
+            sb.Append(',');
+        }
+        sb.Append("):").Append(Describe(function.ReturnType));
+        sb.Append(function.IsStatic ? " static" : string.Empty).Append(function.IsConstructor ? " ctor" : string.Empty).Append('\n');
+    }
+
+    private static void AppendTypeParameters(StringBuilder sb, List<TypeParameterDef>? typeParameters)
+    {
+        if (typeParameters is not { Count: > 0 })
+        {
+            return;
+        }
+
+        sb.Append('<').AppendJoin(',', typeParameters.Select(t => $"{t.Name}/{t.Constraints.Count}")).Append('>');
+    }
+
+    private static string Describe(FifthType? type) => type switch
+    {
+        null => "?",
+        FifthType.TListOf list => $"[{Describe(list.ElementType)}]",
+        FifthType.TArrayOf array => $"{Describe(array.ElementType)}[]",
+        FifthType.TFunc func => $"[{string.Join(",", func.InputTypes.Select(Describe))}]->{Describe(func.OutputType)}",
+        FifthType.TGenericInstance generic => $"{generic.GenericTypeDefinition.Value}<{string.Join(",", generic.TypeArguments.Select(Describe))}>",
+        _ => type.Name.Value
+    };
+}
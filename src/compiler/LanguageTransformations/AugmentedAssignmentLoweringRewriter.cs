@@ -43,7 +43,7 @@ public class AugmentedAssignmentLoweringRewriter : DefaultRecursiveDescentVisito
             
             var binaryExpr = new BinaryExp
             {
-                Annotations = new Dictionary<string, object> 
+                Annotations = new AnnotationMap 
                 { 
                     // Mark that this came from an augmented assignment, which can help downstream passes
                     // make more informed decisions about lowering
@@ -57,7 +57,7 @@ public class AugmentedAssignmentLoweringRewriter : DefaultRecursiveDescentVisito
             };
 
             // Remove the augmented operator annotation since we've expanded it
-            var newAnnotations = new Dictionary<string, object>(visited.Annotations);
+            var newAnnotations = new AnnotationMap(visited.Annotations);
             newAnnotations.Remove("AugmentedOperator");
 
             return visited with
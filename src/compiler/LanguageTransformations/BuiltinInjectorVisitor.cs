@@ -121,7 +121,6 @@ public class BuiltinInjectorVisitor : DefaultRecursiveDescentVisitor
                                          new ExpStatementBuilder()
                                                                    .WithRHS(
                                                                        new FuncCallExpBuilder()
-                                                                           .WithAnnotations(new Dictionary<string, object>())
                                                                            .Build() // func call exp
                                                                    ).Build() // expression statement
                                      )
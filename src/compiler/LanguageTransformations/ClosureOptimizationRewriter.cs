@@ -0,0 +1,233 @@
+using ast;
+using ast_model.TypeSystem;
+
+namespace compiler.LanguageTransformations;
+
+/// <summary>
+/// Optimises the closure classes produced by <see cref="LambdaClosureConversionRewriter"/> once
+/// <see cref="DefunctionalisationRewriter"/> has given them their runtime interface types.
+///
+/// - Every generated closure class is marked sealed, so calls made through the concrete type are direct.
+/// - Closure classes that capture nothing are marked as singletons: the backend gives them a static
+///   <c>Instance</c> and every instantiation reuses it instead of allocating.
+/// - A local declared with a function type whose only value is a closure instantiation is retyped to
+///   the concrete closure class, so <c>f.Apply(...)</c> no longer dispatches through the interface.
+///
+/// The rewrite only records decisions as annotations and type names; codegen acts on them.
+/// </summary>
+public sealed class ClosureOptimizationRewriter : DefaultAstRewriter
+{
+    /// <summary>Annotation on a closure ClassDef: emit the class as sealed.</summary>
+    public const string SealedAnnotation = "SealedClosure";
+
+    /// <summary>
+    /// Annotation on a capture-free closure ClassDef and on its instantiations: share one static instance.
+    /// </summary>
+    public const string SingletonAnnotation = "ClosureSingleton";
+
+    public const string ClosureClassPrefix = "__lambda_closure_";
+
+    private const string ClosureInterfacePrefix = "Fifth.System.Runtime.IClosure";
+    private const string ActionClosureInterfacePrefix = "Fifth.System.Runtime.IActionClosure";
+
+    // Closure class name => its runtime closure interface, for the module being rewritten.
+    private readonly Dictionary<string, string> closureInterfaces = new(StringComparer.Ordinal);
+    private readonly HashSet<string> singletonClosures = new(StringComparer.Ordinal);
+
+    // Locals of the current function that may be retyped to their concrete closure class.
+    private HashSet<string> devirtualizableLocals = new(StringComparer.Ordinal);
+
+    public override RewriteResult VisitModuleDef(ModuleDef ctx)
+    {
+        closureInterfaces.Clear();
+        singletonClosures.Clear();
+
+        foreach (var classDef in ctx.Classes)
+        {
+            if (!TryGetClosureInterface(classDef, out var closureInterface))
+            {
+                continue;
+            }
+
+            closureInterfaces[classDef.Name.Value] = closureInterface;
+            if (!classDef.MemberDefs.OfType<FieldDef>().Any())
+            {
+                singletonClosures.Add(classDef.Name.Value);
+            }
+        }
+
+        if (closureInterfaces.Count == 0)
+        {
+            return new RewriteResult(ctx, []);
+        }
+
+        return base.VisitModuleDef(ctx);
+    }
+
+    public override RewriteResult VisitClassDef(ClassDef ctx)
+    {
+        var rr = base.VisitClassDef(ctx);
+        var updated = (ClassDef)rr.Node;
+
+        if (closureInterfaces.ContainsKey(updated.Name.Value))
+        {
+            var annotations = new AnnotationMap(updated.Annotations) { [SealedAnnotation] = true };
+            if (singletonClosures.Contains(updated.Name.Value))
+            {
+                annotations[SingletonAnnotation] = true;
+            }
+            updated = updated with { Annotations = annotations };
+        }
+
+        return new RewriteResult(updated, rr.Prologue);
+    }
+
+    public override RewriteResult VisitFunctionDef(FunctionDef ctx)
+    {
+        var outer = devirtualizableLocals;
+        devirtualizableLocals = FindDevirtualizableLocals(ctx);
+        try
+        {
+            return base.VisitFunctionDef(ctx);
+        }
+        finally
+        {
+            devirtualizableLocals = outer;
+        }
+    }
+
+    public override RewriteResult VisitVarDeclStatement(VarDeclStatement ctx)
+    {
+        var rr = base.VisitVarDeclStatement(ctx);
+        var updated = (VarDeclStatement)rr.Node;
+
+        if (devirtualizableLocals.Contains(updated.VariableDecl.Name)
+            && TryGetClosureInstantiation(updated.InitialValue, out var closureClassName))
+        {
+            updated = updated with
+            {
+                VariableDecl = updated.VariableDecl with { TypeName = TypeName.From(closureClassName) }
+            };
+        }
+
+        return new RewriteResult(updated, rr.Prologue);
+    }
+
+    public override RewriteResult VisitObjectInitializerExp(ObjectInitializerExp ctx)
+    {
+        var rr = base.VisitObjectInitializerExp(ctx);
+        var updated = (ObjectInitializerExp)rr.Node;
+
+        if (TryGetClosureInstantiation(updated, out var closureClassName)
+            && singletonClosures.Contains(closureClassName)
+            && updated.ConstructorArguments.Count == 0
+            && updated.PropertyInitialisers.Count == 0)
+        {
+            var annotations = new AnnotationMap(updated.Annotations) { [SingletonAnnotation] = true };
+            updated = updated with { Annotations = annotations };
+        }
+
+        return new RewriteResult(updated, rr.Prologue);
+    }
+
+    /// <summary>
+    /// True when <paramref name="classDef"/> was generated by closure conversion and implements a runtime closure interface.
+    /// </summary>
+    public static bool TryGetClosureInterface(ClassDef classDef, out string closureInterface)
+    {
+        closureInterface = string.Empty;
+
+        if (!classDef.Name.Value.StartsWith(ClosureClassPrefix, StringComparison.Ordinal) || classDef.BaseClasses == null)
+        {
+            return false;
+        }
+
+        var match = classDef.BaseClasses.FirstOrDefault(IsClosureInterface);
+        if (match == null)
+        {
+            return false;
+        }
+
+        closureInterface = match;
+        return true;
+    }
+
+    private static bool IsClosureInterface(string typeName) =>
+        typeName.StartsWith(ClosureInterfacePrefix, StringComparison.Ordinal) ||
+        typeName.StartsWith(ActionClosureInterfacePrefix, StringComparison.Ordinal);
+
+    private bool TryGetClosureInstantiation(Expression? expression, out string closureClassName)
+    {
+        closureClassName = string.Empty;
+
+        if (expression is not ObjectInitializerExp { TypeToInitialize: FifthType.TType type })
+        {
+            return false;
+        }
+
+        if (!closureInterfaces.ContainsKey(type.Name.Value))
+        {
+            return false;
+        }
+
+        closureClassName = type.Name.Value;
+        return true;
+    }
+
+    /// <summary>
+    /// Finds locals that are declared exactly once, with their closure's own interface type, initialised with a
+    /// closure instantiation and never assigned afterwards. Only their declared type changes, so every use keeps compiling.
+    /// </summary>
+    private HashSet<string> FindDevirtualizableLocals(FunctionDef function)
+    {
+        var collector = new LocalClosureCollector();
+        collector.Visit(function.Body);
+
+        var result = new HashSet<string>(StringComparer.Ordinal);
+        foreach (var (name, decls) in collector.Declarations)
+        {
+            if (decls.Count != 1 || collector.AssignedNames.Contains(name))
+            {
+                continue;
+            }
+
+            var decl = decls[0];
+            if (decl.VariableDecl.CollectionType != CollectionType.SingleInstance
+                || !TryGetClosureInstantiation(decl.InitialValue, out var closureClassName)
+                || !string.Equals(decl.VariableDecl.TypeName.Value, closureInterfaces[closureClassName], StringComparison.Ordinal))
+            {
+                continue;
+            }
+
+            result.Add(name);
+        }
+
+        return result;
+    }
+
+    private sealed class LocalClosureCollector : DefaultRecursiveDescentVisitor
+    {
+        public Dictionary<string, List<VarDeclStatement>> Declarations { get; } = new(StringComparer.Ordinal);
+        public HashSet<string> AssignedNames { get; } = new(StringComparer.Ordinal);
+
+        public override VarDeclStatement VisitVarDeclStatement(VarDeclStatement ctx)
+        {
+            if (!Declarations.TryGetValue(ctx.VariableDecl.Name, out var decls))
+            {
+                decls = [];
+                Declarations[ctx.VariableDecl.Name] = decls;
+            }
+            decls.Add(ctx);
+            return base.VisitVarDeclStatement(ctx);
+        }
+
+        public override AssignmentStatement VisitAssignmentStatement(AssignmentStatement ctx)
+        {
+            if (ctx.LValue is VarRefExp target)
+            {
+                AssignedNames.Add(target.VarName);
+            }
+            return base.VisitAssignmentStatement(ctx);
+        }
+    }
+}
@@ -72,19 +72,19 @@ internal static class DestructuringConstraintUtilities
 
                 var intermediateAccess = new MemberAccessExp
                 {
-                    LHS = new VarRefExp { VarName = rootParamName, Location = bindingLocation, Annotations = new Dictionary<string, object>() },
-                    RHS = new VarRefExp { VarName = (binding.ReferencedProperty?.Name ?? binding.ReferencedPropertyName).Value, Location = bindingLocation, Annotations = new Dictionary<string, object>() },
+                    LHS = new VarRefExp { VarName = rootParamName, Location = bindingLocation, Annotations = new AnnotationMap() },
+                    RHS = new VarRefExp { VarName = (binding.ReferencedProperty?.Name ?? binding.ReferencedPropertyName).Value, Location = bindingLocation, Annotations = new AnnotationMap() },
                     Location = bindingLocation,
-                    Annotations = new Dictionary<string, object>()
+                    Annotations = new AnnotationMap()
                 };
 
                 var propName = nestedBinding.ReferencedProperty?.Name ?? nestedBinding.ReferencedPropertyName;
                 var finalAccess = new MemberAccessExp
                 {
                     LHS = intermediateAccess,
-                    RHS = new VarRefExp { VarName = propName.Value, Location = nestedLocation, Annotations = new Dictionary<string, object>() },
+                    RHS = new VarRefExp { VarName = propName.Value, Location = nestedLocation, Annotations = new AnnotationMap() },
                     Location = nestedLocation,
-                    Annotations = new Dictionary<string, object>()
+                    Annotations = new AnnotationMap()
                 };
 
                 var rewritten = RewriteConstraintExpression(nestedBinding.Constraint, nestedBinding.IntroducedVariable.Value, finalAccess);
@@ -108,7 +108,7 @@ internal static class DestructuringConstraintUtilities
             LHS = lhs,
             RHS = rhs,
             Location = param.Location ?? default,
-            Annotations = new Dictionary<string, object>()
+            Annotations = new AnnotationMap()
         };
     }
 
@@ -116,10 +116,10 @@ internal static class DestructuringConstraintUtilities
     {
         var memberAccess = new MemberAccessExp
         {
-            LHS = new VarRefExp { VarName = paramName, Location = bindingLocation, Annotations = new Dictionary<string, object>() },
-            RHS = new VarRefExp { VarName = propertyName, Location = bindingLocation, Annotations = new Dictionary<string, object>() },
+            LHS = new VarRefExp { VarName = paramName, Location = bindingLocation, Annotations = new AnnotationMap() },
+            RHS = new VarRefExp { VarName = propertyName, Location = bindingLocation, Annotations = new AnnotationMap() },
             Location = bindingLocation,
-            Annotations = new Dictionary<string, object>()
+            Annotations = new AnnotationMap()
         };
 
         return RewriteConstraintExpression(constraint, introducedVar, memberAccess);
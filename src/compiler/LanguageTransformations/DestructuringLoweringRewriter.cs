@@ -120,7 +120,7 @@ public class DestructuringLoweringRewriter : DefaultAstRewriter
         {
             VarName = param.Name,
             Location = param.Location ?? new SourceLocationMetadata(),
-            Annotations = new Dictionary<string, object>()
+            Annotations = new AnnotationMap()
         };
 
         // Process each property binding
@@ -150,10 +150,10 @@ public class DestructuringLoweringRewriter : DefaultAstRewriter
             {
                 VarName = propertyName.Value,
                 Location = loc,
-                Annotations = new Dictionary<string, object>()
+                Annotations = new AnnotationMap()
             },
             Location = loc,
-            Annotations = new Dictionary<string, object>()
+            Annotations = new AnnotationMap()
         };
 
         // Determine the type for the variable
@@ -167,7 +167,7 @@ public class DestructuringLoweringRewriter : DefaultAstRewriter
             CollectionType = CollectionType.SingleInstance,
             Visibility = Visibility.Private,
             Location = loc,
-            Annotations = new Dictionary<string, object>()
+            Annotations = new AnnotationMap()
         };
 
         var varDeclStmt = new VarDeclStatement
@@ -175,7 +175,7 @@ public class DestructuringLoweringRewriter : DefaultAstRewriter
             VariableDecl = varDecl,
             InitialValue = propertyAccess,
             Location = loc,
-            Annotations = new Dictionary<string, object>()
+            Annotations = new AnnotationMap()
         };
 
         statements.Add(varDeclStmt);
@@ -189,7 +189,7 @@ public class DestructuringLoweringRewriter : DefaultAstRewriter
             {
                 Condition = binding.Constraint,
                 Location = loc,
-                Annotations = new Dictionary<string, object>()
+                Annotations = new AnnotationMap()
             };
             statements.Add(guardStmt);
         }
@@ -202,7 +202,7 @@ public class DestructuringLoweringRewriter : DefaultAstRewriter
             {
                 VarName = binding.IntroducedVariable.Value,
                 Location = loc,
-                Annotations = new Dictionary<string, object>()
+                Annotations = new AnnotationMap()
             };
 
             foreach (var nestedBinding in binding.DestructureDef.Bindings)
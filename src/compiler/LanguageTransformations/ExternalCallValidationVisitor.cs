@@ -3,6 +3,7 @@ using ast;
 using ast_model.TypeSystem;
 using static Fifth.DebugHelpers;
 using compiler;
+using compiler.TypeSystem;
 using VDS.RDF;
 
 namespace compiler.LanguageTransformations;
@@ -46,6 +47,30 @@ public class ExternalCallValidationVisitor : DefaultRecursiveDescentVisitor
         return 0;
     }
 
+    private static bool HasParamArray(ParameterInfo[] ps)
+        => ps.Length > 0 && ps[^1].IsDefined(typeof(ParamArrayAttribute), false);
+
+    // Score a params candidate by matching trailing arguments against the array element type.
+    // The receiver may or may not be among the supplied arguments, so take the better of both alignments.
+    private static int ParamArrayScore(List<Type?> inferred, ParameterInfo[] ps)
+    {
+        var fixedCount = ps.Length - 1;
+        var elementType = ps[^1].ParameterType.GetElementType() ?? typeof(object);
+        var best = 0;
+        for (var offset = 0; offset <= 1; offset++)
+        {
+            if (inferred.Count + offset < fixedCount) continue;
+            var score = 0;
+            for (var i = 0; i < inferred.Count; i++)
+            {
+                var paramIndex = i + offset;
+                score += CompatibilityScore(inferred[i], paramIndex < fixedCount ? ps[paramIndex].ParameterType : elementType);
+            }
+            best = Math.Max(best, score);
+        }
+        return best;
+    }
+
     // Map Fifth type annotation to CLR System.Type when available
     private static Type? MapFifthTypeToClr(FifthType? fifthType)
     {
@@ -91,11 +116,11 @@ public class ExternalCallValidationVisitor : DefaultRecursiveDescentVisitor
         if (result == null) return ctx;
 
         // If this is an external qualified call (TreeLinkageVisitor placed ExternalType annotation), validate it
-        if (result.Annotations != null && result.Annotations.TryGetValue("ExternalType", out var extObj) && extObj is Type extType)
+        if (result.Annotations.ExternalType is Type extType)
         {
             var methodName = string.Empty;
-            if (result.Annotations.TryGetValue("ExternalMethodName", out var mn) && mn is string mns) methodName = mns;
-            else if (result.Annotations.TryGetValue("FunctionName", out var fn) && fn is string fns) methodName = fns;
+            if (result.Annotations.ExternalMethodName is string mns) methodName = mns;
+            else if (result.Annotations.FunctionName is string fns) methodName = fns;
             if (string.IsNullOrWhiteSpace(methodName)) return result;
 
             var invocationArgs = result.InvocationArguments ?? new List<ast.Expression>();
@@ -116,17 +141,16 @@ public class ExternalCallValidationVisitor : DefaultRecursiveDescentVisitor
             }
 
             // Find candidate methods on the external type
-            var methods = extType.GetMethods(BindingFlags.Public | BindingFlags.Static | BindingFlags.Instance)
-                .Where(mi => string.Equals(mi.Name, methodName, StringComparison.Ordinal))
-                .ToList();
+            var methods = ExternalMemberCache.GetMethods(extType, methodName);
 
             var candidates = methods
-                .Select(mi => new { mi, ps = mi.GetParameters() })
+                .Select(m => new { mi = m.Method, ps = m.Parameters })
                 .Where(x =>
                 {
                     if (x.ps.Length == argCount) return true;
                     if (x.ps.Length == argCount + 1) return true; // extension receiver case
                     if (x.ps.Length > argCount && x.ps.Skip(argCount).All(p => p.IsOptional || p.HasDefaultValue)) return true;
+                    if (HasParamArray(x.ps) && argCount >= x.ps.Length - 2) return true; // params, optionally with receiver
                     return false;
                 })
                 .ToList();
@@ -143,7 +167,7 @@ public class ExternalCallValidationVisitor : DefaultRecursiveDescentVisitor
             {
                 x.mi,
                 x.ps,
-                score = Enumerable.Range(0, Math.Min(argCount, x.ps.Length - (x.ps.Length == argCount + 1 ? 1 : 0)))
+                score = HasParamArray(x.ps) ? ParamArrayScore(inferred, x.ps) : Enumerable.Range(0, Math.Min(argCount, x.ps.Length - (x.ps.Length == argCount + 1 ? 1 : 0)))
                     .Sum(i =>
                     {
                         var offset = x.ps.Length == argCount + 1 ? 1 : 0;
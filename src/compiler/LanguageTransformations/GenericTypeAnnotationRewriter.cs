@@ -22,7 +22,7 @@ public class GenericTypeAnnotationRewriter(TypeAnnotationContext context) : Type
             return new RewriteResult(result with { Type = resolvedType }, baseResult.Prologue);
         }
 
-        if (result.Annotations.TryGetValue("FunctionName", out var funcNameObj) && funcNameObj is string funcName)
+        if (result.Annotations.FunctionName is string funcName)
         {
             var scope = SymbolHelpers.NearestScope(result);
             if (scope != null && scope.TryResolveByName(funcName, out var entry) &&
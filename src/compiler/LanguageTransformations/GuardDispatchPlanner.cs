@@ -0,0 +1,392 @@
+using compiler.Validation.GuardValidation.Analysis;
+using compiler.Validation.GuardValidation.Infrastructure;
+using compiler.Validation.GuardValidation.Normalization;
+
+namespace Fifth.LangProcessingPhases;
+
+/// <summary>
+/// Plans an optimized dispatcher for a multi-clause function whose guards are analyzable
+/// integer ranges over a single discriminant.
+/// </summary>
+/// <remarks>
+/// The default lowering tests each clause's precondition in turn, so a call to an N-clause function
+/// evaluates up to N guards. When every guarded clause constrains the same parameter (or the same
+/// destructured property of a parameter) to pairwise disjoint intervals, first-match order no longer
+/// matters and the clauses can be searched by bisecting on their lower bounds instead:
+///
+///   if (n &lt; 10) { if (n == 0) return f1(n); if (n &gt;= 1 &amp;&amp; n &lt;= 9) return f2(n); }
+///   else { if (n == 10) return f3(n); if (n &gt; 10) return f4(n); }
+///   return f5(n);
+///
+/// Constant equality guards are point intervals, so they fall out of the same search. A destructured
+/// discriminant is loaded into a local once rather than once per clause. Clauses after the first
+/// unguarded clause are left exactly as the linear lowering would emit them.
+/// </remarks>
+internal sealed class GuardDispatchPlanner
+{
+    /// <summary>
+    /// Below this many guarded clauses the linear chain is at least as cheap as a search tree.
+    /// </summary>
+    internal const int MinClausesForDecisionTree = 4;
+
+    /// <summary>
+    /// Maximum number of clauses tested linearly at a leaf of the search tree.
+    /// </summary>
+    internal const int LeafSize = 2;
+
+    private readonly PredicateNormalizer _normalizer = new();
+    private readonly IntervalEngine _intervals = new();
+    private int _tmpCounter;
+
+    private readonly record struct DispatchKey(int ParamIndex, string? PropertyName);
+
+    private readonly record struct DispatchArm(Interval Interval, MethodDef Subclause);
+
+    /// <summary>
+    /// Attempts to build a decision-tree dispatcher for the guarded prefix of <paramref name="clauses"/>.
+    /// </summary>
+    /// <param name="guardParams">parameters of the generated guard function</param>
+    /// <param name="clauses">preconditions and subclause functions, in source order</param>
+    /// <param name="makeCall">builds the call that forwards the guard's arguments to a subclause</param>
+    /// <param name="statements">the dispatcher statements for the guarded prefix, on success</param>
+    /// <param name="consumed">number of clauses covered by <paramref name="statements"/></param>
+    /// <returns>true if the clauses qualify for tree dispatch</returns>
+    public bool TryBuildDecisionTree(
+        IReadOnlyList<ParamDef> guardParams,
+        List<(Expression?, MethodDef)> clauses,
+        Func<MethodDef, Expression> makeCall,
+        out List<Statement> statements,
+        out int consumed)
+    {
+        statements = [];
+        consumed = 0;
+
+        var guarded = clauses.TakeWhile(c => c.Item1 != null).ToList();
+        if (guarded.Count < MinClausesForDecisionTree)
+        {
+            return false;
+        }
+
+        DispatchKey? key = null;
+        var useInt64 = false;
+        var arms = new List<DispatchArm>(guarded.Count);
+        foreach (var (precondition, subclause) in guarded)
+        {
+            if (_normalizer.ClassifyPredicate(subclause) != PredicateType.Analyzable)
+            {
+                return false;
+            }
+
+            if (!TryGetInterval(precondition!, subclause.FunctionDef.Params, out var clauseKey, out var interval, ref useInt64))
+            {
+                return false;
+            }
+
+            if (key == null)
+            {
+                key = clauseKey;
+            }
+            else if (key.Value != clauseKey)
+            {
+                return false;
+            }
+
+            if (_intervals.IsEmpty(interval))
+            {
+                return false;
+            }
+
+            arms.Add(new DispatchArm(interval, subclause));
+        }
+
+        if (key!.Value.ParamIndex >= guardParams.Count)
+        {
+            return false;
+        }
+
+        for (var i = 0; i < arms.Count; i++)
+        {
+            for (var j = i + 1; j < arms.Count; j++)
+            {
+                if (!_intervals.IsEmpty(_intervals.Intersect(arms[i].Interval, arms[j].Interval)))
+                {
+                    return false;
+                }
+            }
+        }
+
+        arms.Sort((a, b) => CompareLowerBounds(a.Interval, b.Interval));
+
+        var discriminant = CreateDiscriminant(guardParams, key.Value, arms, statements);
+        statements.AddRange(BuildTree(arms, 0, arms.Count, discriminant, useInt64, makeCall));
+        consumed = guarded.Count;
+        return true;
+    }
+
+    /// <summary>
+    /// Emits a balanced search over <paramref name="arms"/>[lo, hi), splitting on the lower bound of the middle arm.
+    /// </summary>
+    private List<Statement> BuildTree(List<DispatchArm> arms, int lo, int hi, Func<Expression> discriminant, bool useInt64, Func<MethodDef, Expression> makeCall)
+    {
+        var statements = new List<Statement>();
+        if (hi - lo <= LeafSize)
+        {
+            for (var i = lo; i < hi; i++)
+            {
+                var ifBlock = new BlockStatementBuilder()
+                    .AddingItemToStatements(new ReturnStatementBuilder().WithReturnValue(makeCall(arms[i].Subclause)).Build())
+                    .Build();
+                statements.Add(new IfElseStatementBuilder()
+                    .WithCondition(CreateIntervalTest(arms[i].Interval, discriminant, useInt64))
+                    .WithThenBlock(ifBlock)
+                    .Build());
+            }
+            return statements;
+        }
+
+        var mid = lo + (hi - lo) / 2;
+        var pivot = arms[mid].Interval;
+
+        // Arms are disjoint and sorted, so everything left of mid lies strictly below its lower bound
+        var goLeft = new BinaryExpBuilder()
+            .WithLHS(discriminant())
+            .WithOperator(pivot.MinInclusive ? Operator.LessThan : Operator.LessThanOrEqual)
+            .WithRHS(CreateLiteral(pivot.Min!.Value, useInt64))
+            .Build();
+
+        var left = new BlockStatement { Statements = BuildTree(arms, lo, mid, discriminant, useInt64, makeCall) };
+        var right = new BlockStatement { Statements = BuildTree(arms, mid, hi, discriminant, useInt64, makeCall) };
+        statements.Add(new IfElseStatementBuilder()
+            .WithCondition(goLeft)
+            .WithThenBlock(left)
+            .WithElseBlock(right)
+            .Build());
+        return statements;
+    }
+
+    /// <summary>
+    /// Returns a factory for the discriminant expression. A destructured property whose type is known is
+    /// loaded into a local once, and every test reads the local instead of repeating the member access.
+    /// </summary>
+    private Func<Expression> CreateDiscriminant(IReadOnlyList<ParamDef> guardParams, DispatchKey key, List<DispatchArm> arms, List<Statement> prologue)
+    {
+        var paramName = guardParams[key.ParamIndex].Name;
+        if (key.PropertyName == null)
+        {
+            return () => new VarRefExp { VarName = paramName };
+        }
+
+        var propertyName = key.PropertyName;
+        Expression Load() => new MemberAccessExp
+        {
+            LHS = new VarRefExp { VarName = paramName },
+            RHS = new VarRefExp { VarName = propertyName }
+        };
+
+        var typeName = FindPropertyType(guardParams[key.ParamIndex], propertyName)
+                       ?? arms.Select(a => FindPropertyType(a.Subclause.FunctionDef.Params[key.ParamIndex], propertyName))
+                              .FirstOrDefault(t => t != null);
+        if (typeName == null)
+        {
+            return Load;
+        }
+
+        var localName = $"__dispatch{_tmpCounter++}";
+        prologue.Add(new VarDeclStatement
+        {
+            VariableDecl = new VariableDecl
+            {
+                Name = localName,
+                TypeName = typeName.Value,
+                CollectionType = CollectionType.SingleInstance,
+                Visibility = Visibility.Private,
+                Annotations = []
+            },
+            InitialValue = Load(),
+            Annotations = []
+        });
+        return () => new VarRefExp { VarName = localName };
+    }
+
+    private static TypeName? FindPropertyType(ParamDef param, string propertyName)
+    {
+        var binding = param.DestructureDef?.Bindings.FirstOrDefault(b =>
+            string.Equals((b.ReferencedProperty?.Name ?? b.ReferencedPropertyName).Value, propertyName, StringComparison.Ordinal));
+        return binding?.ReferencedProperty?.TypeName;
+    }
+
+    private static Expression CreateIntervalTest(Interval interval, Func<Expression> discriminant, bool useInt64)
+    {
+        if (interval.Min.HasValue && interval.Max.HasValue && interval.Min == interval.Max)
+        {
+            return Compare(discriminant(), Operator.Equal, interval.Min.Value, useInt64);
+        }
+
+        Expression? lower = interval.Min.HasValue
+            ? Compare(discriminant(), interval.MinInclusive ? Operator.GreaterThanOrEqual : Operator.GreaterThan, interval.Min.Value, useInt64)
+            : null;
+        Expression? upper = interval.Max.HasValue
+            ? Compare(discriminant(), interval.MaxInclusive ? Operator.LessThanOrEqual : Operator.LessThan, interval.Max.Value, useInt64)
+            : null;
+
+        if (lower != null && upper != null)
+        {
+            return new BinaryExpBuilder().WithLHS(lower).WithOperator(Operator.LogicalAnd).WithRHS(upper).Build();
+        }
+
+        return lower ?? upper ?? new BooleanLiteralExp { Value = true };
+    }
+
+    private static BinaryExp Compare(Expression lhs, Operator op, long value, bool useInt64)
+        => new BinaryExpBuilder().WithLHS(lhs).WithOperator(op).WithRHS(CreateLiteral(value, useInt64)).Build();
+
+    private static Expression CreateLiteral(long value, bool useInt64)
+        => useInt64 ? new Int64LiteralExp { Value = value } : new Int32LiteralExp { Value = (int)value };
+
+    private static int CompareLowerBounds(in Interval a, in Interval b)
+    {
+        if (!a.Min.HasValue || !b.Min.HasValue)
+        {
+            return a.Min.HasValue.CompareTo(b.Min.HasValue);
+        }
+
+        var byValue = a.Min.Value.CompareTo(b.Min.Value);
+        if (byValue != 0)
+        {
+            return byValue;
+        }
+
+        // An inclusive bound starts before an exclusive one at the same value
+        return b.MinInclusive.CompareTo(a.MinInclusive);
+    }
+
+    /// <summary>
+    /// Folds a conjunction of integer comparisons over a single discriminant into an interval.
+    /// </summary>
+    private bool TryGetInterval(Expression precondition, List<ParamDef> clauseParams, out DispatchKey key, out Interval interval, ref bool useInt64)
+    {
+        key = default;
+        interval = Interval.Unbounded();
+
+        var atoms = new List<BinaryExp>();
+        if (!CollectAtoms(precondition, atoms) || atoms.Count == 0)
+        {
+            return false;
+        }
+
+        DispatchKey? found = null;
+        foreach (var atom in atoms)
+        {
+            var op = atom.Operator;
+            Expression operand;
+            Expression literal;
+            if (IsIntegerLiteral(atom.RHS))
+            {
+                operand = atom.LHS;
+                literal = atom.RHS;
+            }
+            else if (IsIntegerLiteral(atom.LHS))
+            {
+                operand = atom.RHS;
+                literal = atom.LHS;
+                op = Mirror(op);
+            }
+            else
+            {
+                return false;
+            }
+
+            if (!TryGetKey(operand, clauseParams, out var atomKey))
+            {
+                return false;
+            }
+
+            if (found == null)
+            {
+                found = atomKey;
+            }
+            else if (found.Value != atomKey)
+            {
+                return false;
+            }
+
+            var value = literal is Int64LiteralExp l64 ? l64.Value : ((Int32LiteralExp)literal).Value;
+            useInt64 |= literal is Int64LiteralExp;
+
+            Interval atomInterval = op switch
+            {
+                Operator.GreaterThan => new Interval(value, false, null, false),
+                Operator.GreaterThanOrEqual => new Interval(value, true, null, false),
+                Operator.LessThan => new Interval(null, false, value, false),
+                Operator.LessThanOrEqual => new Interval(null, false, value, true),
+                Operator.Equal => Interval.Closed(value, value),
+                _ => default
+            };
+            if (Equals(atomInterval, default(Interval)))
+            {
+                return false;
+            }
+
+            interval = _intervals.Intersect(interval, atomInterval);
+        }
+
+        key = found!.Value;
+        return true;
+    }
+
+    private static bool TryGetKey(Expression operand, List<ParamDef> clauseParams, out DispatchKey key)
+    {
+        key = default;
+        switch (operand)
+        {
+            case VarRefExp v:
+                var index = clauseParams.FindIndex(p => p.Name == v.VarName);
+                if (index < 0)
+                {
+                    return false;
+                }
+                key = new DispatchKey(index, null);
+                return true;
+            case MemberAccessExp { LHS: VarRefExp owner, RHS: VarRefExp property }:
+                var ownerIndex = clauseParams.FindIndex(p => p.Name == owner.VarName);
+                if (ownerIndex < 0)
+                {
+                    return false;
+                }
+                key = new DispatchKey(ownerIndex, property.VarName);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static bool IsIntegerLiteral(Expression e) => e is Int32LiteralExp or Int64LiteralExp;
+
+    private static Operator Mirror(Operator op) => op switch
+    {
+        Operator.GreaterThan => Operator.LessThan,
+        Operator.GreaterThanOrEqual => Operator.LessThanOrEqual,
+        Operator.LessThan => Operator.GreaterThan,
+        Operator.LessThanOrEqual => Operator.GreaterThanOrEqual,
+        _ => op
+    };
+
+    private static bool CollectAtoms(Expression expr, List<BinaryExp> atoms)
+    {
+        if (expr is BinaryExp be)
+        {
+            if (be.Operator == Operator.LogicalAnd)
+                return CollectAtoms(be.LHS, atoms) && CollectAtoms(be.RHS, atoms);
+
+            if (be.Operator == Operator.GreaterThan || be.Operator == Operator.GreaterThanOrEqual ||
+                be.Operator == Operator.LessThan || be.Operator == Operator.LessThanOrEqual ||
+                be.Operator == Operator.Equal)
+            {
+                atoms.Add(be);
+                return true;
+            }
+            return false;
+        }
+        return false;
+    }
+}
@@ -115,7 +115,7 @@ public sealed class LambdaClosureConversionRewriter : DefaultAstRewriter
         {
             FunctionDef = null,
             InvocationArguments = result.InvocationArguments,
-            Annotations = new Dictionary<string, object> { ["FunctionName"] = "Apply" },
+            Annotations = new AnnotationMap { ["FunctionName"] = "Apply" },
             Location = result.Location,
             Parent = null,
             Type = result.Type
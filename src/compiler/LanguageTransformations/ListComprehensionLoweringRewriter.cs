@@ -71,7 +71,7 @@ public class ListComprehensionLoweringRewriter : DefaultAstRewriter
                     }
                 },
                 Type = new FifthType.TType() { Name = TypeName.From("string") },
-                Annotations = new Dictionary<string, object>
+                Annotations = new AnnotationMap
                 {
                     ["ExternalType"] = typeof(Fifth.System.TabularResultBindings),
                     ["ExternalMethodName"] = "GetBindingAsString"
@@ -139,6 +139,13 @@ public class ListComprehensionLoweringRewriter : DefaultAstRewriter
                               (sourceExpr.Type is FifthType.TDotnetType dt &&
                                dt.TheType == typeof(Fifth.System.Result));
 
+        // Step 1.5: When the source is a query application, push what the constraints and
+        // projection allow into the query itself, so the store returns fewer and narrower rows.
+        if (isResultSource)
+        {
+            sourceExpr = PushDownIntoQuery(ctx, sourceExpr);
+        }
+
         // Step 2: Create temporary variable for source (to evaluate once)
         var sourceTempName = FreshTempName("source");
         var sourceTempDecl = new VariableDecl
@@ -176,7 +183,7 @@ public class ListComprehensionLoweringRewriter : DefaultAstRewriter
                 {
                     Name = TypeName.From("IEnumerable<ISparqlResult>")
                 },
-                Annotations = new Dictionary<string, object>
+                Annotations = new AnnotationMap
                 {
                     ["ExternalType"] = typeof(Fifth.System.TabularResultBindings),
                     ["ExternalMethodName"] = "EnumerateRows"
@@ -310,7 +317,7 @@ public class ListComprehensionLoweringRewriter : DefaultAstRewriter
             FunctionDef = null,
             InvocationArguments = new List<Expression> { projectionExpr },
             Type = Void,
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["ExternalMethodName"] = "Add",
                 ["IsInstanceMethod"] = true,
@@ -419,4 +426,46 @@ public class ListComprehensionLoweringRewriter : DefaultAstRewriter
 
         return new RewriteResult(resultRef, prologue);
     }
+
+    /// <summary>
+    /// Rewrites QueryApplicationExecutor.Execute(query, store) into
+    /// Execute(QueryPushdown.Refine(query, filter, variables), store). The comprehension keeps all of its
+    /// constraints, so the refinement only saves work; other sources are returned unchanged.
+    /// </summary>
+    private static Expression PushDownIntoQuery(ListComprehension ctx, Expression sourceExpr)
+    {
+        if (sourceExpr is not FuncCallExp { InvocationArguments: [var queryArg, var storeArg] } execute ||
+            execute.Annotations.ExternalType != typeof(Fifth.System.QueryApplicationExecutor) ||
+            execute.Annotations.ExternalMethodName != "Execute")
+        {
+            return sourceExpr;
+        }
+
+        var pushdown = SparqlComprehensionPushdown.Translate(ctx);
+        if (pushdown.IsEmpty)
+        {
+            return sourceExpr;
+        }
+
+        var stringType = new FifthType.TType() { Name = TypeName.From("string") };
+        var refineCall = new FuncCallExp
+        {
+            FunctionDef = null,
+            InvocationArguments = new List<Expression>
+            {
+                queryArg,
+                new StringLiteralExp { Value = pushdown.Filter, Type = stringType },
+                new StringLiteralExp { Value = pushdown.Variables, Type = stringType }
+            },
+            Type = queryArg.Type,
+            Location = queryArg.Location,
+            Annotations = new AnnotationMap
+            {
+                ["ExternalType"] = typeof(Fifth.System.QueryPushdown),
+                ["ExternalMethodName"] = "Refine"
+            }
+        };
+
+        return execute with { InvocationArguments = new List<Expression> { refineCall, storeArg } };
+    }
 }
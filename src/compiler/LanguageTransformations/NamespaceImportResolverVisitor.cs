@@ -38,7 +38,7 @@ public class NamespaceImportResolverVisitor : DefaultRecursiveDescentVisitor
         // The assembly file name (minus extension) is treated as the namespace.
         RegisterExternalReferenceNamespaces(ctx, index);
 
-        var importGraph = BuildImportGraph(updatedModules);
+        var importGraph = NamespaceImportGraph.FromModules(updatedModules);
 
         foreach (var module in updatedModules)
         {
@@ -100,23 +100,6 @@ public class NamespaceImportResolverVisitor : DefaultRecursiveDescentVisitor
         }
     }
 
-    private static NamespaceImportGraph BuildImportGraph(IEnumerable<ModuleMetadata> modules)
-    {
-        var graph = new NamespaceImportGraph();
-        foreach (var module in modules)
-        {
-            foreach (var import in module.Imports)
-            {
-                if (!string.IsNullOrWhiteSpace(module.DeclaredNamespace))
-                {
-                    graph.AddImport(module.DeclaredNamespace, import.Namespace);
-                }
-            }
-        }
-
-        return graph;
-    }
-
     private static void ApplyImports(ModuleMetadata module, NamespaceScopeIndex index, NamespaceImportGraph graph, NamespaceDiagnosticEmitter emitter, HashSet<string> resolvedNamespaces)
     {
         var processed = new HashSet<string>(StringComparer.Ordinal);
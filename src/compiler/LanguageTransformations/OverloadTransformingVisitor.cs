@@ -74,10 +74,10 @@ public class OverloadTransformingVisitor : DefaultRecursiveDescentVisitor
     }
 
     internal int clauseCounter;
+    private readonly GuardDispatchPlanner dispatchPlanner = new();
 
     internal MethodDef GenerateGuardFunction(OverloadedFunctionDefinition ctx, List<(Expression?, MethodDef)> clauses)
     {
-        var ifStatements = new List<Statement>();
      FunctionDef fd = (FunctionDef)new FunctionDefBuilder()
                .WithName(ctx.Name)
                .WithReturnType(ctx.Type)
@@ -85,43 +85,7 @@ public class OverloadTransformingVisitor : DefaultRecursiveDescentVisitor
                .WithParams(ctx.OverloadClauses.First().Params)
                .Build()
                .WithSameParentAs(ctx);
-        foreach (var clause in clauses)
-        {
-            /*
-             var name = context.funcname.GetText();
-                var actualParams = (ExpressionList)VisitExplist(context.args);
-                return new FuncCallExpression(actualParams, name)
-             */
-            var args = (from p in clause.Item2.FunctionDef.Params
-                        select (Expression)new VarRefExp() { VarName = p.Name, Parent = p as IAstThing }).ToList();
-
-            // Call the specific subclause function, not the guard itself
-            var funcCallExpression = new FuncCallExp()
-            {
-                Annotations = [],
-                InvocationArguments = args,
-                FunctionDef = clause.Item2.FunctionDef
-            };
-
-            if (clause.Item1 != null)
-            {
-                var ifBlock = new BlockStatementBuilder()
-                                          .AddingItemToStatements(new ReturnStatementBuilder().WithReturnValue(funcCallExpression).Build())
-                                          .Build();
-                var ieb = new IfElseStatementBuilder()
-                                       .WithCondition(clause.Item1)
-                                       .WithThenBlock(ifBlock)
-                                       .Build();
-                ifStatements.Add(ieb);
-            }
-            else
-            {
-                // if there is no clause condition, it must be the base case (which should be the
-                // last clause)
-                ifStatements.Add(new ReturnStatementBuilder().WithReturnValue(funcCallExpression).Build());
-            }
-        }
-        fd.Body = new BlockStatement() { Statements = ifStatements };
+        fd.Body = new BlockStatement() { Statements = GenerateDispatchStatements(fd.Params, clauses) };
 
         // TODO: Use FunctionDefinitionBuilder
 
@@ -244,7 +208,6 @@ public class OverloadTransformingVisitor : DefaultRecursiveDescentVisitor
 
     internal FunctionDef GenerateModuleGuardFunction(OverloadedFunctionDef ctx, List<(Expression?, MethodDef)> clauses)
     {
-        var ifStatements = new List<Statement>();
         FunctionDef fd = (FunctionDef)new FunctionDefBuilder()
                .WithName(ctx.Name)
                .WithReturnType(ctx.ReturnType)
@@ -255,17 +218,29 @@ public class OverloadTransformingVisitor : DefaultRecursiveDescentVisitor
                .Build()
                .WithSameParentAs(ctx);
 
-        foreach (var clause in clauses)
+        fd.Body = new BlockStatement() { Statements = GenerateDispatchStatements(fd.Params, clauses) };
+
+        return fd;
+    }
+
+    /// <summary>
+    /// Build the body of a guard function: a decision tree over the guarded clauses when their guards
+    /// allow it, otherwise (and for anything after the base case) a linear chain of guarded returns.
+    /// </summary>
+    internal List<Statement> GenerateDispatchStatements(List<ParamDef> guardParams, List<(Expression?, MethodDef)> clauses)
+    {
+        var ifStatements = new List<Statement>();
+        var firstLinear = 0;
+        if (dispatchPlanner.TryBuildDecisionTree(guardParams, clauses, CreateSubclauseCall, out var tree, out var consumed))
         {
-            var args = (from p in clause.Item2.FunctionDef.Params
-                        select (Expression)new VarRefExp() { VarName = p.Name, Parent = p as IAstThing }).ToList();
+            ifStatements.AddRange(tree);
+            firstLinear = consumed;
+        }
 
-            var funcCallExpression = new FuncCallExp()
-            {
-                Annotations = [],
-                InvocationArguments = args,
-                FunctionDef = clause.Item2.FunctionDef
-            };
+        foreach (var clause in clauses.Skip(firstLinear))
+        {
+            // Call the specific subclause function, not the guard itself
+            var funcCallExpression = CreateSubclauseCall(clause.Item2);
 
             if (clause.Item1 != null)
             {
@@ -285,9 +260,21 @@ public class OverloadTransformingVisitor : DefaultRecursiveDescentVisitor
                 ifStatements.Add(new ReturnStatementBuilder().WithReturnValue(funcCallExpression).Build());
             }
         }
-        fd.Body = new BlockStatement() { Statements = ifStatements };
 
-        return fd;
+        return ifStatements;
+    }
+
+    private static Expression CreateSubclauseCall(MethodDef subclause)
+    {
+        var args = (from p in subclause.FunctionDef.Params
+                    select (Expression)new VarRefExp() { VarName = p.Name, Parent = p as IAstThing }).ToList();
+
+        return new FuncCallExp()
+        {
+            Annotations = [],
+            InvocationArguments = args,
+            FunctionDef = subclause.FunctionDef
+        };
     }
 
     internal void SubstituteModuleFunctionDefinitions(ModuleDef owner, IEnumerable<OverloadedFunctionDef> functionsToRemove, FunctionDef guardFunction, IEnumerable<MethodDef> subClauseFunctions)
@@ -54,7 +54,7 @@ public class QueryApplicationLoweringRewriter : DefaultAstRewriter
             },
             Type = ctx.InferredType ?? ResultType,
             Location = ctx.Location,
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 // Mark this as an external static method call so translators can emit
                 // a qualified invocation and validators can resolve the target method.
@@ -0,0 +1,236 @@
+using System.Collections.Generic;
+using System.Globalization;
+using System.Linq;
+using System.Text;
+using ast;
+using ast_generated;
+
+namespace compiler.LanguageTransformations;
+
+/// <summary>
+/// Compile-time translation of list comprehension constraints and row accesses into a SPARQL filter
+/// and projection, for comprehensions that iterate a query application directly:
+///   [x.name from x in (q &lt;- store) where x.name != "Bob", int.Parse(x.age) &gt; 25]
+///
+/// Translated:
+/// - x.v == "text" and x.v != "text"
+/// - int.Parse(x.v) compared with an integer literal using ==, !=, &lt;, &gt;, &lt;=, &gt;=
+/// - conjunctions (&amp;&amp;) of the above, up to the first conjunct that does not translate
+///
+/// Each filter is wrapped in COALESCE(IF(guard, test, true), true), so a row is only rejected when the
+/// test is false and the guard holds: the binding is a literal that the Fifth constraint would read
+/// without throwing, and so are the bindings read by every conjunct evaluated before it. Unbound
+/// variables, IRIs, blank nodes and unparseable numbers still reach the comprehension, which keeps every
+/// constraint and so reports the same errors as before. Nothing after an untranslated conjunct is pushed,
+/// since that conjunct may throw for a row a later filter would have dropped.
+/// </summary>
+public static class SparqlComprehensionPushdown
+{
+    private const string XsdInteger = "<http://www.w3.org/2001/XMLSchema#integer>";
+
+    // Up to nine digits always fits an Int32, so int.Parse accepts every value this guard admits.
+    private const string Int32Guard = "REGEX(STR(?{0}), \"^\\\\s*[+-]?[0-9]{{1,9}}\\\\s*$\")";
+
+    /// <summary>
+    /// What can be pushed into the query of one comprehension.
+    /// </summary>
+    /// <param name="Filter">SPARQL filter expression, empty when no constraint translates.</param>
+    /// <param name="Variables">Space-separated variables read through the row variable, empty when the row
+    /// variable is used in any other way.</param>
+    public record Pushdown(string Filter, string Variables)
+    {
+        public bool IsEmpty => Filter.Length == 0 && Variables.Length == 0;
+    }
+
+    /// <summary>
+    /// Translates the constraints and row accesses of <paramref name="comprehension"/>.
+    /// </summary>
+    public static Pushdown Translate(ListComprehension comprehension)
+    {
+        var filters = new List<string>();
+        var guards = new List<string>();
+        foreach (var constraint in comprehension.Constraints ?? new List<Expression>())
+        {
+            if (!CollectFilters(constraint, comprehension.VarName, guards, filters))
+            {
+                break;
+            }
+        }
+
+        var usage = new RowVariableUsage(comprehension.VarName);
+        usage.Visit(comprehension.Projection);
+        foreach (var constraint in comprehension.Constraints ?? new List<Expression>())
+        {
+            usage.Visit(constraint);
+        }
+
+        var variables = usage.Escapes || usage.Properties.Count == 0
+            ? string.Empty
+            : string.Join(" ", usage.Properties);
+
+        return new Pushdown(string.Join(" && ", filters), variables);
+    }
+
+    /// <summary>
+    /// Adds the filters of <paramref name="constraint"/>'s conjuncts in evaluation order, each guarded by the
+    /// guards of those before it, which accumulate in <paramref name="guards"/>.
+    /// </summary>
+    /// <returns>False at the first conjunct that does not translate, after which nothing may be pushed.</returns>
+    private static bool CollectFilters(Expression constraint, string rowVar, List<string> guards, List<string> filters)
+    {
+        if (constraint is not BinaryExp binary)
+        {
+            return false;
+        }
+
+        if (binary.Operator == Operator.LogicalAnd)
+        {
+            return CollectFilters(binary.LHS, rowVar, guards, filters)
+                && CollectFilters(binary.RHS, rowVar, guards, filters);
+        }
+
+        var op = binary.Operator;
+        var lhs = binary.LHS;
+        var rhs = binary.RHS;
+        if (lhs is StringLiteralExp or Int32LiteralExp)
+        {
+            (lhs, rhs) = (rhs, lhs);
+            op = Mirror(op);
+        }
+
+        if (SparqlOperator(op) is not { } sparqlOp)
+        {
+            return false;
+        }
+
+        string guard, test;
+        if (RowProperty(lhs, rowVar) is { } textVar
+            && rhs is StringLiteralExp text
+            && text.Value != null
+            && op is Operator.Equal or Operator.NotEqual)
+        {
+            guard = $"isLITERAL(?{textVar})";
+            test = $"STR(?{textVar}) {sparqlOp} {QuoteString(text.Value)}";
+        }
+        else if (IntParseOfRowProperty(lhs, rowVar) is { } intVar && rhs is Int32LiteralExp number)
+        {
+            guard = $"isLITERAL(?{intVar}) && " + string.Format(CultureInfo.InvariantCulture, Int32Guard, intVar);
+            test = $"{XsdInteger}(STR(?{intVar})) {sparqlOp} {number.Value.ToString(CultureInfo.InvariantCulture)}";
+        }
+        else
+        {
+            return false;
+        }
+
+        if (!guards.Contains(guard))
+        {
+            guards.Add(guard);
+        }
+
+        filters.Add(Guarded(string.Join(" && ", guards), test));
+        return true;
+    }
+
+    private static string Guarded(string guard, string test) => $"COALESCE(IF({guard}, {test}, true), true)";
+
+    private static Operator Mirror(Operator op) => op switch
+    {
+        Operator.LessThan => Operator.GreaterThan,
+        Operator.GreaterThan => Operator.LessThan,
+        Operator.LessThanOrEqual => Operator.GreaterThanOrEqual,
+        Operator.GreaterThanOrEqual => Operator.LessThanOrEqual,
+        _ => op
+    };
+
+    private static string? SparqlOperator(Operator op) => op switch
+    {
+        Operator.Equal => "=",
+        Operator.NotEqual => "!=",
+        Operator.LessThan => "<",
+        Operator.GreaterThan => ">",
+        Operator.LessThanOrEqual => "<=",
+        Operator.GreaterThanOrEqual => ">=",
+        _ => null
+    };
+
+    // x.v, where x is the row variable.
+    private static string? RowProperty(Expression expression, string rowVar) =>
+        expression is MemberAccessExp { LHS: VarRefExp row, RHS: VarRefExp property } && row.VarName == rowVar
+            ? property.VarName
+            : null;
+
+    // int.Parse(x.v), before or after external call resolution.
+    private static string? IntParseOfRowProperty(Expression expression, string rowVar)
+    {
+        var call = expression switch
+        {
+            MemberAccessExp { LHS: VarRefExp { VarName: "int" or "Int32" or "System.Int32" }, RHS: FuncCallExp f }
+                when f.Annotations.FunctionName == "Parse" || f.Annotations.ExternalMethodName == "Parse" => f,
+            MemberAccessExp { RHS: FuncCallExp f } => IsExternalIntParse(f) ? f : null,
+            FuncCallExp f => IsExternalIntParse(f) ? f : null,
+            _ => null
+        };
+
+        return call?.InvocationArguments is [var argument] ? RowProperty(argument, rowVar) : null;
+    }
+
+    private static bool IsExternalIntParse(FuncCallExp call) =>
+        call.Annotations.ExternalType == typeof(int) && call.Annotations.ExternalMethodName == "Parse";
+
+    private static string QuoteString(string value)
+    {
+        var sb = new StringBuilder("\"");
+        foreach (var c in value)
+        {
+            sb.Append(c switch
+            {
+                '"' => "\\\"",
+                '\\' => "\\\\",
+                '\n' => "\\n",
+                '\r' => "\\r",
+                '\t' => "\\t",
+                _ => c.ToString()
+            });
+        }
+
+        return sb.Append('"').ToString();
+    }
+
+    /// <summary>
+    /// Collects the properties read as x.v and notes any other use of the row variable x.
+    /// </summary>
+    private sealed class RowVariableUsage : DefaultRecursiveDescentVisitor
+    {
+        private readonly string _rowVar;
+
+        public RowVariableUsage(string rowVar)
+        {
+            _rowVar = rowVar;
+        }
+
+        public SortedSet<string> Properties { get; } = new(StringComparer.Ordinal);
+
+        public bool Escapes { get; private set; }
+
+        public override MemberAccessExp VisitMemberAccessExp(MemberAccessExp ctx)
+        {
+            if (RowProperty(ctx, _rowVar) is { } property)
+            {
+                Properties.Add(property);
+                return ctx;
+            }
+
+            return base.VisitMemberAccessExp(ctx);
+        }
+
+        public override VarRefExp VisitVarRefExp(VarRefExp ctx)
+        {
+            if (ctx.VarName == _rowVar)
+            {
+                Escapes = true;
+            }
+
+            return base.VisitVarRefExp(ctx);
+        }
+    }
+}
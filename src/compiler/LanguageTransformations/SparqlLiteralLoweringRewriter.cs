@@ -61,7 +61,7 @@ public class SparqlLiteralLoweringRewriter : DefaultAstRewriter
                 Value = ctx.SparqlText ?? string.Empty,
                 Type = StringType,
                 Location = ctx.Location,
-                Annotations = new Dictionary<string, object>()
+                Annotations = new AnnotationMap()
             };
         }
 
@@ -72,7 +72,7 @@ public class SparqlLiteralLoweringRewriter : DefaultAstRewriter
             InvocationArguments = new List<Expression> { sparqlStringExpression },
             Type = QueryType,
             Location = ctx.Location,
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 // Mark this as an external static method call so translators can emit
                 // a qualified invocation and validators can resolve the target method.
@@ -116,7 +116,7 @@ public class SparqlLiteralLoweringRewriter : DefaultAstRewriter
                         Value = beforeText,
                         Type = StringType,
                         Location = location,
-                        Annotations = new Dictionary<string, object>()
+                        Annotations = new AnnotationMap()
                     });
                 }
                 
@@ -138,7 +138,7 @@ public class SparqlLiteralLoweringRewriter : DefaultAstRewriter
                 Value = remainingText,
                 Type = StringType,
                 Location = location,
-                Annotations = new Dictionary<string, object>()
+                Annotations = new AnnotationMap()
             });
         }
         
@@ -150,7 +150,7 @@ public class SparqlLiteralLoweringRewriter : DefaultAstRewriter
                 Value = string.Empty,
                 Type = StringType,
                 Location = location,
-                Annotations = new Dictionary<string, object>()
+                Annotations = new AnnotationMap()
             };
         }
         else if (parts.Count == 1)
@@ -170,7 +170,7 @@ public class SparqlLiteralLoweringRewriter : DefaultAstRewriter
                     Operator = Operator.ArithmeticAdd,
                     Type = StringType,
                     Location = location,
-                    Annotations = new Dictionary<string, object>()
+                    Annotations = new AnnotationMap()
                 };
             }
             return result;
@@ -198,7 +198,7 @@ public class SparqlLiteralLoweringRewriter : DefaultAstRewriter
             InvocationArguments = new List<Expression> { expr },
             Type = StringType,
             Location = location,
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["ImplicitToString"] = true
             }
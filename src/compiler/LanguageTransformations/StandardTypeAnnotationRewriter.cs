@@ -156,7 +156,7 @@ public class StandardTypeAnnotationRewriter(TypeAnnotationContext context) : Typ
             return new RewriteResult(result with { Type = result.FunctionDef.ReturnType }, baseResult.Prologue);
         }
 
-        if (result.Annotations.TryGetValue("FunctionName", out var funcNameObj) && funcNameObj is string funcName)
+        if (result.Annotations.FunctionName is string funcName)
         {
             var scope = SymbolHelpers.NearestScope(result);
             if (scope != null && scope.TryResolveByName(funcName, out var entry))
@@ -4,290 +4,567 @@ using ast_model.TypeSystem;
 namespace compiler.LanguageTransformations;
 
 /// <summary>
-/// Detects and optimizes tail-recursive function calls by rewriting them to loops.
-/// This prevents stack overflow for deep recursion patterns.
-/// 
-/// Transformation pattern:
+/// Rewrites tail calls into loops so that deep recursion runs in constant stack space.
+///
+/// A tail call is a <c>return f(args)</c> reached through any nesting of if/else blocks. Self tail
+/// calls reassign the parameters and restart the function body:
 /// ```
 /// func(n: int, acc: int): int {
 ///     if (n <= 0) { return acc; }
-///     else { return func(n - 1, acc + n); }
+///     return func(n - 1, acc + n);
 /// }
 /// ```
-/// 
+///
 /// Becomes:
 /// ```
 /// func(n: int, acc: int): int {
 ///     _tco_continue: bool = true;
-///     while (_tco_continue) {
-///         if (n <= 0) { _tco_continue = false; return acc; }
-///         else {
-///             // Update params
-///             _tco_tmp_n: int = n - 1;
-///             _tco_tmp_acc: int = acc + n;
-///             n = _tco_tmp_n;
-///             acc = _tco_tmp_acc;
-///             // Loop continues
-///         }
+///     while (_tco_continue == true) {
+///         _tco_continue = false;
+///         if (n <= 0) { return acc; }
+///         _tco_tmp_n_0: int = n - 1;
+///         _tco_tmp_acc_1: int = acc + n;
+///         n = _tco_tmp_n_0;
+///         acc = _tco_tmp_acc_1;
+///         _tco_continue = true;
 ///     }
-///     return 0; // Unreachable fallback
 /// }
 /// ```
+///
+/// The AST has no <c>continue</c>, so statements that follow a branch containing a tail call are
+/// guarded by <c>if (_tco_continue == false)</c>. Falling out of the loop without a jump means the
+/// original body fell off its end, which the translator already turns into a "no matching guard" throw.
+///
+/// Module functions that tail-call each other (including the guard and subclause functions produced by
+/// overload transformation) are fused into a single <c>_tco_group_*</c> function that holds one loop
+/// and dispatches on a target index; each original function becomes a wrapper that enters the loop.
 /// </summary>
 public sealed class TailCallOptimizationRewriter : DefaultRecursiveDescentVisitor
 {
-    private FunctionDef? currentFunction;
+    internal const string ContinueVariableName = "_tco_continue";
+    internal const string TargetParameterName = "_tco_target";
+    internal const string GroupFunctionPrefix = "_tco_group_";
+
+    private static readonly TypeName BoolTypeName = TypeName.From("bool");
+    private static readonly TypeName IntTypeName = TypeName.From("int");
+
     private int tcoTempCounter;
 
-    public override FunctionDef VisitFunctionDef(FunctionDef ctx)
+    private readonly record struct CallKey(string Name, int Arity);
+
+    /// <summary>
+    /// Produces the statements that replace <c>return call</c>, or null if the call is not a jump target.
+    /// </summary>
+    private delegate List<Statement>? JumpFactory(CallKey target, FuncCallExp call);
+
+    public override ModuleDef VisitModuleDef(ModuleDef ctx)
     {
-        var previous = currentFunction;
-        currentFunction = ctx;
-        tcoTempCounter = 0;
+        var fused = ctx with { Functions = FuseMutuallyRecursiveGroups(ctx.Functions) };
+        return base.VisitModuleDef(fused);
+    }
 
+    public override FunctionDef VisitFunctionDef(FunctionDef ctx)
+    {
         // Don't call base visitor - analyze the original function
         // to avoid infinite recursion through nested function definitions
-        var result = ctx;
+        if (ctx.Name == null || string.IsNullOrEmpty(ctx.Name.Value) || ctx.IsConstructor)
+            return ctx;
 
-        // Check if function has tail-recursive calls
-        if (HasTailRecursiveCalls(result))
-        {
-            result = TransformToLoop(result);
-        }
+        var self = KeyOf(ctx);
+        if (!ContainsTailCall(ctx.Body, key => key == self))
+            return ctx;
 
-        currentFunction = previous;
-        return result;
+        tcoTempCounter = 0;
+        var loopBody = RewriteTailCalls(
+            ctx.Body.Statements,
+            (key, call) => key == self ? CreateSelfJump(ctx.Params, call) : null,
+            out _);
+        return ctx with { Body = ctx.Body with { Statements = WrapInLoop(loopBody) } };
     }
 
-    private bool HasTailRecursiveCalls(FunctionDef func)
+    #region Tail call detection
+
+    private static CallKey KeyOf(FunctionDef func) => new(func.Name.Value, func.Params.Count);
+
+    private static bool TryGetTailCall(Expression? exp, out CallKey key, out FuncCallExp call)
     {
-        if (func.Name == null || string.IsNullOrEmpty(func.Name.Value))
+        key = default;
+        call = null!;
+        if (exp is not FuncCallExp fc)
+            return false;
+
+        // Calls bound to .NET members are never calls to Fifth functions
+        if (fc.Annotations.ExternalType != null || fc.Annotations.IsInstanceMethod == true)
             return false;
 
-        var tailCalls = FindTailRecursiveCalls(func.Body, func.Name.Value);
-        return tailCalls.Any();
+        string? name = fc.FunctionDef?.Name.Value;
+        if (string.IsNullOrEmpty(name) &&
+            fc.Annotations.FunctionName is string annotated)
+        {
+            name = annotated;
+        }
+
+        if (string.IsNullOrEmpty(name))
+            return false;
+
+        key = new CallKey(name, fc.InvocationArguments?.Count ?? 0);
+        call = fc;
+        return true;
     }
 
-    private List<FuncCallExp> FindTailRecursiveCalls(BlockStatement body, string functionName)
+    private static bool ContainsTailCall(BlockStatement? block, Predicate<CallKey> isTarget)
     {
-        var results = new List<FuncCallExp>();
-        FindTailCallsInBlock(body, functionName, results);
-        return results;
+        if (block == null)
+            return false;
+
+        foreach (var stmt in block.Statements)
+        {
+            switch (stmt)
+            {
+                case ReturnStatement ret when TryGetTailCall(ret.ReturnValue, out var key, out _) && isTarget(key):
+                    return true;
+                case IfElseStatement ifElse when ContainsTailCall(ifElse.ThenBlock, isTarget) || ContainsTailCall(ifElse.ElseBlock, isTarget):
+                    return true;
+            }
+        }
+        return false;
     }
 
-    private void FindTailCallsInBlock(BlockStatement block, string functionName, List<FuncCallExp> results)
+    private static void CollectTailCallTargets(BlockStatement? block, HashSet<CallKey> targets)
     {
-        if (block.Statements.Count == 0)
+        if (block == null)
             return;
 
-        var lastStmt = block.Statements[^1];
+        foreach (var stmt in block.Statements)
+        {
+            switch (stmt)
+            {
+                case ReturnStatement ret when TryGetTailCall(ret.ReturnValue, out var key, out _):
+                    targets.Add(key);
+                    break;
+                case IfElseStatement ifElse:
+                    CollectTailCallTargets(ifElse.ThenBlock, targets);
+                    CollectTailCallTargets(ifElse.ElseBlock, targets);
+                    break;
+            }
+        }
+    }
+
+    #endregion
 
-        switch (lastStmt)
+    #region Body rewriting
+
+    private List<Statement> RewriteTailCalls(List<Statement> statements, JumpFactory jump, out bool mayJump)
+    {
+        var result = new List<Statement>(statements.Count);
+        mayJump = false;
+
+        for (var i = 0; i < statements.Count; i++)
         {
-            case ReturnStatement ret:
-                if (IsTailRecursiveCall(ret.ReturnValue, functionName))
-                {
-                    results.Add((FuncCallExp)ret.ReturnValue);
-                }
+            var stmt = statements[i];
+            if (stmt is ReturnStatement ret &&
+                TryGetTailCall(ret.ReturnValue, out var key, out var call) &&
+                jump(key, call) is { } jumpStatements)
+            {
+                // An unconditional jump: anything after it in this block is unreachable
+                result.AddRange(jumpStatements);
+                mayJump = true;
                 break;
+            }
 
-            case IfElseStatement ifElse:
-                FindTailCallsInBlock(ifElse.ThenBlock, functionName, results);
-                FindTailCallsInBlock(ifElse.ElseBlock, functionName, results);
-                break;
+            if (stmt is not IfElseStatement ifElse)
+            {
+                result.Add(stmt);
+                continue;
+            }
+
+            var thenStatements = RewriteTailCalls(ifElse.ThenBlock.Statements, jump, out var thenJumps);
+            var elseJumps = false;
+            List<Statement>? elseStatements = null;
+            if (ifElse.ElseBlock != null)
+            {
+                elseStatements = RewriteTailCalls(ifElse.ElseBlock.Statements, jump, out elseJumps);
+            }
+
+            if (!thenJumps && !elseJumps)
+            {
+                result.Add(stmt);
+                continue;
+            }
+
+            result.Add(ifElse with
+            {
+                ThenBlock = ifElse.ThenBlock with { Statements = thenStatements },
+                ElseBlock = elseStatements != null ? ifElse.ElseBlock! with { Statements = elseStatements } : ifElse.ElseBlock
+            });
+            mayJump = true;
+
+            if (i < statements.Count - 1)
+            {
+                // There is no 'continue' statement, so the rest of the block must not run once a jump is taken
+                var rest = RewriteTailCalls(statements.GetRange(i + 1, statements.Count - i - 1), jump, out _);
+                result.Add(new IfElseStatement
+                {
+                    Condition = ContinueIs(false),
+                    ThenBlock = new BlockStatement { Statements = rest },
+                    ElseBlock = new BlockStatement { Statements = [] }
+                });
+            }
+            break;
         }
+
+        return result;
     }
 
-    private bool IsTailRecursiveCall(Expression exp, string functionName)
+    private List<Statement> CreateSelfJump(List<ParamDef> parameters, FuncCallExp call)
     {
-        if (exp is not FuncCallExp call)
-            return false;
+        var statements = new List<Statement>();
+        var arguments = call.InvocationArguments;
 
-        // Check if it's a call to the same function
-        if (call.FunctionDef != null && call.FunctionDef.Name.Value == functionName)
-            return true;
+        // Arguments that just pass a parameter through unchanged need no assignment
+        var changed = new List<int>();
+        for (var i = 0; i < parameters.Count && i < arguments.Count; i++)
+        {
+            if (arguments[i] is not VarRefExp v || v.VarName != parameters[i].Name)
+                changed.Add(i);
+        }
 
-        // Also check annotation-based name matching
-        if (call.Annotations != null &&
-            call.Annotations.TryGetValue("FunctionName", out var nameObj) &&
-            nameObj is string name &&
-            name == functionName)
+        if (changed.Count == 1)
         {
-            return true;
+            var i = changed[0];
+            statements.Add(Assign(parameters[i].Name, arguments[i]));
         }
+        else
+        {
+            // Evaluate every argument before any parameter is overwritten
+            var temps = new List<(int Index, string TempName)>();
+            foreach (var i in changed)
+            {
+                var param = parameters[i];
+                var tempName = $"_tco_tmp_{param.Name}_{tcoTempCounter++}";
+                temps.Add((i, tempName));
+                statements.Add(DeclareLike(param, tempName, arguments[i]));
+            }
 
-        return false;
+            foreach (var (i, tempName) in temps)
+            {
+                statements.Add(Assign(parameters[i].Name, new VarRefExp { VarName = tempName }));
+            }
+        }
+
+        statements.Add(Assign(ContinueVariableName, new BooleanLiteralExp { Value = true }));
+        return statements;
     }
 
-    private FunctionDef TransformToLoop(FunctionDef func)
+    private static List<Statement> WrapInLoop(List<Statement> loopBody)
     {
-        // Create TCO control variable
-        var boolTypeName = TypeName.From("bool");
-        var tcoControlVar = new VariableDecl
+        var controlDecl = new VarDeclStatement
         {
-            Name = "_tco_continue",
-            TypeName = boolTypeName,
-            Visibility = Visibility.Private,
-            CollectionType = CollectionType.SingleInstance,
-            Type = new FifthType.TType { Name = boolTypeName }
+            VariableDecl = new VariableDecl
+            {
+                Name = ContinueVariableName,
+                TypeName = BoolTypeName,
+                Visibility = Visibility.Private,
+                CollectionType = CollectionType.SingleInstance,
+                Type = new FifthType.TType { Name = BoolTypeName }
+            },
+            InitialValue = new BooleanLiteralExp { Value = true }
         };
 
-        var tcoControlDecl = new VarDeclStatement
+        var statements = new List<Statement>(loopBody.Count + 1)
         {
-            VariableDecl = tcoControlVar,
-            InitialValue = new BooleanLiteralExp { Value = true }
+            Assign(ContinueVariableName, new BooleanLiteralExp { Value = false })
         };
+        statements.AddRange(loopBody);
 
-        // Transform the function body
-        var transformedBody = TransformBodyForTCO(func.Body, func.Name.Value, func.Params);
-
-        // Wrap in while loop
+        // Compare explicitly: the translator treats a bare variable condition as an int
         var whileLoop = new WhileStatement
         {
-            Condition = new VarRefExp { VarName = "_tco_continue" },
-            Body = transformedBody
+            Condition = ContinueIs(true),
+            Body = new BlockStatement { Statements = statements }
         };
 
-        // Create unreachable return fallback
-        var fallbackReturn = new ReturnStatement
-        {
-            ReturnValue = GetDefaultValueForType(func.ReturnType)
-        };
+        return [controlDecl, whileLoop];
+    }
 
-        var newBody = new BlockStatement
-        {
-            Statements = new List<Statement> { tcoControlDecl, whileLoop, fallbackReturn }
-        };
+    #endregion
 
-        return func with { Body = newBody };
-    }
+    #region Mutual recursion
 
-    private BlockStatement TransformBodyForTCO(BlockStatement body, string functionName, List<ParamDef> parameters)
+    private List<ScopedDefinition> FuseMutuallyRecursiveGroups(List<ScopedDefinition> functions)
     {
-        var newStatements = new List<Statement>();
+        var candidates = functions.OfType<FunctionDef>()
+            .Where(IsGroupCandidate)
+            .GroupBy(KeyOf)
+            .Where(g => g.Count() == 1)
+            .ToDictionary(g => g.Key, g => g.Single());
+        if (candidates.Count < 2)
+            return functions;
+
+        var edges = new Dictionary<CallKey, HashSet<CallKey>>();
+        foreach (var (key, func) in candidates)
+        {
+            var targets = new HashSet<CallKey>();
+            CollectTailCallTargets(func.Body, targets);
+            targets.IntersectWith(candidates.Keys);
+            edges[key] = targets;
+        }
 
-        foreach (var stmt in body.Statements)
+        var result = functions;
+        foreach (var component in FindStronglyConnectedComponents(edges).Where(c => c.Count > 1))
         {
-            var transformed = TransformStatementForTCO(stmt, functionName, parameters);
-            newStatements.Add(transformed);
+            var members = component
+                .Select(k => candidates[k])
+                .OrderBy(f => functions.FindIndex(d => ReferenceEquals(d, f)))
+                .ToList();
+            if (members.Any(m => m.IsStatic != members[0].IsStatic || !Equals(m.ReturnType, members[0].ReturnType)))
+                continue;
+
+            if (ReferenceEquals(result, functions))
+                result = new List<ScopedDefinition>(functions);
+
+            var groupFunction = FuseGroup(members, out var wrappers);
+            for (var k = 0; k < members.Count; k++)
+            {
+                result[result.FindIndex(d => ReferenceEquals(d, members[k]))] = wrappers[k];
+            }
+            result.Add(groupFunction);
         }
 
-        return new BlockStatement { Statements = newStatements };
+        return result;
     }
 
-    private Statement TransformStatementForTCO(Statement stmt, string functionName, List<ParamDef> parameters)
+    private static bool IsGroupCandidate(FunctionDef func) =>
+        func.Name != null &&
+        !string.IsNullOrEmpty(func.Name.Value) &&
+        func.Name.Value != "main" &&
+        !func.IsConstructor &&
+        func.TypeParameters.Count == 0;
+
+    /// <summary>
+    /// Tarjan's algorithm over the tail-call graph.
+    /// </summary>
+    private static List<List<CallKey>> FindStronglyConnectedComponents(Dictionary<CallKey, HashSet<CallKey>> edges)
     {
-        return stmt switch
+        var index = 0;
+        var indices = new Dictionary<CallKey, int>();
+        var lowLinks = new Dictionary<CallKey, int>();
+        var stack = new Stack<CallKey>();
+        var onStack = new HashSet<CallKey>();
+        var components = new List<List<CallKey>>();
+
+        void Connect(CallKey v)
         {
-            ReturnStatement ret when IsTailRecursiveCall(ret.ReturnValue, functionName) =>
-                TransformTailRecursiveReturn(ret, (FuncCallExp)ret.ReturnValue, parameters),
+            indices[v] = lowLinks[v] = index++;
+            stack.Push(v);
+            onStack.Add(v);
 
-            IfElseStatement ifElse =>
-                ifElse with
+            foreach (var w in edges[v])
+            {
+                if (!indices.ContainsKey(w))
                 {
-                    ThenBlock = TransformBodyForTCO(ifElse.ThenBlock, functionName, parameters),
-                    ElseBlock = TransformBodyForTCO(ifElse.ElseBlock, functionName, parameters)
-                },
+                    Connect(w);
+                    lowLinks[v] = Math.Min(lowLinks[v], lowLinks[w]);
+                }
+                else if (onStack.Contains(w))
+                {
+                    lowLinks[v] = Math.Min(lowLinks[v], indices[w]);
+                }
+            }
 
-            ReturnStatement ret =>
-                CreateTCOExit(ret),
+            if (lowLinks[v] != indices[v])
+                return;
 
-            _ => stmt
-        };
-    }
+            var component = new List<CallKey>();
+            CallKey member;
+            do
+            {
+                member = stack.Pop();
+                onStack.Remove(member);
+                component.Add(member);
+            } while (member != v);
+            components.Add(component);
+        }
 
-    private Statement TransformTailRecursiveReturn(ReturnStatement ret, FuncCallExp call, List<ParamDef> parameters)
-    {
-        var statements = new List<Statement>();
+        foreach (var v in edges.Keys)
+        {
+            if (!indices.ContainsKey(v))
+                Connect(v);
+        }
 
-        // Create temporary variables for new parameter values
-        var tempVars = new List<(string TempName, Expression Value)>();
+        return components;
+    }
 
-        for (int i = 0; i < parameters.Count && i < call.InvocationArguments.Count; i++)
+    /// <summary>
+    /// Builds the fused loop for a group of mutually tail-recursive functions. Each member's arguments
+    /// live in their own <c>_tco_{k}_{param}</c> slots; a tail call to member j fills j's slots, sets the
+    /// target index and loops.
+    /// </summary>
+    private FunctionDef FuseGroup(List<FunctionDef> members, out List<FunctionDef> wrappers)
+    {
+        tcoTempCounter = 0;
+        var first = members[0];
+        var indexOf = new Dictionary<CallKey, int>();
+        for (var k = 0; k < members.Count; k++)
         {
-            var param = parameters[i];
-            var arg = call.InvocationArguments[i];
-            var tempName = $"_tco_tmp_{param.Name}_{tcoTempCounter++}";
+            indexOf[KeyOf(members[k])] = k;
+        }
 
-            tempVars.Add((tempName, arg));
+        string SlotName(int k, ParamDef p) => $"_tco_{k}_{p.Name}";
 
-            var paramType = param.Type ?? new FifthType.TType { Name = TypeName.From("object") };
-            // Get TypeName from the FifthType - will be "object" if type is unresolved
-            TypeName paramTypeName;
-            if (paramType is FifthType.TType ttype)
-            {
-                paramTypeName = ttype.Name;
-            }
-            else
+        var groupParams = new List<ParamDef>
+        {
+            new()
             {
-                paramTypeName = TypeName.From("object");
+                Name = TargetParameterName,
+                TypeName = IntTypeName,
+                CollectionType = CollectionType.SingleInstance,
+                ParameterConstraint = null,
+                DestructureDef = null,
+                Visibility = Visibility.Public,
+                Annotations = [],
+                Type = new FifthType.TDotnetType(typeof(int)) { Name = IntTypeName }
             }
-
-            var tempDecl = new VarDeclStatement
+        };
+        for (var k = 0; k < members.Count; k++)
+        {
+            groupParams.AddRange(members[k].Params.Select(p => p with
             {
-                VariableDecl = new VariableDecl
-                {
-                    Name = tempName,
-                    TypeName = paramTypeName,
-                    Visibility = Visibility.Private,
-                    CollectionType = CollectionType.SingleInstance,
-                    Type = paramType
-                },
-                InitialValue = arg
-            };
-            statements.Add(tempDecl);
+                Name = SlotName(k, p),
+                ParameterConstraint = null,
+                DestructureDef = null,
+                Annotations = []
+            }));
         }
 
-        // Assign temp values back to parameters
-        for (int i = 0; i < parameters.Count && i < tempVars.Count; i++)
+        List<Statement>? Jump(CallKey key, FuncCallExp call)
         {
-            var param = parameters[i];
-            var (tempName, _) = tempVars[i];
+            if (!indexOf.TryGetValue(key, out var j))
+                return null;
 
-            var assignment = new AssignmentStatement
+            // Slots are only read when a member's branch is entered, so arguments can be stored directly
+            var statements = new List<Statement>();
+            var targetParams = members[j].Params;
+            for (var i = 0; i < targetParams.Count && i < call.InvocationArguments.Count; i++)
             {
-                LValue = new VarRefExp { VarName = param.Name },
-                RValue = new VarRefExp { VarName = tempName }
-            };
-            statements.Add(assignment);
+                statements.Add(Assign(SlotName(j, targetParams[i]), call.InvocationArguments[i]));
+            }
+            statements.Add(Assign(TargetParameterName, new Int32LiteralExp { Value = j }));
+            statements.Add(Assign(ContinueVariableName, new BooleanLiteralExp { Value = true }));
+            return statements;
         }
 
-        // Loop will continue automatically (no need to set _tco_continue = true)
+        List<Statement> MemberBranch(int k)
+        {
+            var member = members[k];
+            var statements = member.Params
+                .Select(p => (Statement)DeclareLike(p, p.Name, new VarRefExp { VarName = SlotName(k, p) }))
+                .ToList();
+            statements.AddRange(RewriteTailCalls(member.Body.Statements, Jump, out _));
+            return statements;
+        }
 
-        return new BlockStatement { Statements = statements };
-    }
+        var dispatch = MemberBranch(members.Count - 1);
+        for (var k = members.Count - 2; k >= 0; k--)
+        {
+            dispatch =
+            [
+                new IfElseStatement
+                {
+                    Condition = new BinaryExp
+                    {
+                        LHS = new VarRefExp { VarName = TargetParameterName },
+                        Operator = Operator.Equal,
+                        RHS = new Int32LiteralExp { Value = k }
+                    },
+                    ThenBlock = new BlockStatement { Statements = MemberBranch(k) },
+                    ElseBlock = new BlockStatement { Statements = dispatch }
+                }
+            ];
+        }
 
-    private Statement CreateTCOExit(ReturnStatement ret)
-    {
-        // Set control variable to false and return
-        var setFalse = new AssignmentStatement
+        var groupFunction = new FunctionDef
         {
-            LValue = new VarRefExp { VarName = "_tco_continue" },
-            RValue = new BooleanLiteralExp { Value = false }
+            Name = MemberName.From(GroupFunctionPrefix + string.Join("_", members.Select(m => m.Name.Value))),
+            Params = groupParams,
+            Body = new BlockStatement { Statements = WrapInLoop(dispatch) },
+            ReturnType = first.ReturnType,
+            TypeParameters = [],
+            IsStatic = first.IsStatic,
+            IsConstructor = false,
+            Visibility = Visibility.Public,
+            Annotations = [],
+            Location = first.Location,
+            Parent = first.Parent,
+            Type = first.Type
         };
 
-        return new BlockStatement
+        wrappers = new List<FunctionDef>(members.Count);
+        for (var k = 0; k < members.Count; k++)
         {
-            Statements = new List<Statement> { setFalse, ret }
-        };
+            var statements = new List<Statement>();
+            var arguments = new List<Expression> { new Int32LiteralExp { Value = k } };
+            for (var j = 0; j < members.Count; j++)
+            {
+                foreach (var p in members[j].Params)
+                {
+                    if (j == k)
+                    {
+                        arguments.Add(new VarRefExp { VarName = p.Name });
+                        continue;
+                    }
+
+                    // Other members' slots are unused on entry; declare them default-initialised
+                    statements.Add(DeclareLike(p, SlotName(j, p), null));
+                    arguments.Add(new VarRefExp { VarName = SlotName(j, p) });
+                }
+            }
+
+            statements.Add(new ReturnStatement
+            {
+                ReturnValue = new FuncCallExp
+                {
+                    FunctionDef = groupFunction,
+                    InvocationArguments = arguments,
+                    Annotations = new AnnotationMap { ["FunctionName"] = groupFunction.Name.Value },
+                    Type = first.ReturnType
+                }
+            });
+            wrappers.Add(members[k] with { Body = members[k].Body with { Statements = statements } });
+        }
+
+        return groupFunction;
     }
 
-    private Expression GetDefaultValueForType(FifthType? type)
+    #endregion
+
+    #region Node helpers
+
+    private static BinaryExp ContinueIs(bool value) => new()
     {
-        if (type == null)
-            return new Int32LiteralExp { Value = 0 };
+        LHS = new VarRefExp { VarName = ContinueVariableName },
+        Operator = Operator.Equal,
+        RHS = new BooleanLiteralExp { Value = value }
+    };
 
-        // Only handle TType - other FifthType variants default to 0
-        if (type is not FifthType.TType ttype)
-            return new Int32LiteralExp { Value = 0 };
+    private static AssignmentStatement Assign(string name, Expression value) => new()
+    {
+        LValue = new VarRefExp { VarName = name },
+        RValue = value
+    };
 
-        var typeName = ttype.Name.Value.ToLowerInvariant();
-        return typeName switch
+    private static VarDeclStatement DeclareLike(ParamDef param, string name, Expression? initialValue) => new()
+    {
+        VariableDecl = new VariableDecl
         {
-            "int" => new Int32LiteralExp { Value = 0 },
-            "bool" => new BooleanLiteralExp { Value = false },
-            "string" => new StringLiteralExp { Value = "" },
-            _ => new Int32LiteralExp { Value = 0 }
-        };
-    }
+            Name = name,
+            TypeName = param.TypeName,
+            Visibility = Visibility.Private,
+            CollectionType = param.CollectionType,
+            Type = param.Type
+        },
+        InitialValue = initialValue
+    };
+
+    #endregion
 }
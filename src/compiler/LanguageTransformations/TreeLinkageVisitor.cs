@@ -476,7 +476,7 @@ public class TreeLinkageVisitor : NullSafeRecursiveDescentVisitor
                     else if (string.Equals(qualifierName, "std", StringComparison.Ordinal))
                     {
                         // Only map 'std.print' to System.Console.WriteLine; leave other std.* unresolved
-                        if (memberCall.Annotations.TryGetValue("FunctionName", out var fnObjStd) && fnObjStd is string fnStd && string.Equals(fnStd, "print", StringComparison.Ordinal))
+                        if (memberCall.Annotations.FunctionName is string fnStd && string.Equals(fnStd, "print", StringComparison.Ordinal))
                         {
                             resolvedType = typeof(System.Console);
                         }
@@ -485,7 +485,7 @@ public class TreeLinkageVisitor : NullSafeRecursiveDescentVisitor
                     if (resolvedType != null)
                     {
                         memberCall["ExternalType"] = resolvedType;
-                        if (memberCall.Annotations.TryGetValue("FunctionName", out var nameObj) && nameObj is string fn)
+                        if (memberCall.Annotations.FunctionName is string fn)
                         {
                             // For std.print mapped to Console
                             if (resolvedType == typeof(System.Console) && string.Equals(fn, "print", StringComparison.Ordinal))
@@ -536,7 +536,7 @@ public class TreeLinkageVisitor : NullSafeRecursiveDescentVisitor
                         }
                         else if (string.Equals(qualifierName, "std", StringComparison.Ordinal))
                         {
-                            if (chainedCall.Annotations.TryGetValue("FunctionName", out var fnObjStd2) && fnObjStd2 is string fnStd2 && string.Equals(fnStd2, "print", StringComparison.Ordinal))
+                            if (chainedCall.Annotations.FunctionName is string fnStd2 && string.Equals(fnStd2, "print", StringComparison.Ordinal))
                             {
                                 resolvedType = typeof(System.Console);
                             }
@@ -545,7 +545,7 @@ public class TreeLinkageVisitor : NullSafeRecursiveDescentVisitor
                         if (resolvedType != null)
                         {
                             chainedCall["ExternalType"] = resolvedType;
-                            if (chainedCall.Annotations.TryGetValue("FunctionName", out var nameObj2) && nameObj2 is string fn2)
+                            if (chainedCall.Annotations.FunctionName is string fn2)
                             {
                                 if (resolvedType == typeof(System.Console) && string.Equals(fn2, "print", StringComparison.Ordinal))
                                 {
@@ -566,13 +566,13 @@ public class TreeLinkageVisitor : NullSafeRecursiveDescentVisitor
             if (result?.RHS is FuncCallExp instCall)
             {
                 // If unresolved and function name matches known KG extension API, mark as ExternalType=KG
-                if (instCall.FunctionDef == null && instCall.Annotations.TryGetValue("FunctionName", out var fnObj3) && fnObj3 is string fn3)
+                if (instCall.FunctionDef == null && instCall.Annotations.FunctionName is string fn3)
                 {
                     // whitelist of KG extension names
                     var kgExt = new HashSet<string>(StringComparer.Ordinal)
                     {
                         "CreateUri", "CreateLiteral", "CreateUriForType", "CreateUriForInstance",
-                        "Assert", "Retract", "Merge", "CountTriples"
+                        "Assert", "Retract", "AssertRange", "RetractRange", "Merge", "CountTriples"
                     };
                     if (kgExt.Contains(fn3))
                     {
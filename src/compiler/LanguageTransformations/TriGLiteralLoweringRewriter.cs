@@ -1,5 +1,6 @@
 using System;
 using System.Collections.Generic;
+using System.IO;
 using System.Linq;
 using System.Text;
 using System.Text.RegularExpressions;
@@ -21,6 +22,11 @@ namespace compiler.LanguageTransformations;
 ///   var temp = BuildInterpolatedString(...);
 ///   FuncCallExp(Fifth.System.Store.LoadFromTriG, args: [temp])
 /// 
+/// Literals without interpolations are parsed here, at compile time. When they parse cleanly they
+/// lower to Fifth.System.Store.LoadFromFrozenTriG instead, which parses the text once per process
+/// and rebuilds the dataset from cached triples on every later evaluation. Literals that fail to
+/// parse keep the LoadFromTriG lowering so the error surfaces at runtime exactly as before.
+/// 
 /// User Story 1: Basic TriG literals without interpolation
 /// User Story 2: Expression interpolation with type-aware serialization
 /// 
@@ -44,6 +50,7 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
     {
         var prologue = new List<Statement>();
         Expression trigStringExpression;
+        var loaderMethodName = "LoadFromTriG";
 
         // Check if there are interpolations to process
         if (ctx.Interpolations != null && ctx.Interpolations.Count > 0)
@@ -60,11 +67,16 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
                 Value = ctx.Content ?? string.Empty,
                 Type = StringType,
                 Location = ctx.Location,
-                Annotations = new Dictionary<string, object>
+                Annotations = new AnnotationMap
                 {
                     ["TriGContent"] = true
                 }
             };
+
+            if (IsWellFormedTriG(ctx.Content ?? string.Empty))
+            {
+                loaderMethodName = "LoadFromFrozenTriG";
+            }
         }
 
         // Create a FuncCallExp representing Fifth.System.Store.LoadFromTriG(trigContent)
@@ -73,12 +85,12 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
             InvocationArguments = new List<Expression> { trigStringExpression },
             Type = StoreType,
             Location = ctx.Location,
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 // Mark this as an external static method call so translators can emit
                 // a qualified invocation and validators can resolve the target method.
                 ["ExternalType"] = typeof(Fifth.System.Store),
-                ["ExternalMethodName"] = "LoadFromTriG",
+                ["ExternalMethodName"] = loaderMethodName,
                 ["TriGLiteralLowering"] = true
             }
         };
@@ -86,6 +98,24 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
         return new RewriteResult(funcCallExp, prologue);
     }
 
+    /// <summary>
+    /// Parse constant TriG content with the same parser the runtime uses, to decide whether it is
+    /// safe to route the literal through the frozen-dataset loader.
+    /// </summary>
+    private static bool IsWellFormedTriG(string content)
+    {
+        try
+        {
+            using var reader = new StringReader(content);
+            new VDS.RDF.Parsing.TriGParser().Load(new VDS.RDF.TripleStore(), reader);
+            return true;
+        }
+        catch (VDS.RDF.RdfException)
+        {
+            return false;
+        }
+    }
+
     /// <summary>
     /// Build an interpolated string expression by concatenating string parts with serialized expressions.
     /// </summary>
@@ -110,7 +140,7 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
                     {
                         Value = beforeText,
                         Type = StringType,
-                        Annotations = new Dictionary<string, object>
+                        Annotations = new AnnotationMap
                         {
                             ["TriGContent"] = true
                         }
@@ -134,7 +164,7 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
             {
                 Value = remainingText,
                 Type = StringType,
-                Annotations = new Dictionary<string, object>
+                Annotations = new AnnotationMap
                 {
                     ["TriGContent"] = true
                 }
@@ -157,7 +187,7 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
                 RHS = parts[i],
                 Operator = Operator.ArithmeticAdd,  // String concatenation uses +
                 Type = StringType,
-                Annotations = new Dictionary<string, object>
+                Annotations = new AnnotationMap
                 {
                     ["TriGInterpolation"] = true
                 }
@@ -202,7 +232,7 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
                 InvocationArguments = new List<Expression> { rewrittenExpr },
                 Type = StringType,
                 Location = location,
-                Annotations = new Dictionary<string, object>
+                Annotations = new AnnotationMap
                 {
                     ["ExternalType"] = typeof(Fifth.System.RdfHelpers),
                     ["ExternalMethodName"] = "EscapeForRdf",
@@ -229,7 +259,7 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
                     InvocationArguments = new List<Expression> { rewrittenExpr },
                     Type = StringType,
                     Location = location,
-                    Annotations = new Dictionary<string, object>
+                    Annotations = new AnnotationMap
                     {
                         ["ExternalType"] = typeof(System.Convert),
                         ["ExternalMethodName"] = "ToString",
@@ -248,7 +278,7 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
                     InvocationArguments = new List<Expression> { rewrittenExpr },
                     Type = StringType,
                     Location = location,
-                    Annotations = new Dictionary<string, object>
+                    Annotations = new AnnotationMap
                     {
                         ["ExternalType"] = typeof(System.Convert),
                         ["ExternalMethodName"] = "ToString",
@@ -267,7 +297,7 @@ public class TriGLiteralLoweringRewriter : DefaultAstRewriter
             InvocationArguments = new List<Expression> { rewrittenExpr },
             Type = StringType,
             Location = location,
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["ExternalType"] = typeof(Fifth.System.RdfHelpers),
                 ["ExternalMethodName"] = "EscapeForRdf",
@@ -0,0 +1,165 @@
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using ast;
+using ast_generated;
+
+namespace compiler.LanguageTransformations;
+
+/// <summary>
+/// Coalesces runs of per-triple graph updates produced by <see cref="TripleGraphAdditionLoweringRewriter"/>
+/// into single bulk calls, so that the runtime performs one index update per batch instead of one per triple.
+///
+///   g.Assert(t1); g.Assert(t2); g.Assert(t3)   →  g.AssertRange(t1, t2, t3)
+///   g.Retract(t1); g.Retract(t2)                →  g.RetractRange(t1, t2)
+///
+/// A run only spans consecutive statements in the same block that target the same graph variable
+/// with the same operation; <see cref="EmptyStatement"/>s left behind by <c>g += t</c> lowering do not
+/// break a run. Arguments must be side-effect free with respect to the graph (variable references and
+/// KG node/triple construction over literals), so evaluating them all before the update is unobservable.
+/// </summary>
+public class TripleBatchingRewriter : DefaultAstRewriter
+{
+    private static readonly Dictionary<string, string> BulkMethodNames = new(StringComparer.Ordinal)
+    {
+        ["Assert"] = "AssertRange",
+        ["Retract"] = "RetractRange"
+    };
+
+    private static readonly HashSet<string> PureKGConstructors = new(StringComparer.Ordinal)
+    {
+        "CreateTriple",
+        "CreateUriNode",
+        "CreateLiteralNode"
+    };
+
+    public override RewriteResult VisitBlockStatement(BlockStatement ctx)
+    {
+        // Let the base splice child prologues (and batch nested blocks) first
+        var rr = base.VisitBlockStatement(ctx);
+        var block = (BlockStatement)rr.Node;
+        return new RewriteResult(block with { Statements = Coalesce(block.Statements) }, rr.Prologue);
+    }
+
+    private static List<Statement> Coalesce(List<Statement> statements)
+    {
+        var output = new List<Statement>(statements.Count);
+        var i = 0;
+        while (i < statements.Count)
+        {
+            if (!TryGetBatchableCall(statements[i], out var graphName, out var methodName, out var firstArg))
+            {
+                output.Add(statements[i++]);
+                continue;
+            }
+
+            var args = new List<Expression> { firstArg };
+            var skipped = new List<Statement>();
+            var last = i;
+            for (var j = i + 1; j < statements.Count; j++)
+            {
+                if (statements[j] is EmptyStatement)
+                    continue;
+                if (!TryGetBatchableCall(statements[j], out var nextGraph, out var nextMethod, out var nextArg)
+                    || !string.Equals(nextGraph, graphName, StringComparison.Ordinal)
+                    || !string.Equals(nextMethod, methodName, StringComparison.Ordinal))
+                    break;
+
+                for (var k = last + 1; k < j; k++)
+                    skipped.Add(statements[k]);
+                args.Add(nextArg);
+                last = j;
+            }
+
+            if (args.Count == 1)
+            {
+                output.Add(statements[i++]);
+                continue;
+            }
+
+            output.Add(MakeBulkStatement((ExpStatement)statements[i], BulkMethodNames[methodName], args));
+            output.AddRange(skipped);
+            i = last + 1;
+        }
+        return output;
+    }
+
+    /// <summary>
+    /// Matches <c>g.Assert(x)</c> / <c>g.Retract(x)</c> on a graph variable where <c>x</c> is safe to hoist.
+    /// </summary>
+    private static bool TryGetBatchableCall(Statement statement, out string graphName, out string methodName, out Expression argument)
+    {
+        graphName = string.Empty;
+        methodName = string.Empty;
+        argument = null!;
+
+        if (statement is not ExpStatement { RHS: MemberAccessExp { LHS: VarRefExp graph, RHS: FuncCallExp call } })
+            return false;
+        if (!IsKGCall(call, out var name) || !BulkMethodNames.ContainsKey(name))
+            return false;
+        if (call.InvocationArguments is not { Count: 1 } || !IsPureArgument(call.InvocationArguments[0], graph.VarName))
+            return false;
+
+        graphName = graph.VarName;
+        methodName = name;
+        argument = call.InvocationArguments[0];
+        return true;
+    }
+
+    private static bool IsKGCall(FuncCallExp call, out string methodName)
+    {
+        methodName = string.Empty;
+        if (call.Annotations is null
+            || !call.Annotations.TryGetValue("ExternalType", out var extObj) || extObj is not Type extType
+            || extType != typeof(Fifth.System.KG))
+            return false;
+
+        if (call.Annotations.ExternalMethodName is string mns)
+            methodName = mns;
+        else if (call.Annotations.FunctionName is string fns)
+            methodName = fns;
+        return !string.IsNullOrWhiteSpace(methodName);
+    }
+
+    private static bool IsPureArgument(Expression expr, string graphName)
+    {
+        switch (expr)
+        {
+            case VarRefExp v:
+                return !string.Equals(v.VarName, graphName, StringComparison.Ordinal);
+            case MemberAccessExp { LHS: VarRefExp { VarName: "KG" }, RHS: FuncCallExp call }:
+                return IsKGCall(call, out var name) && PureKGConstructors.Contains(name)
+                       && (call.InvocationArguments ?? []).All(a => IsPureArgument(a, graphName));
+            default:
+                return IsLiteral(expr);
+        }
+    }
+
+    private static bool IsLiteral(Expression expr)
+    {
+        for (var t = expr.GetType(); t != null && t != typeof(Expression); t = t.BaseType)
+        {
+            if (t.IsGenericType && t.GetGenericTypeDefinition() == typeof(LiteralExpression<>))
+                return true;
+        }
+        return false;
+    }
+
+    private static ExpStatement MakeBulkStatement(ExpStatement first, string bulkMethodName, List<Expression> args)
+    {
+        var access = (MemberAccessExp)first.RHS;
+        var call = (FuncCallExp)access.RHS;
+
+        var bulkCall = call with
+        {
+            InvocationArguments = args,
+            Annotations = new AnnotationMap(call.Annotations!)
+            {
+                ["FunctionName"] = bulkMethodName,
+                ["ExternalMethodName"] = bulkMethodName
+            }
+        };
+
+        return first with { RHS = access with { RHS = bulkCall } };
+    }
+}
@@ -64,8 +64,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
     {
         functionName = string.Empty;
         if (ma.RHS is FuncCallExp call && call.Annotations is not null
-            && call.Annotations.TryGetValue("FunctionName", out var fnObj)
-            && fnObj is string fn && !string.IsNullOrWhiteSpace(fn))
+            && call.Annotations.FunctionName is string fn && !string.IsNullOrWhiteSpace(fn))
         {
             functionName = fn;
             return true;
@@ -188,7 +187,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
                 CollectionType = CollectionType.SingleInstance,
                 Visibility = Visibility.Private,
                 Location = loc,
-                Annotations = new Dictionary<string, object>()
+                Annotations = new AnnotationMap()
             };
 
             var createGraphCall = MakeCreateGraphCall(loc);
@@ -197,7 +196,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
                 VariableDecl = tmpDecl,
                 InitialValue = createGraphCall,
                 Location = loc,
-                Annotations = new Dictionary<string, object>()
+                Annotations = new AnnotationMap()
             };
             prologue.Add(declStmt);
 
@@ -231,14 +230,14 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
         var kgVar = new VarRefExp
         {
             VarName = "KG",
-            Annotations = new Dictionary<string, object>(),
+            Annotations = new AnnotationMap(),
             Location = loc
         };
 
         var createGraphCall = new FuncCallExp
         {
             InvocationArguments = new List<Expression>(),
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["FunctionName"] = "CreateGraph",
                 ["ExternalType"] = typeof(Fifth.System.KG),
@@ -250,7 +249,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
         return new MemberAccessExp
         {
-            Annotations = new Dictionary<string, object>(),
+            Annotations = new AnnotationMap(),
             LHS = kgVar,
             RHS = createGraphCall,
             Location = loc
@@ -270,7 +269,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
         var createTripleCall = new FuncCallExp
         {
             InvocationArguments = new List<Expression> { subjNode, predNode, objNode },
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["FunctionName"] = "CreateTriple",
                 ["ExternalType"] = typeof(Fifth.System.KG),
@@ -282,8 +281,8 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
         return new MemberAccessExp
         {
-            Annotations = new Dictionary<string, object>(),
-            LHS = new VarRefExp { VarName = "KG", Annotations = new Dictionary<string, object>(), Location = loc },
+            Annotations = new AnnotationMap(),
+            LHS = new VarRefExp { VarName = "KG", Annotations = new AnnotationMap(), Location = loc },
             RHS = createTripleCall,
             Location = loc
         };
@@ -295,7 +294,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
         {
             var uriLiteral = new StringLiteralExp
             {
-                Annotations = new Dictionary<string, object>(),
+                Annotations = new AnnotationMap(),
                 Location = uri.Location,
                 Parent = null,
                 Value = uri.Value.AbsoluteUri
@@ -304,7 +303,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
             var createUriNode = new FuncCallExp
             {
                 InvocationArguments = new List<Expression> { uriLiteral },
-                Annotations = new Dictionary<string, object>
+                Annotations = new AnnotationMap
                 {
                     ["FunctionName"] = "CreateUriNode",
                     ["ExternalType"] = typeof(Fifth.System.KG),
@@ -316,14 +315,14 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
             return new MemberAccessExp
             {
-                Annotations = new Dictionary<string, object>(),
-                LHS = new VarRefExp { VarName = "KG", Annotations = new Dictionary<string, object>(), Location = uri.Location },
+                Annotations = new AnnotationMap(),
+                LHS = new VarRefExp { VarName = "KG", Annotations = new AnnotationMap(), Location = uri.Location },
                 RHS = createUriNode,
                 Location = uri.Location
             };
         }
 
-        return new VarRefExp { VarName = "null", Annotations = new Dictionary<string, object>(), Location = loc };
+        return new VarRefExp { VarName = "null", Annotations = new AnnotationMap(), Location = loc };
     }
 
     private Expression CreateObjectNodeExpression(Expression? objExp, SourceLocationMetadata loc)
@@ -336,7 +335,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
             case StringLiteralExp s:
                 var lit = new StringLiteralExp
                 {
-                    Annotations = new Dictionary<string, object>(),
+                    Annotations = new AnnotationMap(),
                     Location = s.Location,
                     Parent = null,
                     Value = s.Value
@@ -345,7 +344,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
                 var createLiteralCall = new FuncCallExp
                 {
                     InvocationArguments = new List<Expression> { lit },
-                    Annotations = new Dictionary<string, object>
+                    Annotations = new AnnotationMap
                     {
                         ["FunctionName"] = "CreateLiteralNode",
                         ["ExternalType"] = typeof(Fifth.System.KG),
@@ -357,8 +356,8 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
                 return new MemberAccessExp
                 {
-                    Annotations = new Dictionary<string, object>(),
-                    LHS = new VarRefExp { VarName = "KG", Annotations = new Dictionary<string, object>(), Location = s.Location },
+                    Annotations = new AnnotationMap(),
+                    LHS = new VarRefExp { VarName = "KG", Annotations = new AnnotationMap(), Location = s.Location },
                     RHS = createLiteralCall,
                     Location = s.Location
                 };
@@ -366,7 +365,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
             case Int32LiteralExp i32:
                 var iLit = new Int32LiteralExp
                 {
-                    Annotations = new Dictionary<string, object>(),
+                    Annotations = new AnnotationMap(),
                     Location = i32.Location,
                     Parent = null,
                     Value = i32.Value
@@ -375,7 +374,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
                 var createIntLit = new FuncCallExp
                 {
                     InvocationArguments = new List<Expression> { iLit },
-                    Annotations = new Dictionary<string, object>
+                    Annotations = new AnnotationMap
                     {
                         ["FunctionName"] = "CreateLiteralNode",
                         ["ExternalType"] = typeof(Fifth.System.KG),
@@ -387,14 +386,14 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
                 return new MemberAccessExp
                 {
-                    Annotations = new Dictionary<string, object>(),
-                    LHS = new VarRefExp { VarName = "KG", Annotations = new Dictionary<string, object>(), Location = i32.Location },
+                    Annotations = new AnnotationMap(),
+                    LHS = new VarRefExp { VarName = "KG", Annotations = new AnnotationMap(), Location = i32.Location },
                     RHS = createIntLit,
                     Location = i32.Location
                 };
 
             default:
-                return new VarRefExp { VarName = "null", Annotations = new Dictionary<string, object>(), Location = loc };
+                return new VarRefExp { VarName = "null", Annotations = new AnnotationMap(), Location = loc };
         }
     }
 
@@ -408,7 +407,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
         var assertCall = new FuncCallExp
         {
             InvocationArguments = new List<Expression> { tripleExpr },
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["FunctionName"] = "Assert",
                 ["ExternalType"] = typeof(Fifth.System.KG),
@@ -420,13 +419,13 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
         var assertExpr = new MemberAccessExp
         {
-            Annotations = new Dictionary<string, object>(),
+            Annotations = new AnnotationMap(),
             LHS = graphExpr,
             RHS = assertCall,
             Location = loc
         };
 
-        return new ExpStatement { RHS = assertExpr, Location = loc, Annotations = new Dictionary<string, object>() };
+        return new ExpStatement { RHS = assertExpr, Location = loc, Annotations = new AnnotationMap() };
     }
 
     /// <summary>
@@ -437,7 +436,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
         var assertCall = new FuncCallExp
         {
             InvocationArguments = new List<Expression> { tripleExpr },
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["FunctionName"] = "Assert",
                 ["ExternalType"] = typeof(Fifth.System.KG),
@@ -449,13 +448,13 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
         var assertExpr = new MemberAccessExp
         {
-            Annotations = new Dictionary<string, object>(),
+            Annotations = new AnnotationMap(),
             LHS = graphExpr,
             RHS = assertCall,
             Location = loc
         };
 
-        return new ExpStatement { RHS = assertExpr, Location = loc, Annotations = new Dictionary<string, object>() };
+        return new ExpStatement { RHS = assertExpr, Location = loc, Annotations = new AnnotationMap() };
     }
 
     /// <summary>
@@ -466,7 +465,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
         var mergeCall = new FuncCallExp
         {
             InvocationArguments = new List<Expression> { graphRHS },
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["FunctionName"] = "Merge",
                 ["ExternalType"] = typeof(Fifth.System.KG),
@@ -478,13 +477,13 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
         var mergeExpr = new MemberAccessExp
         {
-            Annotations = new Dictionary<string, object>(),
+            Annotations = new AnnotationMap(),
             LHS = graphLHS,
             RHS = mergeCall,
             Location = loc
         };
 
-        return new ExpStatement { RHS = mergeExpr, Location = loc, Annotations = new Dictionary<string, object>() };
+        return new ExpStatement { RHS = mergeExpr, Location = loc, Annotations = new AnnotationMap() };
     }
 
     /// <summary>
@@ -497,7 +496,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
         var retractCall = new FuncCallExp
         {
             InvocationArguments = new List<Expression> { tripleExpr },
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["FunctionName"] = "Retract",
                 ["ExternalType"] = typeof(Fifth.System.KG),
@@ -509,13 +508,13 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
         var retractExpr = new MemberAccessExp
         {
-            Annotations = new Dictionary<string, object>(),
+            Annotations = new AnnotationMap(),
             LHS = graphExpr,
             RHS = retractCall,
             Location = loc
         };
 
-        return new ExpStatement { RHS = retractExpr, Location = loc, Annotations = new Dictionary<string, object>() };
+        return new ExpStatement { RHS = retractExpr, Location = loc, Annotations = new AnnotationMap() };
     }
 
     /// <summary>
@@ -526,7 +525,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
         var retractCall = new FuncCallExp
         {
             InvocationArguments = new List<Expression> { tripleExpr },
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["FunctionName"] = "Retract",
                 ["ExternalType"] = typeof(Fifth.System.KG),
@@ -538,13 +537,13 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
         var retractExpr = new MemberAccessExp
         {
-            Annotations = new Dictionary<string, object>(),
+            Annotations = new AnnotationMap(),
             LHS = graphExpr,
             RHS = retractCall,
             Location = loc
         };
 
-        return new ExpStatement { RHS = retractExpr, Location = loc, Annotations = new Dictionary<string, object>() };
+        return new ExpStatement { RHS = retractExpr, Location = loc, Annotations = new AnnotationMap() };
     }
 
     /// <summary>
@@ -553,11 +552,11 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
     /// </summary>
     private ExpStatement MakeSaveGraphStatement(Expression storeExpr, Expression graphExpr, SourceLocationMetadata loc)
     {
-        var kgVar = new VarRefExp { VarName = "KG", Location = loc, Annotations = new Dictionary<string, object>() };
+        var kgVar = new VarRefExp { VarName = "KG", Location = loc, Annotations = new AnnotationMap() };
         var saveCall = new FuncCallExp
         {
             InvocationArguments = new List<Expression> { storeExpr, graphExpr },
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["FunctionName"] = "SaveGraph",
                 ["ExternalType"] = typeof(Fifth.System.KG),
@@ -569,13 +568,13 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
 
         var saveExpr = new MemberAccessExp
         {
-            Annotations = new Dictionary<string, object>(),
+            Annotations = new AnnotationMap(),
             LHS = kgVar,
             RHS = saveCall,
             Location = loc
         };
 
-        return new ExpStatement { RHS = saveExpr, Location = loc, Annotations = new Dictionary<string, object>() };
+        return new ExpStatement { RHS = saveExpr, Location = loc, Annotations = new AnnotationMap() };
     }
 
     /// <summary>
@@ -823,7 +822,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
                             CollectionType = CollectionType.SingleInstance,
                             Visibility = Visibility.Private,
                             Location = loc,
-                            Annotations = new Dictionary<string, object>()
+                            Annotations = new AnnotationMap()
                         };
 
                         var createGraphCall = MakeCreateGraphCall(loc);
@@ -832,7 +831,7 @@ public class TripleGraphAdditionLoweringRewriter : DefaultAstRewriter
                             VariableDecl = tmpDecl,
                             InitialValue = createGraphCall,
                             Location = loc,
-                            Annotations = new Dictionary<string, object>()
+                            Annotations = new AnnotationMap()
                         };
                         prologue.Add(declStmt);
 
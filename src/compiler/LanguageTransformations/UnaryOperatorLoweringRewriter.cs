@@ -102,7 +102,7 @@ public class UnaryOperatorLoweringRewriter : DefaultAstRewriter
             Operator = op,
             Location = source.Location,
             Type = source.Type ?? Void,
-            Annotations = new Dictionary<string, object>
+            Annotations = new AnnotationMap
             {
                 ["FromUnaryLowering"] = true
             }
@@ -4,12 +4,16 @@ using System;
 using System.Collections.Generic;
 using System.Linq;
 using System.Reflection;
+using System.Runtime.ExceptionServices;
+using System.Text.RegularExpressions;
 using Microsoft.CodeAnalysis;
 using Microsoft.CodeAnalysis.CSharp;
 using Microsoft.CodeAnalysis.CSharp.Syntax;
 using static Microsoft.CodeAnalysis.CSharp.SyntaxFactory;
 using ast;
 using ast_model.TypeSystem;
+using compiler.LanguageTransformations;
+using compiler.TypeSystem;
 
 /// <summary>
 /// Roslyn-based translator that converts lowered AST modules into C# syntax trees.
@@ -20,10 +24,40 @@ public class TranslatorOptions
 {
     public bool EmitDebugInfo { get; set; } = true;
     public IReadOnlyList<string>? AdditionalReferences { get; set; }
+
+    /// <summary>
+    /// Whether a lone module without <c>main</c> may get a stub entry point. Incremental builds clear it,
+    /// because the modules they translate are only part of the program.
+    /// </summary>
+    public bool AllowStubMain { get; set; } = true;
+
+    /// <summary>
+    /// Whether functions, guard clauses and query applications are instrumented with
+    /// <c>Fifth.System.Profiling</c> sites.
+    /// </summary>
+    public bool EmitProfiling { get; set; }
+
+    /// <summary>
+    /// How many modules are translated at once; null lets the runtime decide and 1 translates serially.
+    /// The sources and mapping are in module order either way.
+    /// </summary>
+    public int? MaxDegreeOfParallelism { get; set; }
 }
 
 public class LoweredAstToRoslynTranslator : IBackendTranslator
 {
+    // Fifth spelling of Fifth.System.PersistentList<T>
+    private const string PersistentListTypePrefix = "plist<";
+
+    // Static field holding the shared instance of a capture-free closure class
+    private const string SingletonInstanceFieldName = "Instance";
+
+    // Marks generated members with the node id of their mapping entry
+    private const string MappingAnnotationKind = "FifthMapping";
+
+    // Functions generated for the clauses of an overloaded function, see OverloadTransformingVisitor
+    private static readonly Regex SubclauseNamePattern = new(@"^(.+)_subclause(\d+)$", RegexOptions.Compiled);
+
     // Track variables that have been declared in the current method scope
     private HashSet<string> _declaredVariables = new HashSet<string>();
 
@@ -41,6 +75,17 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
 
     private readonly Dictionary<string, string> _closureInterfaceByClass = new(StringComparer.Ordinal);
 
+    // Profiling sites of the module being translated, emitted as static fields of _profileSitesClassName
+    private bool _emitProfiling;
+    private string _profileSitesClassName = string.Empty;
+    private string _profileNamespace = string.Empty;
+    private readonly List<FieldDeclarationSyntax> _profileSites = new();
+
+    // Position of the module being translated and the mapping entries made for it, so node ids are
+    // the same in every build
+    private int _moduleIndex;
+    private int _nodeSequence;
+
     private static string GetModuleNamespace(ModuleDef module)
     {
         string namespaceName;
@@ -202,19 +247,19 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
                 .OfType<FunctionDef>()
                 .Any(f => string.Equals(f.Name.Value, "main", StringComparison.Ordinal));
             var isSingleModule = assembly.Modules.Count == 1;
+            var emitStubMain = options.AllowStubMain && !hasAnyMain && isSingleModule;
 
-            // Process each module in the assembly
-            foreach (var module in assembly.Modules)
+            if (isSingleModule || options.MaxDegreeOfParallelism == 1)
             {
-                var hasModuleMain = module.Functions
-                    .OfType<FunctionDef>()
-                    .Any(f => string.Equals(f.Name.Value, "main", StringComparison.Ordinal));
-
-                var emitStubMain = !hasModuleMain && !hasAnyMain && isSingleModule;
-
-                var syntaxTree = BuildSyntaxTreeFromModule(module, mapping, emitStubMain, options);
-                var sourceText = syntaxTree.GetText().ToString();
-                sources.Add(sourceText);
+                for (var i = 0; i < assembly.Modules.Count; i++)
+                {
+                    var syntaxTree = BuildSyntaxTreeFromModule(assembly.Modules[i], mapping, emitStubMain, options, i);
+                    sources.Add(syntaxTree.GetText().ToString());
+                }
+            }
+            else
+            {
+                TranslateModulesInParallel(assembly.Modules, options, sources, mapping);
             }
         }
         catch (System.Exception ex)
@@ -229,8 +274,62 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         return new TranslationResult(sources, mapping, diagnostics);
     }
 
-    private SyntaxTree BuildSyntaxTreeFromModule(ModuleDef module, MappingTable mapping, bool emitStubMain, TranslatorOptions? options = null)
+    /// <summary>
+    /// Translates each module with its own translator, since the per-module state (declared variables,
+    /// class members, closure interfaces, module-level function names) lives on the instance, then merges
+    /// sources and mapping in module order.
+    /// </summary>
+    /// <remarks>
+    /// Stub entry points are only emitted for single-module assemblies, which never come here. The first
+    /// failure in module order is rethrown, as the serial loop would have stopped there.
+    /// </remarks>
+    private static void TranslateModulesInParallel(
+        IReadOnlyList<ModuleDef> modules,
+        TranslatorOptions options,
+        List<string> sources,
+        MappingTable mapping)
+    {
+        var moduleSources = new string[modules.Count];
+        var moduleMappings = new MappingTable[modules.Count];
+        var failures = new System.Exception?[modules.Count];
+
+        Parallel.For(
+            0,
+            modules.Count,
+            new ParallelOptions { MaxDegreeOfParallelism = options.MaxDegreeOfParallelism ?? -1 },
+            i =>
+            {
+                try
+                {
+                    moduleMappings[i] = new MappingTable();
+                    moduleSources[i] = new LoweredAstToRoslynTranslator()
+                        .BuildSyntaxTreeFromModule(modules[i], moduleMappings[i], emitStubMain: false, options, i)
+                        .GetText()
+                        .ToString();
+                }
+                catch (System.Exception ex)
+                {
+                    failures[i] = ex;
+                }
+            });
+
+        for (var i = 0; i < modules.Count; i++)
+        {
+            if (failures[i] != null)
+            {
+                ExceptionDispatchInfo.Capture(failures[i]!).Throw();
+            }
+
+            sources.Add(moduleSources[i]);
+            mapping.AddRange(moduleMappings[i]);
+        }
+    }
+
+    private SyntaxTree BuildSyntaxTreeFromModule(ModuleDef module, MappingTable mapping, bool emitStubMain, TranslatorOptions? options = null, int moduleIndex = 0)
     {
+        _moduleIndex = moduleIndex;
+        _nodeSequence = 0;
+
         _moduleLevelFunctionNames = module.Functions
             .OfType<FunctionDef>()
             .Select(f => SanitizeIdentifier(f.Name.ToString() == "main" ? "Main" : f.Name.ToString()))
@@ -238,6 +337,11 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
 
         CacheClosureInterfaces(module);
 
+        _emitProfiling = options?.EmitProfiling == true;
+        _profileSites.Clear();
+        _profileNamespace = GetModuleNamespace(module);
+        _profileSitesClassName = $"__ProfileSites_{StableHash(module.OriginalModuleName ?? string.Empty):x8}";
+
         // Create using directives
         var usingDirectives = new List<UsingDirectiveSyntax>
         {
@@ -351,6 +455,13 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
 
         members.Add(program);
 
+        if (_profileSites.Count > 0)
+        {
+            members.Add(ClassDeclaration(_profileSitesClassName)
+                .AddModifiers(Token(SyntaxKind.InternalKeyword), Token(SyntaxKind.StaticKeyword))
+                .AddMembers(_profileSites.ToArray()));
+        }
+
         CompilationUnitSyntax compilationUnit;
         if (string.IsNullOrWhiteSpace(namespaceName))
         {
@@ -371,10 +482,35 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         }
 
         // Create syntax tree with file path for debugging
-        return CSharpSyntaxTree.Create(
+        var syntaxTree = CSharpSyntaxTree.Create(
             compilationUnit,
                 path: $"{fileNamespaceName}.g.cs",
             encoding: System.Text.Encoding.UTF8);
+
+        RecordGeneratedPositions(syntaxTree, mapping);
+        return syntaxTree;
+    }
+
+    /// <summary>
+    /// Replaces the approximate entries made while members were built with the spans the annotated
+    /// members ended up at in the module's generated source.
+    /// </summary>
+    private void RecordGeneratedPositions(SyntaxTree syntaxTree, MappingTable mapping)
+    {
+        foreach (var node in syntaxTree.GetRoot().GetAnnotatedNodes(MappingAnnotationKind))
+        {
+            var span = syntaxTree.GetLineSpan(node.Span);
+            foreach (var annotation in node.GetAnnotations(MappingAnnotationKind))
+            {
+                mapping.Update(new MappingEntry(
+                    annotation.Data!,
+                    _moduleIndex,
+                    span.StartLinePosition.Line + 1,
+                    span.StartLinePosition.Character + 1,
+                    span.EndLinePosition.Line + 1,
+                    span.EndLinePosition.Character + 1));
+            }
+        }
     }
 
     private ClassDeclarationSyntax BuildClassDeclaration(ClassDef classDef, MappingTable mapping)
@@ -399,6 +535,10 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         _currentContainingClassName = className;
         var classDecl = ClassDeclaration(className)
             .AddModifiers(Token(SyntaxKind.PublicKeyword));
+        if (HasAnnotation(classDef, ClosureOptimizationRewriter.SealedAnnotation))
+        {
+            classDecl = classDecl.AddModifiers(Token(SyntaxKind.SealedKeyword));
+        }
 
         // Add base classes (Inheritance)
         if (classDef.BaseClasses != null && classDef.BaseClasses.Count > 0)
@@ -465,6 +605,12 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
             }
         }
 
+        // Capture-free closures share one instance: public static readonly X Instance = new X();
+        if (HasAnnotation(classDef, ClosureOptimizationRewriter.SingletonAnnotation))
+        {
+            classDecl = classDecl.AddMembers(BuildSingletonInstanceField(className));
+        }
+
         _currentContainingClassName = priorContaining;
 
         return classDecl;
@@ -516,6 +662,21 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         );
     }
 
+    private static FieldDeclarationSyntax BuildSingletonInstanceField(string className)
+    {
+        return FieldDeclaration(
+            VariableDeclaration(IdentifierName(className))
+                .AddVariables(VariableDeclarator(Identifier(SingletonInstanceFieldName))
+                    .WithInitializer(EqualsValueClause(
+                        ObjectCreationExpression(IdentifierName(className)).WithArgumentList(ArgumentList())))))
+            .AddModifiers(
+                Token(SyntaxKind.PublicKeyword),
+                Token(SyntaxKind.StaticKeyword),
+                Token(SyntaxKind.ReadOnlyKeyword));
+    }
+
+    private static bool HasAnnotation(AstThing node, string key) => node[key] is true;
+
     private FieldDeclarationSyntax BuildFieldDeclaration(FieldDef field)
     {
         var fieldName = SanitizeIdentifier(field.Name.ToString());
@@ -900,7 +1061,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
                         Literal(uriLit.Value.ToString())))))),
             VarRefExp varRef => IdentifierName(SanitizeIdentifier(varRef.VarName)),
             BinaryExp binExp => TranslateBinaryExpression(binExp),
-            FuncCallExp funcCall => TranslateFuncCallExpression(funcCall),
+            FuncCallExp funcCall => MaybeProfileQueryApplication(funcCall, TranslateFuncCallExpression(funcCall)),
             MemberAccessExp memberAccess => TranslateMemberAccessExpression(memberAccess),
             IndexerExpression indexer => TranslateIndexerExpression(indexer),
             List list => TranslateListExpression(list, targetType),
@@ -1175,13 +1336,11 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
     private ExpressionSyntax TranslateFuncCallExpression(FuncCallExp funcCall)
     {
         // Instance method call (e.g., list.Add(item))?
-        if (funcCall.Annotations != null &&
-            funcCall.Annotations.TryGetValue("IsInstanceMethod", out var isInstanceObj) &&
-            isInstanceObj is bool isInstance && isInstance &&
+        if (funcCall.Annotations.IsInstanceMethod == true &&
             funcCall.Annotations.TryGetValue("Target", out var targetObj) && targetObj is Expression targetExpr)
         {
             string methodName;
-            if (funcCall.Annotations.TryGetValue("ExternalMethodName", out var extNameObj) && extNameObj is string extMethod)
+            if (funcCall.Annotations.ExternalMethodName is string extMethod)
             {
                 methodName = SanitizeIdentifier(extMethod);
             }
@@ -1192,7 +1351,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
 
             var candidateMethods = targetExpr.Type is FifthType.TDotnetType targetDotnet
                 ? GetExternalMethodCandidates(targetDotnet.TheType, methodName, funcCall.InvocationArguments.Count, isStatic: false)
-                : Array.Empty<MethodInfo>();
+                : Array.Empty<ExternalMethod>();
 
             var argList = new List<ArgumentSyntax>();
             for (var i = 0; i < funcCall.InvocationArguments.Count; i++)
@@ -1216,8 +1375,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         }
 
         // External (static) call annotated by TreeLinkageVisitor?
-        if (funcCall.Annotations != null &&
-            funcCall.Annotations.TryGetValue("ExternalType", out var extTypeObj) && extTypeObj is Type extType)
+        if (funcCall.Annotations.ExternalType is Type extType)
         {
             var typeName = extType.FullName ?? extType.Name;
             // Resolve method name preference order:
@@ -1226,7 +1384,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
             // 3) Parser-provided FunctionName annotation
             // 4) Fallback: UnknownFunction (should be rare)
             string methodName;
-            if (funcCall.Annotations.TryGetValue("ExternalMethodName", out var extNameObj) && extNameObj is string extMethod)
+            if (funcCall.Annotations.ExternalMethodName is string extMethod)
             {
                 methodName = SanitizeIdentifier(extMethod);
             }
@@ -1234,7 +1392,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
             {
                 methodName = SanitizeIdentifier(funcCall.FunctionDef.Name.ToString());
             }
-            else if (funcCall.Annotations != null && funcCall.Annotations.TryGetValue("FunctionName", out var fnAnno) && fnAnno is string fnStr && !string.IsNullOrWhiteSpace(fnStr))
+            else if (funcCall.Annotations.FunctionName is string fnStr && !string.IsNullOrWhiteSpace(fnStr))
             {
                 methodName = SanitizeIdentifier(fnStr);
             }
@@ -1275,7 +1433,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         {
             funcName = SanitizeIdentifier(funcCall.FunctionDef.Name.ToString());
         }
-        else if (funcCall.Annotations != null && funcCall.Annotations.TryGetValue("FunctionName", out var fnAnno2) && fnAnno2 is string fnStr2 && !string.IsNullOrWhiteSpace(fnStr2))
+        else if (funcCall.Annotations.FunctionName is string fnStr2 && !string.IsNullOrWhiteSpace(fnStr2))
         {
             funcName = SanitizeIdentifier(fnStr2);
         }
@@ -1350,21 +1508,17 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
             .WithTypeArgumentList(TypeArgumentList(SeparatedList(typeSyntaxes)));
     }
 
-    private static IReadOnlyList<MethodInfo> GetExternalMethodCandidates(
+    private static IReadOnlyList<ExternalMethod> GetExternalMethodCandidates(
         Type externalType,
         string methodName,
         int argumentCount,
         bool isStatic)
     {
-        var flags = BindingFlags.Public | (isStatic ? BindingFlags.Static : BindingFlags.Instance);
-        return externalType
-            .GetMethods(flags)
-            .Where(m => string.Equals(m.Name, methodName, StringComparison.Ordinal) && m.GetParameters().Length == argumentCount)
-            .ToList();
+        return ExternalMemberCache.GetMethods(externalType, methodName, argumentCount, isStatic);
     }
 
     private ExpressionSyntax MaybeWrapExternalClosureArgument(
-        IReadOnlyList<MethodInfo> candidateMethods,
+        IReadOnlyList<ExternalMethod> candidateMethods,
         int argIndex,
         Expression arg,
         ExpressionSyntax argExpr)
@@ -1378,7 +1532,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         if (candidateMethods.Count > 0)
         {
             var expectsDelegate = candidateMethods
-                .Select(m => m.GetParameters())
+                .Select(m => m.Parameters)
                 .Where(parameters => argIndex < parameters.Length)
                 .Any(parameters => ParameterExpectsDelegate(parameters[argIndex]));
 
@@ -1386,12 +1540,35 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
                 return argExpr;
         }
 
+        // A shared closure instance is wrapped in a non-capturing lambda, which the C# compiler caches,
+        // so passing it to a builtin allocates neither the closure nor the delegate.
+        if (arg is ObjectInitializerExp objInit
+            && HasAnnotation(objInit, ClosureOptimizationRewriter.SingletonAnnotation)
+            && TryGetClosureInterfaceSignature(arg, out var inputTypes, out _, out _))
+        {
+            return WrapSingletonClosureAsDelegate(argExpr, delegateTypeName, inputTypes.Count);
+        }
+
         return WrapClosureAsDelegate(argExpr, delegateTypeName);
     }
 
+    private static ExpressionSyntax WrapSingletonClosureAsDelegate(ExpressionSyntax instanceExpr, string delegateTypeName, int arity)
+    {
+        var parameters = Enumerable.Range(0, arity).Select(i => Parameter(Identifier($"__closure_arg{i}"))).ToList();
+        var arguments = parameters.Select(p => Argument(IdentifierName(p.Identifier.Text)));
+
+        var invocation = InvocationExpression(
+                MemberAccessExpression(SyntaxKind.SimpleMemberAccessExpression, instanceExpr, IdentifierName("Apply")))
+            .WithArgumentList(ArgumentList(SeparatedList(arguments)));
+
+        var lambda = ParenthesizedLambdaExpression(ParameterList(SeparatedList(parameters)), invocation);
+
+        return CastExpression(ParseTypeName(delegateTypeName), ParenthesizedExpression(lambda));
+    }
+
     private ExpressionSyntax MaybeWrapUnresolvedExternalClosureArgument(Expression arg, ExpressionSyntax argExpr)
     {
-        return MaybeWrapExternalClosureArgument(Array.Empty<MethodInfo>(), 0, arg, argExpr);
+        return MaybeWrapExternalClosureArgument(Array.Empty<ExternalMethod>(), 0, arg, argExpr);
     }
 
     private static bool ParameterExpectsDelegate(ParameterInfo parameter)
@@ -1619,7 +1796,32 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         if (type == null) return false;
         return type is FifthType.TArrayOf || type is FifthType.TListOf ||
                (type is FifthType.TGenericInstance genericInst &&
-                genericInst.GenericTypeDefinition.ToString() == "List");
+                genericInst.GenericTypeDefinition.ToString() == "List") ||
+               TryGetPersistentListElementType(type, out _);
+    }
+
+    /// <summary>
+    /// Recognises the persistent list type <c>plist&lt;T&gt;</c> and returns the mapped C# element type name.
+    /// </summary>
+    private bool TryGetPersistentListElementType(FifthType? type, out string elementTypeName)
+    {
+        elementTypeName = string.Empty;
+        if (type is FifthType.TGenericInstance genericInst &&
+            genericInst.GenericTypeDefinition.ToString() == "plist" &&
+            genericInst.TypeArguments.Count == 1)
+        {
+            elementTypeName = ExtractTypeName(genericInst.TypeArguments[0]);
+            return true;
+        }
+
+        var name = type?.Name.ToString();
+        if (name == null || !name.StartsWith(PersistentListTypePrefix, StringComparison.Ordinal) || !name.EndsWith(">", StringComparison.Ordinal))
+        {
+            return false;
+        }
+
+        elementTypeName = MapTypeName(name.Substring(PersistentListTypePrefix.Length, name.Length - PersistentListTypePrefix.Length - 1));
+        return true;
     }
 
     private ExpressionSyntax TranslateMemberAccessExpression(MemberAccessExp memberAccess)
@@ -1646,13 +1848,12 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         {
             // Static external call? Use annotations to emit Type.Method(args)
             // For extension methods in a MemberAccessExp, the LHS is the target object
-            if (funcCall.Annotations != null &&
-                funcCall.Annotations.TryGetValue("ExternalType", out var extTypeObj) && extTypeObj is Type extType)
+            if (funcCall.Annotations.ExternalType is Type extType)
             {
                 var typeName = extType.FullName ?? extType.Name;
                 // Resolve external method name with sane fallbacks (ExternalMethodName -> FunctionDef -> FunctionName)
                 string resolvedMethodName;
-                if (funcCall.Annotations.TryGetValue("ExternalMethodName", out var extNameObj) && extNameObj is string extMethod)
+                if (funcCall.Annotations.ExternalMethodName is string extMethod)
                 {
                     resolvedMethodName = SanitizeIdentifier(extMethod);
                 }
@@ -1660,7 +1861,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
                 {
                     resolvedMethodName = SanitizeIdentifier(funcCall.FunctionDef.Name.ToString());
                 }
-                else if (funcCall.Annotations != null && funcCall.Annotations.TryGetValue("FunctionName", out var fnAnno3) && fnAnno3 is string fnStr3 && !string.IsNullOrWhiteSpace(fnStr3))
+                else if (funcCall.Annotations.FunctionName is string fnStr3 && !string.IsNullOrWhiteSpace(fnStr3))
                 {
                     resolvedMethodName = SanitizeIdentifier(fnStr3);
                 }
@@ -1727,7 +1928,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
             {
                 methodName = SanitizeIdentifier(funcCall.FunctionDef.Name.ToString());
             }
-            else if (funcCall.Annotations != null && funcCall.Annotations.TryGetValue("FunctionName", out var fnAnno4) && fnAnno4 is string fnStr4 && !string.IsNullOrWhiteSpace(fnStr4))
+            else if (funcCall.Annotations.FunctionName is string fnStr4 && !string.IsNullOrWhiteSpace(fnStr4))
             {
                 methodName = SanitizeIdentifier(fnStr4);
             }
@@ -1805,6 +2006,19 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
                 }
             }
 
+            if (TryGetPersistentListElementType(targetType, out var persistentElementTypeName))
+            {
+                // Generate: Fifth.System.PersistentList<T>.Of(...)
+                var persistentArgs = listLiteral.ElementExpressions
+                    .Select(item => Argument(TranslateExpression(item)));
+                return InvocationExpression(
+                        MemberAccessExpression(
+                            SyntaxKind.SimpleMemberAccessExpression,
+                            ParseTypeName($"Fifth.System.PersistentList<{persistentElementTypeName}>"),
+                            IdentifierName("Of")))
+                    .WithArgumentList(ArgumentList(SeparatedList(persistentArgs)));
+            }
+
             var elements = new List<ExpressionSyntax>();
             foreach (var item in listLiteral.ElementExpressions)
             {
@@ -1875,6 +2089,15 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
             typeName2 = "object";
         }
 
+        // Capture-free closures reuse the class's shared instance instead of allocating
+        if (HasAnnotation(objInit, ClosureOptimizationRewriter.SingletonAnnotation))
+        {
+            return MemberAccessExpression(
+                SyntaxKind.SimpleMemberAccessExpression,
+                IdentifierName(typeName2),
+                IdentifierName(SingletonInstanceFieldName));
+        }
+
         // Build constructor argument list if present
         var ctorArgs = new List<ArgumentSyntax>();
         if (objInit.ConstructorArguments != null && objInit.ConstructorArguments.Count > 0)
@@ -2152,6 +2375,14 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
             return $"System.Collections.Generic.List<{mappedInner}>";
         }
 
+        // plist<T> is the immutable list with O(1) tail/cons used by head/tail recursion
+        if (fifthTypeName.StartsWith(PersistentListTypePrefix) && fifthTypeName.EndsWith(">"))
+        {
+            var innerType = fifthTypeName.Substring(PersistentListTypePrefix.Length, fifthTypeName.Length - PersistentListTypePrefix.Length - 1);
+            var mappedInner = MapTypeName(innerType);
+            return $"Fifth.System.PersistentList<{mappedInner}>";
+        }
+
         return fifthTypeName switch
         {
             "int" => "int",
@@ -2408,6 +2639,11 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
             }
         }
 
+        if (_emitProfiling)
+        {
+            body = WrapInProfilingSite(body, FunctionProfileSite(functionName));
+        }
+
         var methodDecl = MethodDeclaration(
             ParseTypeName(returnTypeName),
             Identifier(methodName))
@@ -2436,19 +2672,112 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
 
         // Add mapping entry for this method
         // Generate a unique node ID if not available
-        var nodeId = $"func_{methodName}_{Guid.NewGuid().ToString("N")[..8]}";
+        var nodeId = $"func_{methodName}_{_moduleIndex}_{_nodeSequence++}";
         var syntaxText = methodDecl.NormalizeWhitespace().ToFullString();
         var lines = syntaxText.Split('\n');
 
         mapping.Add(new MappingEntry(
             nodeId,
-            0, // First source file
-            1, // Start line (approximate)
+            _moduleIndex, // Generated source of this module
+            1, // Start line (approximate until RecordGeneratedPositions)
             1, // Start column
             lines.Length, // End line (approximate)
             lines.LastOrDefault()?.Length ?? 1)); // End column (approximate)
 
-        return methodDecl;
+        return methodDecl.WithAdditionalAnnotations(new SyntaxAnnotation(MappingAnnotationKind, nodeId));
+    }
+
+    /// <summary>
+    /// Site for a function: a clause site for the <c>_subclauseN</c> functions that overload lowering
+    /// generates, otherwise a function site named by namespace, class and function.
+    /// </summary>
+    private string FunctionProfileSite(string functionName)
+    {
+        var match = SubclauseNamePattern.Match(functionName);
+        var name = match.Success ? match.Groups[1].Value : functionName;
+        var qualified = string.Join(".", new[]
+        {
+            _profileNamespace,
+            string.Equals(_currentContainingClassName, "Program", StringComparison.Ordinal) ? null : _currentContainingClassName,
+            name
+        }.Where(part => !string.IsNullOrEmpty(part)));
+
+        return match.Success
+            ? AddProfileSite("Clause",
+                LiteralExpression(SyntaxKind.StringLiteralExpression, Literal(qualified)),
+                LiteralExpression(SyntaxKind.NumericLiteralExpression, Literal(int.Parse(match.Groups[2].Value))))
+            : AddProfileSite("Function", LiteralExpression(SyntaxKind.StringLiteralExpression, Literal(qualified)));
+    }
+
+    /// <summary>
+    /// Declares a static site field created by <c>Fifth.System.Profiling.{factory}</c> and returns the
+    /// expression that refers to it.
+    /// </summary>
+    private string AddProfileSite(string factory, params ExpressionSyntax[] arguments)
+    {
+        var fieldName = $"S{_profileSites.Count}";
+        _profileSites.Add(FieldDeclaration(
+                VariableDeclaration(ParseTypeName("Fifth.System.ProfileSite"))
+                    .AddVariables(VariableDeclarator(Identifier(fieldName))
+                        .WithInitializer(EqualsValueClause(
+                            InvocationExpression(ParseExpression($"Fifth.System.Profiling.{factory}"))
+                                .WithArgumentList(ArgumentList(SeparatedList(arguments.Select(Argument))))))))
+            .AddModifiers(Token(SyntaxKind.PublicKeyword), Token(SyntaxKind.StaticKeyword), Token(SyntaxKind.ReadOnlyKeyword)));
+        return $"{_profileSitesClassName}.{fieldName}";
+    }
+
+    /// <summary>
+    /// <c>long __profile_start = Profiling.Start(); try { body } finally { Profiling.Record(site, __profile_start); }</c>
+    /// </summary>
+    private static BlockSyntax WrapInProfilingSite(BlockSyntax body, string site)
+    {
+        var start = LocalDeclarationStatement(
+            VariableDeclaration(PredefinedType(Token(SyntaxKind.LongKeyword)))
+                .AddVariables(VariableDeclarator(Identifier("__profile_start"))
+                    .WithInitializer(EqualsValueClause(ParseExpression("Fifth.System.Profiling.Start()")))));
+        var record = ExpressionStatement(ParseExpression($"Fifth.System.Profiling.Record({site}, __profile_start)"));
+
+        return Block(start, TryStatement(body, default, FinallyClause(Block(record))));
+    }
+
+    /// <summary>
+    /// Times a lowered query application in place when profiling is on; other calls are returned unchanged.
+    /// </summary>
+    private ExpressionSyntax MaybeProfileQueryApplication(FuncCallExp funcCall, ExpressionSyntax translated)
+    {
+        if (!_emitProfiling ||
+            funcCall.Annotations.ExternalType != typeof(Fifth.System.QueryApplicationExecutor) ||
+            funcCall.Annotations.ExternalMethodName != "Execute")
+        {
+            return translated;
+        }
+
+        var location = funcCall.Location is { } loc
+            ? $"{Path.GetFileName(loc.Filename)}:{loc.Line}:{loc.Column}"
+            : $"{_profileNamespace}:query{_profileSites.Count}";
+        var site = AddProfileSite("Query", LiteralExpression(SyntaxKind.StringLiteralExpression, Literal(location)));
+
+        return InvocationExpression(ParseExpression("Fifth.System.Profiling.Stop"))
+            .WithArgumentList(ArgumentList(SeparatedList(new[]
+            {
+                Argument(ParseExpression(site)),
+                Argument(ParseExpression("Fifth.System.Profiling.Start()")),
+                Argument(translated)
+            })));
+    }
+
+    /// <summary>
+    /// FNV-1a, so site class names are the same in every compilation of a module.
+    /// </summary>
+    private static uint StableHash(string text)
+    {
+        var hash = 2166136261u;
+        foreach (var c in text)
+        {
+            hash = (hash ^ c) * 16777619u;
+        }
+
+        return hash;
     }
 
     private MemberDeclarationSyntax BuildConstructorDeclaration(FunctionDef funcDef, MappingTable mapping)
@@ -2509,19 +2838,19 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
         }
 
         // Add mapping entry
-        var nodeId = $"ctor_{constructorName}_{Guid.NewGuid().ToString("N")[..8]}";
+        var nodeId = $"ctor_{constructorName}_{_moduleIndex}_{_nodeSequence++}";
         var syntaxText = constructorDecl.NormalizeWhitespace().ToFullString();
         var lines = syntaxText.Split('\n');
 
         mapping.Add(new MappingEntry(
             nodeId,
-            0,
+            _moduleIndex,
             1,
             1,
             lines.Length,
             lines.LastOrDefault()?.Length ?? 1));
 
-        return constructorDecl;
+        return constructorDecl.WithAdditionalAnnotations(new SyntaxAnnotation(MappingAnnotationKind, nodeId));
     }
 
     /// <summary>
@@ -2555,6 +2884,9 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
                 var listElementTypeName = ExtractTypeName(listOf.ElementType);
                 return $"System.Collections.Generic.List<{listElementTypeName}>";
 
+            case FifthType.TGenericInstance genericInstance when TryGetPersistentListElementType(genericInstance, out var persistentElementTypeName):
+                return $"Fifth.System.PersistentList<{persistentElementTypeName}>";
+
             case FifthType.TGenericInstance genericInstance:
                 // For generic instantiations like Stack<int>, format with type arguments
                 var baseTypeName = SanitizeIdentifier(genericInstance.GenericTypeDefinition.ToString());
@@ -2640,8 +2972,8 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
 
     /// <summary>
     /// Discovers public static types in a referenced assembly that contain at least one
-    /// public static method. Uses MetadataLoadContext for safe metadata-only inspection
-    /// without loading assemblies into the execution context.
+    /// public static method. The assembly's metadata is read without loading it, and the result is
+    /// cached by <see cref="ExternalMemberCache"/> until the file changes.
     /// </summary>
     /// <param name="assemblyPath">Absolute path to the referenced assembly (.dll).</param>
     /// <returns>Fully qualified type names (e.g., "CoreLib.Program") for each qualifying type.</returns>
@@ -2656,51 +2988,7 @@ public class LoweredAstToRoslynTranslator : IBackendTranslator
 
         try
         {
-            // Build the set of assembly paths for the resolver: the target assembly
-            // plus the runtime assemblies so that core types (System.Object, etc.) resolve.
-            var runtimeDir = System.Runtime.InteropServices.RuntimeEnvironment.GetRuntimeDirectory();
-            var runtimeAssemblies = Directory.GetFiles(runtimeDir, "*.dll");
-
-            var resolverPaths = new List<string>(runtimeAssemblies) { assemblyPath };
-            var resolver = new PathAssemblyResolver(resolverPaths);
-
-            using var mlc = new System.Reflection.MetadataLoadContext(resolver);
-            var assembly = mlc.LoadFromAssemblyPath(assemblyPath);
-
-            var result = new List<string>();
-
-            foreach (var type in assembly.GetExportedTypes())
-            {
-                // Skip compiler-generated types (names containing '<' or with CompilerGenerated attribute)
-                if (type.Name.Contains('<'))
-                {
-                    continue;
-                }
-
-                var hasCompilerGenerated = type.CustomAttributes.Any(a =>
-                    a.AttributeType.Name == "CompilerGeneratedAttribute");
-                if (hasCompilerGenerated)
-                {
-                    continue;
-                }
-
-                // A public static class in IL is abstract + sealed
-                if (!type.IsAbstract || !type.IsSealed)
-                {
-                    continue;
-                }
-
-                // Must have at least one public static method
-                var hasPublicStaticMethod = type.GetMethods(BindingFlags.Public | BindingFlags.Static | BindingFlags.DeclaredOnly)
-                    .Any();
-
-                if (hasPublicStaticMethod)
-                {
-                    result.Add(type.FullName ?? type.Name);
-                }
-            }
-
-            return result;
+            return ExternalMemberCache.GetPublicStaticTypes(assemblyPath);
         }
         catch (Exception ex)
         {
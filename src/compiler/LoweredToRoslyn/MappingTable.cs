@@ -1,21 +1,275 @@
 namespace compiler;
 
 using System.Collections.Generic;
+using System.IO;
+using System.Text;
 
 /// <summary>
 /// Represents a mapping from a lowered-AST node to generated source coordinates.
 /// Kept intentionally simple for the POC.
 /// </summary>
-public record MappingEntry(string NodeId, int SourceIndex, int StartLine, int StartColumn, int EndLine, int EndColumn);
+public record MappingEntry(string NodeId, int SourceIndex, int StartLine, int StartColumn, int EndLine, int EndColumn)
+{
+    internal bool Contains(int line, int column) =>
+        (line > StartLine || (line == StartLine && column >= StartColumn)) &&
+        (line < EndLine || (line == EndLine && column <= EndColumn));
+}
 
+/// <summary>
+/// Mapping from lowered-AST nodes to the generated C# that was emitted for them.
+/// </summary>
+/// <remarks>
+/// Node ids are looked up in a dictionary. Position queries use a per-source index of the entries sorted
+/// by start, with a running maximum of their ends, so a lookup is a binary search followed by a scan that
+/// stops as soon as no earlier entry can reach the position. The index is rebuilt on the first query after
+/// the table changes.
+/// Entries refer to their generated source by index; <see cref="SourcePaths"/> names the file each index
+/// was compiled as, which is the file a stack frame or the PDB reports.
+/// </remarks>
 public class MappingTable
 {
+    /// <summary>
+    /// Extension of the serialized table written next to the compiled assembly and its PDB.
+    /// </summary>
+    public const string FileExtension = ".fifthmap";
+
+    private const uint FileMagic = 0x50414D46; // "FMAP"
+    private const int FileVersion = 2;
+
     private readonly List<MappingEntry> _entries = new();
+    private readonly List<string> _sourcePaths = new();
+    private readonly Dictionary<string, int> _indexByNodeId = new(StringComparer.Ordinal);
+    private Dictionary<int, SourceIndex>? _positionIndex;
+
+    public void Add(MappingEntry entry)
+    {
+        _indexByNodeId.TryAdd(entry.NodeId, _entries.Count);
+        _entries.Add(entry);
+        _positionIndex = null;
+    }
+
+    public void AddRange(MappingTable other)
+    {
+        foreach (var entry in other._entries)
+        {
+            Add(entry);
+        }
+    }
 
-    public void Add(MappingEntry entry) => _entries.Add(entry);
+    /// <summary>
+    /// Replaces the entry for <paramref name="entry"/>'s node id, or adds it when there is none.
+    /// </summary>
+    public void Update(MappingEntry entry)
+    {
+        if (_indexByNodeId.TryGetValue(entry.NodeId, out var index))
+        {
+            _entries[index] = entry;
+            _positionIndex = null;
+        }
+        else
+        {
+            Add(entry);
+        }
+    }
 
     public IReadOnlyList<MappingEntry> Entries => _entries.AsReadOnly();
 
-    public MappingEntry? FindByNodeId(string nodeId) => _entries.Find(e => e.NodeId == nodeId);
-}
+    /// <summary>
+    /// Paths of the generated sources, in <see cref="MappingEntry.SourceIndex"/> order.
+    /// </summary>
+    public IReadOnlyList<string> SourcePaths => _sourcePaths.AsReadOnly();
+
+    /// <summary>
+    /// Records the paths the generated sources were compiled under, in source index order.
+    /// </summary>
+    public void SetSourcePaths(IEnumerable<string> paths)
+    {
+        _sourcePaths.Clear();
+        _sourcePaths.AddRange(paths);
+    }
+
+    /// <summary>
+    /// Index of the generated source at <paramref name="path"/>, or -1 when the table has no such source.
+    /// A path that matches no recorded path exactly is matched by file name, since stack frames may report
+    /// the generated file under a different directory.
+    /// </summary>
+    public int IndexOfSource(string path)
+    {
+        var index = _sourcePaths.IndexOf(path);
+        if (index >= 0)
+        {
+            return index;
+        }
+
+        var fileName = Path.GetFileName(path);
+        return _sourcePaths.FindIndex(p => string.Equals(Path.GetFileName(p), fileName, StringComparison.Ordinal));
+    }
+
+    public MappingEntry? FindByNodeId(string nodeId) =>
+        _indexByNodeId.TryGetValue(nodeId, out var index) ? _entries[index] : null;
+
+    /// <summary>
+    /// The innermost entry of generated source <paramref name="sourceIndex"/> that covers the 1-based
+    /// <paramref name="line"/> and <paramref name="column"/>, or null when none does.
+    /// </summary>
+    public MappingEntry? FindByPosition(int sourceIndex, int line, int column)
+    {
+        _positionIndex ??= BuildPositionIndex();
+        return _positionIndex.TryGetValue(sourceIndex, out var index) ? index.Find(line, column) : null;
+    }
+
+    /// <summary>
+    /// The innermost entry of the generated source at <paramref name="sourcePath"/> that covers the 1-based
+    /// <paramref name="line"/> and <paramref name="column"/>, or null when none does.
+    /// </summary>
+    public MappingEntry? FindByPosition(string sourcePath, int line, int column)
+    {
+        var sourceIndex = IndexOfSource(sourcePath);
+        return sourceIndex < 0 ? null : FindByPosition(sourceIndex, line, column);
+    }
+
+    /// <summary>
+    /// Writes the table in its compact binary form: a header with the generated source paths, then node ids
+    /// once each, coordinates as variable-length deltas in source and position order.
+    /// </summary>
+    public void Write(Stream stream)
+    {
+        using var writer = new BinaryWriter(stream, Encoding.UTF8, leaveOpen: true);
+        writer.Write(FileMagic);
+        writer.Write(FileVersion);
+        writer.Write7BitEncodedInt(_sourcePaths.Count);
+        foreach (var sourcePath in _sourcePaths)
+        {
+            writer.Write(sourcePath);
+        }
 
+        writer.Write7BitEncodedInt(_entries.Count);
+
+        int previousSource = 0, previousLine = 0;
+        foreach (var entry in _entries.OrderBy(e => e.SourceIndex).ThenBy(e => e.StartLine).ThenBy(e => e.StartColumn))
+        {
+            if (entry.SourceIndex != previousSource)
+            {
+                previousLine = 0;
+            }
+
+            writer.Write(entry.NodeId);
+            writer.Write7BitEncodedInt(entry.SourceIndex - previousSource);
+            writer.Write7BitEncodedInt(entry.StartLine - previousLine);
+            writer.Write7BitEncodedInt(entry.StartColumn);
+            writer.Write7BitEncodedInt(entry.EndLine - entry.StartLine);
+            writer.Write7BitEncodedInt(entry.EndColumn);
+            previousSource = entry.SourceIndex;
+            previousLine = entry.StartLine;
+        }
+    }
+
+    public void Save(string path)
+    {
+        using var stream = new FileStream(path, FileMode.Create, FileAccess.Write);
+        Write(stream);
+    }
+
+    /// <summary>
+    /// Reads a table written by <see cref="Write"/>.
+    /// </summary>
+    /// <exception cref="InvalidDataException">If the stream does not hold a mapping table of this version</exception>
+    public static MappingTable Read(Stream stream)
+    {
+        using var reader = new BinaryReader(stream, Encoding.UTF8, leaveOpen: true);
+        if (reader.ReadUInt32() != FileMagic || reader.ReadInt32() != FileVersion)
+        {
+            throw new InvalidDataException("Not a Fifth source mapping table, or written by another compiler version");
+        }
+
+        var table = new MappingTable();
+        var sourceCount = reader.Read7BitEncodedInt();
+        for (var i = 0; i < sourceCount; i++)
+        {
+            table._sourcePaths.Add(reader.ReadString());
+        }
+
+        var count = reader.Read7BitEncodedInt();
+        int source = 0, line = 0;
+        for (var i = 0; i < count; i++)
+        {
+            var nodeId = reader.ReadString();
+            var sourceDelta = reader.Read7BitEncodedInt();
+            if (sourceDelta != 0)
+            {
+                source += sourceDelta;
+                line = 0;
+            }
+
+            line += reader.Read7BitEncodedInt();
+            var startColumn = reader.Read7BitEncodedInt();
+            var endLine = line + reader.Read7BitEncodedInt();
+            var endColumn = reader.Read7BitEncodedInt();
+            table.Add(new MappingEntry(nodeId, source, line, startColumn, endLine, endColumn));
+        }
+
+        return table;
+    }
+
+    public static MappingTable Load(string path)
+    {
+        using var stream = new FileStream(path, FileMode.Open, FileAccess.Read, FileShare.Read);
+        return Read(stream);
+    }
+
+    private Dictionary<int, SourceIndex> BuildPositionIndex() =>
+        _entries
+            .GroupBy(e => e.SourceIndex)
+            .ToDictionary(g => g.Key, g => new SourceIndex(g));
+
+    /// <summary>
+    /// Entries of one generated source sorted by start, with the furthest end reached by any entry up to
+    /// each position.
+    /// </summary>
+    private sealed class SourceIndex
+    {
+        private readonly MappingEntry[] _byStart;
+        private readonly (int Line, int Column)[] _maxEnd;
+
+        public SourceIndex(IEnumerable<MappingEntry> entries)
+        {
+            _byStart = entries.OrderBy(e => e.StartLine).ThenBy(e => e.StartColumn).ToArray();
+            _maxEnd = new (int, int)[_byStart.Length];
+            for (var i = 0; i < _byStart.Length; i++)
+            {
+                var end = (_byStart[i].EndLine, _byStart[i].EndColumn);
+                _maxEnd[i] = i > 0 && _maxEnd[i - 1].CompareTo(end) > 0 ? _maxEnd[i - 1] : end;
+            }
+        }
+
+        public MappingEntry? Find(int line, int column)
+        {
+            // Last entry starting at or before the position
+            int low = 0, high = _byStart.Length - 1, last = -1;
+            while (low <= high)
+            {
+                var mid = (low + high) >> 1;
+                if ((_byStart[mid].StartLine, _byStart[mid].StartColumn).CompareTo((line, column)) <= 0)
+                {
+                    last = mid;
+                    low = mid + 1;
+                }
+                else
+                {
+                    high = mid - 1;
+                }
+            }
+
+            // Walking back, the first entry that covers the position started latest, so it is the innermost
+            for (var i = last; i >= 0 && _maxEnd[i].CompareTo((line, column)) >= 0; i--)
+            {
+                if (_byStart[i].Contains(line, column))
+                {
+                    return _byStart[i];
+                }
+            }
+
+            return null;
+        }
+    }
+}
@@ -5,6 +5,23 @@ public sealed class NamespaceImportGraph
     private readonly Dictionary<string, HashSet<string>> _edges = new(StringComparer.Ordinal);
     private readonly Dictionary<string, IReadOnlyList<string>> _traversalCache = new(StringComparer.Ordinal);
 
+    public static NamespaceImportGraph FromModules(IEnumerable<ModuleMetadata> modules)
+    {
+        var graph = new NamespaceImportGraph();
+        foreach (var module in modules)
+        {
+            foreach (var import in module.Imports)
+            {
+                if (!string.IsNullOrWhiteSpace(module.DeclaredNamespace))
+                {
+                    graph.AddImport(module.DeclaredNamespace, import.Namespace);
+                }
+            }
+        }
+
+        return graph;
+    }
+
     public void AddImport(string fromNamespace, string toNamespace)
     {
         if (string.IsNullOrWhiteSpace(fromNamespace) || string.IsNullOrWhiteSpace(toNamespace))
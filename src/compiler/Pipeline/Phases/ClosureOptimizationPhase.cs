@@ -0,0 +1,27 @@
+using compiler.LanguageTransformations;
+
+namespace compiler.Pipeline.Phases;
+
+/// <summary>
+/// Phase 38: Compound phase that seals generated closure classes, shares capture-free closures
+/// as singletons and devirtualizes locals bound to a known closure, then re-links the tree.
+/// </summary>
+public class ClosureOptimizationPhase : ICompilerPhase
+{
+    public string Name => "ClosureOptimization";
+    public IReadOnlyList<string> DependsOn => new[] { "Defunctionalised" };
+    public IReadOnlyList<string> ProvidedCapabilities => new[] { "ClosuresOptimized" };
+
+    public PhaseResult Transform(AstThing ast, PhaseContext context)
+    {
+        // 1. Annotate closure classes and instantiations, retype devirtualizable locals
+        var rewriter = new ClosureOptimizationRewriter();
+        var result = rewriter.Rewrite(ast);
+        ast = result.Node;
+
+        // 2. Re-link after rewrites to keep parent pointers consistent for codegen
+        ast = new TreeLinkageVisitor().Visit(ast);
+
+        return PhaseResult.Ok(ast);
+    }
+}
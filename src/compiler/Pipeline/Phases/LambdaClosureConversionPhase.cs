@@ -3,8 +3,9 @@ using compiler.LanguageTransformations;
 namespace compiler.Pipeline.Phases;
 
 /// <summary>
-/// Phase 36: Compound phase that validates lambda capture constraints,
-/// then lowers lambdas to closure classes + Apply calls, then re-links the tree.
+/// Phase 36: Compound phase that lowers lambdas to closure classes + Apply calls, then re-links the tree.
+/// Capture constraints are checked by <see cref="LambdaValidationPhase"/>, so editors that skip this
+/// lowering still report them.
 /// </summary>
 public class LambdaClosureConversionPhase : ICompilerPhase
 {
@@ -14,18 +15,12 @@ public class LambdaClosureConversionPhase : ICompilerPhase
 
     public PhaseResult Transform(AstThing ast, PhaseContext context)
     {
-        // 1. Validate lambda capture constraints
-        ast = new LambdaCaptureValidationVisitor(context.Diagnostics).Visit(ast);
-
-        if (context.Diagnostics.Any(d => d.Level == DiagnosticLevel.Error))
-            return PhaseResult.Fail(ast, context.Diagnostics.ToList());
-
-        // 2. Lower lambdas to closure classes + Apply calls
+        // 1. Lower lambdas to closure classes + Apply calls
         var rewriter = new LambdaClosureConversionRewriter();
         var result = rewriter.Rewrite(ast);
         ast = result.Node;
 
-        // 3. Re-link tree after rewriting so downstream components see consistent parents
+        // 2. Re-link tree after rewriting so downstream components see consistent parents
         ast = new TreeLinkageVisitor().Visit(ast);
 
         return PhaseResult.Ok(ast);
@@ -3,7 +3,8 @@ using compiler.LanguageTransformations;
 namespace compiler.Pipeline.Phases;
 
 /// <summary>
-/// Phase 35: Validates lambda functions (arity limits, etc.).
+/// Phase 35: Validates lambda functions (arity limits, etc.) and their capture constraints: no shadowing
+/// of outer variables and no assignment to captured ones.
 /// </summary>
 public class LambdaValidationPhase : ICompilerPhase
 {
@@ -14,6 +15,7 @@ public class LambdaValidationPhase : ICompilerPhase
     public PhaseResult Transform(AstThing ast, PhaseContext context)
     {
         ast = new LambdaValidationVisitor(context.Diagnostics).Visit(ast);
+        ast = new LambdaCaptureValidationVisitor(context.Diagnostics).Visit(ast);
 
         if (context.Diagnostics.Any(d => d.Level == DiagnosticLevel.Error))
             return PhaseResult.Fail(ast, context.Diagnostics.ToList());
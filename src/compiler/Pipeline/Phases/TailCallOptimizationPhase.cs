@@ -3,9 +3,9 @@ using compiler.LanguageTransformations;
 namespace compiler.Pipeline.Phases;
 
 /// <summary>
-/// Phase 38: Applies tail-call optimization to eligible recursive functions.
-/// Currently disabled/commented out in the monolithic pipeline due to AST construction issues.
-/// Registered in the default pipeline but skipped via PipelineOptions.
+/// Phase 39: Applies tail-call optimization to self-recursive functions and to groups of
+/// mutually tail-recursive module functions. Skip it by adding "TailCallOptimization" to
+/// <see cref="PipelineOptions.SkipPhases"/>.
 /// </summary>
 public class TailCallOptimizationPhase : ICompilerPhase
 {
@@ -4,7 +4,7 @@ using compiler.LanguageTransformations;
 namespace compiler.Pipeline.Phases;
 
 /// <summary>
-/// Phase 21: Lowers TriG literal expressions to Store.LoadFromTriG() calls.
+/// Phase 21: Lowers TriG literal expressions to Store.LoadFromTriG() / Store.LoadFromFrozenTriG() calls.
 /// </summary>
 public class TriGLiteralLoweringPhase : ICompilerPhase
 {
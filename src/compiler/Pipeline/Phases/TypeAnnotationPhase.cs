@@ -43,8 +43,10 @@ public class TypeAnnotationPhase : ICompilerPhase
         if (diagnostics.Any(d => d.Level == DiagnosticLevel.Error))
             return PhaseResult.Fail(ast, diagnostics);
 
-        // 6. Lower graph triple operators with full type info available
+        // 6. Lower graph triple operators with full type info available, then coalesce
+        //    runs of per-triple Assert/Retract calls into AssertRange/RetractRange
         ast = (AstThing)new TripleGraphAdditionLoweringRewriter().Rewrite(ast).Node;
+        ast = (AstThing)new TripleBatchingRewriter().Rewrite(ast).Node;
 
         // 7. Re-link after rewriting
         ast = new TreeLinkageVisitor().Visit(ast);
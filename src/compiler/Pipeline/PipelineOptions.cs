@@ -13,6 +13,12 @@ public record PipelineOptions
     /// <summary>Stop execution after this phase (inclusive). Null = run all.</summary>
     public string? StopAfter { get; init; }
 
+    /// <summary>
+    /// Stop execution after the first phase at which every listed capability has been provided (inclusive).
+    /// Null = run all.
+    /// </summary>
+    public IReadOnlySet<string>? StopAfterCapabilities { get; init; }
+
     /// <summary>Stop on first phase failure. Default true.</summary>
     public bool StopOnError { get; init; } = true;
 
@@ -25,9 +31,28 @@ public record PipelineOptions
     /// <summary>Callback invoked for AST dumps. Receives (ast, phaseName).</summary>
     public Action<AstThing, string>? DumpCallback { get; init; }
 
-    /// <summary>Default options: run all phases, stop on error, skip TailCallOptimization (currently disabled).</summary>
-    public static PipelineOptions Default { get; } = new()
+    /// <summary>Checked before each phase; cancellation throws <see cref="OperationCanceledException"/>.</summary>
+    public CancellationToken CancellationToken { get; init; }
+
+    /// <summary>Default options: run all phases and stop on error.</summary>
+    public static PipelineOptions Default { get; } = new();
+
+    /// <summary>
+    /// Editor profile: stop once <see cref="TransformationPipeline.DeclarationCapabilities"/> are available,
+    /// skipping the lowering phases that only code generation needs.
+    /// </summary>
+    public static PipelineOptions DeclarationsOnly { get; } = new()
+    {
+        StopAfterCapabilities = TransformationPipeline.DeclarationCapabilities
+    };
+
+    /// <summary>
+    /// Editor diagnostics profile: run every validation phase but skip the
+    /// <see cref="TransformationPipeline.CodeGenerationLoweringPhases"/>, so the result reports what a build
+    /// would and its AST still has the source's declarations rather than generated closure classes.
+    /// </summary>
+    public static PipelineOptions EditorDiagnostics { get; } = new()
     {
-        SkipPhases = new HashSet<string> { "TailCallOptimization" }
+        SkipPhases = new HashSet<string>(TransformationPipeline.CodeGenerationLoweringPhases)
     };
 }
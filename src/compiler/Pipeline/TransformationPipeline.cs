@@ -13,6 +13,24 @@ public class TransformationPipeline
     private readonly List<ICompilerPhase> _phases = new();
     private readonly HashSet<string> _availableCapabilities = new();
 
+    /// <summary>
+    /// Capabilities that hover, completion and go-to-definition rely on: symbol tables,
+    /// resolved namespace imports and type annotations. See <see cref="PipelineOptions.DeclarationsOnly"/>.
+    /// </summary>
+    public static IReadOnlySet<string> DeclarationCapabilities { get; } =
+        new HashSet<string> { "Symbols", "NamespaceImports", "Types" };
+
+    /// <summary>
+    /// Phases after type annotation that only lower the program for code generation and report no
+    /// diagnostics of their own. See <see cref="PipelineOptions.EditorDiagnostics"/>.
+    /// </summary>
+    public static IReadOnlySet<string> CodeGenerationLoweringPhases { get; } =
+        new HashSet<string>
+        {
+            "QueryApplicationLowering", "ListComprehensionLowering", "LambdaClosureConversion",
+            "Defunctionalisation", "ClosureOptimization", "TailCallOptimization"
+        };
+
     /// <summary>Registered phases in execution order.</summary>
     public IReadOnlyList<ICompilerPhase> Phases => _phases.AsReadOnly();
 
@@ -47,6 +65,17 @@ public class TransformationPipeline
         ArgumentNullException.ThrowIfNull(ast);
         options ??= PipelineOptions.Default;
 
+        if (options.StopAfterCapabilities != null)
+        {
+            var unknown = options.StopAfterCapabilities.Where(c => !_availableCapabilities.Contains(c)).ToList();
+            if (unknown.Count > 0)
+            {
+                throw new ArgumentException(
+                    $"No registered phase provides capabilities: {string.Join(", ", unknown)}.",
+                    nameof(options));
+            }
+        }
+
         var context = new PhaseContext
         {
             TargetFramework = targetFramework,
@@ -57,6 +86,7 @@ public class TransformationPipeline
         var totalSw = DebugHelpers.DebugEnabled ? Stopwatch.StartNew() : null;
         var currentAst = ast;
         var phaseCount = 0;
+        var providedCapabilities = new HashSet<string>();
 
         foreach (var phase in _phases)
         {
@@ -65,6 +95,8 @@ public class TransformationPipeline
                 continue;
             }
 
+            options.CancellationToken.ThrowIfCancellationRequested();
+
             var phaseSw = Stopwatch.StartNew();
             try
             {
@@ -95,11 +127,17 @@ public class TransformationPipeline
                 }
 
                 currentAst = result.TransformedAst;
+                providedCapabilities.UnionWith(phase.ProvidedCapabilities);
 
                 if (phase.Name == options.StopAfter)
                 {
                     break;
                 }
+
+                if (options.StopAfterCapabilities != null && providedCapabilities.IsSupersetOf(options.StopAfterCapabilities))
+                {
+                    break;
+                }
             }
             catch (System.Exception ex)
             {
@@ -229,7 +267,9 @@ public class TransformationPipeline
         pipeline.RegisterPhase(new LambdaClosureConversionPhase());
         // Phase 37: Defunctionalisation (compound: rewrite + relink)
         pipeline.RegisterPhase(new DefunctionalisationPhase());
-        // Phase 38: Tail call optimization (disabled by default via PipelineOptions.Default)
+        // Phase 38: Closure optimization (compound: seal/singleton/devirtualize + relink)
+        pipeline.RegisterPhase(new ClosureOptimizationPhase());
+        // Phase 39: Tail call optimization
         pipeline.RegisterPhase(new TailCallOptimizationPhase());
 
         return pipeline;
@@ -88,6 +88,22 @@ public static class Program
             IsRequired = false
         };
 
+        // Define incremental option
+        var incrementalOption = new Option<bool>(
+            name: "--incremental",
+            description: "Only re-analyse modules affected by changes since the previous incremental build")
+        {
+            IsRequired = false
+        };
+
+        // Define profile option
+        var profileOption = new Option<bool>(
+            name: "--profile",
+            description: "Instrument the program to count and time calls of functions, guard clauses and query applications")
+        {
+            IsRequired = false
+        };
+
         var rootCommand = new RootCommand("Fifth Language Compiler (fifthc)")
         {
             commandOption,
@@ -99,7 +115,9 @@ public static class Program
             targetFrameworkOption,
             argsOption,
             keepTempOption,
-            diagnosticsOption
+            diagnosticsOption,
+            incrementalOption,
+            profileOption
         };
 
         var exitCode = 0;
@@ -119,6 +137,8 @@ public static class Program
                 : targetFramework.Trim();
             var keepTemp = context.ParseResult.GetValueForOption(keepTempOption);
             var diagnostics = context.ParseResult.GetValueForOption(diagnosticsOption);
+            var incremental = context.ParseResult.GetValueForOption(incrementalOption);
+            var profile = context.ParseResult.GetValueForOption(profileOption);
 
             var compilerCommand = ParseCommand(command);
             var resolvedSourceFiles = new List<string>();
@@ -155,7 +175,9 @@ public static class Program
                 SourceFiles: resolvedSourceFiles,
                 SourceManifest: sourceManifest,
                 References: reference,
-                TargetFramework: targetFramework);
+                TargetFramework: targetFramework,
+                Incremental: incremental,
+                Profile: profile);
 
             var compiler = new Compiler();
             var result = await compiler.CompileAsync(options);
@@ -0,0 +1,212 @@
+using System.Collections.Concurrent;
+using System.Reflection;
+using System.Reflection.Metadata;
+using System.Reflection.PortableExecutable;
+using System.Runtime.CompilerServices;
+
+namespace compiler.TypeSystem;
+
+/// <summary>
+/// A public method of an external .NET type, with its parameters read once.
+/// </summary>
+public sealed record ExternalMethod(MethodInfo Method, ParameterInfo[] Parameters)
+{
+    public string Name => Method.Name;
+
+    public bool IsStatic => Method.IsStatic;
+}
+
+/// <summary>
+/// Process-wide, thread-safe cache of the reflection metadata used to bind calls to .NET types and
+/// referenced assemblies.
+/// </summary>
+/// <remarks>
+/// The first lookup on a type indexes its public methods by name and by (name, parameter count), so validating
+/// and translating further calls to it costs a dictionary lookup rather than a <c>GetMethods</c> scan. Types
+/// are held weakly, so collectible assemblies can still unload. The public static types of a referenced
+/// assembly are read from its metadata without loading it and kept until the file's size or timestamp
+/// changes, so a long-lived process such as the language server reads each reference once.
+/// </remarks>
+public static class ExternalMemberCache
+{
+    private static readonly ConditionalWeakTable<Type, TypeMembers> Members = new();
+    private static readonly ConcurrentDictionary<string, ReferencedAssembly> ReferencedAssemblies = new(StringComparer.Ordinal);
+
+    private sealed class TypeMembers
+    {
+        public readonly Dictionary<string, ExternalMethod[]> ByName;
+        public readonly Dictionary<(string Name, int Arity), ExternalMethod[]> ByNameAndArity;
+
+        public TypeMembers(Type type)
+        {
+            var methods = type
+                .GetMethods(BindingFlags.Public | BindingFlags.Static | BindingFlags.Instance)
+                .Select(m => new ExternalMethod(m, m.GetParameters()))
+                .ToList();
+
+            ByName = methods
+                .GroupBy(m => m.Name, StringComparer.Ordinal)
+                .ToDictionary(g => g.Key, g => g.ToArray(), StringComparer.Ordinal);
+            ByNameAndArity = methods
+                .GroupBy(m => (m.Name, m.Parameters.Length))
+                .ToDictionary(g => g.Key, g => g.ToArray());
+        }
+    }
+
+    private sealed record ReferencedAssembly(DateTime LastWriteTimeUtc, long Length, IReadOnlyList<string> PublicStaticTypes);
+
+    /// <summary>
+    /// The public static and instance methods of <paramref name="type"/> named <paramref name="name"/>.
+    /// </summary>
+    public static IReadOnlyList<ExternalMethod> GetMethods(Type type, string name)
+    {
+        ArgumentNullException.ThrowIfNull(type);
+        ArgumentNullException.ThrowIfNull(name);
+
+        return Members.GetValue(type, t => new TypeMembers(t)).ByName.TryGetValue(name, out var methods)
+            ? methods
+            : Array.Empty<ExternalMethod>();
+    }
+
+    /// <summary>
+    /// The public methods of <paramref name="type"/> named <paramref name="name"/> that take exactly
+    /// <paramref name="parameterCount"/> parameters and are static or instance methods as requested.
+    /// </summary>
+    public static IReadOnlyList<ExternalMethod> GetMethods(Type type, string name, int parameterCount, bool isStatic)
+    {
+        ArgumentNullException.ThrowIfNull(type);
+        ArgumentNullException.ThrowIfNull(name);
+
+        if (!Members.GetValue(type, t => new TypeMembers(t)).ByNameAndArity.TryGetValue((name, parameterCount), out var methods))
+        {
+            return Array.Empty<ExternalMethod>();
+        }
+
+        return methods.All(m => m.IsStatic == isStatic)
+            ? methods
+            : methods.Where(m => m.IsStatic == isStatic).ToArray();
+    }
+
+    /// <summary>
+    /// Full names of the public static classes in the assembly at <paramref name="assemblyPath"/> that declare at
+    /// least one public static method.
+    /// </summary>
+    /// <exception cref="IOException">The assembly cannot be read.</exception>
+    /// <exception cref="BadImageFormatException">The file is not a .NET assembly.</exception>
+    public static IReadOnlyList<string> GetPublicStaticTypes(string assemblyPath)
+    {
+        var path = Path.GetFullPath(assemblyPath);
+        var file = new FileInfo(path);
+
+        if (ReferencedAssemblies.TryGetValue(path, out var cached)
+            && cached.LastWriteTimeUtc == file.LastWriteTimeUtc
+            && cached.Length == file.Length)
+        {
+            return cached.PublicStaticTypes;
+        }
+
+        var types = ReadPublicStaticTypes(path);
+        ReferencedAssemblies[path] = new ReferencedAssembly(file.LastWriteTimeUtc, file.Length, types);
+        return types;
+    }
+
+    private static IReadOnlyList<string> ReadPublicStaticTypes(string assemblyPath)
+    {
+        using var stream = File.OpenRead(assemblyPath);
+        using var peReader = new PEReader(stream);
+        if (!peReader.HasMetadata)
+        {
+            throw new BadImageFormatException($"'{assemblyPath}' has no .NET metadata.");
+        }
+
+        var reader = peReader.GetMetadataReader();
+        var result = new List<string>();
+
+        foreach (var handle in reader.TypeDefinitions)
+        {
+            var type = reader.GetTypeDefinition(handle);
+
+            // Compiler-generated types have names containing '<' or carry [CompilerGenerated].
+            if (!IsVisibleOutsideAssembly(reader, type)
+                || reader.GetString(type.Name).Contains('<')
+                || HasCompilerGeneratedAttribute(reader, type))
+            {
+                continue;
+            }
+
+            // A public static class in IL is abstract + sealed.
+            var attributes = type.Attributes;
+            if ((attributes & TypeAttributes.Abstract) == 0 || (attributes & TypeAttributes.Sealed) == 0)
+            {
+                continue;
+            }
+
+            if (type.GetMethods().Any(m => IsPublicStaticMethod(reader.GetMethodDefinition(m))))
+            {
+                result.Add(GetFullName(reader, type));
+            }
+        }
+
+        return result;
+    }
+
+    private static bool IsVisibleOutsideAssembly(MetadataReader reader, TypeDefinition type)
+    {
+        return (type.Attributes & TypeAttributes.VisibilityMask) switch
+        {
+            TypeAttributes.Public => true,
+            TypeAttributes.NestedPublic => IsVisibleOutsideAssembly(reader, reader.GetTypeDefinition(type.GetDeclaringType())),
+            _ => false
+        };
+    }
+
+    private static bool IsPublicStaticMethod(MethodDefinition method)
+    {
+        var attributes = method.Attributes;
+        return (attributes & MethodAttributes.MemberAccessMask) == MethodAttributes.Public
+            && (attributes & MethodAttributes.Static) != 0
+            && (attributes & MethodAttributes.RTSpecialName) == 0;
+    }
+
+    private static bool HasCompilerGeneratedAttribute(MetadataReader reader, TypeDefinition type)
+    {
+        foreach (var handle in type.GetCustomAttributes())
+        {
+            var constructor = reader.GetCustomAttribute(handle).Constructor;
+            var attributeTypeName = constructor.Kind switch
+            {
+                HandleKind.MemberReference => GetTypeName(reader, reader.GetMemberReference((MemberReferenceHandle)constructor).Parent),
+                HandleKind.MethodDefinition => reader.GetString(
+                    reader.GetTypeDefinition(reader.GetMethodDefinition((MethodDefinitionHandle)constructor).GetDeclaringType()).Name),
+                _ => null
+            };
+
+            if (attributeTypeName == "CompilerGeneratedAttribute")
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static string? GetTypeName(MetadataReader reader, EntityHandle handle) => handle.Kind switch
+    {
+        HandleKind.TypeReference => reader.GetString(reader.GetTypeReference((TypeReferenceHandle)handle).Name),
+        HandleKind.TypeDefinition => reader.GetString(reader.GetTypeDefinition((TypeDefinitionHandle)handle).Name),
+        _ => null
+    };
+
+    // Matches Type.FullName: nested types are joined to their declaring type with '+'.
+    private static string GetFullName(MetadataReader reader, TypeDefinition type)
+    {
+        var name = reader.GetString(type.Name);
+        if (type.GetDeclaringType() is { IsNil: false } declaringType)
+        {
+            return GetFullName(reader, reader.GetTypeDefinition(declaringType)) + "+" + name;
+        }
+
+        var ns = reader.GetString(type.Namespace);
+        return ns.Length == 0 ? name : ns + "." + name;
+    }
+}
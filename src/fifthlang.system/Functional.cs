@@ -1,6 +1,10 @@
 // ReSharper disable InconsistentNaming
 // ReSharper disable UnusedMember.Global
 
+using System.Buffers;
+using System.Runtime.CompilerServices;
+using System.Runtime.InteropServices;
+
 namespace Fifth.System;
 
 public static class Functional
@@ -9,29 +13,25 @@ public static class Functional
     // MAP
     // ------------------------------------------------------------
     /// <summary>
-    /// Projects each element of a list into a new form and returns a list of the projected results.
-    /// The selector is invoked once per element in order from index 0 to the end of the list.
+    /// Projects each element of a list into a new form and returns a lazy sequence of the projected results.
+    /// The selector is invoked once per element, in order, when the sequence is consumed; mapping an
+    /// existing sequence composes the selectors instead of adding another pass.
     /// </summary>
     /// <typeparam name="T">The element type of the input list.</typeparam>
-    /// <typeparam name="TResult">The element type of the output list.</typeparam>
+    /// <typeparam name="TResult">The element type of the output sequence.</typeparam>
     /// <param name="source">The input list to transform.</param>
     /// <param name="selector">The function that maps each source element to a result value.</param>
-    /// <returns>A new list containing the mapped results, preserving the input order.</returns>
+    /// <returns>A deferred sequence of the mapped results, preserving the input order.</returns>
     /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="selector"/> is null.</exception>
     [BuiltinFunction]
-    public static List<TResult> map<T, TResult>(
+    public static LazySeq<TResult> map<T, TResult>(
         IEnumerable<T> source,
         Func<T, TResult> selector)
     {
         if (source == null) throw new ArgumentNullException(nameof(source));
         if (selector == null) throw new ArgumentNullException(nameof(selector));
 
-        var result = new List<TResult>();
-
-        foreach (var item in source)
-            result.Add(selector(item));
-
-        return result;
+        return LazySeq<T>.From(source).Map(selector);
     }
 
     // ------------------------------------------------------------
@@ -39,30 +39,23 @@ public static class Functional
     // ------------------------------------------------------------
     /// <summary>
     /// Filters a list by applying a predicate to each element and returning only those that match.
-    /// Evaluation occurs in index order, and the relative order of matching elements is preserved.
+    /// Evaluation is deferred until the sequence is consumed and occurs in index order; the relative
+    /// order of matching elements is preserved.
     /// </summary>
     /// <typeparam name="T">The element type of the input list.</typeparam>
     /// <param name="source">The input list to filter.</param>
     /// <param name="predicate">The predicate that determines whether an element is included.</param>
-    /// <returns>A new list containing the elements for which <paramref name="predicate"/> returns true.</returns>
+    /// <returns>A deferred sequence of the elements for which <paramref name="predicate"/> returns true.</returns>
     /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="predicate"/> is null.</exception>
     [BuiltinFunction]
-    public static List<T> filter<T>(
+    public static LazySeq<T> filter<T>(
         IEnumerable<T> source,
         Func<T, bool> predicate)
     {
         if (source == null) throw new ArgumentNullException(nameof(source));
         if (predicate == null) throw new ArgumentNullException(nameof(predicate));
 
-        var result = new List<T>();
-
-        foreach (var item in source)
-        {
-            if (predicate(item))
-                result.Add(item);
-        }
-
-        return result;
+        return LazySeq<T>.From(source).Filter(predicate);
     }
 
     // ------------------------------------------------------------
@@ -90,6 +83,16 @@ public static class Functional
 
         TResult acc = seed;
 
+        if (source is LazySeq<T> seq)
+        {
+            seq.Drain(item =>
+            {
+                acc = folder(acc, item);
+                return true;
+            });
+            return acc;
+        }
+
         foreach (var item in source)
             acc = folder(acc, item);
 
@@ -102,6 +105,7 @@ public static class Functional
     /// <summary>
     /// Aggregates a list from right to left by repeatedly applying a folder function to an accumulator.
     /// The seed is used as the initial accumulator value, and elements are processed in reverse index order.
+    /// Indexable sources are walked in place; other sources are buffered once into a pooled array.
     /// </summary>
     /// <typeparam name="T">The element type of the input list.</typeparam>
     /// <typeparam name="TResult">The accumulator and result type.</typeparam>
@@ -121,10 +125,46 @@ public static class Functional
 
         TResult acc = seed;
 
-        var list = source as IList<T> ?? new List<T>(source);
+        if (source is IList<T> list)
+        {
+            for (int i = list.Count - 1; i >= 0; i--)
+                acc = folder(list[i], acc);
+
+            return acc;
+        }
+
+        if (source is IReadOnlyList<T> readOnlyList)
+        {
+            for (int i = readOnlyList.Count - 1; i >= 0; i--)
+                acc = folder(readOnlyList[i], acc);
 
-        for (int i = list.Count - 1; i >= 0; i--)
-            acc = folder(list[i], acc);
+            return acc;
+        }
+
+        var pool = ArrayPool<T>.Shared;
+        var buffer = pool.Rent(16);
+        var count = 0;
+        try
+        {
+            foreach (var item in source)
+            {
+                if (count == buffer.Length)
+                {
+                    var larger = pool.Rent(buffer.Length * 2);
+                    Array.Copy(buffer, larger, count);
+                    pool.Return(buffer, RuntimeHelpers.IsReferenceOrContainsReferences<T>());
+                    buffer = larger;
+                }
+                buffer[count++] = item;
+            }
+
+            for (int i = count - 1; i >= 0; i--)
+                acc = folder(buffer[i], acc);
+        }
+        finally
+        {
+            pool.Return(buffer, RuntimeHelpers.IsReferenceOrContainsReferences<T>());
+        }
 
         return acc;
     }
@@ -133,35 +173,24 @@ public static class Functional
     // FLATMAP
     // ------------------------------------------------------------
     /// <summary>
-    /// Maps each element to a list of results and concatenates all results into a single list.
-    /// Elements are processed in order; null inner lists are skipped.
+    /// Maps each element to a list of results and concatenates all results into a single sequence.
+    /// Elements are processed in order when the sequence is consumed; null inner lists are skipped.
     /// </summary>
     /// <typeparam name="T">The element type of the input list.</typeparam>
-    /// <typeparam name="TResult">The element type of the flattened output list.</typeparam>
+    /// <typeparam name="TResult">The element type of the flattened output sequence.</typeparam>
     /// <param name="source">The input list to transform and flatten.</param>
     /// <param name="selector">The function that maps each source element to a list of results.</param>
-    /// <returns>A new list containing all mapped elements in their original order.</returns>
+    /// <returns>A deferred sequence of all mapped elements in their original order.</returns>
     /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="selector"/> is null.</exception>
     [BuiltinFunction]
-    public static List<TResult> flatmap<T, TResult>(
+    public static LazySeq<TResult> flatmap<T, TResult>(
         IEnumerable<T> source,
         Func<T, IEnumerable<TResult>> selector)
     {
         if (source == null) throw new ArgumentNullException(nameof(source));
         if (selector == null) throw new ArgumentNullException(nameof(selector));
 
-        var result = new List<TResult>();
-
-        foreach (var item in source)
-        {
-            var inner = selector(item);
-            if (inner == null) continue;
-
-            foreach (var innerItem in inner)
-                result.Add(innerItem);
-        }
-
-        return result;
+        return LazySeq<T>.From(source).FlatMap(selector);
     }
 
     // ------------------------------------------------------------
@@ -169,7 +198,7 @@ public static class Functional
     // ------------------------------------------------------------
     /// <summary>
     /// Combines two lists element-by-element using a zipper function.
-    /// The result length is the smaller of the two input lengths.
+    /// The result length is the smaller of the two input lengths; pairs are produced when the sequence is consumed.
     /// </summary>
     /// <typeparam name="T1">The element type of the first input list.</typeparam>
     /// <typeparam name="T2">The element type of the second input list.</typeparam>
@@ -177,10 +206,10 @@ public static class Functional
     /// <param name="a">The first input list.</param>
     /// <param name="b">The second input list.</param>
     /// <param name="zipper">The function that combines corresponding elements.</param>
-    /// <returns>A new list containing the zipped results, in index order.</returns>
+    /// <returns>A deferred sequence of the zipped results, in index order.</returns>
     /// <exception cref="ArgumentNullException">Thrown when <paramref name="a"/>, <paramref name="b"/>, or <paramref name="zipper"/> is null.</exception>
     [BuiltinFunction]
-    public static List<TResult> zip<T1, T2, TResult>(
+    public static LazySeq<TResult> zip<T1, T2, TResult>(
         IEnumerable<T1> a,
         IEnumerable<T2> b,
         Func<T1, T2, TResult> zipper)
@@ -189,13 +218,326 @@ public static class Functional
         if (b == null) throw new ArgumentNullException(nameof(b));
         if (zipper == null) throw new ArgumentNullException(nameof(zipper));
 
-        var result = new List<TResult>();
+        return new ZipSeq<T1, T2, TResult>(LazySeq<T1>.From(a), LazySeq<T2>.From(b), zipper);
+    }
+
+    // ------------------------------------------------------------
+    // PARALLEL MAP
+    // ------------------------------------------------------------
+    /// <summary>
+    /// Projects each element of a list into a new form using all available cores.
+    /// The selector may run concurrently and in any order, but results are returned in source order.
+    /// </summary>
+    /// <typeparam name="T">The element type of the input list.</typeparam>
+    /// <typeparam name="TResult">The element type of the output list.</typeparam>
+    /// <param name="source">The input list to transform.</param>
+    /// <param name="selector">The function that maps each source element to a result value; it must be safe to call concurrently.</param>
+    /// <returns>A new list containing the mapped results, preserving the input order.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="selector"/> is null.</exception>
+    [BuiltinFunction]
+    public static List<TResult> pmap<T, TResult>(
+        IEnumerable<T> source,
+        Func<T, TResult> selector)
+    {
+        return pmap(source, selector, ParallelRunner.DefaultDegreeOfParallelism);
+    }
+
+    /// <summary>
+    /// Projects each element of a list into a new form using at most <paramref name="degreeOfParallelism"/> workers.
+    /// The selector may run concurrently and in any order, but results are returned in source order.
+    /// </summary>
+    /// <typeparam name="T">The element type of the input list.</typeparam>
+    /// <typeparam name="TResult">The element type of the output list.</typeparam>
+    /// <param name="source">The input list to transform.</param>
+    /// <param name="selector">The function that maps each source element to a result value; it must be safe to call concurrently.</param>
+    /// <param name="degreeOfParallelism">The maximum number of concurrent workers.</param>
+    /// <returns>A new list containing the mapped results, preserving the input order.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="selector"/> is null.</exception>
+    /// <exception cref="ArgumentOutOfRangeException">Thrown when <paramref name="degreeOfParallelism"/> is less than 1.</exception>
+    [BuiltinFunction]
+    public static List<TResult> pmap<T, TResult>(
+        IEnumerable<T> source,
+        Func<T, TResult> selector,
+        int degreeOfParallelism)
+    {
+        if (source == null) throw new ArgumentNullException(nameof(source));
+        if (selector == null) throw new ArgumentNullException(nameof(selector));
+
+        var items = ParallelRunner.Materialize(source);
+        var result = new List<TResult>(items.Count);
+        CollectionsMarshal.SetCount(result, items.Count);
+
+        // Each range writes straight into its own slice of the result, so no merge step is needed.
+        ParallelRunner.MapRanges(items.Count, degreeOfParallelism, (start, end) =>
+        {
+            var output = CollectionsMarshal.AsSpan(result);
+            for (var i = start; i < end; i++)
+                output[i] = selector(items[i]);
+            return true;
+        });
+
+        return result;
+    }
+
+    // ------------------------------------------------------------
+    // PARALLEL FILTER
+    // ------------------------------------------------------------
+    /// <summary>
+    /// Filters a list in parallel, returning the elements for which the predicate holds.
+    /// The predicate may run concurrently and in any order, but the relative order of matching elements is preserved.
+    /// </summary>
+    /// <typeparam name="T">The element type of the input list.</typeparam>
+    /// <param name="source">The input list to filter.</param>
+    /// <param name="predicate">The predicate that determines whether an element is included; it must be safe to call concurrently.</param>
+    /// <returns>A new list containing the elements for which <paramref name="predicate"/> returns true.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="predicate"/> is null.</exception>
+    [BuiltinFunction]
+    public static List<T> pfilter<T>(
+        IEnumerable<T> source,
+        Func<T, bool> predicate)
+    {
+        return pfilter(source, predicate, ParallelRunner.DefaultDegreeOfParallelism);
+    }
+
+    /// <summary>
+    /// Filters a list using at most <paramref name="degreeOfParallelism"/> workers, returning the elements for which the predicate holds.
+    /// The predicate may run concurrently and in any order, but the relative order of matching elements is preserved.
+    /// </summary>
+    /// <typeparam name="T">The element type of the input list.</typeparam>
+    /// <param name="source">The input list to filter.</param>
+    /// <param name="predicate">The predicate that determines whether an element is included; it must be safe to call concurrently.</param>
+    /// <param name="degreeOfParallelism">The maximum number of concurrent workers.</param>
+    /// <returns>A new list containing the elements for which <paramref name="predicate"/> returns true.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="predicate"/> is null.</exception>
+    /// <exception cref="ArgumentOutOfRangeException">Thrown when <paramref name="degreeOfParallelism"/> is less than 1.</exception>
+    [BuiltinFunction]
+    public static List<T> pfilter<T>(
+        IEnumerable<T> source,
+        Func<T, bool> predicate,
+        int degreeOfParallelism)
+    {
+        if (source == null) throw new ArgumentNullException(nameof(source));
+        if (predicate == null) throw new ArgumentNullException(nameof(predicate));
+
+        var items = ParallelRunner.Materialize(source);
+        var parts = ParallelRunner.MapRanges(items.Count, degreeOfParallelism, (start, end) =>
+        {
+            var part = new List<T>();
+            for (var i = start; i < end; i++)
+            {
+                if (predicate(items[i]))
+                    part.Add(items[i]);
+            }
+            return part;
+        });
+
+        return Concatenate(parts);
+    }
+
+    // ------------------------------------------------------------
+    // PARALLEL FLATMAP
+    // ------------------------------------------------------------
+    /// <summary>
+    /// Maps each element to a list of results in parallel and concatenates all results into a single list.
+    /// The selector may run concurrently and in any order, but the output follows source order; null inner lists are skipped.
+    /// </summary>
+    /// <typeparam name="T">The element type of the input list.</typeparam>
+    /// <typeparam name="TResult">The element type of the flattened output list.</typeparam>
+    /// <param name="source">The input list to transform and flatten.</param>
+    /// <param name="selector">The function that maps each source element to a list of results; it must be safe to call concurrently.</param>
+    /// <returns>A new list containing all mapped elements in their original order.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="selector"/> is null.</exception>
+    [BuiltinFunction]
+    public static List<TResult> pflatmap<T, TResult>(
+        IEnumerable<T> source,
+        Func<T, IEnumerable<TResult>> selector)
+    {
+        return pflatmap(source, selector, ParallelRunner.DefaultDegreeOfParallelism);
+    }
+
+    /// <summary>
+    /// Maps each element to a list of results using at most <paramref name="degreeOfParallelism"/> workers and
+    /// concatenates all results into a single list. The output follows source order; null inner lists are skipped.
+    /// </summary>
+    /// <typeparam name="T">The element type of the input list.</typeparam>
+    /// <typeparam name="TResult">The element type of the flattened output list.</typeparam>
+    /// <param name="source">The input list to transform and flatten.</param>
+    /// <param name="selector">The function that maps each source element to a list of results; it must be safe to call concurrently.</param>
+    /// <param name="degreeOfParallelism">The maximum number of concurrent workers.</param>
+    /// <returns>A new list containing all mapped elements in their original order.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="selector"/> is null.</exception>
+    /// <exception cref="ArgumentOutOfRangeException">Thrown when <paramref name="degreeOfParallelism"/> is less than 1.</exception>
+    [BuiltinFunction]
+    public static List<TResult> pflatmap<T, TResult>(
+        IEnumerable<T> source,
+        Func<T, IEnumerable<TResult>> selector,
+        int degreeOfParallelism)
+    {
+        if (source == null) throw new ArgumentNullException(nameof(source));
+        if (selector == null) throw new ArgumentNullException(nameof(selector));
+
+        var items = ParallelRunner.Materialize(source);
+        var parts = ParallelRunner.MapRanges(items.Count, degreeOfParallelism, (start, end) =>
+        {
+            var part = new List<TResult>();
+            for (var i = start; i < end; i++)
+            {
+                var inner = selector(items[i]);
+                if (inner == null) continue;
+
+                part.AddRange(inner);
+            }
+            return part;
+        });
+
+        return Concatenate(parts);
+    }
+
+    // ------------------------------------------------------------
+    // PARALLEL FOLD
+    // ------------------------------------------------------------
+    /// <summary>
+    /// Aggregates a list in parallel. Each contiguous range is folded left to right starting from
+    /// <paramref name="seed"/>, and the range results are then merged left to right with <paramref name="combiner"/>.
+    /// </summary>
+    /// <remarks>
+    /// The result matches <see cref="foldleft{T,TResult}"/> when <paramref name="combiner"/> is associative,
+    /// <paramref name="seed"/> is its identity, and folding an element is equivalent to combining with it.
+    /// Commutativity is not required because ranges are merged in source order.
+    /// </remarks>
+    /// <typeparam name="T">The element type of the input list.</typeparam>
+    /// <typeparam name="TResult">The accumulator and result type.</typeparam>
+    /// <param name="source">The input list to fold.</param>
+    /// <param name="seed">The identity value each range starts from.</param>
+    /// <param name="folder">The function that combines a range accumulator with the next element.</param>
+    /// <param name="combiner">The associative function that merges two range accumulators.</param>
+    /// <returns>The combined accumulator, or <paramref name="seed"/> when the list is empty.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/>, <paramref name="folder"/>, or <paramref name="combiner"/> is null.</exception>
+    [BuiltinFunction]
+    public static TResult pfold<T, TResult>(
+        IEnumerable<T> source,
+        TResult seed,
+        Func<TResult, T, TResult> folder,
+        Func<TResult, TResult, TResult> combiner)
+    {
+        return pfold(source, seed, folder, combiner, ParallelRunner.DefaultDegreeOfParallelism);
+    }
+
+    /// <summary>
+    /// Aggregates a list using at most <paramref name="degreeOfParallelism"/> workers. Each contiguous range is folded
+    /// from <paramref name="seed"/>, and the range results are merged in source order with <paramref name="combiner"/>.
+    /// </summary>
+    /// <typeparam name="T">The element type of the input list.</typeparam>
+    /// <typeparam name="TResult">The accumulator and result type.</typeparam>
+    /// <param name="source">The input list to fold.</param>
+    /// <param name="seed">The identity value each range starts from.</param>
+    /// <param name="folder">The function that combines a range accumulator with the next element.</param>
+    /// <param name="combiner">The associative function that merges two range accumulators.</param>
+    /// <param name="degreeOfParallelism">The maximum number of concurrent workers.</param>
+    /// <returns>The combined accumulator, or <paramref name="seed"/> when the list is empty.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/>, <paramref name="folder"/>, or <paramref name="combiner"/> is null.</exception>
+    /// <exception cref="ArgumentOutOfRangeException">Thrown when <paramref name="degreeOfParallelism"/> is less than 1.</exception>
+    [BuiltinFunction]
+    public static TResult pfold<T, TResult>(
+        IEnumerable<T> source,
+        TResult seed,
+        Func<TResult, T, TResult> folder,
+        Func<TResult, TResult, TResult> combiner,
+        int degreeOfParallelism)
+    {
+        if (source == null) throw new ArgumentNullException(nameof(source));
+        if (folder == null) throw new ArgumentNullException(nameof(folder));
+        if (combiner == null) throw new ArgumentNullException(nameof(combiner));
+
+        var items = ParallelRunner.Materialize(source);
+        var parts = ParallelRunner.MapRanges(items.Count, degreeOfParallelism, (start, end) =>
+        {
+            var acc = seed;
+            for (var i = start; i < end; i++)
+                acc = folder(acc, items[i]);
+            return acc;
+        });
+
+        if (parts.Length == 0)
+            return seed;
+
+        var result = parts[0];
+        for (var i = 1; i < parts.Length; i++)
+            result = combiner(result, parts[i]);
+
+        return result;
+    }
 
-        using var enumA = a.GetEnumerator();
-        using var enumB = b.GetEnumerator();
+    // ------------------------------------------------------------
+    // PARALLEL REDUCE
+    // ------------------------------------------------------------
+    /// <summary>
+    /// Reduces a non-empty list in parallel with an associative combiner.
+    /// Ranges are reduced independently and their results merged in source order, so commutativity is not required.
+    /// </summary>
+    /// <typeparam name="T">The element type of the list.</typeparam>
+    /// <param name="source">The input list to reduce.</param>
+    /// <param name="combiner">The associative function that merges two values.</param>
+    /// <returns>The combination of every element in source order.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="combiner"/> is null.</exception>
+    /// <exception cref="InvalidOperationException">Thrown when <paramref name="source"/> is empty.</exception>
+    [BuiltinFunction]
+    public static T preduce<T>(
+        IEnumerable<T> source,
+        Func<T, T, T> combiner)
+    {
+        return preduce(source, combiner, ParallelRunner.DefaultDegreeOfParallelism);
+    }
+
+    /// <summary>
+    /// Reduces a non-empty list with an associative combiner using at most <paramref name="degreeOfParallelism"/> workers.
+    /// Ranges are reduced independently and their results merged in source order, so commutativity is not required.
+    /// </summary>
+    /// <typeparam name="T">The element type of the list.</typeparam>
+    /// <param name="source">The input list to reduce.</param>
+    /// <param name="combiner">The associative function that merges two values.</param>
+    /// <param name="degreeOfParallelism">The maximum number of concurrent workers.</param>
+    /// <returns>The combination of every element in source order.</returns>
+    /// <exception cref="ArgumentNullException">Thrown when <paramref name="source"/> or <paramref name="combiner"/> is null.</exception>
+    /// <exception cref="ArgumentOutOfRangeException">Thrown when <paramref name="degreeOfParallelism"/> is less than 1.</exception>
+    /// <exception cref="InvalidOperationException">Thrown when <paramref name="source"/> is empty.</exception>
+    [BuiltinFunction]
+    public static T preduce<T>(
+        IEnumerable<T> source,
+        Func<T, T, T> combiner,
+        int degreeOfParallelism)
+    {
+        if (source == null) throw new ArgumentNullException(nameof(source));
+        if (combiner == null) throw new ArgumentNullException(nameof(combiner));
+
+        var items = ParallelRunner.Materialize(source);
+        if (items.Count == 0)
+            throw new InvalidOperationException("Sequence contains no elements");
+
+        var parts = ParallelRunner.MapRanges(items.Count, degreeOfParallelism, (start, end) =>
+        {
+            var acc = items[start];
+            for (var i = start + 1; i < end; i++)
+                acc = combiner(acc, items[i]);
+            return acc;
+        });
+
+        var result = parts[0];
+        for (var i = 1; i < parts.Length; i++)
+            result = combiner(result, parts[i]);
+
+        return result;
+    }
+
+    private static List<T> Concatenate<T>(List<T>[] parts)
+    {
+        var total = 0;
+        foreach (var part in parts)
+            total += part.Count;
 
-        while (enumA.MoveNext() && enumB.MoveNext())
-            result.Add(zipper(enumA.Current, enumB.Current));
+        var result = new List<T>(total);
+        foreach (var part in parts)
+            result.AddRange(part);
 
         return result;
     }
@@ -10,12 +10,21 @@ namespace Fifth.System;
 /// Supports set semantics (duplicates suppressed) and provides both mutating 
 /// and non-mutating operators.
 /// </summary>
+/// <remarks>
+/// Graphs produced by the non-mutating operators are backed by a <see cref="PersistentTripleSet"/>,
+/// so building a graph with repeated <c>g + t</c> costs O(log n) per triple and shares structure
+/// with every earlier version. The persistent form is materialized into a dotNetRDF graph the
+/// first time <see cref="ToVds"/> is called, after which the wrapper behaves like any other.
+/// </remarks>
 public sealed class Graph
 {
-    private readonly IGraph _inner;
+    private IGraph? _inner;
+    private PersistentTripleSet? _persistent;
 
     private Graph(IGraph inner) => _inner = inner ?? throw new ArgumentNullException(nameof(inner));
 
+    private Graph(PersistentTripleSet persistent) => _persistent = persistent;
+
     /// <summary>
     /// Creates a new empty graph.
     /// </summary>
@@ -34,13 +43,17 @@ public sealed class Graph
     {
         if (triple == null) throw new ArgumentNullException(nameof(triple));
         var vdsTriple = triple.ToVdsTriple();
-        if (_inner is VDS.RDF.Graph concrete)
+        if (_persistent != null)
+        {
+            _persistent = _persistent.Add(vdsTriple);
+        }
+        else if (_inner is VDS.RDF.Graph concrete)
         {
             concrete.Assert(vdsTriple);
         }
         else
         {
-            _inner.Assert(new[] { vdsTriple });
+            _inner!.Assert(new[] { vdsTriple });
         }
     }
 
@@ -51,41 +64,113 @@ public sealed class Graph
     {
         if (triple == null) throw new ArgumentNullException(nameof(triple));
         var vdsTriple = triple.ToVdsTriple();
-        if (_inner is VDS.RDF.Graph concrete)
+        if (_persistent != null)
+        {
+            _persistent = _persistent.Remove(vdsTriple);
+        }
+        else if (_inner is VDS.RDF.Graph concrete)
         {
             concrete.Retract(vdsTriple);
         }
         else
         {
-            _inner.Retract(new[] { vdsTriple });
+            _inner!.Retract(new[] { vdsTriple });
         }
     }
 
+    /// <summary>
+    /// Adds a batch of triples to the graph (mutating operation).
+    /// The whole batch is applied in a single update rather than one triple at a time.
+    /// </summary>
+    public void AddRange(IEnumerable<Triple> triples)
+    {
+        if (triples == null) throw new ArgumentNullException(nameof(triples));
+        AssertVds(ToVdsTriples(triples));
+    }
+
+    /// <summary>
+    /// Removes a batch of triples from the graph (mutating operation).
+    /// The whole batch is applied in a single update rather than one triple at a time.
+    /// </summary>
+    public void RemoveRange(IEnumerable<Triple> triples)
+    {
+        if (triples == null) throw new ArgumentNullException(nameof(triples));
+        RetractVds(ToVdsTriples(triples));
+    }
+
     /// <summary>
     /// Gets the number of triples in the graph.
     /// </summary>
-    public int Count => _inner.Triples.Count;
+    public int Count => _persistent?.Count ?? _inner!.Triples.Count;
 
     /// <summary>
     /// Gets the triples in the graph as an enumerable.
     /// </summary>
-    public IEnumerable<Triple> Triples => _inner.Triples.Select(Triple.FromVds);
+    public IEnumerable<Triple> Triples => VdsTriples.Select(Triple.FromVds);
 
     /// <summary>
     /// Gets the base URI of the graph.
     /// </summary>
-    public Uri? BaseUri => _inner.BaseUri;
+    public Uri? BaseUri => _inner?.BaseUri;
+
+    /// <summary>
+    /// Gets the triples whose subject is <paramref name="subject"/>.
+    /// </summary>
+    public IEnumerable<Triple> GetTriplesWithSubject(INode subject)
+    {
+        if (subject == null) throw new ArgumentNullException(nameof(subject));
+        var matches = _persistent != null ? _persistent.WithSubject(subject) : _inner!.GetTriplesWithSubject(subject);
+        return matches.Select(Triple.FromVds);
+    }
+
+    /// <summary>
+    /// Gets the triples whose predicate is <paramref name="predicate"/>.
+    /// </summary>
+    public IEnumerable<Triple> GetTriplesWithPredicate(INode predicate)
+    {
+        if (predicate == null) throw new ArgumentNullException(nameof(predicate));
+        var matches = _persistent != null ? _persistent.WithPredicate(predicate) : _inner!.GetTriplesWithPredicate(predicate);
+        return matches.Select(Triple.FromVds);
+    }
+
+    /// <summary>
+    /// Gets the triples whose object is <paramref name="obj"/>.
+    /// </summary>
+    public IEnumerable<Triple> GetTriplesWithObject(INode obj)
+    {
+        if (obj == null) throw new ArgumentNullException(nameof(obj));
+        var matches = _persistent != null ? _persistent.WithObject(obj) : _inner!.GetTriplesWithObject(obj);
+        return matches.Select(Triple.FromVds);
+    }
 
     /// <summary>
     /// Converts this wrapper to the underlying dotNetRDF IGraph for interop.
+    /// A persistent graph is materialized first; from then on the wrapper is backed by that
+    /// dotNetRDF graph so that changes made through the returned instance stay visible.
     /// </summary>
-    public IGraph ToVds() => _inner;
+    public IGraph ToVds()
+    {
+        if (_persistent != null)
+        {
+            _inner = _persistent.ToVdsGraph();
+            _persistent = null;
+        }
+        return _inner!;
+    }
 
     /// <summary>
     /// Creates a wrapper from a dotNetRDF IGraph for interop.
     /// </summary>
     public static Graph FromVds(IGraph graph) => new(graph);
 
+    private IEnumerable<VDS.RDF.Triple> VdsTriples => (IEnumerable<VDS.RDF.Triple>?)_persistent ?? _inner!.Triples;
+
+    /// <summary>
+    /// Returns the persistent form of this graph. Persistent graphs are returned as-is;
+    /// a dotNetRDF-backed graph may still be mutated, so its current triples are copied.
+    /// </summary>
+    private PersistentTripleSet Snapshot() => _persistent ?? PersistentTripleSet.From(_inner!.Triples);
+
     // ============================================================================
     // Non-mutating binary operators (return new Graph, operands unchanged)
     // ============================================================================
@@ -98,16 +183,8 @@ public sealed class Graph
     {
         if (g == null) throw new ArgumentNullException(nameof(g));
         if (t == null) throw new ArgumentNullException(nameof(t));
-        
-        var result = new VDS.RDF.Graph();
-        // Copy all triples from g
-        foreach (var triple in g._inner.Triples)
-        {
-            result.Assert(triple);
-        }
-        // Add the new triple
-        result.Assert(t.ToVdsTriple());
-        return new Graph(result);
+
+        return new Graph(g.Snapshot().Add(t.ToVdsTriple()));
     }
 
     /// <summary>
@@ -127,18 +204,8 @@ public sealed class Graph
     {
         if (g == null) throw new ArgumentNullException(nameof(g));
         if (t == null) throw new ArgumentNullException(nameof(t));
-        
-        var result = new VDS.RDF.Graph();
-        var vdsTriple = t.ToVdsTriple();
-        // Copy all triples from g except the one to remove
-        foreach (var triple in g._inner.Triples)
-        {
-            if (!triple.Equals(vdsTriple))
-            {
-                result.Assert(triple);
-            }
-        }
-        return new Graph(result);
+
+        return new Graph(g.Snapshot().Remove(t.ToVdsTriple()));
     }
 
     /// <summary>
@@ -149,19 +216,13 @@ public sealed class Graph
     {
         if (g1 == null) throw new ArgumentNullException(nameof(g1));
         if (g2 == null) throw new ArgumentNullException(nameof(g2));
-        
-        var result = new VDS.RDF.Graph();
-        // Copy all triples from g1
-        foreach (var triple in g1._inner.Triples)
-        {
-            result.Assert(triple);
-        }
-        // Merge triples from g2 (set semantics: duplicates suppressed)
-        foreach (var triple in g2._inner.Triples)
-        {
-            result.Assert(triple);
-        }
-        return new Graph(result);
+
+        // Union is commutative, so extend whichever side is already persistent (or larger)
+        // and only pay for inserting the other one.
+        var (baseGraph, other) = g2._persistent != null && (g1._persistent == null || g2.Count > g1.Count)
+            ? (g2, g1)
+            : (g1, g2);
+        return new Graph(baseGraph.Snapshot().Union(other.VdsTriples));
     }
 
     /// <summary>
@@ -172,18 +233,8 @@ public sealed class Graph
     {
         if (g1 == null) throw new ArgumentNullException(nameof(g1));
         if (g2 == null) throw new ArgumentNullException(nameof(g2));
-        
-        var result = new VDS.RDF.Graph();
-        var g2Triples = new HashSet<VDS.RDF.Triple>(g2._inner.Triples);
-        // Copy triples from g1 that are not in g2
-        foreach (var triple in g1._inner.Triples)
-        {
-            if (!g2Triples.Contains(triple))
-            {
-                result.Assert(triple);
-            }
-        }
-        return new Graph(result);
+
+        return new Graph(g1.Snapshot().Except(g2.VdsTriples));
     }
 
     // ============================================================================
@@ -219,16 +270,9 @@ public sealed class Graph
     public Graph MergeInPlace(Graph g2)
     {
         if (g2 == null) throw new ArgumentNullException(nameof(g2));
-        foreach (var triple in g2._inner.Triples)
+        if (!ReferenceEquals(g2, this))
         {
-            if (_inner is VDS.RDF.Graph concrete)
-            {
-                concrete.Assert(triple);
-            }
-            else
-            {
-                _inner.Assert(new[] { triple });
-            }
+            AssertVds(g2.VdsTriples);
         }
         return this;
     }
@@ -240,17 +284,35 @@ public sealed class Graph
     public Graph DifferenceInPlace(Graph g2)
     {
         if (g2 == null) throw new ArgumentNullException(nameof(g2));
-        foreach (var triple in g2._inner.Triples)
+        // Snapshot first so that g.DifferenceInPlace(g) does not retract from the set being enumerated.
+        RetractVds(ReferenceEquals(g2, this) ? VdsTriples.ToList() : g2.VdsTriples);
+        return this;
+    }
+
+    private static List<VDS.RDF.Triple> ToVdsTriples(IEnumerable<Triple> triples)
+        => triples.Select(t => (t ?? throw new ArgumentNullException(nameof(triples))).ToVdsTriple()).ToList();
+
+    private void AssertVds(IEnumerable<VDS.RDF.Triple> triples)
+    {
+        if (_persistent != null)
         {
-            if (_inner is VDS.RDF.Graph concrete)
-            {
-                concrete.Retract(triple);
-            }
-            else
-            {
-                _inner.Retract(new[] { triple });
-            }
+            _persistent = _persistent.Union(triples);
+        }
+        else
+        {
+            _inner!.Assert(triples);
+        }
+    }
+
+    private void RetractVds(IEnumerable<VDS.RDF.Triple> triples)
+    {
+        if (_persistent != null)
+        {
+            _persistent = _persistent.Except(triples);
+        }
+        else
+        {
+            _inner!.Retract(triples);
         }
-        return this;
     }
 }
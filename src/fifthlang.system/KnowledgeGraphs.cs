@@ -6,6 +6,9 @@ namespace Fifth.System;
 
 public static class KG
 {
+    // Literal creation is stateless, so one factory serves every call instead of one per node
+    private static readonly NodeFactory LiteralFactory = new();
+
     /// <summary>
     /// Creates and returns a new default Store instance backed by QuadStore using a temp directory.
     /// </summary>
@@ -101,7 +104,8 @@ public static class KG
     [BuiltinFunction]
     public static IUriNode CreateUri(this IGraph g, string uri)
     {
-        return g.CreateUriNode(new Uri(uri));
+        // Nodes are not owned by graphs, so the process-wide interned node serves any graph
+        return NodeInterner.GetUriNode(uri);
     }
 
     /// <summary>
@@ -113,7 +117,7 @@ public static class KG
     [BuiltinFunction]
     public static IUriNode CreateUri(this IGraph g, Uri uri)
     {
-        return g.CreateUriNode(uri);
+        return uri.IsAbsoluteUri ? NodeInterner.GetUriNode(uri) : g.CreateUriNode(uri);
     }
 
     /// <summary>
@@ -176,7 +180,7 @@ public static class KG
     [BuiltinFunction]
     public static ILiteralNode CreateLiteral(this IGraph g, int value)
     {
-        return g.CreateLiteralNode(value.ToString(), UriFactory.Create("http://www.w3.org/2001/XMLSchema#int"));
+        return NodeInterner.GetIntLiteral(value);
     }
 
     /// <summary>
@@ -320,7 +324,7 @@ public static class KG
     [BuiltinFunction]
     public static ILiteralNode CreateLiteral(this IGraph g, bool value)
     {
-        return g.CreateLiteralNode(value ? "true" : "false", UriFactory.Create("http://www.w3.org/2001/XMLSchema#boolean"));
+        return NodeInterner.GetBooleanLiteral(value);
     }
 
     // Graph-independent node creation methods for triple literals
@@ -335,8 +339,7 @@ public static class KG
     [BuiltinFunction]
     public static IUriNode CreateUriNode(string uri)
     {
-        var factory = new NodeFactory();
-        return factory.CreateUriNode(new Uri(uri));
+        return NodeInterner.GetUriNode(uri);
     }
 
     /// <summary>
@@ -347,8 +350,7 @@ public static class KG
     [BuiltinFunction]
     public static IUriNode CreateUriNode(Uri uri)
     {
-        var factory = new NodeFactory();
-        return factory.CreateUriNode(uri);
+        return NodeInterner.GetUriNode(uri);
     }
 
     /// <summary>
@@ -359,8 +361,7 @@ public static class KG
     [BuiltinFunction]
     public static ILiteralNode CreateLiteralNode(int value)
     {
-        var factory = new NodeFactory();
-        return factory.CreateLiteralNode(value.ToString(), UriFactory.Create("http://www.w3.org/2001/XMLSchema#int"));
+        return NodeInterner.GetIntLiteral(value);
     }
 
     /// <summary>
@@ -371,8 +372,7 @@ public static class KG
     [BuiltinFunction]
     public static ILiteralNode CreateLiteralNode(long value)
     {
-        var factory = new NodeFactory();
-        return factory.CreateLiteralNode(value.ToString(), UriFactory.Create("http://www.w3.org/2001/XMLSchema#long"));
+        return LiteralFactory.CreateLiteralNode(value.ToString(), XsdDataTypes.Long);
     }
 
     /// <summary>
@@ -383,8 +383,7 @@ public static class KG
     [BuiltinFunction]
     public static ILiteralNode CreateLiteralNode(string value)
     {
-        var factory = new NodeFactory();
-        return factory.CreateLiteralNode(value);
+        return LiteralFactory.CreateLiteralNode(value);
     }
 
     /// <summary>
@@ -395,8 +394,7 @@ public static class KG
     [BuiltinFunction]
     public static ILiteralNode CreateLiteralNode(double value)
     {
-        var factory = new NodeFactory();
-        return factory.CreateLiteralNode(value.ToString(), UriFactory.Create("http://www.w3.org/2001/XMLSchema#double"));
+        return LiteralFactory.CreateLiteralNode(value.ToString(), XsdDataTypes.Double);
     }
 
     /// <summary>
@@ -407,8 +405,7 @@ public static class KG
     [BuiltinFunction]
     public static ILiteralNode CreateLiteralNode(float value)
     {
-        var factory = new NodeFactory();
-        return factory.CreateLiteralNode(value.ToString(), UriFactory.Create("http://www.w3.org/2001/XMLSchema#float"));
+        return LiteralFactory.CreateLiteralNode(value.ToString(), XsdDataTypes.Float);
     }
 
     /// <summary>
@@ -419,8 +416,7 @@ public static class KG
     [BuiltinFunction]
     public static ILiteralNode CreateLiteralNode(bool value)
     {
-        var factory = new NodeFactory();
-        return factory.CreateLiteralNode(value ? "true" : "false", UriFactory.Create("http://www.w3.org/2001/XMLSchema#boolean"));
+        return NodeInterner.GetBooleanLiteral(value);
     }
 
     /// <summary>
@@ -483,6 +479,41 @@ public static class KG
         }
         return g;
     }
+
+    /// <summary>
+    /// Asserts a batch of triples into the graph in one update and returns the graph for chaining.
+    /// The compiler lowers runs of consecutive <c>g += t</c> statements to a single call of this method.
+    /// </summary>
+    /// <param name="g">The graph to which the triples will be asserted.</param>
+    /// <param name="triples">The triples to assert.</param>
+    /// <returns>The graph after the triples have been asserted.</returns>
+    [BuiltinFunction]
+    public static IGraph AssertRange(this IGraph g, params Triple[] triples)
+    {
+        if (g == null) throw new ArgumentNullException(nameof(g));
+        if (triples == null) throw new ArgumentNullException(nameof(triples));
+
+        // IGraph.Assert(IEnumerable<VDS.RDF.Triple>) is an instance method, so this does not recurse
+        g.Assert(triples.Select(t => t.ToVdsTriple()).ToList());
+        return g;
+    }
+
+    /// <summary>
+    /// Retracts a batch of triples from the graph in one update and returns the graph for chaining.
+    /// </summary>
+    /// <param name="g">The graph from which the triples will be retracted.</param>
+    /// <param name="triples">The triples to retract.</param>
+    /// <returns>The graph after the triples have been retracted.</returns>
+    [BuiltinFunction]
+    public static IGraph RetractRange(this IGraph g, params Triple[] triples)
+    {
+        if (g == null) throw new ArgumentNullException(nameof(g));
+        if (triples == null) throw new ArgumentNullException(nameof(triples));
+
+        g.Retract(triples.Select(t => t.ToVdsTriple()).ToList());
+        return g;
+    }
+
     /// <summary>
     /// Merges the source graph into the target graph and returns the target graph for chaining.
     /// </summary>
@@ -620,6 +651,26 @@ public static class KG
     [BuiltinFunction]
     public static Graph Retract(this Graph target, Triple t) => target.RemoveInPlace(t);
 
+    /// <summary>
+    /// Asserts a batch of triples into the graph and returns the graph for chaining.
+    /// </summary>
+    [BuiltinFunction]
+    public static Graph AssertRange(this Graph target, params Triple[] triples)
+    {
+        target.AddRange(triples);
+        return target;
+    }
+
+    /// <summary>
+    /// Retracts a batch of triples from the graph and returns the graph for chaining.
+    /// </summary>
+    [BuiltinFunction]
+    public static Graph RetractRange(this Graph target, params Triple[] triples)
+    {
+        target.RemoveRange(triples);
+        return target;
+    }
+
     /// <summary>
     /// Returns the number of triples in the given graph.
     /// </summary>
@@ -0,0 +1,372 @@
+// ReSharper disable InconsistentNaming
+
+using System.Collections;
+
+namespace Fifth.System;
+
+/// <summary>
+/// Deferred sequence returned by the <see cref="Functional"/> combinators.
+/// Nothing is evaluated until the sequence is consumed, and adjacent stages are fused so that
+/// a chain such as <c>map(filter(map(xs, f), p), g)</c> runs as a single pass over <c>xs</c>
+/// without allocating intermediate lists.
+/// </summary>
+/// <remarks>
+/// Consecutive maps compose their selectors, consecutive filters compose their predicates, and a map
+/// over a filter collapses into one filter-then-project stage. Consumers inside the runtime
+/// (<see cref="Functional.foldleft{T,TResult}"/>, <see cref="List.len{T}"/>, <see cref="List.head{T}"/>)
+/// push elements through the pipeline instead of stacking enumerators. Assigning a sequence to a
+/// Fifth list (<c>[T]</c>) materializes it through the implicit conversion to <see cref="List{T}"/>.
+/// </remarks>
+/// <typeparam name="T">The element type produced by the sequence.</typeparam>
+public abstract class LazySeq<T> : IEnumerable<T>
+{
+    /// <summary>
+    /// Wraps <paramref name="source"/> as the root of a pipeline, reusing it if it already is one.
+    /// </summary>
+    public static LazySeq<T> From(IEnumerable<T> source)
+    {
+        if (source == null) throw new ArgumentNullException(nameof(source));
+        return source as LazySeq<T> ?? new SourceSeq<T>(source);
+    }
+
+    public abstract IEnumerator<T> GetEnumerator();
+
+    IEnumerator IEnumerable.GetEnumerator() => GetEnumerator();
+
+    /// <summary>
+    /// Pushes every element through <paramref name="sink"/> in a single loop over the root source.
+    /// </summary>
+    /// <returns>False if <paramref name="sink"/> stopped the traversal early; otherwise true.</returns>
+    internal abstract bool Drain(Func<T, bool> sink);
+
+    /// <summary>
+    /// Reports the element count when it is known without running any stage of the pipeline.
+    /// </summary>
+    internal virtual bool TryGetCount(out int count)
+    {
+        count = 0;
+        return false;
+    }
+
+    internal virtual LazySeq<TResult> Map<TResult>(Func<T, TResult> selector) =>
+        new MapSeq<T, TResult>(this, selector);
+
+    internal virtual LazySeq<T> Filter(Func<T, bool> predicate) =>
+        new FilterSeq<T>(this, predicate);
+
+    internal LazySeq<TResult> FlatMap<TResult>(Func<T, IEnumerable<TResult>> selector) =>
+        new FlatMapSeq<T, TResult>(this, selector);
+
+    /// <summary>
+    /// Counts the elements, running the pipeline only when the count is not already known.
+    /// </summary>
+    public int Count()
+    {
+        if (TryGetCount(out var known))
+            return known;
+
+        var count = 0;
+        Drain(_ =>
+        {
+            count++;
+            return true;
+        });
+        return count;
+    }
+
+    /// <summary>
+    /// Returns the first element, evaluating the pipeline only as far as needed to produce it.
+    /// </summary>
+    /// <exception cref="InvalidOperationException">Thrown when the sequence is empty.</exception>
+    public T First()
+    {
+        var found = false;
+        T first = default!;
+        Drain(item =>
+        {
+            first = item;
+            found = true;
+            return false;
+        });
+
+        if (!found)
+            throw new InvalidOperationException("Sequence contains no elements");
+
+        return first;
+    }
+
+    /// <summary>
+    /// Materializes the sequence into a new list in one pass.
+    /// </summary>
+    public List<T> ToList()
+    {
+        var result = TryGetCount(out var count) ? new List<T>(count) : new List<T>();
+        Drain(item =>
+        {
+            result.Add(item);
+            return true;
+        });
+        return result;
+    }
+
+    public static implicit operator List<T>(LazySeq<T> seq) => seq?.ToList()!;
+}
+
+internal sealed class SourceSeq<T> : LazySeq<T>
+{
+    private readonly IEnumerable<T> _source;
+
+    public SourceSeq(IEnumerable<T> source)
+    {
+        _source = source;
+    }
+
+    public override IEnumerator<T> GetEnumerator() => _source.GetEnumerator();
+
+    internal override bool Drain(Func<T, bool> sink)
+    {
+        switch (_source)
+        {
+            case T[] array:
+                foreach (var item in array)
+                {
+                    if (!sink(item))
+                        return false;
+                }
+                return true;
+            case List<T> list:
+                foreach (var item in list)
+                {
+                    if (!sink(item))
+                        return false;
+                }
+                return true;
+            default:
+                foreach (var item in _source)
+                {
+                    if (!sink(item))
+                        return false;
+                }
+                return true;
+        }
+    }
+
+    internal override bool TryGetCount(out int count)
+    {
+        switch (_source)
+        {
+            case ICollection<T> collection:
+                count = collection.Count;
+                return true;
+            case IReadOnlyCollection<T> readOnly:
+                count = readOnly.Count;
+                return true;
+            default:
+                count = 0;
+                return false;
+        }
+    }
+}
+
+internal sealed class MapSeq<TSource, T> : LazySeq<T>
+{
+    private readonly LazySeq<TSource> _source;
+    private readonly Func<TSource, T> _selector;
+
+    public MapSeq(LazySeq<TSource> source, Func<TSource, T> selector)
+    {
+        _source = source;
+        _selector = selector;
+    }
+
+    public override IEnumerator<T> GetEnumerator()
+    {
+        foreach (var item in _source)
+            yield return _selector(item);
+    }
+
+    internal override bool Drain(Func<T, bool> sink)
+    {
+        var selector = _selector;
+        return _source.Drain(item => sink(selector(item)));
+    }
+
+    // A projection never changes the number of elements.
+    internal override bool TryGetCount(out int count) => _source.TryGetCount(out count);
+
+    internal override LazySeq<TResult> Map<TResult>(Func<T, TResult> selector)
+    {
+        var first = _selector;
+        return new MapSeq<TSource, TResult>(_source, item => selector(first(item)));
+    }
+}
+
+internal sealed class FilterSeq<T> : LazySeq<T>
+{
+    private readonly LazySeq<T> _source;
+    private readonly Func<T, bool> _predicate;
+
+    public FilterSeq(LazySeq<T> source, Func<T, bool> predicate)
+    {
+        _source = source;
+        _predicate = predicate;
+    }
+
+    public override IEnumerator<T> GetEnumerator()
+    {
+        foreach (var item in _source)
+        {
+            if (_predicate(item))
+                yield return item;
+        }
+    }
+
+    internal override bool Drain(Func<T, bool> sink)
+    {
+        var predicate = _predicate;
+        return _source.Drain(item => !predicate(item) || sink(item));
+    }
+
+    internal override LazySeq<TResult> Map<TResult>(Func<T, TResult> selector) =>
+        new FilterMapSeq<T, TResult>(_source, _predicate, selector);
+
+    internal override LazySeq<T> Filter(Func<T, bool> predicate)
+    {
+        var first = _predicate;
+        return new FilterSeq<T>(_source, item => first(item) && predicate(item));
+    }
+}
+
+internal sealed class FilterMapSeq<TSource, T> : LazySeq<T>
+{
+    private readonly LazySeq<TSource> _source;
+    private readonly Func<TSource, bool> _predicate;
+    private readonly Func<TSource, T> _selector;
+
+    public FilterMapSeq(LazySeq<TSource> source, Func<TSource, bool> predicate, Func<TSource, T> selector)
+    {
+        _source = source;
+        _predicate = predicate;
+        _selector = selector;
+    }
+
+    public override IEnumerator<T> GetEnumerator()
+    {
+        foreach (var item in _source)
+        {
+            if (_predicate(item))
+                yield return _selector(item);
+        }
+    }
+
+    internal override bool Drain(Func<T, bool> sink)
+    {
+        var predicate = _predicate;
+        var selector = _selector;
+        return _source.Drain(item => !predicate(item) || sink(selector(item)));
+    }
+
+    internal override LazySeq<TResult> Map<TResult>(Func<T, TResult> selector)
+    {
+        var first = _selector;
+        return new FilterMapSeq<TSource, TResult>(_source, _predicate, item => selector(first(item)));
+    }
+}
+
+internal sealed class FlatMapSeq<TSource, T> : LazySeq<T>
+{
+    private readonly LazySeq<TSource> _source;
+    private readonly Func<TSource, IEnumerable<T>> _selector;
+
+    public FlatMapSeq(LazySeq<TSource> source, Func<TSource, IEnumerable<T>> selector)
+    {
+        _source = source;
+        _selector = selector;
+    }
+
+    public override IEnumerator<T> GetEnumerator()
+    {
+        foreach (var item in _source)
+        {
+            var inner = _selector(item);
+            if (inner == null) continue;
+
+            foreach (var innerItem in inner)
+                yield return innerItem;
+        }
+    }
+
+    internal override bool Drain(Func<T, bool> sink)
+    {
+        var selector = _selector;
+        return _source.Drain(item =>
+        {
+            var inner = selector(item);
+            if (inner == null)
+                return true;
+
+            if (inner is LazySeq<T> nested)
+                return nested.Drain(sink);
+
+            foreach (var innerItem in inner)
+            {
+                if (!sink(innerItem))
+                    return false;
+            }
+            return true;
+        });
+    }
+}
+
+internal sealed class ZipSeq<T1, T2, T> : LazySeq<T>
+{
+    private readonly LazySeq<T1> _first;
+    private readonly LazySeq<T2> _second;
+    private readonly Func<T1, T2, T> _zipper;
+
+    public ZipSeq(LazySeq<T1> first, LazySeq<T2> second, Func<T1, T2, T> zipper)
+    {
+        _first = first;
+        _second = second;
+        _zipper = zipper;
+    }
+
+    public override IEnumerator<T> GetEnumerator()
+    {
+        using var enumA = _first.GetEnumerator();
+        using var enumB = _second.GetEnumerator();
+
+        while (enumA.MoveNext() && enumB.MoveNext())
+            yield return _zipper(enumA.Current, enumB.Current);
+    }
+
+    // The first side is pushed and the second pulled, so only one enumerator is allocated.
+    internal override bool Drain(Func<T, bool> sink)
+    {
+        using var enumB = _second.GetEnumerator();
+        var zipper = _zipper;
+        var exhausted = false;
+        var completed = _first.Drain(item =>
+        {
+            if (!enumB.MoveNext())
+            {
+                exhausted = true;
+                return false;
+            }
+            return sink(zipper(item, enumB.Current));
+        });
+        return completed || exhausted;
+    }
+
+    internal override bool TryGetCount(out int count)
+    {
+        if (_first.TryGetCount(out var a) && _second.TryGetCount(out var b))
+        {
+            count = global::System.Math.Min(a, b);
+            return true;
+        }
+
+        count = 0;
+        return false;
+    }
+}
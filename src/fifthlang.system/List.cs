@@ -12,6 +12,8 @@ public static class List
     public static int len<T>(IEnumerable<T> list)
     {
         if (list == null) throw new ArgumentNullException(nameof(list));
+        if (list is LazySeq<T> seq) return seq.Count();
+        if (list is IReadOnlyCollection<T> collection) return collection.Count;
         return list.Count();
     }
 
@@ -20,24 +22,79 @@ public static class List
     public static T head<T>(IEnumerable<T> list)
     {
         if (list == null) throw new ArgumentNullException(nameof(list));
+        if (list is PersistentList<T> persistent) return persistent.Head;
+        if (list is LazySeq<T> seq) return seq.First();
         return list.First();
     }
-    // tail
+    // tail: O(1) on a persistent list, otherwise a single copy that later tails share
     [BuiltinFunction]
-    public static List<T> tail<T>(IEnumerable<T> list)
+    public static PersistentList<T> tail<T>(IEnumerable<T> list)
     {
         if (list == null) throw new ArgumentNullException(nameof(list));
-        return list.Skip(1).ToList();
+        return PersistentList<T>.From(list).Tail();
     }
 
+    // tail of a [T]: one copy, and the result stays a [T] so assigning it back does not copy again
     [BuiltinFunction]
-    public static List<T> concat<T>(IEnumerable<T> list1, IEnumerable<T> list2)
+    public static List<T> tail<T>(List<T> list)
     {
-        return list1.Concat(list2).ToList();
+        if (list == null) throw new ArgumentNullException(nameof(list));
+        return list.Count <= 1 ? new List<T>() : list.GetRange(1, list.Count - 1);
+    }
+
+    // cons: prepends in place when the list owns the free slot in front of it
+    [BuiltinFunction]
+    public static PersistentList<T> cons<T>(T item, IEnumerable<T> list)
+    {
+        if (list == null) throw new ArgumentNullException(nameof(list));
+        return PersistentList<T>.From(list).Prepend(item);
+    }
+
+    // concat: only the right-hand side is copied when the left list can grow in place
+    [BuiltinFunction]
+    public static PersistentList<T> concat<T>(IEnumerable<T> list1, IEnumerable<T> list2)
+    {
+        if (list1 == null) throw new ArgumentNullException(nameof(list1));
+        if (list2 == null) throw new ArgumentNullException(nameof(list2));
+        return PersistentList<T>.From(list1).Concat(list2);
+    }
+
+    // Without this overload a persistent list argument would bind to the List<T> one below through the
+    // implicit conversion, which copies it
+    [BuiltinFunction]
+    public static PersistentList<T> concat<T>(PersistentList<T> list1, IEnumerable<T> list2)
+    {
+        if (list1 == null) throw new ArgumentNullException(nameof(list1));
+        if (list2 == null) throw new ArgumentNullException(nameof(list2));
+        return list1.Concat(list2);
+    }
+
+    // concat onto a [T]: one copy into a list of the final size, which stays a [T]
+    [BuiltinFunction]
+    public static List<T> concat<T>(List<T> list1, IEnumerable<T> list2)
+    {
+        if (list1 == null) throw new ArgumentNullException(nameof(list1));
+        if (list2 == null) throw new ArgumentNullException(nameof(list2));
+        var result = new List<T>(list1.Count + (list2.TryGetNonEnumeratedCount(out var count) ? count : 0));
+        result.AddRange(list1);
+        result.AddRange(list2);
+        return result;
+    }
+
+    [BuiltinFunction]
+    public static PersistentList<T> op_PlusPlus<T>(IEnumerable<T> list1, IEnumerable<T> list2)
+    {
+        return concat(list1, list2);
+    }
+
+    [BuiltinFunction]
+    public static PersistentList<T> op_PlusPlus<T>(PersistentList<T> list1, IEnumerable<T> list2)
+    {
+        return concat(list1, list2);
     }
 
     [BuiltinFunction]
-    public static List<T> op_PlusPlus<T>(IEnumerable<T> list1, IEnumerable<T> list2)
+    public static List<T> op_PlusPlus<T>(List<T> list1, IEnumerable<T> list2)
     {
         return concat(list1, list2);
     }
@@ -0,0 +1,166 @@
+using System.Collections.Concurrent;
+using System.Threading;
+
+namespace Fifth.System;
+
+/// <summary>
+/// Hit/miss counters for <see cref="NodeInterner"/>.
+/// </summary>
+/// <param name="Hits">Lookups answered from the cache. The two fixed boolean nodes involve no lookup and are not counted.</param>
+/// <param name="Misses">Lookups that had to create a new node.</param>
+/// <param name="CachedIris">Number of IRIs currently interned; approximate while other threads are interning.</param>
+/// <param name="Evictions">Number of times the IRI table was flushed after reaching capacity.</param>
+public readonly record struct NodeInternerStatistics(long Hits, long Misses, int CachedIris, long Evictions)
+{
+    /// <summary>
+    /// Fraction of lookups answered from the cache, or 0 when nothing has been looked up yet.
+    /// </summary>
+    public double HitRate => Hits + Misses == 0 ? 0 : (double)Hits / (Hits + Misses);
+}
+
+/// <summary>
+/// Process-wide, bounded interner for the RDF nodes created through <see cref="KG"/>.
+/// </summary>
+/// <remarks>
+/// Programs that generate many triples typically reuse a small vocabulary of IRIs, so parsing a
+/// <see cref="Uri"/> and allocating a node per occurrence dominates their cost. Nodes are immutable
+/// and not owned by any graph in dotNetRDF, so a single instance can safely be shared.
+/// <para>
+/// IRIs are keyed by their string form. When the table reaches <see cref="Capacity"/> it is flushed
+/// wholesale, which keeps memory bounded without per-entry bookkeeping on the hot path. Small
+/// <c>xsd:int</c> values and both <c>xsd:boolean</c> values are held in fixed tables.
+/// </para>
+/// </remarks>
+public static class NodeInterner
+{
+    public const int DefaultCapacity = 16_384;
+    public const int MinCachedInt = -128;
+    public const int MaxCachedInt = 1023;
+
+    private static readonly NodeFactory Factory = new();
+    private static readonly ConcurrentDictionary<string, IUriNode> Iris = new(StringComparer.Ordinal);
+    private static readonly ILiteralNode?[] SmallInts = new ILiteralNode?[MaxCachedInt - MinCachedInt + 1];
+    private static readonly ILiteralNode True = Factory.CreateLiteralNode("true", XsdDataTypes.Boolean);
+    private static readonly ILiteralNode False = Factory.CreateLiteralNode("false", XsdDataTypes.Boolean);
+
+    private static int _capacity = DefaultCapacity;
+    private static long _hits;
+    private static long _misses;
+    private static long _evictions;
+    private static int _count;
+
+    /// <summary>
+    /// Maximum number of distinct IRIs held before the table is flushed.
+    /// </summary>
+    public static int Capacity
+    {
+        get => _capacity;
+        set => _capacity = value > 0 ? value : throw new ArgumentOutOfRangeException(nameof(value), "Capacity must be positive");
+    }
+
+    /// <summary>
+    /// Gets the current hit/miss counters.
+    /// </summary>
+    public static NodeInternerStatistics Statistics =>
+        new(Interlocked.Read(ref _hits), Interlocked.Read(ref _misses), Volatile.Read(ref _count), Interlocked.Read(ref _evictions));
+
+    /// <summary>
+    /// Returns the shared URI node for an absolute IRI string.
+    /// </summary>
+    public static IUriNode GetUriNode(string iri)
+    {
+        if (iri == null) throw new ArgumentNullException(nameof(iri));
+        return TryGetCached(iri, out var node) ? node : AddToCache(iri, Factory.CreateUriNode(new Uri(iri)));
+    }
+
+    /// <summary>
+    /// Returns the shared URI node for an absolute <see cref="Uri"/>.
+    /// </summary>
+    public static IUriNode GetUriNode(Uri uri)
+    {
+        if (uri == null) throw new ArgumentNullException(nameof(uri));
+        if (!uri.IsAbsoluteUri)
+        {
+            // Relative IRIs only make sense against a graph's base URI; don't share them.
+            Interlocked.Increment(ref _misses);
+            return Factory.CreateUriNode(uri);
+        }
+
+        var key = uri.OriginalString;
+        return TryGetCached(key, out var node) ? node : AddToCache(key, Factory.CreateUriNode(uri));
+    }
+
+    /// <summary>
+    /// Returns an <c>xsd:int</c> literal node, shared for values in
+    /// [<see cref="MinCachedInt"/>, <see cref="MaxCachedInt"/>].
+    /// </summary>
+    public static ILiteralNode GetIntLiteral(int value)
+    {
+        if (value < MinCachedInt || value > MaxCachedInt)
+        {
+            Interlocked.Increment(ref _misses);
+            return Factory.CreateLiteralNode(value.ToString(), XsdDataTypes.Int);
+        }
+
+        ref var slot = ref SmallInts[value - MinCachedInt];
+        if (slot is { } cached)
+        {
+            Interlocked.Increment(ref _hits);
+            return cached;
+        }
+
+        // Racing initialisations produce equal nodes, so last write wins harmlessly
+        Interlocked.Increment(ref _misses);
+        return slot = Factory.CreateLiteralNode(value.ToString(), XsdDataTypes.Int);
+    }
+
+    /// <summary>
+    /// Returns the shared <c>xsd:boolean</c> literal node for <paramref name="value"/>.
+    /// </summary>
+    public static ILiteralNode GetBooleanLiteral(bool value) => value ? True : False;
+
+    private static bool TryGetCached(string key, out IUriNode node)
+    {
+        if (Iris.TryGetValue(key, out node!))
+        {
+            Interlocked.Increment(ref _hits);
+            return true;
+        }
+
+        Interlocked.Increment(ref _misses);
+        return false;
+    }
+
+    private static IUriNode AddToCache(string key, IUriNode node)
+    {
+        // ConcurrentDictionary.Count takes every lock, so track the size separately
+        if (Volatile.Read(ref _count) >= _capacity)
+        {
+            Iris.Clear();
+            Interlocked.Exchange(ref _count, 0);
+            Interlocked.Increment(ref _evictions);
+        }
+
+        if (Iris.TryAdd(key, node))
+        {
+            Interlocked.Increment(ref _count);
+            return node;
+        }
+
+        // Another thread interned the same IRI first; prefer its node so callers converge
+        return Iris.TryGetValue(key, out var existing) ? existing : node;
+    }
+
+    /// <summary>
+    /// Drops all interned IRIs and small-int literals and resets the counters.
+    /// </summary>
+    public static void Reset()
+    {
+        Iris.Clear();
+        Interlocked.Exchange(ref _count, 0);
+        Array.Clear(SmallInts);
+        Interlocked.Exchange(ref _hits, 0);
+        Interlocked.Exchange(ref _misses, 0);
+        Interlocked.Exchange(ref _evictions, 0);
+    }
+}
@@ -0,0 +1,96 @@
+using System.Runtime.ExceptionServices;
+
+namespace Fifth.System;
+
+/// <summary>
+/// Partitioned execution shared by the parallel <see cref="Functional"/> builtins
+/// (<c>pmap</c>, <c>pfilter</c>, <c>pflatmap</c>, <c>pfold</c>, <c>preduce</c>).
+/// </summary>
+/// <remarks>
+/// The input is split into contiguous index ranges, several per worker, and the ranges are scheduled on the
+/// thread pool with <see cref="Parallel.For(int, int, ParallelOptions, Action{int})"/>. Workers claim ranges
+/// dynamically and the pool's per-thread queues steal from one another, so uneven per-element cost still
+/// balances. Each range's result is stored at the range's index, which keeps the combined output in source order.
+/// Inputs smaller than <see cref="SequentialThreshold"/> run inline on the calling thread.
+/// </remarks>
+public static class ParallelRunner
+{
+    /// <summary>
+    /// Inputs with fewer elements than this are processed sequentially.
+    /// </summary>
+    public const int SequentialThreshold = 2048;
+
+    // Ranges per worker; more ranges give the scheduler room to rebalance.
+    private const int RangesPerWorker = 4;
+
+    private static int _defaultDegreeOfParallelism = Environment.ProcessorCount;
+
+    /// <summary>
+    /// Degree of parallelism used by the builtins when none is passed explicitly.
+    /// Defaults to <see cref="Environment.ProcessorCount"/>.
+    /// </summary>
+    /// <exception cref="ArgumentOutOfRangeException">Thrown when set to a value less than 1.</exception>
+    public static int DefaultDegreeOfParallelism
+    {
+        get => Volatile.Read(ref _defaultDegreeOfParallelism);
+        set
+        {
+            if (value < 1) throw new ArgumentOutOfRangeException(nameof(value), value, "Degree of parallelism must be at least 1.");
+            Volatile.Write(ref _defaultDegreeOfParallelism, value);
+        }
+    }
+
+    /// <summary>
+    /// Returns the source as an indexable list, materializing it only when it is not one already.
+    /// </summary>
+    internal static IReadOnlyList<T> Materialize<T>(IEnumerable<T> source) => source switch
+    {
+        IReadOnlyList<T> list => list,
+        LazySeq<T> seq => seq.ToList(),
+        _ => source.ToList()
+    };
+
+    /// <summary>
+    /// Splits <c>[0, count)</c> into contiguous ranges and runs <paramref name="body"/> once per range.
+    /// </summary>
+    /// <typeparam name="TPart">The per-range result.</typeparam>
+    /// <param name="count">Number of elements to cover.</param>
+    /// <param name="degreeOfParallelism">Maximum number of concurrent workers.</param>
+    /// <param name="body">Receives the inclusive start and exclusive end of a range and returns its result.</param>
+    /// <returns>The per-range results in source order.</returns>
+    /// <exception cref="ArgumentOutOfRangeException">Thrown when <paramref name="degreeOfParallelism"/> is less than 1.</exception>
+    internal static TPart[] MapRanges<TPart>(int count, int degreeOfParallelism, Func<int, int, TPart> body)
+    {
+        if (degreeOfParallelism < 1)
+            throw new ArgumentOutOfRangeException(nameof(degreeOfParallelism), degreeOfParallelism, "Degree of parallelism must be at least 1.");
+
+        if (count == 0)
+            return [];
+
+        if (degreeOfParallelism == 1 || count < SequentialThreshold)
+            return [body(0, count)];
+
+        var targetRanges = (int)global::System.Math.Min((long)degreeOfParallelism * RangesPerWorker, count);
+        var rangeSize = (count + targetRanges - 1) / targetRanges;
+        var rangeCount = (count + rangeSize - 1) / rangeSize;
+        var parts = new TPart[rangeCount];
+
+        var options = new ParallelOptions { MaxDegreeOfParallelism = degreeOfParallelism };
+        try
+        {
+            Parallel.For(0, rangeCount, options, range =>
+            {
+                var start = range * rangeSize;
+                var end = global::System.Math.Min(start + rangeSize, count);
+                parts[range] = body(start, end);
+            });
+        }
+        catch (AggregateException ex) when (ex.InnerExceptions.Count == 1)
+        {
+            // Surface the caller's exception rather than the loop wrapper, as the sequential builtins do.
+            ExceptionDispatchInfo.Capture(ex.InnerExceptions[0]).Throw();
+        }
+
+        return parts;
+    }
+}
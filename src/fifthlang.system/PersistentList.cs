@@ -0,0 +1,231 @@
+using System.Collections;
+
+namespace Fifth.System;
+
+/// <summary>
+/// Immutable list with O(1) <see cref="Tail"/>, amortized O(1) <see cref="Prepend"/> and <see cref="Append"/>,
+/// and O(1) indexing. Backs the Fifth <c>plist&lt;T&gt;</c> type. The <see cref="List"/> builtins <c>tail</c>,
+/// <c>concat</c> and <c>++</c> copy a <c>[T]</c> argument into a new <c>[T]</c>, so <c>head</c>/<c>tail</c>
+/// recursion is only linear over <c>plist&lt;T&gt;</c>.
+/// </summary>
+/// <remarks>
+/// Every list is a window <c>[start, start + count)</c> over a shared array. The array records the lowest and
+/// highest slots any list has claimed, so the list whose window touches an edge may extend into the free slots
+/// beyond it without copying; every other list keeps seeing only its own window. Claims are made with a
+/// compare-and-swap, so lists can be shared between threads. When no slot is free, the window is copied into a
+/// new array with room to grow at both ends, which keeps <c>head</c>/<c>tail</c> recursion and <c>++</c>
+/// accumulation linear overall.
+/// </remarks>
+/// <typeparam name="T">The element type.</typeparam>
+public sealed class PersistentList<T> : IReadOnlyList<T>
+{
+    private const int MinimumCapacity = 8;
+
+    private sealed class Storage
+    {
+        public readonly T[] Items;
+
+        // Lowest claimed slot and one past the highest claimed slot.
+        public int Low;
+        public int High;
+
+        public Storage(T[] items, int low, int high)
+        {
+            Items = items;
+            Low = low;
+            High = high;
+        }
+    }
+
+    /// <summary>
+    /// The empty list.
+    /// </summary>
+    public static readonly PersistentList<T> Empty = new(new Storage([], 0, 0), 0, 0);
+
+    private readonly Storage _storage;
+    private readonly int _start;
+    private readonly int _count;
+
+    private PersistentList(Storage storage, int start, int count)
+    {
+        _storage = storage;
+        _start = start;
+        _count = count;
+    }
+
+    /// <summary>
+    /// Creates a list holding <paramref name="items"/> in order.
+    /// </summary>
+    public static PersistentList<T> Of(params T[] items)
+    {
+        if (items == null) throw new ArgumentNullException(nameof(items));
+        return items.Length == 0 ? Empty : new PersistentList<T>(new Storage((T[])items.Clone(), 0, items.Length), 0, items.Length);
+    }
+
+    /// <summary>
+    /// Returns <paramref name="source"/> itself when it already is a persistent list; otherwise copies it once.
+    /// </summary>
+    public static PersistentList<T> From(IEnumerable<T> source)
+    {
+        if (source == null) throw new ArgumentNullException(nameof(source));
+        if (source is PersistentList<T> list)
+            return list;
+
+        var items = source.ToArray();
+        return items.Length == 0 ? Empty : new PersistentList<T>(new Storage(items, 0, items.Length), 0, items.Length);
+    }
+
+    public int Count => _count;
+
+    public bool IsEmpty => _count == 0;
+
+    public T this[int index]
+    {
+        get
+        {
+            if ((uint)index >= (uint)_count)
+                throw new ArgumentOutOfRangeException(nameof(index), index, "Index was outside the bounds of the list.");
+            return _storage.Items[_start + index];
+        }
+    }
+
+    /// <summary>
+    /// The first element.
+    /// </summary>
+    /// <exception cref="InvalidOperationException">Thrown when the list is empty.</exception>
+    public T Head
+    {
+        get
+        {
+            if (_count == 0) throw new InvalidOperationException("Sequence contains no elements");
+            return _storage.Items[_start];
+        }
+    }
+
+    /// <summary>
+    /// Every element except the first, sharing storage with this list. The tail of an empty list is empty.
+    /// </summary>
+    public PersistentList<T> Tail() =>
+        _count <= 1 ? Empty : new PersistentList<T>(_storage, _start + 1, _count - 1);
+
+    /// <summary>
+    /// Returns a list with <paramref name="item"/> in front of this one.
+    /// </summary>
+    public PersistentList<T> Prepend(T item)
+    {
+        var storage = _storage;
+        var slot = _start - 1;
+        if (_count > 0 && slot >= 0 && Interlocked.CompareExchange(ref storage.Low, slot, _start) == _start)
+        {
+            storage.Items[slot] = item;
+            return new PersistentList<T>(storage, slot, _count + 1);
+        }
+
+        var grown = Grow(front: 1, back: 0, out var start);
+        grown.Items[start - 1] = item;
+        grown.Low = start - 1;
+        return new PersistentList<T>(grown, start - 1, _count + 1);
+    }
+
+    /// <summary>
+    /// Returns a list with <paramref name="item"/> after the last element of this one.
+    /// </summary>
+    public PersistentList<T> Append(T item)
+    {
+        var storage = _storage;
+        var end = _start + _count;
+        if (_count > 0 && end < storage.Items.Length && Interlocked.CompareExchange(ref storage.High, end + 1, end) == end)
+        {
+            storage.Items[end] = item;
+            return new PersistentList<T>(storage, _start, _count + 1);
+        }
+
+        var grown = Grow(front: 0, back: 1, out var start);
+        grown.Items[start + _count] = item;
+        grown.High = start + _count + 1;
+        return new PersistentList<T>(grown, start, _count + 1);
+    }
+
+    /// <summary>
+    /// Returns a list with the elements of <paramref name="other"/> after the elements of this one.
+    /// Only <paramref name="other"/> is copied when this list can extend its storage in place.
+    /// </summary>
+    public PersistentList<T> Concat(IEnumerable<T> other)
+    {
+        if (other == null) throw new ArgumentNullException(nameof(other));
+
+        if (_count == 0)
+            return From(other);
+
+        var right = other as IReadOnlyList<T> ?? other.ToArray();
+        var extra = right.Count;
+        if (extra == 0)
+            return this;
+
+        var storage = _storage;
+        var end = _start + _count;
+        if (end + extra <= storage.Items.Length && Interlocked.CompareExchange(ref storage.High, end + extra, end) == end)
+        {
+            CopyInto(right, storage.Items, end);
+            return new PersistentList<T>(storage, _start, _count + extra);
+        }
+
+        var grown = Grow(front: 0, back: extra, out var start);
+        CopyInto(right, grown.Items, start + _count);
+        grown.High = start + _count + extra;
+        return new PersistentList<T>(grown, start, _count + extra);
+    }
+
+    /// <summary>
+    /// Copies the elements into a new mutable list.
+    /// </summary>
+    public List<T> ToList()
+    {
+        var result = new List<T>(_count);
+        result.AddRange(new ArraySegment<T>(_storage.Items, _start, _count));
+        return result;
+    }
+
+    public IEnumerator<T> GetEnumerator()
+    {
+        var items = _storage.Items;
+        var end = _start + _count;
+        for (var i = _start; i < end; i++)
+            yield return items[i];
+    }
+
+    IEnumerator IEnumerable.GetEnumerator() => GetEnumerator();
+
+    public static implicit operator List<T>(PersistentList<T> list) => list?.ToList()!;
+
+    public static implicit operator PersistentList<T>(List<T> list) => list == null ? null! : From(list);
+
+    public static implicit operator PersistentList<T>(T[] items) => items == null ? null! : Of(items);
+
+    // Copies this window into a fresh array with at least the requested free slots at each end,
+    // doubling the capacity so repeated growth stays amortized O(1) per element.
+    private Storage Grow(int front, int back, out int start)
+    {
+        var needed = _count + front + back;
+        var capacity = global::System.Math.Max(MinimumCapacity, needed * 2);
+        var slack = capacity - needed;
+
+        // Split the spare room towards the end that is growing; leave some on both sides for mixed use.
+        start = front + (front > 0 && back == 0 ? slack * 3 / 4 : slack / 4);
+        var items = new T[capacity];
+        Array.Copy(_storage.Items, _start, items, start, _count);
+        return new Storage(items, start, start + _count);
+    }
+
+    private static void CopyInto(IReadOnlyList<T> source, T[] destination, int offset)
+    {
+        if (source is PersistentList<T> persistent)
+        {
+            Array.Copy(persistent._storage.Items, persistent._start, destination, offset, persistent._count);
+            return;
+        }
+
+        for (var i = 0; i < source.Count; i++)
+            destination[offset + i] = source[i];
+    }
+}
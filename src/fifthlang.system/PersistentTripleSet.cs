@@ -0,0 +1,192 @@
+using System;
+using System.Collections;
+using System.Collections.Generic;
+using System.Collections.Immutable;
+using VDS.RDF;
+
+namespace Fifth.System;
+
+/// <summary>
+/// Immutable, structurally shared set of triples backing the non-mutating <see cref="Graph"/> operators.
+/// Every update returns a new set in O(log n) that shares all untouched structure with its source.
+/// </summary>
+/// <remarks>
+/// Besides the triple set itself, three indexes are maintained keyed by the leading component of the
+/// SPO, POS and OSP orderings, so subject, predicate and object lookups do not scan the whole set.
+/// </remarks>
+internal sealed class PersistentTripleSet : IEnumerable<VDS.RDF.Triple>
+{
+    public static readonly PersistentTripleSet Empty = new(
+        ImmutableHashSet<VDS.RDF.Triple>.Empty,
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>>.Empty,
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>>.Empty,
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>>.Empty);
+
+    private readonly ImmutableHashSet<VDS.RDF.Triple> _triples;
+    private readonly ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> _spo;
+    private readonly ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> _pos;
+    private readonly ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> _osp;
+
+    private PersistentTripleSet(
+        ImmutableHashSet<VDS.RDF.Triple> triples,
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> spo,
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> pos,
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> osp)
+    {
+        _triples = triples;
+        _spo = spo;
+        _pos = pos;
+        _osp = osp;
+    }
+
+    /// <summary>
+    /// Builds a set from an arbitrary sequence of triples (duplicates suppressed).
+    /// </summary>
+    public static PersistentTripleSet From(IEnumerable<VDS.RDF.Triple> triples) => Empty.Union(triples);
+
+    public int Count => _triples.Count;
+
+    public bool Contains(VDS.RDF.Triple triple) => _triples.Contains(triple);
+
+    public PersistentTripleSet Add(VDS.RDF.Triple triple)
+    {
+        if (_triples.Contains(triple))
+            return this;
+
+        return new PersistentTripleSet(
+            _triples.Add(triple),
+            Index(_spo, triple.Subject, triple),
+            Index(_pos, triple.Predicate, triple),
+            Index(_osp, triple.Object, triple));
+    }
+
+    public PersistentTripleSet Remove(VDS.RDF.Triple triple)
+    {
+        if (!_triples.Contains(triple))
+            return this;
+
+        return new PersistentTripleSet(
+            _triples.Remove(triple),
+            Unindex(_spo, triple.Subject, triple),
+            Unindex(_pos, triple.Predicate, triple),
+            Unindex(_osp, triple.Object, triple));
+    }
+
+    /// <summary>
+    /// Adds every triple in <paramref name="triples"/>, sharing a single set of builders for the batch.
+    /// </summary>
+    public PersistentTripleSet Union(IEnumerable<VDS.RDF.Triple> triples)
+    {
+        if (triples == null) throw new ArgumentNullException(nameof(triples));
+
+        var set = _triples.ToBuilder();
+        var spo = _spo.ToBuilder();
+        var pos = _pos.ToBuilder();
+        var osp = _osp.ToBuilder();
+
+        foreach (var triple in triples)
+        {
+            if (!set.Add(triple))
+                continue;
+
+            Index(spo, triple.Subject, triple);
+            Index(pos, triple.Predicate, triple);
+            Index(osp, triple.Object, triple);
+        }
+
+        return set.Count == _triples.Count
+            ? this
+            : new PersistentTripleSet(set.ToImmutable(), spo.ToImmutable(), pos.ToImmutable(), osp.ToImmutable());
+    }
+
+    /// <summary>
+    /// Removes every triple in <paramref name="triples"/>, sharing a single set of builders for the batch.
+    /// </summary>
+    public PersistentTripleSet Except(IEnumerable<VDS.RDF.Triple> triples)
+    {
+        if (triples == null) throw new ArgumentNullException(nameof(triples));
+
+        var set = _triples.ToBuilder();
+        var spo = _spo.ToBuilder();
+        var pos = _pos.ToBuilder();
+        var osp = _osp.ToBuilder();
+
+        foreach (var triple in triples)
+        {
+            if (!set.Remove(triple))
+                continue;
+
+            Unindex(spo, triple.Subject, triple);
+            Unindex(pos, triple.Predicate, triple);
+            Unindex(osp, triple.Object, triple);
+        }
+
+        return set.Count == _triples.Count
+            ? this
+            : new PersistentTripleSet(set.ToImmutable(), spo.ToImmutable(), pos.ToImmutable(), osp.ToImmutable());
+    }
+
+    public IEnumerable<VDS.RDF.Triple> WithSubject(INode subject) => Lookup(_spo, subject);
+
+    public IEnumerable<VDS.RDF.Triple> WithPredicate(INode predicate) => Lookup(_pos, predicate);
+
+    public IEnumerable<VDS.RDF.Triple> WithObject(INode obj) => Lookup(_osp, obj);
+
+    /// <summary>
+    /// Materializes the set as a mutable dotNetRDF graph for interop.
+    /// </summary>
+    public VDS.RDF.Graph ToVdsGraph()
+    {
+        var graph = new VDS.RDF.Graph();
+        graph.Assert(_triples);
+        return graph;
+    }
+
+    public IEnumerator<VDS.RDF.Triple> GetEnumerator() => _triples.GetEnumerator();
+
+    IEnumerator IEnumerable.GetEnumerator() => GetEnumerator();
+
+    private static IEnumerable<VDS.RDF.Triple> Lookup(
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> index, INode key)
+    {
+        if (key == null) throw new ArgumentNullException(nameof(key));
+        return index.TryGetValue(key, out var bucket) ? bucket : ImmutableHashSet<VDS.RDF.Triple>.Empty;
+    }
+
+    private static ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> Index(
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> index, INode key, VDS.RDF.Triple triple)
+    {
+        var bucket = index.TryGetValue(key, out var existing) ? existing : ImmutableHashSet<VDS.RDF.Triple>.Empty;
+        return index.SetItem(key, bucket.Add(triple));
+    }
+
+    private static ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> Unindex(
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>> index, INode key, VDS.RDF.Triple triple)
+    {
+        if (!index.TryGetValue(key, out var bucket))
+            return index;
+
+        bucket = bucket.Remove(triple);
+        return bucket.IsEmpty ? index.Remove(key) : index.SetItem(key, bucket);
+    }
+
+    private static void Index(
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>>.Builder index, INode key, VDS.RDF.Triple triple)
+    {
+        var bucket = index.TryGetValue(key, out var existing) ? existing : ImmutableHashSet<VDS.RDF.Triple>.Empty;
+        index[key] = bucket.Add(triple);
+    }
+
+    private static void Unindex(
+        ImmutableDictionary<INode, ImmutableHashSet<VDS.RDF.Triple>>.Builder index, INode key, VDS.RDF.Triple triple)
+    {
+        if (!index.TryGetValue(key, out var bucket))
+            return;
+
+        bucket = bucket.Remove(triple);
+        if (bucket.IsEmpty)
+            index.Remove(key);
+        else
+            index[key] = bucket;
+    }
+}
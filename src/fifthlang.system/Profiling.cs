@@ -0,0 +1,160 @@
+using System.Collections.Concurrent;
+using System.Diagnostics;
+using System.Diagnostics.Metrics;
+using System.Numerics;
+using System.Runtime.InteropServices;
+using System.Text.Json;
+
+namespace Fifth.System;
+
+/// <summary>
+/// What a profiling site measures.
+/// </summary>
+public enum ProfileSiteKind
+{
+    /// <summary>Calls of a function, with elapsed time.</summary>
+    Function,
+
+    /// <summary>Entries into one clause of a multi-clause function, with elapsed time.</summary>
+    Clause,
+
+    /// <summary>Executions of a query application, with elapsed time.</summary>
+    Query
+}
+
+/// <summary>
+/// Totals of one profiling site.
+/// </summary>
+public sealed record ProfileSnapshot(ProfileSiteKind Kind, string Name, long Count, TimeSpan Elapsed);
+
+/// <summary>
+/// One instrumented function, guard clause or query application.
+/// </summary>
+/// <remarks>
+/// Counters are striped by processor, each stripe on its own cache line, so threads running on
+/// different cores do not contend when they record. Stripes are only summed when read.
+/// </remarks>
+public sealed class ProfileSite
+{
+    private static readonly int StripeMask = (int)BitOperations.RoundUpToPowerOf2((uint)global::System.Math.Min(Environment.ProcessorCount, 64)) - 1;
+
+    [StructLayout(LayoutKind.Explicit, Size = 64)]
+    private struct Stripe
+    {
+        [FieldOffset(0)] public long Count;
+        [FieldOffset(8)] public long Ticks;
+    }
+
+    private readonly Stripe[] _stripes = new Stripe[StripeMask + 1];
+
+    internal ProfileSite(ProfileSiteKind kind, string name)
+    {
+        Kind = kind;
+        Name = name;
+    }
+
+    public ProfileSiteKind Kind { get; }
+
+    public string Name { get; }
+
+    internal void Add(long ticks)
+    {
+        ref var stripe = ref _stripes[Thread.GetCurrentProcessorId() & StripeMask];
+        Interlocked.Increment(ref stripe.Count);
+        Interlocked.Add(ref stripe.Ticks, ticks);
+    }
+
+    public ProfileSnapshot Snapshot()
+    {
+        long count = 0, ticks = 0;
+        for (var i = 0; i < _stripes.Length; i++)
+        {
+            count += Volatile.Read(ref _stripes[i].Count);
+            ticks += Volatile.Read(ref _stripes[i].Ticks);
+        }
+
+        return new ProfileSnapshot(Kind, Name, count, TimeSpan.FromSeconds((double)ticks / Stopwatch.Frequency));
+    }
+}
+
+/// <summary>
+/// Runtime support for programs compiled with <c>--profile</c>.
+/// </summary>
+/// <remarks>
+/// The compiler creates each site once, in a static field, and brackets the measured code with
+/// <see cref="Start"/> and <see cref="Record"/> or <see cref="Stop{T}"/>. Totals are published through the
+/// <c>Fifth.Profiling</c> <see cref="Meter"/>, so <c>dotnet-counters monitor --counters Fifth.Profiling</c>
+/// can watch a running program, and are written as JSON on exit when the <c>FIFTH_PROFILE_OUT</c>
+/// environment variable names a file.
+/// </remarks>
+public static class Profiling
+{
+    public const string MeterName = "Fifth.Profiling";
+    public const string OutputVariable = "FIFTH_PROFILE_OUT";
+
+    private static readonly ConcurrentDictionary<(ProfileSiteKind, string), ProfileSite> Sites = new();
+    private static readonly Meter Meter = new(MeterName);
+
+    static Profiling()
+    {
+        Meter.CreateObservableCounter("fifth.profile.calls", () => Measure(s => s.Count), unit: "{call}",
+            description: "Calls of instrumented functions, clauses and query applications");
+        Meter.CreateObservableCounter("fifth.profile.time", () => Measure(s => s.Elapsed.TotalMilliseconds), unit: "ms",
+            description: "Time spent in instrumented functions, clauses and query applications");
+
+        if (!string.IsNullOrWhiteSpace(Environment.GetEnvironmentVariable(OutputVariable)))
+        {
+            AppDomain.CurrentDomain.ProcessExit += (_, _) => WriteJson(Environment.GetEnvironmentVariable(OutputVariable)!);
+        }
+    }
+
+    public static ProfileSite Function(string name) => GetSite(ProfileSiteKind.Function, name);
+
+    public static ProfileSite Clause(string function, int clause) => GetSite(ProfileSiteKind.Clause, $"{function}#{clause}");
+
+    public static ProfileSite Query(string location) => GetSite(ProfileSiteKind.Query, location);
+
+    /// <summary>
+    /// Timestamp to pass to <see cref="Record"/> or <see cref="Stop{T}"/>.
+    /// </summary>
+    public static long Start() => Stopwatch.GetTimestamp();
+
+    /// <summary>
+    /// Counts one call of <paramref name="site"/> that began at <paramref name="start"/>.
+    /// </summary>
+    public static void Record(ProfileSite site, long start) => site.Add(Stopwatch.GetTimestamp() - start);
+
+    /// <summary>
+    /// Counts one evaluation of <paramref name="site"/> that began at <paramref name="start"/> and passes its
+    /// value through, so an expression can be measured in place.
+    /// </summary>
+    public static T Stop<T>(ProfileSite site, long start, T value)
+    {
+        site.Add(Stopwatch.GetTimestamp() - start);
+        return value;
+    }
+
+    /// <summary>
+    /// Totals of every site created so far.
+    /// </summary>
+    public static IReadOnlyList<ProfileSnapshot> Snapshot() =>
+        Sites.Values.Select(s => s.Snapshot()).OrderBy(s => s.Kind).ThenBy(s => s.Name, StringComparer.Ordinal).ToList();
+
+    public static string ToJson() => JsonSerializer.Serialize(
+        Snapshot().Select(s => new { kind = s.Kind.ToString(), name = s.Name, count = s.Count, elapsedMs = s.Elapsed.TotalMilliseconds }),
+        new JsonSerializerOptions { WriteIndented = true });
+
+    public static void WriteJson(string path) => File.WriteAllText(path, ToJson());
+
+    private static ProfileSite GetSite(ProfileSiteKind kind, string name) =>
+        Sites.GetOrAdd((kind, name), key => new ProfileSite(key.Item1, key.Item2));
+
+    private static IEnumerable<Measurement<T>> Measure<T>(Func<ProfileSnapshot, T> value) where T : struct =>
+        Sites.Values.Select(site =>
+        {
+            var snapshot = site.Snapshot();
+            return new Measurement<T>(value(snapshot),
+                new KeyValuePair<string, object?>("kind", snapshot.Kind.ToString()),
+                new KeyValuePair<string, object?>("site", snapshot.Name));
+        });
+}
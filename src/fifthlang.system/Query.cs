@@ -35,6 +35,14 @@ public sealed class Query
     /// </summary>
     public string SourceText { get; }
 
+    private string? _cacheKey;
+
+    /// <summary>
+    /// Normalized query text followed by the parameter bindings; identifies the query in result caches.
+    /// Queries that differ only in layout or comments share a key.
+    /// </summary>
+    internal string CacheKey => _cacheKey ??= BuildCacheKey();
+
     /// <summary>
     /// Internal constructor (only called by compiler-generated code).
     /// User code cannot construct Query instances directly; must use literals.
@@ -59,6 +67,20 @@ public sealed class Query
     /// </summary>
     public override string ToString() => UnderlyingQuery.ToString();
 
+    private string BuildCacheKey()
+    {
+        var text = UnderlyingQuery.ToString();
+        if (Parameters.Count == 0)
+        {
+            return text;
+        }
+
+        var parameters = Parameters.Values
+            .OrderBy(p => p.Name, StringComparer.Ordinal)
+            .Select(p => $"{p.Name}:{p.FifthType.FullName}:{p.RdfNodeType}");
+        return text + "\n#" + string.Join(";", parameters);
+    }
+
     /// <summary>
     /// Maps dotNetRDF query type to Fifth QueryType enum.
     /// </summary>
@@ -19,7 +19,31 @@ public static class QueryApplicationExecutor
     /// <param name="cancellationToken">Optional cancellation token for long-running queries</param>
     /// <returns>Result discriminated union (TabularResult | GraphResult | BooleanResult)</returns>
     /// <exception cref="QueryExecutionException">Thrown when query execution fails</exception>
+    /// <remarks>
+    /// When the store has a query cache enabled, a result cached at the store's current version is returned
+    /// without running the query.
+    /// </remarks>
     public static Result Execute(Query query, Store store, CancellationToken? cancellationToken = null)
+    {
+        var cache = store?.QueryCache;
+        if (cache == null || query == null)
+        {
+            return ExecuteUncached(query, store, cancellationToken);
+        }
+
+        // Read the version first: a write that lands during execution makes the entry stale.
+        var version = store.Version;
+        if (cache.TryGet(query, version, out var cached))
+        {
+            return cached;
+        }
+
+        var result = ExecuteUncached(query, store, cancellationToken);
+        cache.Add(query, version, result);
+        return result;
+    }
+
+    private static Result ExecuteUncached(Query query, Store store, CancellationToken? cancellationToken)
     {
         try
         {
@@ -0,0 +1,126 @@
+using System.Collections.Concurrent;
+using System.Runtime.CompilerServices;
+using VDS.RDF;
+using VDS.RDF.Parsing;
+using VDS.RDF.Query;
+using VDS.RDF.Query.Filters;
+
+namespace Fifth.System;
+
+/// <summary>
+/// Runtime helper for list comprehensions whose source is a query application.
+/// Lowered comprehensions call <see cref="Refine"/> on the query before executing it, so the store
+/// discards rows the comprehension would reject and returns only the variables it reads.
+/// </summary>
+/// <remarks>
+/// The pushed filter is a pre-filter: the comprehension still evaluates all of its constraints, and the
+/// compiler only emits filters that reject a row when the Fifth constraint would be false for it.
+/// A refinement that does not apply to the query's shape is skipped, and the query is returned as it is.
+/// </remarks>
+public static class QueryPushdown
+{
+    private static readonly ConditionalWeakTable<Query, ConcurrentDictionary<(string Filter, string Variables), Query>> Refined = new();
+
+    /// <summary>
+    /// Returns <paramref name="query"/> with <paramref name="filter"/> added to its WHERE clause and its
+    /// projection narrowed to <paramref name="variables"/>.
+    /// </summary>
+    /// <param name="query">A query produced by a SPARQL literal</param>
+    /// <param name="filter">SPARQL filter expression, or empty for none</param>
+    /// <param name="variables">Space-separated variable names the comprehension reads, or empty to keep the projection</param>
+    /// <returns>The refined query; the same instance when nothing applies</returns>
+    /// <exception cref="ArgumentNullException">If query is null</exception>
+    public static Query Refine(Query query, string filter, string variables)
+    {
+        ArgumentNullException.ThrowIfNull(query);
+
+        if (string.IsNullOrWhiteSpace(filter) && string.IsNullOrWhiteSpace(variables))
+        {
+            return query;
+        }
+
+        // Refined queries are cached per query instance, so a comprehension in a loop parses once.
+        return Refined
+            .GetValue(query, _ => new ConcurrentDictionary<(string, string), Query>())
+            .GetOrAdd((filter ?? string.Empty, variables ?? string.Empty), key => Build(query, key.Filter, key.Variables));
+    }
+
+    private static Query Build(Query query, string filter, string variables)
+    {
+        if (query.Type != QueryType.Select || string.IsNullOrWhiteSpace(query.SourceText))
+        {
+            return query;
+        }
+
+        try
+        {
+            // Work on a fresh parse: the original query object is shared by every use of the literal.
+            var parser = new SparqlQueryParser();
+            var sparql = parser.ParseFromString(query.SourceText);
+
+            // Grouping, LIMIT and OFFSET see rows before the comprehension does, so filtering
+            // them earlier would change which rows reach it.
+            if (sparql.IsAggregate || sparql.GroupBy != null || sparql.Limit >= 0 || sparql.Offset > 0)
+            {
+                return query;
+            }
+
+            var changed = false;
+            if (!string.IsNullOrWhiteSpace(filter) && ParseFilter(parser, filter) is { } parsedFilter)
+            {
+                var patternVariables = sparql.RootGraphPattern.Variables.ToHashSet(StringComparer.Ordinal);
+                if (parsedFilter.Variables.All(patternVariables.Contains))
+                {
+                    sparql.RootGraphPattern.AddFilter(parsedFilter);
+                    changed = true;
+                }
+            }
+
+            changed |= NarrowProjection(sparql, variables);
+
+            return changed
+                ? new Query(sparql, query.Parameters.ToDictionary(p => p.Key, p => p.Value), query.SourceText)
+                : query;
+        }
+        catch (RdfException)
+        {
+            // Pushdown is an optimisation; a query it cannot rewrite runs unchanged.
+            return query;
+        }
+    }
+
+    private static ISparqlFilter? ParseFilter(SparqlQueryParser parser, string filter)
+    {
+        var carrier = parser.ParseFromString($"SELECT * WHERE {{ FILTER({filter}) }}");
+        return carrier.RootGraphPattern.Filter ?? carrier.RootGraphPattern.UnplacedFilters.FirstOrDefault();
+    }
+
+    // Dropping result variables is only safe when rows are not deduplicated afterwards.
+    private static bool NarrowProjection(SparqlQuery sparql, string variables)
+    {
+        if (string.IsNullOrWhiteSpace(variables)
+            || sparql.QueryType != SparqlQueryType.Select
+            || sparql.HasDistinctModifier)
+        {
+            return false;
+        }
+
+        var wanted = variables.Split(' ', StringSplitOptions.RemoveEmptyEntries).ToHashSet(StringComparer.Ordinal);
+        var projected = sparql.Variables.Where(v => v.IsResultVariable).ToList();
+        if (projected.Any(v => v.IsProjection || v.IsAggregate)
+            || !wanted.All(name => projected.Any(v => v.Name == name))
+            || projected.Count == wanted.Count)
+        {
+            return false;
+        }
+
+        var all = sparql.Variables.ToList();
+        sparql.ClearVariables();
+        foreach (var variable in all)
+        {
+            sparql.AddVariable(variable.Name, variable.IsResultVariable && wanted.Contains(variable.Name));
+        }
+
+        return true;
+    }
+}
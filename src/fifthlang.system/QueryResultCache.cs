@@ -0,0 +1,143 @@
+namespace Fifth.System;
+
+/// <summary>
+/// Counters of a store's query result cache.
+/// </summary>
+/// <param name="Hits">Query applications answered from the cache</param>
+/// <param name="Misses">Query applications that ran against the store</param>
+/// <param name="Evictions">Entries dropped to stay within the size limits</param>
+/// <param name="Invalidations">Times the cache was emptied by a write to the store</param>
+/// <param name="Count">Entries currently cached</param>
+/// <param name="Rows">Result rows currently cached</param>
+public sealed record QueryCacheStatistics(long Hits, long Misses, long Evictions, long Invalidations, int Count, long Rows);
+
+/// <summary>
+/// Bounded, least-recently-used cache of query results for one <see cref="Store"/>.
+/// </summary>
+/// <remarks>
+/// Entries are keyed by the normalized query text and its parameters, and tagged with the store version
+/// they were computed at, so a result computed while a write was in progress is never served afterwards.
+/// Only tabular and boolean results are cached: a graph result is a store that its receiver may modify.
+/// </remarks>
+internal sealed class QueryResultCache
+{
+    private readonly object _gate = new();
+    private readonly Dictionary<string, LinkedListNode<Entry>> _entries = new(StringComparer.Ordinal);
+    private readonly LinkedList<Entry> _recency = new();
+    private readonly int _maxEntries;
+    private readonly long _maxRows;
+    private long _rows;
+    private long _hits;
+    private long _misses;
+    private long _evictions;
+    private long _invalidations;
+
+    private sealed record Entry(string Key, long Version, Result Result, long Rows);
+
+    public QueryResultCache(int maxEntries, long maxRows)
+    {
+        if (maxEntries <= 0)
+            throw new ArgumentOutOfRangeException(nameof(maxEntries), "The cache must hold at least one entry");
+        if (maxRows <= 0)
+            throw new ArgumentOutOfRangeException(nameof(maxRows), "The cache must hold at least one row");
+
+        _maxEntries = maxEntries;
+        _maxRows = maxRows;
+    }
+
+    public QueryCacheStatistics Statistics
+    {
+        get
+        {
+            lock (_gate)
+            {
+                return new QueryCacheStatistics(_hits, _misses, _evictions, _invalidations, _entries.Count, _rows);
+            }
+        }
+    }
+
+    public bool TryGet(Query query, long version, out Result result)
+    {
+        var key = query.CacheKey;
+        lock (_gate)
+        {
+            if (_entries.TryGetValue(key, out var node) && node.Value.Version == version)
+            {
+                _recency.Remove(node);
+                _recency.AddFirst(node);
+                _hits++;
+                result = node.Value.Result;
+                return true;
+            }
+
+            _misses++;
+            result = null!;
+            return false;
+        }
+    }
+
+    public void Add(Query query, long version, Result result)
+    {
+        var rows = result switch
+        {
+            Result.TabularResult tabular => Math.Max(1, tabular.ResultSet.Count),
+            Result.BooleanResult => 1,
+            _ => 0
+        };
+
+        if (rows == 0 || rows > _maxRows)
+        {
+            return;
+        }
+
+        var key = query.CacheKey;
+        lock (_gate)
+        {
+            if (_entries.TryGetValue(key, out var existing))
+            {
+                if (existing.Value.Version > version)
+                {
+                    return;
+                }
+
+                Remove(existing);
+            }
+
+            var node = _recency.AddFirst(new Entry(key, version, result, rows));
+            _entries[key] = node;
+            _rows += rows;
+
+            while (_entries.Count > _maxEntries || _rows > _maxRows)
+            {
+                Remove(_recency.Last!);
+                _evictions++;
+            }
+        }
+    }
+
+    /// <summary>
+    /// Drops every entry; called when the store is written.
+    /// </summary>
+    public void Invalidate()
+    {
+        lock (_gate)
+        {
+            if (_entries.Count == 0)
+            {
+                return;
+            }
+
+            _entries.Clear();
+            _recency.Clear();
+            _rows = 0;
+            _invalidations++;
+        }
+    }
+
+    private void Remove(LinkedListNode<Entry> node)
+    {
+        _recency.Remove(node);
+        _entries.Remove(node.Value.Key);
+        _rows -= node.Value.Rows;
+    }
+}
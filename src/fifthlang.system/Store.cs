@@ -1,7 +1,11 @@
 using System;
+using System.Collections.Concurrent;
 using System.IO;
+using System.Runtime.CompilerServices;
+using System.Text;
 using VDS.RDF;
 using VDS.RDF.Storage;
+using VDS.RDF.Writing.Formatting;
 using QuadStoreNs = TripleStore.Core;
 
 namespace Fifth.System;
@@ -14,6 +18,8 @@ public sealed class Store
 {
     private readonly IStorageProvider _inner;
     private readonly VDS.RDF.TripleStore? _tripleStore; // For in-memory stores, track the TripleStore for querying
+    private long _version;
+    private QueryResultCache? _queryCache;
 
     private Store(IStorageProvider storage, VDS.RDF.TripleStore? tripleStore = null)
     {
@@ -21,7 +27,26 @@ public sealed class Store
         _tripleStore = tripleStore;
     }
 
-    private Store CloneForImmutableOperations()
+    /// <summary>
+    /// Graphs that were snapshotted for an immutable operator and are therefore only reachable
+    /// through stores. Stores never mutate a graph in place (saves replace, deletes remove), so
+    /// snapshots can be shared between every store derived from the same lineage.
+    /// </summary>
+    /// <remarks>
+    /// Nothing enforces this for code that reaches the graphs through <see cref="GetTripleStore"/> or
+    /// <see cref="ToVds"/>: asserting into a graph found there changes it in every store sharing it. Such
+    /// writers must put a copy in place first, as <see cref="StoreBulkLoader"/> does.
+    /// </remarks>
+    private static readonly ConditionalWeakTable<IGraph, object> SharedSnapshots = new();
+    private static readonly object SnapshotMarker = new();
+
+    /// <summary>
+    /// Produces a copy-on-write clone for the immutable operators. Graphs that are already shared
+    /// snapshots are reused by reference; any other graph (e.g. one saved from user code that may
+    /// still be mutated) is copied once and becomes a shared snapshot for later derivations.
+    /// </summary>
+    /// <param name="excludedGraph">Name of a graph that the caller is about to drop, which need not be copied.</param>
+    private Store CloneForImmutableOperations(IRefNode? excludedGraph = null)
     {
         if (_tripleStore == null)
             throw new InvalidOperationException("Immutable store operators are only supported for in-memory stores");
@@ -30,16 +55,28 @@ public sealed class Store
 
         foreach (var existingGraph in _tripleStore.Graphs)
         {
-            var graphCopy = CloneGraph(existingGraph);
-            cloneTripleStore.Add(graphCopy, true);
+            if (excludedGraph != null && excludedGraph.Equals(existingGraph.Name))
+                continue;
+
+            cloneTripleStore.Add(ShareGraph(existingGraph), true);
         }
 
         return new Store(new InMemoryManager(cloneTripleStore), cloneTripleStore);
     }
 
-    private static VDS.RDF.Graph CloneGraph(VDS.RDF.IGraph source)
+    private static IGraph ShareGraph(IGraph graph)
+    {
+        if (SharedSnapshots.TryGetValue(graph, out _))
+            return graph;
+
+        var snapshot = CloneGraph(graph);
+        SharedSnapshots.Add(snapshot, SnapshotMarker);
+        return snapshot;
+    }
+
+    internal static VDS.RDF.Graph CloneGraph(VDS.RDF.IGraph source)
     {
-        var copy = new VDS.RDF.Graph
+        var copy = new VDS.RDF.Graph(source.Name)
         {
             BaseUri = source.BaseUri
         };
@@ -122,6 +159,7 @@ public sealed class Store
     {
         if (graph == null) throw new ArgumentNullException(nameof(graph));
         _inner.SaveGraph(graph.ToVds());
+        MarkChanged();
     }
 
     /// <summary>
@@ -143,8 +181,217 @@ public sealed class Store
     {
         if (graphUri == null) throw new ArgumentNullException(nameof(graphUri));
         _inner.DeleteGraph(graphUri);
+        MarkChanged();
+    }
+
+    /// <summary>
+    /// Most graph requests a batch keeps in flight against a provider that cannot take them in one update.
+    /// </summary>
+    private const int MaxConcurrentGraphRequests = 8;
+
+    /// <summary>
+    /// The provider's async interface, for stores whose I/O leaves the process. In-memory stores are served
+    /// synchronously, which is cheaper than dispatching their work to the thread pool.
+    /// </summary>
+    private IAsyncStorageProvider? RemoteProvider => _tripleStore == null ? _inner as IAsyncStorageProvider : null;
+
+    /// <summary>
+    /// Saves a graph to the store without blocking a thread on remote I/O.
+    /// </summary>
+    public async Task SaveGraphAsync(Graph graph, CancellationToken cancellationToken = default)
+    {
+        if (graph == null) throw new ArgumentNullException(nameof(graph));
+
+        if (RemoteProvider is { } asyncProvider)
+        {
+            await asyncProvider.SaveGraphAsync(graph.ToVds(), cancellationToken).ConfigureAwait(false);
+            MarkChanged();
+        }
+        else
+        {
+            SaveGraph(graph);
+        }
+    }
+
+    /// <summary>
+    /// Loads a graph from the store by its URI without blocking a thread on remote I/O.
+    /// </summary>
+    public async Task<Graph> LoadGraphAsync(Uri graphUri, CancellationToken cancellationToken = default)
+    {
+        if (graphUri == null) throw new ArgumentNullException(nameof(graphUri));
+
+        if (RemoteProvider is not { } asyncProvider)
+        {
+            return LoadGraph(graphUri);
+        }
+
+        var graph = new VDS.RDF.Graph();
+        await asyncProvider.LoadGraphAsync(graph, graphUri.AbsoluteUri, cancellationToken).ConfigureAwait(false);
+        return Graph.FromVds(graph);
+    }
+
+    /// <summary>
+    /// Deletes a graph from the store by its URI without blocking a thread on remote I/O.
+    /// </summary>
+    public async Task DeleteGraphAsync(Uri graphUri, CancellationToken cancellationToken = default)
+    {
+        if (graphUri == null) throw new ArgumentNullException(nameof(graphUri));
+
+        if (RemoteProvider is { } asyncProvider)
+        {
+            await asyncProvider.DeleteGraphAsync(graphUri.AbsoluteUri, cancellationToken).ConfigureAwait(false);
+            MarkChanged();
+        }
+        else
+        {
+            DeleteGraph(graphUri);
+        }
     }
 
+    /// <summary>
+    /// Saves several graphs, replacing any stored graphs of the same names, in as few requests as the
+    /// provider allows.
+    /// </summary>
+    /// <remarks>
+    /// A provider that accepts SPARQL Update receives the whole batch as one update request. Other remote
+    /// providers, such as Graph Store Protocol endpoints, receive one request per graph, with up to
+    /// <see cref="MaxConcurrentGraphRequests"/> in flight at once rather than one round trip after another.
+    /// In-memory stores save synchronously. The store version is bumped once for the batch, also when it fails
+    /// part way, since some graphs may already have been written.
+    /// </remarks>
+    public async Task SaveGraphsAsync(IEnumerable<Graph> graphs, CancellationToken cancellationToken = default)
+    {
+        if (graphs == null) throw new ArgumentNullException(nameof(graphs));
+
+        var batch = graphs.ToList();
+        if (batch.Any(g => g == null))
+            throw new ArgumentException("Graphs cannot contain null", nameof(graphs));
+        if (batch.Count == 0)
+            return;
+
+        try
+        {
+            if (_tripleStore != null)
+            {
+                foreach (var graph in batch)
+                {
+                    _inner.SaveGraph(graph.ToVds());
+                }
+            }
+            else if (_inner is IAsyncUpdateableStorage updateable && _inner.UpdateSupported)
+            {
+                await updateable.UpdateAsync(BuildReplaceGraphsUpdate(batch), cancellationToken).ConfigureAwait(false);
+            }
+            else if (RemoteProvider is { } asyncProvider)
+            {
+                using var throttle = new SemaphoreSlim(MaxConcurrentGraphRequests);
+                await Task.WhenAll(batch.Select(async graph =>
+                {
+                    await throttle.WaitAsync(cancellationToken).ConfigureAwait(false);
+                    try
+                    {
+                        await asyncProvider.SaveGraphAsync(graph.ToVds(), cancellationToken).ConfigureAwait(false);
+                    }
+                    finally
+                    {
+                        throttle.Release();
+                    }
+                })).ConfigureAwait(false);
+            }
+            else
+            {
+                foreach (var graph in batch)
+                {
+                    cancellationToken.ThrowIfCancellationRequested();
+                    _inner.SaveGraph(graph.ToVds());
+                }
+            }
+        }
+        finally
+        {
+            // Some writes may have landed before one failed, so cached results are stale either way
+            MarkChanged();
+        }
+    }
+
+    /// <summary>
+    /// Saves several graphs in one batch; the blocking form of <see cref="SaveGraphsAsync"/> for callers
+    /// that cannot await, such as compiled Fifth code.
+    /// </summary>
+    public void SaveGraphs(IEnumerable<Graph> graphs) => SaveGraphsAsync(graphs).GetAwaiter().GetResult();
+
+    // DROP + INSERT DATA per graph reproduces SaveGraph's replace semantics in a single request.
+    private static string BuildReplaceGraphsUpdate(IReadOnlyList<Graph> graphs)
+    {
+        var formatter = new NTriplesFormatter();
+        var update = new StringBuilder();
+        foreach (var graph in graphs)
+        {
+            var vds = graph.ToVds();
+            var name = vds.Name is IUriNode uriNode ? uriNode.Uri : vds.BaseUri;
+            if (update.Length > 0)
+                update.Append(" ;\n");
+
+            update.Append(name == null ? "DROP SILENT DEFAULT" : $"DROP SILENT GRAPH <{name.AbsoluteUri}>");
+            if (vds.Triples.Count == 0)
+                continue;
+
+            update.Append(" ;\nINSERT DATA { ");
+            if (name != null)
+                update.Append($"GRAPH <{name.AbsoluteUri}> {{ ");
+            foreach (var triple in vds.Triples)
+            {
+                update.Append(formatter.Format(triple)).Append('\n');
+            }
+            update.Append(name != null ? "} }" : "}");
+        }
+
+        return update.ToString();
+    }
+
+    /// <summary>
+    /// Incremented by every write made through this store: <see cref="SaveGraph"/>, <see cref="DeleteGraph"/>
+    /// and the in-place operators built on them.
+    /// </summary>
+    public long Version => Interlocked.Read(ref _version);
+
+    /// <summary>
+    /// Records a write made to the store without going through it, for instance through <see cref="ToVds"/>
+    /// or <see cref="GetTripleStore"/>, so cached query results are not served for it.
+    /// </summary>
+    public void MarkChanged()
+    {
+        Interlocked.Increment(ref _version);
+        Volatile.Read(ref _queryCache)?.Invalidate();
+    }
+
+    /// <summary>
+    /// Caches the results of query applications against this store until the store is next written.
+    /// </summary>
+    /// <remarks>
+    /// Intended for stores that are queried far more often than they change. Results are shared between
+    /// callers, and only writes made through this store, or reported with <see cref="MarkChanged"/>,
+    /// invalidate them. Calling this again replaces the cache with an empty one of the new size.
+    /// </remarks>
+    /// <param name="maxEntries">Most distinct queries kept; the least recently used is evicted first</param>
+    /// <param name="maxRows">Most result rows kept across all entries; larger results are not cached</param>
+    public void EnableQueryCache(int maxEntries = 256, long maxRows = 100_000)
+    {
+        Volatile.Write(ref _queryCache, new QueryResultCache(maxEntries, maxRows));
+    }
+
+    /// <summary>
+    /// Stops caching query results and drops those cached.
+    /// </summary>
+    public void DisableQueryCache() => Volatile.Write(ref _queryCache, null);
+
+    /// <summary>
+    /// Hit, miss and eviction counts of the query result cache, or null when it is not enabled.
+    /// </summary>
+    public QueryCacheStatistics? QueryCacheStatistics => Volatile.Read(ref _queryCache)?.Statistics;
+
+    internal QueryResultCache? QueryCache => Volatile.Read(ref _queryCache);
+
     /// <summary>
     /// Executes a SPARQL query against the store.
     /// </summary>
@@ -162,12 +409,21 @@ public sealed class Store
     /// <summary>
     /// Gets the underlying storage provider for interop.
     /// </summary>
+    /// <remarks>
+    /// The graphs of an in-memory store may be shared with the stores derived from it by the immutable
+    /// operators. Replace a graph, as <see cref="IStorageProvider.SaveGraph"/> does, rather than updating it in
+    /// place, or the change shows through in those stores too.
+    /// </remarks>
     public IStorageProvider ToVds() => _inner;
 
     /// <summary>
     /// Gets the underlying TripleStore for in-memory querying.
     /// Returns null for non-in-memory stores (e.g., SPARQL endpoints).
     /// </summary>
+    /// <remarks>
+    /// Its graphs may be shared with the stores derived from this one by the immutable operators, so they
+    /// must not be modified in place; put a modified copy in the graph's place instead.
+    /// </remarks>
     public VDS.RDF.TripleStore? GetTripleStore() => _tripleStore;
 
     /// <summary>
@@ -186,6 +442,99 @@ public sealed class Store
         if (trigContent == null)
             throw new ArgumentNullException(nameof(trigContent));
 
+        var tripleStore = ParseTriG(trigContent);
+
+        // Wrap in an in-memory manager that uses this triple store
+        var storage = new InMemoryManager(tripleStore);
+        return new Store(storage, tripleStore);
+    }
+
+    /// <summary>
+    /// Parsed form of constant TriG literals, keyed by literal text. Entries are never handed out
+    /// directly; each evaluation builds fresh graphs from the frozen triples, so callers are free
+    /// to mutate the store they get back.
+    /// </summary>
+    private static readonly ConcurrentDictionary<string, FrozenGraph[]> FrozenDatasets = new(StringComparer.Ordinal);
+
+    private sealed class FrozenGraph
+    {
+        private readonly IRefNode? _name;
+        private readonly Uri? _baseUri;
+        private readonly NamespaceMapper _namespaces;
+        private readonly VDS.RDF.Triple[] _triples;
+        private readonly bool _hasBlankNodes;
+
+        public FrozenGraph(IGraph source)
+        {
+            _name = source.Name;
+            _baseUri = source.BaseUri;
+            _namespaces = new NamespaceMapper(true);
+            _namespaces.Import(source.NamespaceMap);
+            _triples = source.Triples.ToArray();
+            _hasBlankNodes = _triples.Any(t => t.Subject is IBlankNode || t.Predicate is IBlankNode || t.Object is IBlankNode);
+        }
+
+        /// <summary>
+        /// Builds a graph from the frozen triples. Blank nodes are minted afresh on every evaluation, as
+        /// parsing the literal again would; <paramref name="blankNodes"/> maps the frozen ones to this
+        /// evaluation's, and is shared by the graphs of one dataset because TriG scopes labels to the document.
+        /// </summary>
+        public VDS.RDF.Graph Materialize(Dictionary<INode, INode> blankNodes)
+        {
+            var graph = new VDS.RDF.Graph(_name) { BaseUri = _baseUri };
+            graph.NamespaceMap.Import(_namespaces);
+            if (!_hasBlankNodes)
+            {
+                graph.Assert(_triples);
+                return graph;
+            }
+
+            INode Remint(INode node)
+            {
+                if (node is not IBlankNode)
+                    return node;
+                if (!blankNodes.TryGetValue(node, out var fresh))
+                    blankNodes[node] = fresh = graph.CreateBlankNode();
+                return fresh;
+            }
+
+            graph.Assert(_triples.Select(t => new VDS.RDF.Triple(Remint(t.Subject), Remint(t.Predicate), Remint(t.Object))));
+            return graph;
+        }
+    }
+
+    /// <summary>
+    /// Loads a Store from a constant TriG literal.
+    /// The text is parsed once per process and cached in frozen form; later evaluations of the
+    /// same literal only rebuild the graphs from the cached triples.
+    /// </summary>
+    /// <remarks>
+    /// The compiler emits this for TriG literals without interpolations, whose text is fixed at
+    /// compile time, so the cache is bounded by the literals in the program. Dynamic content
+    /// should go through <see cref="LoadFromTriG"/>.
+    /// </remarks>
+    /// <param name="trigContent">TriG format RDF dataset string</param>
+    /// <returns>A new Store containing the dataset</returns>
+    public static Store LoadFromFrozenTriG(string trigContent)
+    {
+        if (trigContent == null)
+            throw new ArgumentNullException(nameof(trigContent));
+
+        var frozen = FrozenDatasets.GetOrAdd(trigContent,
+            content => ParseTriG(content).Graphs.Select(g => new FrozenGraph(g)).ToArray());
+
+        var tripleStore = new VDS.RDF.TripleStore();
+        var blankNodes = new Dictionary<INode, INode>();
+        foreach (var graph in frozen)
+        {
+            tripleStore.Add(graph.Materialize(blankNodes), true);
+        }
+
+        return new Store(new InMemoryManager(tripleStore), tripleStore);
+    }
+
+    private static VDS.RDF.TripleStore ParseTriG(string trigContent)
+    {
         // Create an in-memory triple store (dataset)
         var tripleStore = new VDS.RDF.TripleStore();
 
@@ -196,9 +545,7 @@ public sealed class Store
             parser.Load(tripleStore, reader);
         }
 
-        // Wrap in an in-memory manager that uses this triple store
-        var storage = new InMemoryManager(tripleStore);
-        return new Store(storage, tripleStore);
+        return tripleStore;
     }
 
     // ============================================================================
@@ -258,7 +605,8 @@ public sealed class Store
         if (store == null) throw new ArgumentNullException(nameof(store));
         if (graph == null) throw new ArgumentNullException(nameof(graph));
 
-        var clone = store.CloneForImmutableOperations();
+        var uri = graph.BaseUri;
+        var clone = store.CloneForImmutableOperations(uri != null ? new UriNode(uri) : null);
         clone.RemoveGraphInPlace(graph);
         return clone;
     }
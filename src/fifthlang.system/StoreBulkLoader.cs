@@ -0,0 +1,262 @@
+using System.Diagnostics;
+using VDS.RDF;
+using VDS.RDF.Parsing;
+using VDS.RDF.Parsing.Handlers;
+
+namespace Fifth.System;
+
+/// <summary>
+/// RDF serializations accepted by <see cref="StoreBulkLoader"/>.
+/// </summary>
+public enum RdfFileFormat
+{
+    TriG,
+    NQuads,
+    Turtle,
+    NTriples
+}
+
+/// <summary>
+/// Progress of a bulk load.
+/// </summary>
+/// <param name="Triples">Triples written to the store so far</param>
+/// <param name="BytesRead">Bytes of the file consumed so far</param>
+/// <param name="TotalBytes">Size of the file</param>
+/// <param name="Elapsed">Time since the load started</param>
+public sealed record BulkLoadProgress(long Triples, long BytesRead, long TotalBytes, TimeSpan Elapsed)
+{
+    /// <summary>
+    /// Average throughput since the load started.
+    /// </summary>
+    public double TriplesPerSecond => Elapsed.TotalSeconds > 0 ? Triples / Elapsed.TotalSeconds : 0;
+}
+
+/// <summary>
+/// Streams large RDF files into a store without holding the document in memory.
+/// </summary>
+/// <remarks>
+/// The file is read sequentially through a buffered stream and parsed triple by triple. Triples are
+/// written to the store in batches of <c>batchSize</c>, so memory use is bounded by the batch rather than
+/// the file. File stores (<see cref="Store.CreateFileStore"/>) receive each batch as one graph update.
+/// In-memory stores never change a graph in place, since graphs are shared with derived stores and with
+/// the caller, so each graph the load touches is copied once, swapped into the store, and filled batch by
+/// batch. Triples without a graph go to the default graph.
+/// Blank node labels are scoped to the file, as the parser assigns them.
+/// </remarks>
+public static class StoreBulkLoader
+{
+    private const int DefaultBatchSize = 50_000;
+    private const int ReadBufferSize = 1 << 20;
+
+    /// <summary>
+    /// Loads the RDF file at <paramref name="path"/> into <paramref name="store"/>.
+    /// </summary>
+    /// <param name="store">Store to write to</param>
+    /// <param name="path">File to read</param>
+    /// <param name="format">Serialization of the file; inferred from the extension when null</param>
+    /// <param name="batchSize">Triples buffered before they are written to the store</param>
+    /// <param name="progress">Receives progress after each batch and when the load completes</param>
+    /// <param name="cancellationToken">Stops the load between triples; batches already written remain</param>
+    /// <returns>Final progress, with the number of triples loaded</returns>
+    /// <exception cref="NotSupportedException">If the format cannot be inferred, or the store cannot be updated</exception>
+    public static BulkLoadProgress Load(
+        Store store,
+        string path,
+        RdfFileFormat? format = null,
+        int batchSize = DefaultBatchSize,
+        IProgress<BulkLoadProgress>? progress = null,
+        CancellationToken cancellationToken = default)
+    {
+        if (store == null) throw new ArgumentNullException(nameof(store));
+        if (string.IsNullOrEmpty(path)) throw new ArgumentException("Path cannot be null or empty", nameof(path));
+        if (batchSize <= 0) throw new ArgumentOutOfRangeException(nameof(batchSize), "Batch size must be positive");
+
+        if (store.GetTripleStore() == null && !store.ToVds().UpdateSupported)
+            throw new NotSupportedException("Bulk loading requires an in-memory store or a storage provider that supports graph updates");
+
+        var fileFormat = format ?? InferFormat(path);
+        using var stream = new FileStream(path, FileMode.Open, FileAccess.Read, FileShare.Read, ReadBufferSize, FileOptions.SequentialScan);
+        using var reader = new StreamReader(stream, detectEncodingFromByteOrderMarks: true);
+
+        var handler = new BatchingHandler(store, stream, batchSize, progress, cancellationToken);
+        try
+        {
+            switch (fileFormat)
+            {
+                case RdfFileFormat.TriG:
+                    new TriGParser().Load(handler, reader);
+                    break;
+                case RdfFileFormat.NQuads:
+                    new NQuadsParser().Load(handler, reader);
+                    break;
+                case RdfFileFormat.Turtle:
+                    new TurtleParser().Load(handler, reader);
+                    break;
+                case RdfFileFormat.NTriples:
+                    new NTriplesParser().Load(handler, reader);
+                    break;
+            }
+        }
+        finally
+        {
+            if (handler.Written > 0)
+            {
+                store.MarkChanged();
+            }
+        }
+
+        return handler.Report();
+    }
+
+    /// <summary>
+    /// Infers the serialization of <paramref name="path"/> from its extension.
+    /// </summary>
+    /// <exception cref="NotSupportedException">If the extension is not recognised</exception>
+    public static RdfFileFormat InferFormat(string path)
+    {
+        var extension = Path.GetExtension(path).ToLowerInvariant();
+        return extension switch
+        {
+            ".trig" => RdfFileFormat.TriG,
+            ".nq" or ".nquads" => RdfFileFormat.NQuads,
+            ".ttl" or ".turtle" => RdfFileFormat.Turtle,
+            ".nt" or ".ntriples" => RdfFileFormat.NTriples,
+            _ => throw new NotSupportedException($"Cannot infer the RDF format of '{path}'; pass the format explicitly")
+        };
+    }
+
+    /// <summary>
+    /// Buffers parsed triples per graph and writes them to the store when the batch is full.
+    /// </summary>
+    private sealed class BatchingHandler : BaseRdfHandler
+    {
+        private readonly Store _store;
+        private readonly Stream _input;
+        private readonly int _batchSize;
+        private readonly IProgress<BulkLoadProgress>? _progress;
+        private readonly CancellationToken _cancellationToken;
+        private readonly Stopwatch _clock = Stopwatch.StartNew();
+        private readonly Dictionary<Uri, List<Triple>> _named = new();
+        private readonly List<Triple> _default = new();
+        private readonly Dictionary<string, IGraph> _loadedGraphs = new(StringComparer.Ordinal);
+        private int _buffered;
+
+        public BatchingHandler(Store store, Stream input, int batchSize, IProgress<BulkLoadProgress>? progress, CancellationToken cancellationToken)
+        {
+            _store = store;
+            _input = input;
+            _batchSize = batchSize;
+            _progress = progress;
+            _cancellationToken = cancellationToken;
+        }
+
+        public long Written { get; private set; }
+
+        public override bool AcceptsAll => true;
+
+        public BulkLoadProgress Report() => new(Written, _input.Position, _input.Length, _clock.Elapsed);
+
+        protected override bool HandleTripleInternal(Triple t) => Buffer(t, null);
+
+        protected override bool HandleQuadInternal(Triple t, IRefNode graph) =>
+            Buffer(t, graph is IUriNode uriNode ? uriNode.Uri : null);
+
+        protected override void EndRdfInternal(bool ok)
+        {
+            if (ok)
+            {
+                Flush();
+                _progress?.Report(Report());
+            }
+        }
+
+        private bool Buffer(Triple triple, Uri? graph)
+        {
+            _cancellationToken.ThrowIfCancellationRequested();
+
+            if (graph == null)
+            {
+                _default.Add(triple);
+            }
+            else
+            {
+                if (!_named.TryGetValue(graph, out var triples))
+                {
+                    _named[graph] = triples = new List<Triple>();
+                }
+
+                triples.Add(triple);
+            }
+
+            if (++_buffered >= _batchSize)
+            {
+                Flush();
+                _progress?.Report(Report());
+            }
+
+            return true;
+        }
+
+        private void Flush()
+        {
+            if (_default.Count > 0)
+            {
+                Write(null, _default);
+            }
+
+            foreach (var (graph, triples) in _named)
+            {
+                Write(graph, triples);
+            }
+
+            _named.Clear();
+            _default.Clear();
+            _buffered = 0;
+        }
+
+        private void Write(Uri? graph, List<Triple> triples)
+        {
+            var tripleStore = _store.GetTripleStore();
+            if (tripleStore != null)
+            {
+                var key = graph?.AbsoluteUri ?? string.Empty;
+                if (!_loadedGraphs.TryGetValue(key, out var target))
+                {
+                    _loadedGraphs[key] = target = ReplaceWithCopy(tripleStore, graph);
+                }
+
+                target.Assert(triples);
+            }
+            else
+            {
+                _store.ToVds().UpdateGraph(graph?.AbsoluteUri ?? string.Empty, triples, Enumerable.Empty<Triple>());
+            }
+
+            Written += triples.Count;
+        }
+
+        /// <summary>
+        /// Puts a copy of the graph <paramref name="name"/>, or a new empty graph, in its place in the store. The
+        /// copy belongs to this load, so batches can be asserted into it.
+        /// </summary>
+        private static IGraph ReplaceWithCopy(VDS.RDF.TripleStore tripleStore, Uri? name)
+        {
+            var node = name == null ? null : new UriNode(name);
+            VDS.RDF.Graph graph;
+            if (tripleStore.HasGraph(node))
+            {
+                graph = Store.CloneGraph(tripleStore[node]);
+
+                // Adding with merge would copy the triples into the shared graph rather than swap in the copy
+                tripleStore.Remove(node);
+            }
+            else
+            {
+                graph = new VDS.RDF.Graph(node) { BaseUri = name };
+            }
+
+            tripleStore.Add(graph);
+            return graph;
+        }
+    }
+}
@@ -12,6 +12,7 @@ public sealed class Triple
     private readonly INode _subject;
     private readonly INode _predicate;
     private readonly INode _object;
+    private VDS.RDF.Triple? _vdsTriple;
 
     /// <summary>
     /// Internal constructor for creating a triple from three nodes.
@@ -49,10 +50,11 @@ public sealed class Triple
 
     /// <summary>
     /// Converts this wrapper to a dotNetRDF Triple for interop.
+    /// The dotNetRDF triple is created once and reused, since both representations are immutable.
     /// </summary>
     public VDS.RDF.Triple ToVdsTriple()
     {
-        return new VDS.RDF.Triple(_subject, _predicate, _object);
+        return _vdsTriple ??= new VDS.RDF.Triple(_subject, _predicate, _object);
     }
 
     /// <summary>
@@ -61,7 +63,7 @@ public sealed class Triple
     public static Triple FromVds(VDS.RDF.Triple triple)
     {
         if (triple == null) throw new ArgumentNullException(nameof(triple));
-        return new Triple(triple.Subject, triple.Predicate, triple.Object);
+        return new Triple(triple.Subject, triple.Predicate, triple.Object) { _vdsTriple = triple };
     }
 
     /// <summary>
@@ -1,13 +1,20 @@
 ﻿namespace Fifth.LanguageServer;
 
+using System.Collections.Concurrent;
 using Fifth.LanguageServer.Parsing;
 
 public sealed class DocumentService
 {
+    /// <summary>Quiet period after the last change before a document is re-analyzed.</summary>
+    public static readonly TimeSpan DefaultAnalysisDelay = TimeSpan.FromMilliseconds(200);
+
     private readonly DocumentStore _store;
     private readonly ParsingService _parsingService;
 
-    private readonly Dictionary<Uri, ParsedDocument> _parsedDocuments = new();
+    private readonly ConcurrentDictionary<Uri, ParsedDocument> _parsedDocuments = new();
+
+    // Pending debounced analysis per document; a newer change cancels the older one.
+    private readonly Dictionary<Uri, CancellationTokenSource> _pendingAnalyses = new();
 
     public DocumentService(DocumentStore store, ParsingService parsingService)
     {
@@ -15,23 +22,108 @@ public sealed class DocumentService
         _parsingService = parsingService;
     }
 
+    public TimeSpan AnalysisDelay { get; init; } = DefaultAnalysisDelay;
+
     public ParsedDocument Open(Uri uri, string text) => Update(uri, text);
 
     public ParsedDocument Update(Uri uri, string text)
     {
+        CancelPendingAnalysis(uri);
         _store.Update(uri, text);
-        var parsed = _parsingService.Parse(uri, text);
+        _parsedDocuments.TryGetValue(uri, out var previous);
+        var parsed = _parsingService.Parse(uri, text, previous, CancellationToken.None);
         _parsedDocuments[uri] = parsed;
         return parsed;
     }
 
+    /// <summary>
+    /// Applies an incremental change to an open document without analyzing it; follow with <see cref="AnalyzeAsync"/>.
+    /// </summary>
+    /// <returns>False when the document is not open.</returns>
+    public bool ApplyChange(Uri uri, TextChange change) => _store.TryApply(uri, change);
+
+    /// <summary>
+    /// Replaces the whole text of a document without analyzing it; follow with <see cref="AnalyzeAsync"/>.
+    /// </summary>
+    public void ReplaceText(Uri uri, string text) => _store.Update(uri, text);
+
+    /// <summary>
+    /// Analyzes the current text of <paramref name="uri"/> once no further change has arrived for
+    /// <see cref="AnalysisDelay"/>. Scheduling again, closing the document or cancelling
+    /// <paramref name="cancellationToken"/> abandons the pending analysis.
+    /// </summary>
+    /// <returns>The analyzed document, or null when the analysis was superseded or cancelled.</returns>
+    public async Task<ParsedDocument?> AnalyzeAsync(Uri uri, CancellationToken cancellationToken)
+    {
+        var cts = CancellationTokenSource.CreateLinkedTokenSource(cancellationToken);
+        lock (_pendingAnalyses)
+        {
+            if (_pendingAnalyses.TryGetValue(uri, out var prior))
+            {
+                prior.Cancel();
+            }
+            _pendingAnalyses[uri] = cts;
+        }
+
+        try
+        {
+            await Task.Delay(AnalysisDelay, cts.Token).ConfigureAwait(false);
+
+            if (!_store.TryGet(uri, out var text))
+            {
+                return null;
+            }
+
+            _parsedDocuments.TryGetValue(uri, out var previous);
+            var parsed = _parsingService.Parse(uri, text, previous, cts.Token);
+
+            lock (_pendingAnalyses)
+            {
+                // Only the most recent analysis may publish its result.
+                if (cts.IsCancellationRequested || !_pendingAnalyses.TryGetValue(uri, out var current) || current != cts)
+                {
+                    return null;
+                }
+                _parsedDocuments[uri] = parsed;
+            }
+            return parsed;
+        }
+        catch (OperationCanceledException)
+        {
+            return null;
+        }
+        finally
+        {
+            lock (_pendingAnalyses)
+            {
+                if (_pendingAnalyses.TryGetValue(uri, out var current) && current == cts)
+                {
+                    _pendingAnalyses.Remove(uri);
+                }
+            }
+            cts.Dispose();
+        }
+    }
+
     public void Close(Uri uri)
     {
+        CancelPendingAnalysis(uri);
         _store.Close(uri);
-        _parsedDocuments.Remove(uri);
+        _parsedDocuments.TryRemove(uri, out _);
     }
 
     public bool TryGetParsed(Uri uri, out ParsedDocument document) => _parsedDocuments.TryGetValue(uri, out document!);
 
     public IReadOnlyDictionary<Uri, ParsedDocument> SnapshotParsed() => new Dictionary<Uri, ParsedDocument>(_parsedDocuments);
+
+    private void CancelPendingAnalysis(Uri uri)
+    {
+        lock (_pendingAnalyses)
+        {
+            if (_pendingAnalyses.Remove(uri, out var pending))
+            {
+                pending.Cancel();
+            }
+        }
+    }
 }
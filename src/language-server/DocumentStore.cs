@@ -4,13 +4,43 @@ namespace Fifth.LanguageServer;
 
 public sealed class DocumentStore
 {
-    private readonly ConcurrentDictionary<Uri, string> _documents = new();
+    private readonly ConcurrentDictionary<Uri, PieceTable> _documents = new();
 
     public void Close(Uri uri) => _documents.TryRemove(uri, out _);
 
-    public void Update(Uri uri, string text) => _documents[uri] = text;
+    public void Update(Uri uri, string text) => _documents[uri] = new PieceTable(text);
 
-    public bool TryGet(Uri uri, out string text) => _documents.TryGetValue(uri, out text!);
+    /// <summary>
+    /// Applies an incremental change to an open document without copying the rest of its text.
+    /// </summary>
+    /// <returns>False when the document is not open.</returns>
+    public bool TryApply(Uri uri, TextChange change)
+    {
+        if (!_documents.TryGetValue(uri, out var document))
+        {
+            return false;
+        }
 
-    public IReadOnlyDictionary<Uri, string> Snapshot() => new Dictionary<Uri, string>(_documents);
+        document.Edit(change.StartLine, change.StartCharacter, change.EndLine, change.EndCharacter, change.Text);
+        return true;
+    }
+
+    public bool TryGet(Uri uri, out string text)
+    {
+        if (_documents.TryGetValue(uri, out var document))
+        {
+            text = document.ToString();
+            return true;
+        }
+
+        text = null!;
+        return false;
+    }
+
+    public IReadOnlyDictionary<Uri, string> Snapshot() => _documents.ToDictionary(pair => pair.Key, pair => pair.Value.ToString());
 }
+
+/// <summary>
+/// Replacement of the text between two zero-based (line, character) positions, as sent by incremental sync.
+/// </summary>
+public readonly record struct TextChange(int StartLine, int StartCharacter, int EndLine, int EndCharacter, string Text);
@@ -50,16 +50,11 @@ public sealed class CompletionHandler : ICompletionHandler
             var workspaceRoot = SymbolService.ResolveWorkspaceRoot(requestUri);
             var index = _symbols.BuildWorkspaceIndex(workspaceRoot, _store.Snapshot(), _documents.SnapshotParsed());
 
-            var allDefinitions = index.Definitions.Values.SelectMany(d => d).ToList();
-            var scopedDefinitions = allDefinitions.Where(d => d.Uri == requestUri).ToList();
-            if (scopedDefinitions.Count == 0)
+            // Prefer the requesting document's own definitions when it has any.
+            var sameDocumentOnly = index.HasDefinitionsIn(requestUri);
+            foreach (var definition in index.FindByPrefix(prefix))
             {
-                scopedDefinitions = allDefinitions;
-            }
-
-            foreach (var definition in scopedDefinitions)
-            {
-                if (!string.IsNullOrEmpty(prefix) && !definition.Name.StartsWith(prefix, StringComparison.Ordinal))
+                if (sameDocumentOnly && definition.Uri != requestUri)
                 {
                     continue;
                 }
@@ -15,12 +15,16 @@ namespace Fifth.LanguageServer.Handlers;
 public sealed class DocumentSyncHandler : TextDocumentSyncHandlerBase
 {
     private readonly DocumentService _documents;
+    private readonly SymbolService _symbols;
+    private readonly SemanticTokenService _semanticTokens;
     private readonly ILanguageServerFacade _server;
     private readonly ILogger<DocumentSyncHandler> _logger;
 
-    public DocumentSyncHandler(DocumentService documents, ILanguageServerFacade server, ILogger<DocumentSyncHandler> logger)
+    public DocumentSyncHandler(DocumentService documents, SymbolService symbols, SemanticTokenService semanticTokens, ILanguageServerFacade server, ILogger<DocumentSyncHandler> logger)
     {
         _documents = documents;
+        _symbols = symbols;
+        _semanticTokens = semanticTokens;
         _server = server;
         _logger = logger;
     }
@@ -36,12 +40,29 @@ public sealed class DocumentSyncHandler : TextDocumentSyncHandlerBase
 
     public override Task<Unit> Handle(DidChangeTextDocumentParams request, CancellationToken cancellationToken)
     {
-        var text = request.ContentChanges.LastOrDefault()?.Text;
-        if (text is not null)
+        var uri = request.TextDocument.Uri.ToUri();
+        _logger.LogInformation("lsp.didChange uri={Uri} changes={Count}", request.TextDocument.Uri, request.ContentChanges.Count());
+
+        // Changes are applied in order; a change without a range replaces the whole document.
+        foreach (var change in request.ContentChanges)
         {
-            _logger.LogInformation("lsp.didChange uri={Uri}", request.TextDocument.Uri);
-            Publish(_documents.Update(request.TextDocument.Uri.ToUri(), text));
+            if (change.Range is null)
+            {
+                _documents.ReplaceText(uri, change.Text);
+            }
+            else if (!_documents.ApplyChange(uri, new TextChange(
+                         change.Range.Start.Line, change.Range.Start.Character,
+                         change.Range.End.Line, change.Range.End.Character,
+                         change.Text)))
+            {
+                _logger.LogWarning("lsp.didChange for unopened document uri={Uri}", request.TextDocument.Uri);
+                return Unit.Task;
+            }
         }
+
+        // Analysis is debounced off the notification thread so further keystrokes are applied immediately
+        // and supersede it.
+        _ = AnalyzeAndPublishAsync(uri, cancellationToken);
         return Unit.Task;
     }
 
@@ -49,6 +70,9 @@ public sealed class DocumentSyncHandler : TextDocumentSyncHandlerBase
     {
         _logger.LogInformation("lsp.didClose uri={Uri}", request.TextDocument.Uri);
         _documents.Close(request.TextDocument.Uri.ToUri());
+        _semanticTokens.Close(request.TextDocument.Uri.ToUri());
+        // The saved file may differ from the last indexed version once the editor lets go of it.
+        _symbols.NotifyFileChanged(request.TextDocument.Uri.ToUri());
         _server.TextDocument?.PublishDiagnostics(new PublishDiagnosticsParams
         {
             Uri = request.TextDocument.Uri,
@@ -63,6 +87,7 @@ public sealed class DocumentSyncHandler : TextDocumentSyncHandlerBase
         {
             _logger.LogInformation("lsp.didSave uri={Uri}", request.TextDocument.Uri);
             Publish(_documents.Update(request.TextDocument.Uri.ToUri(), request.Text));
+            _symbols.NotifyFileChanged(request.TextDocument.Uri.ToUri());
         }
         return Unit.Task;
     }
@@ -70,11 +95,27 @@ public sealed class DocumentSyncHandler : TextDocumentSyncHandlerBase
     protected override TextDocumentSyncRegistrationOptions CreateRegistrationOptions(TextSynchronizationCapability capability, ClientCapabilities clientCapabilities) =>
         new()
         {
-            Change = ServerCapabilities.TextDocumentSyncKind.Full,
+            Change = ServerCapabilities.TextDocumentSyncKind.Incremental,
             Save = new ServerCapabilities.SaveOptions { IncludeText = true },
             DocumentSelector = TextDocumentSelector.ForLanguage("fifth")
         };
 
+    private async Task AnalyzeAndPublishAsync(Uri uri, CancellationToken cancellationToken)
+    {
+        try
+        {
+            var document = await _documents.AnalyzeAsync(uri, cancellationToken).ConfigureAwait(false);
+            if (document is not null)
+            {
+                Publish(document);
+            }
+        }
+        catch (Exception ex)
+        {
+            _logger.LogError(ex, "lsp.analysis failed uri={Uri}", uri);
+        }
+    }
+
     private void Publish(ParsedDocument document)
     {
         var diagnostics = document.Diagnostics.Select(d => new Diagnostic
@@ -0,0 +1,80 @@
+﻿using System.Collections.Immutable;
+using System.Linq;
+using Microsoft.Extensions.Logging;
+using OmniSharp.Extensions.LanguageServer.Protocol.Client.Capabilities;
+using OmniSharp.Extensions.LanguageServer.Protocol.Document;
+using OmniSharp.Extensions.LanguageServer.Protocol.Models;
+
+namespace Fifth.LanguageServer.Handlers;
+
+public sealed class SemanticTokensHandler : ISemanticTokensFullHandler, ISemanticTokensDeltaHandler
+{
+    private readonly DocumentStore _store;
+    private readonly SemanticTokenService _tokens;
+    private readonly ILogger<SemanticTokensHandler> _logger;
+
+    public SemanticTokensHandler(DocumentStore store, SemanticTokenService tokens, ILogger<SemanticTokensHandler> logger)
+    {
+        _store = store;
+        _tokens = tokens;
+        _logger = logger;
+    }
+
+    public SemanticTokensRegistrationOptions GetRegistrationOptions(SemanticTokensCapability capability, ClientCapabilities clientCapabilities) =>
+        new()
+        {
+            DocumentSelector = TextDocumentSelector.ForLanguage("fifth"),
+            Legend = new SemanticTokensLegend
+            {
+                TokenTypes = new Container<SemanticTokenType>(SemanticTokenService.TokenTypes.Select(t => new SemanticTokenType(t))),
+                TokenModifiers = new Container<SemanticTokenModifier>()
+            },
+            Full = new SemanticTokensCapabilityRequestFull { Delta = true }
+        };
+
+    public Task<SemanticTokens?> Handle(SemanticTokensParams request, CancellationToken cancellationToken)
+    {
+        var uri = request.TextDocument.Uri.ToUri();
+        if (!_store.TryGet(uri, out var text))
+            return Task.FromResult<SemanticTokens?>(null);
+
+        var tokens = _tokens.GetTokens(uri, text);
+        _logger.LogInformation("lsp.semanticTokens uri={Uri} lexed={Lexed}", request.TextDocument.Uri, tokens.TokensLexed);
+        return Task.FromResult<SemanticTokens?>(ToSemanticTokens(tokens));
+    }
+
+    public Task<SemanticTokensFullOrDelta?> Handle(SemanticTokensDeltaParams request, CancellationToken cancellationToken)
+    {
+        var uri = request.TextDocument.Uri.ToUri();
+        if (!_store.TryGet(uri, out var text))
+            return Task.FromResult<SemanticTokensFullOrDelta?>(null);
+
+        var delta = _tokens.GetDelta(uri, text, request.PreviousResultId);
+        if (delta is null)
+        {
+            // The client's result is not the one we hold; start it over with all tokens.
+            var tokens = _tokens.GetTokens(uri, text);
+            _logger.LogInformation("lsp.semanticTokens/delta uri={Uri} full lexed={Lexed}", request.TextDocument.Uri, tokens.TokensLexed);
+            return Task.FromResult<SemanticTokensFullOrDelta?>(new SemanticTokensFullOrDelta(ToSemanticTokens(tokens)));
+        }
+
+        _logger.LogInformation("lsp.semanticTokens/delta uri={Uri} edits={Edits} lexed={Lexed}", request.TextDocument.Uri, delta.Edits.Count, delta.TokensLexed);
+        return Task.FromResult<SemanticTokensFullOrDelta?>(new SemanticTokensFullOrDelta(new SemanticTokensDelta
+        {
+            ResultId = delta.ResultId,
+            Edits = new Container<SemanticTokensEdit>(delta.Edits.Select(e => new SemanticTokensEdit
+            {
+                Start = e.Start,
+                DeleteCount = e.DeleteCount,
+                Data = ImmutableArray.Create(e.Data)
+            }))
+        }));
+    }
+
+    private static SemanticTokens ToSemanticTokens(SemanticTokenSet tokens) =>
+        new()
+        {
+            ResultId = tokens.ResultId,
+            Data = ImmutableArray.Create(tokens.Data)
+        };
+}
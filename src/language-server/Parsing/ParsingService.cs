@@ -9,7 +9,18 @@ namespace Fifth.LanguageServer.Parsing;
 
 public sealed class ParsingService
 {
-    public ParsedDocument Parse(Uri uri, string text)
+    public ParsedDocument Parse(Uri uri, string text) => Parse(uri, text, previous: null, CancellationToken.None);
+
+    /// <summary>
+    /// Parses and analyzes <paramref name="text"/>. The document is lexed once and the parser reads the same
+    /// token stream. When the significant tokens (everything except whitespace and comments) match those of
+    /// <paramref name="previous"/> exactly, including their positions, the previous parse and analysis are
+    /// reused and only the text is replaced.
+    /// Analysis runs the <see cref="PipelineOptions.EditorDiagnostics"/> profile: every validation phase runs, so
+    /// the published diagnostics match a build, but the lowering that only code generation needs is skipped.
+    /// </summary>
+    /// <exception cref="OperationCanceledException">Thrown when <paramref name="cancellationToken"/> is cancelled between stages.</exception>
+    public ParsedDocument Parse(Uri uri, string text, ParsedDocument? previous, CancellationToken cancellationToken)
     {
         var listener = new CollectingErrorListener();
 
@@ -18,7 +29,21 @@ public sealed class ParsingService
         lexer.RemoveErrorListeners();
         lexer.AddErrorListener(listener);
 
-        var parser = new FifthParser(new CommonTokenStream(lexer));
+        var tokenStream = new CommonTokenStream(lexer);
+        tokenStream.Fill();
+        var tokens = SignificantTokens(tokenStream);
+
+        if (previous?.Tokens is not null
+            && listener.Diagnostics.Count == 0
+            && previous.Diagnostics.Count == 0
+            && previous.Tokens.SequenceEqual(tokens))
+        {
+            return previous with { Text = text };
+        }
+
+        cancellationToken.ThrowIfCancellationRequested();
+
+        var parser = new FifthParser(tokenStream);
         parser.RemoveErrorListeners();
         parser.AddErrorListener(listener);
 
@@ -38,6 +63,8 @@ public sealed class ParsingService
         var semanticDiagnostics = new List<Diagnostic>();
         if (listener.Diagnostics.Count == 0 && tree is not null)
         {
+            cancellationToken.ThrowIfCancellationRequested();
+
             var visitor = new AstBuilderVisitor();
             var visited = visitor.Visit(tree);
             ast = visited as AssemblyDef;
@@ -47,18 +74,31 @@ public sealed class ParsingService
                 try
                 {
                     var pipeline = TransformationPipeline.CreateDefault();
-                    var result = pipeline.Execute(ast, PipelineOptions.Default);
+                    var result = pipeline.Execute(ast, PipelineOptions.EditorDiagnostics with { CancellationToken = cancellationToken });
                     semanticDiagnostics.AddRange(result.Diagnostics);
                     analyzedAst = result.Success ? result.TransformedAst as AssemblyDef : null;
                 }
-                catch (Exception ex)
+                catch (Exception ex) when (ex is not OperationCanceledException)
                 {
                     semanticDiagnostics.Add(new Diagnostic(DiagnosticLevel.Error, $"Semantic analysis failed: {ex.Message}"));
                 }
             }
         }
 
-        return new ParsedDocument(uri, text, ast, analyzedAst, listener.Diagnostics, semanticDiagnostics);
+        return new ParsedDocument(uri, text, ast, analyzedAst, listener.Diagnostics, semanticDiagnostics, tokens);
+    }
+
+    private static IReadOnlyList<SignificantToken> SignificantTokens(CommonTokenStream tokenStream)
+    {
+        var tokens = new List<SignificantToken>(tokenStream.Size);
+        foreach (var token in tokenStream.GetTokens())
+        {
+            if (token.Channel == Lexer.DefaultTokenChannel && token.Type != TokenConstants.EOF)
+            {
+                tokens.Add(new SignificantToken(token.Type, token.Text, token.Line, token.Column));
+            }
+        }
+        return tokens;
     }
 
     private sealed class CollectingErrorListener :
@@ -83,10 +123,13 @@ public sealed class ParsingService
 
 public sealed record ParsingDiagnostic(int Line, int Column, string Message);
 
+public readonly record struct SignificantToken(int Type, string Text, int Line, int Column);
+
 public sealed record ParsedDocument(
     Uri Uri,
     string Text,
     AssemblyDef? Ast,
     AssemblyDef? AnalyzedAst,
     IReadOnlyList<ParsingDiagnostic> Diagnostics,
-    IReadOnlyList<Diagnostic> SemanticDiagnostics);
+    IReadOnlyList<Diagnostic> SemanticDiagnostics,
+    IReadOnlyList<SignificantToken>? Tokens = null);
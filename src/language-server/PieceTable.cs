@@ -0,0 +1,307 @@
+﻿using System.Text;
+
+namespace Fifth.LanguageServer;
+
+/// <summary>
+/// Editable document text stored as a piece table: the text the document was opened with plus an
+/// append-only buffer of inserted text, stitched together by a list of pieces. An edit splits at most
+/// one piece and adds one, so applying an incremental change never copies the document.
+/// </summary>
+/// <remarks>
+/// Every piece records how many line breaks it spans and both buffers keep a sorted index of their line
+/// breaks, so an LSP position is resolved by walking the pieces rather than the characters. Only <c>'\n'</c>
+/// ends a line; a <c>'\r'</c> before it is treated as the last character of the line. The materialized text
+/// is cached until the next edit, and the pieces are compacted once they grow past a fixed count.
+/// Instances are safe to read and edit from multiple threads.
+/// </remarks>
+public sealed class PieceTable
+{
+    private const int CompactionThreshold = 256;
+
+    private readonly record struct Piece(bool Added, int Start, int Length, int LineBreaks);
+
+    private readonly object _gate = new();
+    private readonly List<Piece> _pieces = new();
+
+    private string _original = string.Empty;
+    private List<int> _originalLineBreaks = new();
+
+    private char[] _added = new char[256];
+    private int _addedLength;
+    private readonly List<int> _addedLineBreaks = new();
+
+    private int _length;
+    private string? _text;
+
+    public PieceTable(string text)
+    {
+        ArgumentNullException.ThrowIfNull(text);
+        Reset(text);
+    }
+
+    /// <summary>Number of characters in the document.</summary>
+    public int Length
+    {
+        get
+        {
+            lock (_gate)
+            {
+                return _length;
+            }
+        }
+    }
+
+    /// <summary>Number of pieces currently describing the document.</summary>
+    public int PieceCount
+    {
+        get
+        {
+            lock (_gate)
+            {
+                return _pieces.Count;
+            }
+        }
+    }
+
+    /// <summary>
+    /// Replaces the text between two zero-based (line, character) positions with <paramref name="newText"/>.
+    /// Positions past the end of a line or of the document are clamped, as the LSP specification requires.
+    /// </summary>
+    /// <exception cref="ArgumentOutOfRangeException">Thrown when a line or character is negative.</exception>
+    /// <exception cref="ArgumentException">Thrown when the range ends before it starts.</exception>
+    public void Edit(int startLine, int startCharacter, int endLine, int endCharacter, string newText)
+    {
+        lock (_gate)
+        {
+            var start = OffsetAt(startLine, startCharacter);
+            var end = OffsetAt(endLine, endCharacter);
+            if (end < start)
+            {
+                throw new ArgumentException($"Edit range ends at {endLine}:{endCharacter}, before its start {startLine}:{startCharacter}.");
+            }
+
+            Replace(start, end - start, newText);
+        }
+    }
+
+    /// <summary>
+    /// Replaces <paramref name="length"/> characters starting at <paramref name="offset"/> with <paramref name="newText"/>.
+    /// </summary>
+    /// <exception cref="ArgumentOutOfRangeException">Thrown when the range is not inside the document.</exception>
+    public void Replace(int offset, int length, string newText)
+    {
+        ArgumentNullException.ThrowIfNull(newText);
+
+        lock (_gate)
+        {
+            if (offset < 0 || length < 0 || offset > _length - length)
+            {
+                throw new ArgumentOutOfRangeException(nameof(offset), $"Range [{offset}, {offset + length}) is outside a document of length {_length}.");
+            }
+
+            if (length == 0 && newText.Length == 0)
+            {
+                return;
+            }
+
+            var end = offset + length;
+            var result = new List<Piece>(_pieces.Count + 2);
+            var inserted = false;
+            var position = 0;
+
+            foreach (var piece in _pieces)
+            {
+                var pieceEnd = position + piece.Length;
+                if (pieceEnd <= offset)
+                {
+                    result.Add(piece);
+                }
+                else if (position >= end)
+                {
+                    inserted = inserted || AddInsertedPiece(result, newText);
+                    result.Add(piece);
+                }
+                else
+                {
+                    // The piece overlaps the replaced range or contains the insertion point: keep what lies outside it.
+                    if (position < offset)
+                    {
+                        result.Add(Slice(piece, 0, offset - position));
+                    }
+
+                    inserted = inserted || AddInsertedPiece(result, newText);
+
+                    if (pieceEnd > end)
+                    {
+                        result.Add(Slice(piece, end - position, pieceEnd - end));
+                    }
+                }
+
+                position = pieceEnd;
+            }
+
+            if (!inserted)
+            {
+                AddInsertedPiece(result, newText);
+            }
+
+            _pieces.Clear();
+            _pieces.AddRange(result);
+            _length += newText.Length - length;
+            _text = null;
+
+            if (_pieces.Count > CompactionThreshold)
+            {
+                Reset(ToString());
+            }
+        }
+    }
+
+    /// <summary>Returns the full document text, materializing it only after an edit.</summary>
+    public override string ToString()
+    {
+        lock (_gate)
+        {
+            if (_text is not null)
+            {
+                return _text;
+            }
+
+            var builder = new StringBuilder(_length);
+            foreach (var piece in _pieces)
+            {
+                if (piece.Added)
+                {
+                    builder.Append(_added, piece.Start, piece.Length);
+                }
+                else
+                {
+                    builder.Append(_original, piece.Start, piece.Length);
+                }
+            }
+
+            _text = builder.ToString();
+            return _text;
+        }
+    }
+
+    private void Reset(string text)
+    {
+        _original = text;
+        _originalLineBreaks = new List<int>();
+        for (var i = 0; i < text.Length; i++)
+        {
+            if (text[i] == '\n')
+            {
+                _originalLineBreaks.Add(i);
+            }
+        }
+
+        _addedLength = 0;
+        _addedLineBreaks.Clear();
+
+        _pieces.Clear();
+        if (text.Length > 0)
+        {
+            _pieces.Add(new Piece(false, 0, text.Length, _originalLineBreaks.Count));
+        }
+
+        _length = text.Length;
+        _text = text;
+    }
+
+    private bool AddInsertedPiece(List<Piece> pieces, string text)
+    {
+        if (text.Length == 0)
+        {
+            return true;
+        }
+
+        if (_addedLength + text.Length > _added.Length)
+        {
+            Array.Resize(ref _added, Math.Max(_added.Length * 2, _addedLength + text.Length));
+        }
+
+        var start = _addedLength;
+        text.CopyTo(0, _added, start, text.Length);
+        _addedLength += text.Length;
+
+        var lineBreaks = 0;
+        for (var i = 0; i < text.Length; i++)
+        {
+            if (text[i] == '\n')
+            {
+                _addedLineBreaks.Add(start + i);
+                lineBreaks++;
+            }
+        }
+
+        pieces.Add(new Piece(true, start, text.Length, lineBreaks));
+        return true;
+    }
+
+    private Piece Slice(Piece piece, int skip, int length)
+    {
+        var start = piece.Start + skip;
+        var breaks = LineBreaksOf(piece.Added);
+        var lineBreaks = LowerBound(breaks, start + length) - LowerBound(breaks, start);
+        return new Piece(piece.Added, start, length, lineBreaks);
+    }
+
+    private int OffsetAt(int line, int character)
+    {
+        if (line < 0)
+        {
+            throw new ArgumentOutOfRangeException(nameof(line), line, "Line must not be negative.");
+        }
+        if (character < 0)
+        {
+            throw new ArgumentOutOfRangeException(nameof(character), character, "Character must not be negative.");
+        }
+
+        if (!TryGetLineStart(line, out var lineStart))
+        {
+            return _length;
+        }
+
+        var lineEnd = TryGetLineStart(line + 1, out var nextLineStart) ? nextLineStart - 1 : _length;
+        return Math.Min(lineStart + character, lineEnd);
+    }
+
+    private bool TryGetLineStart(int line, out int offset)
+    {
+        offset = 0;
+        if (line == 0)
+        {
+            return true;
+        }
+
+        var breaksBefore = 0;
+        var position = 0;
+        foreach (var piece in _pieces)
+        {
+            if (breaksBefore + piece.LineBreaks >= line)
+            {
+                // The line starts after the (line - breaksBefore)-th break inside this piece.
+                var breaks = LineBreaksOf(piece.Added);
+                var breakIndex = breaks[LowerBound(breaks, piece.Start) + line - breaksBefore - 1];
+                offset = position + breakIndex - piece.Start + 1;
+                return true;
+            }
+
+            breaksBefore += piece.LineBreaks;
+            position += piece.Length;
+        }
+
+        return false;
+    }
+
+    private List<int> LineBreaksOf(bool added) => added ? _addedLineBreaks : _originalLineBreaks;
+
+    // Index of the first element not less than value.
+    private static int LowerBound(List<int> sorted, int value)
+    {
+        var index = sorted.BinarySearch(value);
+        return index >= 0 ? index : ~index;
+    }
+}
@@ -33,6 +33,7 @@ public static class Program
             options.WithHandler<Handlers.HoverHandler>();
             options.WithHandler<Handlers.CompletionHandler>();
             options.WithHandler<Handlers.DefinitionHandler>();
+            options.WithHandler<Handlers.SemanticTokensHandler>();
             options.WithServices(services =>
             {
                 services.AddSingleton(loggerFactory);
@@ -42,6 +43,7 @@ public static class Program
                 services.AddSingleton<DocumentService>();
                 services.AddSingleton<DocumentStore>();
                 services.AddSingleton<SymbolService>();
+                services.AddSingleton<SemanticTokenService>();
             });
         });
 
@@ -0,0 +1,511 @@
+﻿using System.Collections.Concurrent;
+using System.Globalization;
+using Antlr4.Runtime;
+using Antlr4.Runtime.Misc;
+
+namespace Fifth.LanguageServer;
+
+/// <summary>
+/// Semantic tokens of a document in the LSP relative encoding: five integers per token
+/// (line delta, start delta, length, type index into <see cref="SemanticTokenService.TokenTypes"/>, modifiers).
+/// </summary>
+/// <param name="TokensLexed">Tokens the lexer produced for this result; the rest were reused</param>
+public sealed record SemanticTokenSet(string ResultId, int[] Data, int TokensLexed);
+
+/// <summary>
+/// Replacement of <paramref name="DeleteCount"/> integers at <paramref name="Start"/> of the previous data.
+/// </summary>
+public sealed record SemanticTokenEdit(int Start, int DeleteCount, int[] Data);
+
+/// <summary>
+/// Edits turning the previous result of a document into <paramref name="ResultId"/>.
+/// </summary>
+/// <param name="TokensLexed">Tokens the lexer produced for this result; the rest were reused</param>
+public sealed record SemanticTokenDelta(string ResultId, IReadOnlyList<SemanticTokenEdit> Edits, int TokensLexed);
+
+/// <summary>
+/// Classifies documents with <see cref="FifthLexer"/>, including the TriG and SPARQL literal modes and the
+/// expressions interpolated into them.
+/// </summary>
+/// <remarks>
+/// Each document keeps its classified tokens together with the lexer state before each of them: the mode,
+/// the mode stack and the TriG and SPARQL angle-bracket depths. After an edit, lexing resumes at the first
+/// token whose lookahead reached the changed text, from the state saved for it, and stops as soon as it
+/// produces a token at the same place, in the same state, as one past the change. The remaining tokens are
+/// reused, shifted by the length of the edit.
+/// </remarks>
+public sealed class SemanticTokenService
+{
+    /// <summary>
+    /// Legend of the token type indexes used in the data.
+    /// </summary>
+    public static readonly IReadOnlyList<string> TokenTypes = ["keyword", "variable", "string", "number", "comment", "operator"];
+
+    private const int Keyword = 0;
+    private const int Variable = 1;
+    private const int String = 2;
+    private const int Number = 3;
+    private const int Comment = 4;
+    private const int Operator = 5;
+
+    private readonly ConcurrentDictionary<Uri, DocumentTokens> _documents = new();
+
+    /// <summary>
+    /// All tokens of <paramref name="text"/>, the current text of <paramref name="uri"/>.
+    /// </summary>
+    public SemanticTokenSet GetTokens(Uri uri, string text)
+    {
+        var document = _documents.GetOrAdd(uri, _ => new DocumentTokens());
+        lock (document)
+        {
+            var lexed = document.Update(text);
+            return new SemanticTokenSet(document.ResultId, document.Data, lexed);
+        }
+    }
+
+    /// <summary>
+    /// Edits from the result <paramref name="previousResultId"/> to the tokens of <paramref name="text"/>.
+    /// </summary>
+    /// <returns>Null when <paramref name="previousResultId"/> is not the latest result for the document;
+    /// ask for all tokens instead.</returns>
+    public SemanticTokenDelta? GetDelta(Uri uri, string text, string previousResultId)
+    {
+        if (!_documents.TryGetValue(uri, out var document))
+        {
+            return null;
+        }
+
+        lock (document)
+        {
+            if (!string.Equals(document.ResultId, previousResultId, StringComparison.Ordinal))
+            {
+                return null;
+            }
+
+            var previous = document.Data;
+            var lexed = document.Update(text);
+            return new SemanticTokenDelta(document.ResultId, Diff(previous, document.Data), lexed);
+        }
+    }
+
+    public void Close(Uri uri) => _documents.TryRemove(uri, out _);
+
+    private static IReadOnlyList<SemanticTokenEdit> Diff(int[] previous, int[] current)
+    {
+        var prefix = previous.AsSpan().CommonPrefixLength(current);
+        if (prefix == previous.Length && prefix == current.Length)
+        {
+            return Array.Empty<SemanticTokenEdit>();
+        }
+
+        var maxSuffix = Math.Min(previous.Length, current.Length) - prefix;
+        var suffix = 0;
+        while (suffix < maxSuffix && previous[previous.Length - 1 - suffix] == current[current.Length - 1 - suffix])
+        {
+            suffix++;
+        }
+
+        return [new SemanticTokenEdit(prefix, previous.Length - prefix - suffix, current[prefix..(current.Length - suffix)])];
+    }
+
+    private static int Classify(int tokenType) => tokenType switch
+    {
+        >= FifthLexer.ALIAS and <= FifthLexer.NIL_LIT or FifthLexer.TRIPLE => Keyword,
+        FifthLexer.IDENTIFIER => Variable,
+        >= FifthLexer.DECIMAL_LIT and <= FifthLexer.IMAGINARY_LIT => Number,
+        >= FifthLexer.RUNE_LIT and <= FifthLexer.INTERPOLATED_STRING_LIT or FifthLexer.IRIREF => String,
+        FifthLexer.COMMENT or FifthLexer.LINE_COMMENT or FifthLexer.COMMENT_NLSEMI or FifthLexer.LINE_COMMENT_NLSEMI => Comment,
+
+        // Literal delimiters and interpolation braces
+        FifthLexer.TRIG_START or FifthLexer.TRIG_CLOSE_ANGLE or FifthLexer.TRIG_INTERP_START or
+        FifthLexer.SPARQL_START or FifthLexer.SPARQL_CLOSE_ANGLE or FifthLexer.SPARQL_INTERP_START or
+        FifthLexer.TRIG_INTERP_END => Operator,
+
+        // Literal content
+        >= FifthLexer.TRIG_ESCAPED_OPEN and <= FifthLexer.TRIG_CLOSE_ANGLE_CONTENT => String,
+        >= FifthLexer.SPARQL_SINGLE_OPEN_BRACE and <= FifthLexer.SPARQL_CONTENT => String,
+
+        FifthLexer.ASSIGN or FifthLexer.ARROW or FifthLexer.MINUS_ASSIGN or
+        (>= FifthLexer.PLUS_PLUS and <= FifthLexer.GEN) or
+        (>= FifthLexer.LOGICAL_NOT and <= FifthLexer.GREATER_OR_EQUALS) or
+        (>= FifthLexer.OR and <= FifthLexer.CONCAT) => Operator,
+
+        _ => -1
+    };
+
+    /// <summary>
+    /// Lexer mode stack; records compare by value, so equal stacks are equal states.
+    /// </summary>
+    private sealed record ModeFrame(int Mode, ModeFrame? Next);
+
+    private sealed record LexerState(int Mode, ModeFrame? Stack, int TrigDepth, int SparqlDepth)
+    {
+        public static readonly LexerState Initial = new(Lexer.DEFAULT_MODE, null, 0, 0);
+    }
+
+    /// <param name="Reach">Furthest character the lexer looked at for this token and the unclassified
+    /// tokens after it</param>
+    private readonly record struct LexedToken(int Start, int Length, int Type, int Reach, LexerState Before);
+
+    private sealed class DocumentTokens
+    {
+        private string? _text;
+        private List<LexedToken> _tokens = new();
+        private int[] _reach = Array.Empty<int>(); // running maximum of LexedToken.Reach
+        private int _leadingReach = -1;            // reach of unclassified tokens before the first token
+        private LexerState _endState = LexerState.Initial;
+        private int _version;
+
+        public string ResultId { get; private set; } = "0";
+
+        public int[] Data { get; private set; } = Array.Empty<int>();
+
+        /// <returns>The number of tokens lexed</returns>
+        public int Update(string text)
+        {
+            if (_text != null && string.Equals(_text, text, StringComparison.Ordinal))
+            {
+                return 0;
+            }
+
+            int lexed;
+            if (_text == null)
+            {
+                lexed = Lex(text, first: 0, changeEnd: int.MaxValue, delta: 0);
+            }
+            else
+            {
+                var prefix = _text.AsSpan().CommonPrefixLength(text);
+                var maxSuffix = Math.Min(_text.Length, text.Length) - prefix;
+                var suffix = 0;
+                while (suffix < maxSuffix && _text[_text.Length - 1 - suffix] == text[text.Length - 1 - suffix])
+                {
+                    suffix++;
+                }
+
+                var first = _leadingReach >= prefix ? 0 : FirstReaching(prefix);
+                lexed = Lex(text, first, text.Length - suffix, text.Length - _text.Length);
+            }
+
+            _text = text;
+            Data = Encode(text, _tokens);
+            ResultId = (++_version).ToString(CultureInfo.InvariantCulture);
+            return lexed;
+        }
+
+        /// <summary>
+        /// Keeps tokens before <paramref name="first"/>, lexes <paramref name="text"/> from there, and reuses the
+        /// old tokens, shifted by <paramref name="delta"/>, once lexing is back in step with them past
+        /// <paramref name="changeEnd"/>.
+        /// </summary>
+        private int Lex(string text, int first, int changeEnd, int delta)
+        {
+            var resumeAt = first == 0 ? 0 : first < _tokens.Count ? _tokens[first].Start : _tokens[^1].Start + _tokens[^1].Length;
+            var state = first == 0 ? LexerState.Initial : first < _tokens.Count ? _tokens[first].Before : _endState;
+
+            var input = new ReachTrackingCharStream(text);
+            var lexer = new ResumableLexer(input);
+            lexer.RemoveErrorListeners();
+            lexer.Restore(state);
+            input.Seek(resumeAt);
+
+            var tokens = new List<LexedToken>(_tokens.Count + 16);
+            tokens.AddRange(_tokens.Take(first));
+            var leadingReach = first == 0 ? -1 : _leadingReach;
+            var lexed = 0;
+            var converged = -1;
+
+            while (true)
+            {
+                var before = lexer.Capture();
+                input.ResetReach();
+                var token = lexer.NextToken();
+                if (token.Type == TokenConstants.EOF)
+                {
+                    _endState = before;
+                    break;
+                }
+
+                lexed++;
+                var reach = Math.Max(input.Reach, token.StopIndex);
+                var type = Classify(token.Type);
+                if (type < 0)
+                {
+                    // Unclassified tokens never change the lexer state; their lookahead is charged to the token before
+                    // them, so an edit they looked at re-lexes from there.
+                    if (tokens.Count == 0)
+                    {
+                        leadingReach = Math.Max(leadingReach, reach);
+                    }
+                    else
+                    {
+                        tokens[^1] = tokens[^1] with { Reach = Math.Max(tokens[^1].Reach, reach) };
+                    }
+                    continue;
+                }
+
+                if (token.StartIndex > changeEnd)
+                {
+                    var old = FindByStart(token.StartIndex - delta, first);
+                    if (old >= 0 && _tokens[old].Before.Equals(before))
+                    {
+                        converged = old;
+                        break;
+                    }
+                }
+
+                tokens.Add(new LexedToken(token.StartIndex, token.StopIndex - token.StartIndex + 1, type, reach, before));
+            }
+
+            if (converged >= 0)
+            {
+                for (var i = converged; i < _tokens.Count; i++)
+                {
+                    var token = _tokens[i];
+                    tokens.Add(token with { Start = token.Start + delta, Reach = token.Reach + delta });
+                }
+            }
+
+            _tokens = tokens;
+            _leadingReach = leadingReach;
+            _reach = new int[tokens.Count];
+            for (var i = 0; i < tokens.Count; i++)
+            {
+                _reach[i] = i == 0 ? tokens[i].Reach : Math.Max(_reach[i - 1], tokens[i].Reach);
+            }
+
+            return lexed;
+        }
+
+        private int FirstReaching(int offset)
+        {
+            int low = 0, high = _reach.Length;
+            while (low < high)
+            {
+                var mid = (low + high) >> 1;
+                if (_reach[mid] >= offset)
+                {
+                    high = mid;
+                }
+                else
+                {
+                    low = mid + 1;
+                }
+            }
+
+            return low;
+        }
+
+        private int FindByStart(int start, int from)
+        {
+            int low = from, high = _tokens.Count - 1;
+            while (low <= high)
+            {
+                var mid = (low + high) >> 1;
+                var midStart = _tokens[mid].Start;
+                if (midStart == start)
+                {
+                    return mid;
+                }
+
+                if (midStart < start)
+                {
+                    low = mid + 1;
+                }
+                else
+                {
+                    high = mid - 1;
+                }
+            }
+
+            return -1;
+        }
+
+        /// <summary>
+        /// Relative encoding of <paramref name="tokens"/>, splitting tokens that span lines (block comments,
+        /// literal text) into one token per line.
+        /// </summary>
+        private static int[] Encode(string text, List<LexedToken> tokens)
+        {
+            var data = new List<int>(tokens.Count * 5);
+            int line = 0, lineStart = 0, previousLine = 0, previousCharacter = 0;
+            var nextBreak = NextLineBreak(text, 0);
+
+            foreach (var token in tokens)
+            {
+                var position = token.Start;
+                var end = token.Start + token.Length;
+                while (position < end)
+                {
+                    while (nextBreak < position)
+                    {
+                        lineStart = AfterLineBreak(text, nextBreak);
+                        line++;
+                        nextBreak = NextLineBreak(text, lineStart);
+                    }
+
+                    position = Math.Max(position, lineStart);
+                    var segmentEnd = Math.Min(end, nextBreak);
+                    if (segmentEnd > position)
+                    {
+                        var character = position - lineStart;
+                        data.Add(line - previousLine);
+                        data.Add(line == previousLine ? character - previousCharacter : character);
+                        data.Add(segmentEnd - position);
+                        data.Add(token.Type);
+                        data.Add(0);
+                        previousLine = line;
+                        previousCharacter = character;
+                    }
+
+                    if (segmentEnd >= end)
+                    {
+                        break;
+                    }
+
+                    position = AfterLineBreak(text, nextBreak);
+                }
+            }
+
+            return data.ToArray();
+        }
+
+        private static int NextLineBreak(string text, int from)
+        {
+            var index = text.AsSpan(from).IndexOfAny('\r', '\n');
+            return index < 0 ? text.Length : from + index;
+        }
+
+        private static int AfterLineBreak(string text, int lineBreak) =>
+            text[lineBreak] == '\r' && lineBreak + 1 < text.Length && text[lineBreak + 1] == '\n' ? lineBreak + 2 : lineBreak + 1;
+    }
+
+    /// <summary>
+    /// <see cref="FifthLexer"/> whose mode stack and angle-bracket depths can be saved and restored.
+    /// </summary>
+    private sealed class ResumableLexer : FifthLexer
+    {
+        private int _current = DEFAULT_MODE;
+        private ModeFrame? _frames;
+        private LexerState _last = LexerState.Initial;
+
+        public ResumableLexer(ICharStream input) : base(input)
+        {
+        }
+
+        public LexerState Capture()
+        {
+            if (_last.Mode == _current && ReferenceEquals(_last.Stack, _frames) &&
+                _last.TrigDepth == TrigAngleBracketDepth && _last.SparqlDepth == SparqlAngleBracketDepth)
+            {
+                return _last;
+            }
+
+            return _last = new LexerState(_current, _frames, TrigAngleBracketDepth, SparqlAngleBracketDepth);
+        }
+
+        public void Restore(LexerState state)
+        {
+            var modes = new Stack<int>();
+            for (var frame = state.Stack; frame != null; frame = frame.Next)
+            {
+                modes.Push(frame.Mode);
+            }
+
+            if (modes.Count == 0)
+            {
+                Mode(state.Mode);
+            }
+            else
+            {
+                Mode(modes.Pop());
+                while (modes.Count > 0)
+                {
+                    PushMode(modes.Pop());
+                }
+                PushMode(state.Mode);
+            }
+
+            TrigAngleBracketDepth = state.TrigDepth;
+            SparqlAngleBracketDepth = state.SparqlDepth;
+            _frames = state.Stack;
+            _last = state;
+        }
+
+        public override void Mode(int m)
+        {
+            base.Mode(m);
+            _current = m;
+        }
+
+        public override void PushMode(int m)
+        {
+            var frames = new ModeFrame(_current, _frames);
+            base.PushMode(m);
+            _frames = frames;
+            _current = m;
+        }
+
+        /// <summary>
+        /// A stray <c>}}</c> outside an interpolation pops an empty stack; stay in the default mode rather than throw.
+        /// </summary>
+        public override int PopMode()
+        {
+            if (_frames == null)
+            {
+                Mode(DEFAULT_MODE);
+                return DEFAULT_MODE;
+            }
+
+            var frames = _frames.Next;
+            var mode = base.PopMode();
+            _frames = frames;
+            _current = mode;
+            return mode;
+        }
+    }
+
+    /// <summary>
+    /// Records the furthest character the lexer looks ahead to, which bounds the text a token depends on.
+    /// Offsets are UTF-16 code units, as LSP positions are.
+    /// </summary>
+    private sealed class ReachTrackingCharStream : ICharStream
+    {
+        private readonly AntlrInputStream _inner;
+
+        public ReachTrackingCharStream(string text)
+        {
+            _inner = new AntlrInputStream(text);
+        }
+
+        public int Reach { get; private set; } = -1;
+
+        public void ResetReach() => Reach = -1;
+
+        public int LA(int i)
+        {
+            if (i > 0)
+            {
+                Reach = Math.Max(Reach, _inner.Index + i - 1);
+            }
+
+            return _inner.LA(i);
+        }
+
+        public void Consume() => _inner.Consume();
+
+        public int Mark() => _inner.Mark();
+
+        public void Release(int marker) => _inner.Release(marker);
+
+        public int Index => _inner.Index;
+
+        public void Seek(int index) => _inner.Seek(index);
+
+        public int Size => _inner.Size;
+
+        public string SourceName => _inner.SourceName;
+
+        public string GetText(Interval interval) => _inner.GetText(interval);
+    }
+}
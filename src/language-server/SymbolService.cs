@@ -1,4 +1,5 @@
-﻿using System.Text.RegularExpressions;
+﻿using System.Collections.Concurrent;
+using System.Text.RegularExpressions;
 using ast;
 using ast_generated;
 using ast_model.Symbols;
@@ -11,12 +12,38 @@ using LspRange = OmniSharp.Extensions.LanguageServer.Protocol.Models.Range;
 
 namespace Fifth.LanguageServer;
 
-public sealed class SymbolService
+public sealed class SymbolService : IDisposable
 {
     private static readonly Regex IdentifierRegex = new(@"[A-Za-z_][A-Za-z0-9_]*", RegexOptions.Compiled);
     private static readonly Regex FunctionDefinitionRegex = new(@"(?m)^(?<name>[A-Za-z_][A-Za-z0-9_]*)(?:\s*<[^>]+>)?\s*\((?<params>[^)]*)\)\s*:\s*(?<return>[^\s\{]+)", RegexOptions.Compiled);
 
-    private static readonly string[] WorkspaceIgnoreSegments = [".git", "bin", "obj", ".idea", ".vscode", "artifacts", "dist", "site"];
+    internal static readonly string[] WorkspaceIgnoreSegments = [".git", "bin", "obj", ".idea", ".vscode", "artifacts", "dist", "site"];
+
+    private readonly string? _cacheDirectory;
+    private readonly ConcurrentDictionary<string, Lazy<WorkspaceIndex>> _workspaceIndexes = new(StringComparer.Ordinal);
+    private readonly object _builtIndexGate = new();
+    private BuiltIndex? _lastBuiltIndex;
+
+    // The merged index handed to a request, reused while neither the workspace files nor the open documents change.
+    private sealed record BuiltIndex(
+        string WorkspaceRoot,
+        int Version,
+        IReadOnlyDictionary<Uri, ParsedDocument> ParsedDocuments,
+        WorkspaceSymbolIndex Index);
+
+    /// <summary>
+    /// Persists workspace indexes under <c>FIFTH_LSP_CACHE_DIR</c> when set, otherwise under the
+    /// user's local application data folder.
+    /// </summary>
+    public SymbolService() : this(DefaultCacheDirectory())
+    {
+    }
+
+    /// <param name="cacheDirectory">Directory for persisted workspace indexes; null keeps them in memory only.</param>
+    public SymbolService(string? cacheDirectory)
+    {
+        _cacheDirectory = cacheDirectory;
+    }
 
     public IEnumerable<string> CollectIdentifiers(string text)
     {
@@ -85,11 +112,35 @@ public sealed class SymbolService
         return Directory.GetCurrentDirectory();
     }
 
+    /// <summary>
+    /// Returns the definitions of the open documents and of every other workspace file. Workspace files come
+    /// from a <see cref="WorkspaceIndex"/> that is built once per root and then maintained incrementally, so
+    /// only files whose content changed are parsed again.
+    /// </summary>
     public WorkspaceSymbolIndex BuildWorkspaceIndex(
         string workspaceRoot,
         IReadOnlyDictionary<Uri, string> openDocuments,
         IReadOnlyDictionary<Uri, ParsedDocument> parsedDocuments)
     {
+        var workspaceIndex = GetWorkspaceIndex(workspaceRoot);
+        workspaceIndex.Refresh();
+        var version = workspaceIndex.Version;
+
+        // Open documents without an analysis yet are read from their live text, which has no cacheable identity.
+        var openUnparsed = openDocuments.Where(pair => !parsedDocuments.ContainsKey(pair.Key)).ToList();
+
+        lock (_builtIndexGate)
+        {
+            if (openUnparsed.Count == 0
+                && _lastBuiltIndex is { } last
+                && last.WorkspaceRoot == workspaceRoot
+                && last.Version == version
+                && SameDocuments(last.ParsedDocuments, parsedDocuments))
+            {
+                return last.Index;
+            }
+        }
+
         var definitions = new Dictionary<string, List<SymbolDefinition>>(StringComparer.Ordinal);
         var seenUris = new HashSet<Uri>();
 
@@ -99,45 +150,139 @@ public sealed class SymbolService
             AddDefinitionsFromParsed(parsed, uri, definitions);
         }
 
-        foreach (var file in EnumerateWorkspaceFiles(workspaceRoot))
+        foreach (var (uri, text) in openUnparsed)
+        {
+            seenUris.Add(uri);
+            AddDefinitionsFromText(text, uri, definitions);
+        }
+
+        foreach (var (file, fileDefinitions) in workspaceIndex.Snapshot())
         {
-            var uri = new Uri(file);
-            if (seenUris.Contains(uri))
+            if (seenUris.Contains(new Uri(file)))
             {
                 continue;
             }
 
-            var parsed = false;
-            try
+            foreach (var definition in fileDefinitions)
             {
-                var ast = FifthParserManager.ParseFile(file) as AssemblyDef;
-                if (ast is not null)
+                if (!definitions.TryGetValue(definition.Name, out var list))
                 {
-                    var diagnostics = new List<compiler.Diagnostic>();
-                    var pipeline = TransformationPipeline.CreateDefault();
-                    var result = pipeline.Execute(ast, PipelineOptions.Default);
-                    if (result.Success && result.TransformedAst is AssemblyDef analyzedAssembly)
-                    {
-                        AddDefinitionsFromAst(analyzedAssembly, uri, definitions);
-                        parsed = true;
-                    }
+                    list = new List<SymbolDefinition>();
+                    definitions[definition.Name] = list;
                 }
+                list.Add(definition);
             }
-            catch
+        }
+
+        var index = new WorkspaceSymbolIndex(definitions);
+        if (openUnparsed.Count == 0)
+        {
+            lock (_builtIndexGate)
             {
-                parsed = false;
+                _lastBuiltIndex = new BuiltIndex(workspaceRoot, version, parsedDocuments, index);
             }
+        }
+        return index;
+    }
 
-            if (!parsed)
+    /// <summary>
+    /// Queues a workspace file for re-indexing, e.g. after it was saved or closed in the editor.
+    /// </summary>
+    public void NotifyFileChanged(Uri uri)
+    {
+        if (!uri.IsFile)
+        {
+            return;
+        }
+
+        foreach (var (root, index) in _workspaceIndexes)
+        {
+            // The separator keeps a sibling such as /ws/app2 from matching the root /ws/app
+            var prefix = Path.TrimEndingDirectorySeparator(root) + Path.DirectorySeparatorChar;
+            if (index.IsValueCreated && uri.LocalPath.StartsWith(prefix, StringComparison.Ordinal))
             {
-                var text = openDocuments.TryGetValue(uri, out var openText)
-                    ? openText
-                    : File.ReadAllText(file);
-                AddDefinitionsFromText(text, uri, definitions);
+                index.Value.MarkDirty(uri.LocalPath);
             }
         }
+    }
 
-        return new WorkspaceSymbolIndex(definitions);
+    public void Dispose()
+    {
+        foreach (var index in _workspaceIndexes.Values.Where(index => index.IsValueCreated))
+        {
+            index.Value.Dispose();
+        }
+        _workspaceIndexes.Clear();
+    }
+
+    private WorkspaceIndex GetWorkspaceIndex(string workspaceRoot)
+    {
+        var root = Path.GetFullPath(workspaceRoot);
+        return _workspaceIndexes.GetOrAdd(root, r => new Lazy<WorkspaceIndex>(() => new WorkspaceIndex(
+            r,
+            _cacheDirectory is null ? null : Path.Combine(_cacheDirectory, WorkspaceIndex.HashText(r)[..16] + ".json"),
+            IndexFile,
+            EnumerateWorkspaceFiles(r)))).Value;
+    }
+
+    private static List<SymbolDefinition> IndexFile(Uri uri, string text)
+    {
+        var definitions = new Dictionary<string, List<SymbolDefinition>>(StringComparer.Ordinal);
+        var parsed = false;
+        try
+        {
+            if (FifthParserManager.ParseString(text) is AssemblyDef ast)
+            {
+                var pipeline = TransformationPipeline.CreateDefault();
+                var result = pipeline.Execute(ast, PipelineOptions.DeclarationsOnly);
+                if (result.Success && result.TransformedAst is AssemblyDef analyzedAssembly)
+                {
+                    AddDefinitionsFromAst(analyzedAssembly, uri, definitions);
+                    parsed = true;
+                }
+            }
+        }
+        catch
+        {
+            parsed = false;
+        }
+
+        if (!parsed)
+        {
+            definitions.Clear();
+            AddDefinitionsFromText(text, uri, definitions);
+        }
+
+        return definitions.Values.SelectMany(list => list).ToList();
+    }
+
+    private static bool SameDocuments(IReadOnlyDictionary<Uri, ParsedDocument> previous, IReadOnlyDictionary<Uri, ParsedDocument> current)
+    {
+        if (previous.Count != current.Count)
+        {
+            return false;
+        }
+
+        foreach (var (uri, document) in current)
+        {
+            if (!previous.TryGetValue(uri, out var prior) || !ReferenceEquals(prior, document))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static string? DefaultCacheDirectory()
+    {
+        var configured = Environment.GetEnvironmentVariable("FIFTH_LSP_CACHE_DIR");
+        if (!string.IsNullOrWhiteSpace(configured))
+        {
+            return configured;
+        }
+
+        var localData = Environment.GetFolderPath(Environment.SpecialFolder.LocalApplicationData);
+        return Path.Combine(string.IsNullOrEmpty(localData) ? Path.GetTempPath() : localData, "fifth", "lsp-index");
     }
 
     public LocationOrLocationLinks? FindDefinition(WorkspaceSymbolIndex index, string word, Uri requestingUri)
@@ -293,7 +438,7 @@ public sealed class SymbolService
         }
 
         return Directory.EnumerateFiles(workspaceRoot, "*.5th", SearchOption.AllDirectories)
-            .Where(path => !WorkspaceIgnoreSegments.Any(segment => path.Split(Path.DirectorySeparatorChar).Contains(segment)));
+            .Where(path => !WorkspaceIndex.IsIgnored(workspaceRoot, path));
     }
 
     private static string? BuildSignature(IAstThing astThing, string name)
@@ -357,4 +502,37 @@ public sealed record SymbolDefinition(
     ast.SymbolKind Kind,
     string? Signature);
 
-public sealed record WorkspaceSymbolIndex(Dictionary<string, List<SymbolDefinition>> Definitions);
+public sealed record WorkspaceSymbolIndex(Dictionary<string, List<SymbolDefinition>> Definitions)
+{
+    private string[]? _sortedNames;
+    private HashSet<Uri>? _documentsWithDefinitions;
+
+    /// <summary>
+    /// Definitions whose name starts with <paramref name="prefix"/> (ordinal). Names are kept sorted, so the
+    /// matches are one contiguous run found by binary search instead of a scan over every definition.
+    /// </summary>
+    public IEnumerable<SymbolDefinition> FindByPrefix(string prefix)
+    {
+        var names = _sortedNames ??= Definitions.Keys.Order(StringComparer.Ordinal).ToArray();
+        var start = Array.BinarySearch(names, prefix, StringComparer.Ordinal);
+        if (start < 0)
+        {
+            start = ~start;
+        }
+
+        for (var i = start; i < names.Length && names[i].StartsWith(prefix, StringComparison.Ordinal); i++)
+        {
+            foreach (var definition in Definitions[names[i]])
+            {
+                yield return definition;
+            }
+        }
+    }
+
+    /// <summary>True when any definition comes from <paramref name="uri"/>.</summary>
+    public bool HasDefinitionsIn(Uri uri)
+    {
+        var documents = _documentsWithDefinitions ??= Definitions.Values.SelectMany(list => list).Select(d => d.Uri).ToHashSet();
+        return documents.Contains(uri);
+    }
+}
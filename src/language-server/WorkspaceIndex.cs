@@ -0,0 +1,308 @@
+﻿using System.Collections.Concurrent;
+using System.Security.Cryptography;
+using System.Text;
+using System.Text.Json;
+using OmniSharp.Extensions.LanguageServer.Protocol.Models;
+using LspRange = OmniSharp.Extensions.LanguageServer.Protocol.Models.Range;
+
+namespace Fifth.LanguageServer;
+
+/// <summary>
+/// Definitions found in each <c>.5th</c> file of one workspace, keyed by file path and content hash.
+/// </summary>
+/// <remarks>
+/// The first use loads the index persisted by a previous session, then hashes every workspace file and
+/// re-indexes only those whose content changed, so a warm restart parses nothing that is unchanged.
+/// Afterwards a <see cref="FileSystemWatcher"/> marks created, changed, renamed and deleted files as dirty and
+/// they are re-indexed in the background, except under build output and tool directories (see
+/// <see cref="IsIgnored"/>); <see cref="MarkDirty"/> does the same for editor events. Readers
+/// still catch up on any dirty file before taking a <see cref="Snapshot"/>, so a lookup never sees stale data.
+/// The index is written back to disk whenever it changes.
+/// </remarks>
+public sealed class WorkspaceIndex : IDisposable
+{
+    // Bump when the definitions produced for the same text change, so persisted entries are rebuilt.
+    private const int FormatVersion = 2;
+
+    private readonly string _root;
+    private readonly string? _cacheFile;
+    private readonly Func<Uri, string, List<SymbolDefinition>> _indexText;
+    private readonly ConcurrentDictionary<string, FileEntry> _files = new(StringComparer.Ordinal);
+    private readonly ConcurrentDictionary<string, byte> _dirty = new(StringComparer.Ordinal);
+    private readonly object _refreshGate = new();
+    private readonly FileSystemWatcher? _watcher;
+    private int _backgroundRefreshScheduled;
+    private int _version;
+
+    private sealed record FileEntry(string Hash, IReadOnlyList<SymbolDefinition> Definitions);
+
+    /// <param name="root">Workspace root directory.</param>
+    /// <param name="cacheFile">Where the index is persisted; null keeps it in memory only.</param>
+    /// <param name="indexText">Extracts the definitions from one file's text; receives the file's URI and text.</param>
+    /// <param name="files">The workspace files to index.</param>
+    /// <param name="watch">Whether to follow file-system changes under <paramref name="root"/>.</param>
+    public WorkspaceIndex(string root, string? cacheFile, Func<Uri, string, List<SymbolDefinition>> indexText, IEnumerable<string> files, bool watch = true)
+    {
+        _root = root;
+        _cacheFile = cacheFile;
+        _indexText = indexText;
+
+        var changed = Load();
+        changed |= Synchronize(files);
+        if (changed)
+        {
+            Persist();
+        }
+
+        if (watch && Directory.Exists(root))
+        {
+            _watcher = new FileSystemWatcher(root, "*.5th")
+            {
+                IncludeSubdirectories = true,
+                NotifyFilter = NotifyFilters.FileName | NotifyFilters.LastWrite | NotifyFilters.Size
+            };
+            _watcher.Created += (_, e) => MarkDirty(e.FullPath);
+            _watcher.Changed += (_, e) => MarkDirty(e.FullPath);
+            _watcher.Deleted += (_, e) => MarkDirty(e.FullPath);
+            _watcher.Renamed += (_, e) =>
+            {
+                MarkDirty(e.OldFullPath);
+                MarkDirty(e.FullPath);
+            };
+            _watcher.EnableRaisingEvents = true;
+        }
+    }
+
+    /// <summary>Number of files whose definitions were (re)computed rather than taken from the cache.</summary>
+    public int FilesIndexed { get; private set; }
+
+    /// <summary>Incremented whenever the definitions of any file change.</summary>
+    public int Version => Volatile.Read(ref _version);
+
+    /// <summary>
+    /// Queues <paramref name="path"/> for re-indexing in the background, unless it is ignored.
+    /// </summary>
+    public void MarkDirty(string path)
+    {
+        var fullPath = Path.GetFullPath(path);
+        if (IsIgnored(_root, fullPath))
+        {
+            return;
+        }
+
+        _dirty[fullPath] = 0;
+        if (Interlocked.Exchange(ref _backgroundRefreshScheduled, 1) == 0)
+        {
+            _ = Task.Run(() =>
+            {
+                Interlocked.Exchange(ref _backgroundRefreshScheduled, 0);
+                Refresh();
+            });
+        }
+    }
+
+    /// <summary>
+    /// Returns the definitions of every indexed file, after re-indexing any file still marked dirty.
+    /// </summary>
+    public IReadOnlyDictionary<string, IReadOnlyList<SymbolDefinition>> Snapshot()
+    {
+        Refresh();
+        return _files.ToDictionary(pair => pair.Key, pair => pair.Value.Definitions, StringComparer.Ordinal);
+    }
+
+    /// <summary>
+    /// Re-indexes every file marked dirty, waiting for a background refresh already in progress.
+    /// </summary>
+    public void Refresh()
+    {
+        lock (_refreshGate)
+        {
+            if (_dirty.IsEmpty)
+            {
+                return;
+            }
+
+            var changed = false;
+            foreach (var path in _dirty.Keys)
+            {
+                _dirty.TryRemove(path, out _);
+                changed |= File.Exists(path) ? IndexIfChanged(path) : Remove(path);
+            }
+
+            if (changed)
+            {
+                Persist();
+            }
+        }
+    }
+
+    public void Dispose() => _watcher?.Dispose();
+
+    /// <summary>
+    /// Whether <paramref name="path"/> lies in a directory under <paramref name="root"/> that never holds
+    /// workspace sources, such as build output or version control.
+    /// </summary>
+    internal static bool IsIgnored(string root, string path) =>
+        Path.GetRelativePath(root, path)
+            .Split(Path.DirectorySeparatorChar, Path.AltDirectorySeparatorChar)
+            .Any(segment => SymbolService.WorkspaceIgnoreSegments.Contains(segment));
+
+    private bool Synchronize(IEnumerable<string> files)
+    {
+        lock (_refreshGate)
+        {
+            var present = new HashSet<string>(StringComparer.Ordinal);
+            var changed = false;
+            foreach (var file in files)
+            {
+                var path = Path.GetFullPath(file);
+                present.Add(path);
+                changed |= IndexIfChanged(path);
+            }
+
+            foreach (var path in _files.Keys.Where(path => !present.Contains(path)).ToList())
+            {
+                changed |= Remove(path);
+            }
+
+            return changed;
+        }
+    }
+
+    private bool IndexIfChanged(string path)
+    {
+        string text;
+        try
+        {
+            text = File.ReadAllText(path);
+        }
+        catch (IOException)
+        {
+            // Still being written; the watcher reports the file again when the write completes.
+            return false;
+        }
+
+        var hash = HashText(text);
+        if (_files.TryGetValue(path, out var existing) && existing.Hash == hash)
+        {
+            return false;
+        }
+
+        _files[path] = new FileEntry(hash, _indexText(new Uri(path), text));
+        FilesIndexed++;
+        Interlocked.Increment(ref _version);
+        return true;
+    }
+
+    private bool Remove(string path)
+    {
+        if (!_files.TryRemove(path, out _))
+        {
+            return false;
+        }
+
+        Interlocked.Increment(ref _version);
+        return true;
+    }
+
+    internal static string HashText(string text) => Convert.ToHexString(SHA256.HashData(Encoding.UTF8.GetBytes(text)));
+
+    private bool Load()
+    {
+        if (_cacheFile is null || !File.Exists(_cacheFile))
+        {
+            return false;
+        }
+
+        try
+        {
+            using var stream = File.OpenRead(_cacheFile);
+            var cache = JsonSerializer.Deserialize<PersistedIndex>(stream);
+            if (cache is null || cache.Version != FormatVersion || !string.Equals(cache.Root, _root, StringComparison.Ordinal))
+            {
+                return true;
+            }
+
+            foreach (var file in cache.Files)
+            {
+                var uri = new Uri(file.Path);
+                var definitions = file.Definitions
+                    .Select(d => new SymbolDefinition(
+                        d.Name,
+                        uri,
+                        new LspRange(new Position(d.StartLine, d.StartCharacter), new Position(d.EndLine, d.EndCharacter)),
+                        d.QualifiedName,
+                        d.Kind,
+                        d.Signature))
+                    .ToList();
+                _files[file.Path] = new FileEntry(file.Hash, definitions);
+            }
+
+            return false;
+        }
+        catch (Exception ex) when (ex is IOException or JsonException or UriFormatException)
+        {
+            // A corrupt or unreadable cache is rebuilt from the workspace.
+            _files.Clear();
+            return true;
+        }
+    }
+
+    private void Persist()
+    {
+        if (_cacheFile is null)
+        {
+            return;
+        }
+
+        var cache = new PersistedIndex(
+            FormatVersion,
+            _root,
+            _files.Select(pair => new PersistedFile(
+                pair.Key,
+                pair.Value.Hash,
+                pair.Value.Definitions
+                    .Select(d => new PersistedDefinition(
+                        d.Name,
+                        d.Range.Start.Line,
+                        d.Range.Start.Character,
+                        d.Range.End.Line,
+                        d.Range.End.Character,
+                        d.QualifiedName,
+                        d.Kind,
+                        d.Signature))
+                    .ToList()))
+                .ToList());
+
+        try
+        {
+            Directory.CreateDirectory(Path.GetDirectoryName(_cacheFile)!);
+
+            // Write beside the target and swap it in, so a crash never leaves a truncated cache.
+            var temp = _cacheFile + ".tmp";
+            using (var stream = File.Create(temp))
+            {
+                JsonSerializer.Serialize(stream, cache);
+            }
+            File.Move(temp, _cacheFile, overwrite: true);
+        }
+        catch (Exception ex) when (ex is IOException or UnauthorizedAccessException)
+        {
+            // Persistence only speeds up the next start; the in-memory index stays valid.
+        }
+    }
+}
+
+internal sealed record PersistedIndex(int Version, string Root, List<PersistedFile> Files);
+
+internal sealed record PersistedFile(string Path, string Hash, List<PersistedDefinition> Definitions);
+
+internal sealed record PersistedDefinition(
+    string Name,
+    int StartLine,
+    int StartCharacter,
+    int EndLine,
+    int EndCharacter,
+    string? QualifiedName,
+    ast.SymbolKind Kind,
+    string? Signature);
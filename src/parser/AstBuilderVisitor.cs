@@ -39,7 +39,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     {
         return new TAstType()
         {
-            Annotations = [],
             Location = GetLocationDetails(ctx),
             Parent = null,
             Type = new FifthType.TDotnetType(typeof(TBaseType)) { Name = TypeName.From(typeof(TBaseType).FullName) },
@@ -146,17 +145,17 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         var lhsExpr = (Expression)Visit(context.lvalue);
         var rhsExpr = (Expression)Visit(context.rvalue);
 
-        var annotations = new Dictionary<string, object>();
+        AnnotationMap annotations = null;
 
         // Mark augmented assignments with an annotation instead of expanding them here.
         // The AugmentedAssignmentLoweringRewriter will handle the expansion in a later pass.
         if (context.op != null && context.op.Type == FifthParser.PLUS_ASSIGN)
         {
-            annotations["AugmentedOperator"] = "+=";
+            annotations = new AnnotationMap { ["AugmentedOperator"] = "+=" };
         }
         else if (context.op != null && context.op.Type == FifthParser.MINUS_ASSIGN)
         {
-            annotations["AugmentedOperator"] = "-=";
+            annotations = new AnnotationMap { ["AugmentedOperator"] = "-=" };
         }
 
         var b = new AssignmentStatementBuilder()
@@ -175,7 +174,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             var expr = (Expression)Visit(exprCtx);
             return new ExpStatement
             {
-                Annotations = [],
                 RHS = expr,
                 Location = GetLocationDetails(context),
                 Type = Void
@@ -184,7 +182,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         // Empty expression statement (just a semicolon) - create an EmptyStatement
         return new EmptyStatement
         {
-            Annotations = [],
             Location = GetLocationDetails(context),
             Type = Void
         };
@@ -192,8 +189,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitBlock(FifthParser.BlockContext context)
     {
-        var b = new BlockStatementBuilder()
-            .WithAnnotations([]);
+        var b = new BlockStatementBuilder();
 
         foreach (var stmt in context.statement())
         {
@@ -221,7 +217,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
                 CollectionType = CollectionType.SingleInstance,
                 IsReadOnly = false,
                 Visibility = Visibility.Public,
-                Annotations = [],
                 FunctionDef = ctor
             };
             b.AddingItemToMemberDefs(methodMember);
@@ -238,7 +233,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
                 CollectionType = CollectionType.SingleInstance,
                 IsReadOnly = false,
                 Visibility = Visibility.Public,
-                Annotations = [],
                 FunctionDef = f
             };
             b.AddingItemToMemberDefs(methodMember);
@@ -252,7 +246,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
         b.WithVisibility(Visibility.Public);
         b.WithName(TypeName.From(context.name.Text));
-        b.WithAnnotations([]);
 
         // Parse type parameters if present (T020)
         if (context.type_parameter_list() != null)
@@ -295,7 +288,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
                 Name = TypeParameterName.From(tpCtx.GetText()),
                 Constraints = [],
                 Visibility = Visibility.Public,
-                Annotations = [],
                 Location = GetLocationDetails(tpCtx)
             };
             typeParams.Add(tpDef);
@@ -336,8 +328,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitDeclaration([NotNull] FifthParser.DeclarationContext context)
     {
-        var b = new VarDeclStatementBuilder()
-                        .WithAnnotations([]);
+        var b = new VarDeclStatementBuilder();
         b.WithVariableDecl((VariableDecl)VisitVar_decl(context.var_decl()));
         if (context.expression() is not null)
         {
@@ -352,7 +343,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     public override IAstThing VisitDestructure_binding([NotNull] FifthParser.Destructure_bindingContext context)
     {
         var b = new PropertyBindingDefBuilder()
-            .WithAnnotations([])
             .WithVisibility(Visibility.Public)
             .WithIntroducedVariable(MemberName.From(context.name.Text))
             .WithReferencedPropertyName(MemberName.From(context.propname.Text));
@@ -375,7 +365,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     public override IAstThing VisitDestructuring_decl([NotNull] FifthParser.Destructuring_declContext context)
     {
         var b = new ParamDestructureDefBuilder()
-            .WithAnnotations([])
             .WithVisibility(Visibility.Public);
         foreach (var pb in context._bindings)
         {
@@ -387,8 +376,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitExp_add(FifthParser.Exp_addContext context)
     {
-        var b = new BinaryExpBuilder()
-            .WithAnnotations([]);
+        var b = new BinaryExpBuilder();
         var op = context.add_op.Type switch
         {
             FifthParser.PLUS => Operator.ArithmeticAdd,
@@ -455,7 +443,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             FunctionDef = null,
             InvocationArguments = arguments,
             TypeArguments = typeArguments,
-            Annotations = new Dictionary<string, object> { ["FunctionName"] = functionName },
+            Annotations = new AnnotationMap { ["FunctionName"] = functionName },
             Location = GetLocationDetails(context),
             Parent = null,
             Type = null // Will be inferred later
@@ -489,7 +477,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             InvocationArguments = arguments,
             TypeArguments = typeArguments,
             // Store the function name in annotations temporarily
-            Annotations = new Dictionary<string, object> { ["FunctionName"] = functionName },
+            Annotations = new AnnotationMap { ["FunctionName"] = functionName },
             Location = GetLocationDetails(context),
             Parent = null,
             Type = null // Will be inferred later
@@ -498,8 +486,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitExp_and(FifthParser.Exp_andContext context)
     {
-        var b = new BinaryExpBuilder()
-            .WithAnnotations([]);
+        var b = new BinaryExpBuilder();
         b.WithOperator(Operator.LogicalAnd)
             .WithLHS((Expression)Visit(context.lhs))
             .WithRHS((Expression)Visit(context.rhs))
@@ -510,8 +497,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitExp_exp(FifthParser.Exp_expContext context)
     {
-        var b = new BinaryExpBuilder()
-            .WithAnnotations([]);
+        var b = new BinaryExpBuilder();
 
         b.WithOperator(Operator.ArithmeticPow)
             .WithLHS((Expression)Visit(context.lhs))
@@ -524,8 +510,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitExp_member_access([NotNull] FifthParser.Exp_member_accessContext context)
     {
-        var b = new MemberAccessExpBuilder()
-            .WithAnnotations([]);
+        var b = new MemberAccessExpBuilder();
         b.WithLHS((Expression)Visit(context.lhs));
         if (context.rhs is not null)
             b.WithRHS((Expression)Visit(context.rhs));
@@ -535,8 +520,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitExp_mul(FifthParser.Exp_mulContext context)
     {
-        var b = new BinaryExpBuilder()
-            .WithAnnotations([]);
+        var b = new BinaryExpBuilder();
         var op = context.mul_op.Type switch
         {
             FifthParser.LSHIFT => Operator.BitwiseLeftShift,
@@ -558,8 +542,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitExp_or(FifthParser.Exp_orContext context)
     {
-        var b = new BinaryExpBuilder()
-            .WithAnnotations([]);
+        var b = new BinaryExpBuilder();
         b.WithOperator(Operator.LogicalOr)
             .WithLHS((Expression)Visit(context.lhs))
             .WithRHS((Expression)Visit(context.rhs))
@@ -580,7 +563,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             InferredType = null, // Will be set by type checker
             Location = GetLocationDetails(context),
             Type = Void,
-            Annotations = [],
             Parent = null
         };
 
@@ -589,8 +571,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitExp_rel(FifthParser.Exp_relContext context)
     {
-        var b = new BinaryExpBuilder()
-            .WithAnnotations([]);
+        var b = new BinaryExpBuilder();
         var op = context.rel_op.Type switch
         {
             FifthParser.EQUALS => Operator.Equal,
@@ -624,9 +605,9 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     /// <summary>
     /// Helper method to determine the operator and annotations for unary expressions.
     /// </summary>
-    private (Operator op, Dictionary<string, object> annotations) GetUnaryOperatorAndAnnotations(int tokenType, bool isPostfix)
+    private (Operator op, AnnotationMap annotations) GetUnaryOperatorAndAnnotations(int tokenType, bool isPostfix)
     {
-        var annotations = new Dictionary<string, object>();
+        AnnotationMap annotations = null;
 
         var op = tokenType switch
         {
@@ -639,15 +620,13 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         };
 
         // Add annotations to distinguish between unary +/- and increment/decrement
-        if (tokenType == FifthParser.PLUS_PLUS)
+        if (tokenType == FifthParser.PLUS_PLUS || tokenType == FifthParser.MINUS_MINUS)
         {
-            annotations["OperatorType"] = "++";
-            annotations["OperatorPosition"] = isPostfix ? OperatorPosition.Postfix : OperatorPosition.Prefix;
-        }
-        else if (tokenType == FifthParser.MINUS_MINUS)
-        {
-            annotations["OperatorType"] = "--";
-            annotations["OperatorPosition"] = isPostfix ? OperatorPosition.Postfix : OperatorPosition.Prefix;
+            annotations = new AnnotationMap
+            {
+                ["OperatorType"] = tokenType == FifthParser.PLUS_PLUS ? "++" : "--",
+                ["OperatorPosition"] = isPostfix ? OperatorPosition.Postfix : OperatorPosition.Prefix
+            };
         }
 
         return (op, annotations);
@@ -656,7 +635,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     /// <summary>
     /// Helper method to build a UnaryExp from operator, annotations, and operand.
     /// </summary>
-    private UnaryExp BuildUnaryExpression(Operator op, Dictionary<string, object> annotations,
+    private UnaryExp BuildUnaryExpression(Operator op, AnnotationMap annotations,
                                           FifthParser.ExpressionContext operandContext,
                                           ParserRuleContext locationContext)
     {
@@ -699,7 +678,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         var b = new AssemblyDefBuilder();
         b.WithVisibility(Visibility.Public)
             .WithPublicKeyToken("abc123") // TODO: need ways to define this
-            .WithAnnotations([])
             .WithAssemblyRefs([])
             .WithName(AssemblyName.anonymous)
             .WithVersion("0.0.0.0")
@@ -754,7 +732,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         // Ensure annotations dictionary is initialized (builder may leave it null)
         if (module.Annotations == null)
         {
-            module = module with { Annotations = new Dictionary<string, object>() };
+            module = module with { Annotations = new AnnotationMap() };
         }
 
         if (!string.IsNullOrWhiteSpace(sourceName))
@@ -868,7 +846,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         b.WithName(MemberName.From(context.function_name().GetText()))
             .WithBody((BlockStatement)VisitBlock(context.function_body().block()))
             .WithReturnType(returnType)
-            .WithAnnotations([])
             .WithVisibility(Visibility.Public) // todo: grammar needs support for member visibility
             ;
 
@@ -898,7 +875,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         b.WithName(MemberName.From(className))  // Constructor name must match class name
             .WithBody((BlockStatement)VisitBlock(context.function_body().block()))
             .WithReturnType(Void)  // Constructors have no return type
-            .WithAnnotations([])
             .WithVisibility(Visibility.Public)
             .WithIsStatic(false)
             .WithIsConstructor(true);  // Mark as constructor
@@ -930,7 +906,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         {
             Arguments = [],
             ResolvedConstructor = null,  // Will be resolved during semantic analysis
-            Annotations = [],
             Location = GetLocationDetails(context),
             Type = Void
         };
@@ -950,13 +925,12 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     public override IAstThing VisitIf_statement([NotNull] FifthParser.If_statementContext context)
     {
         var b = new IfElseStatementBuilder();
-        b.WithAnnotations([])
+        b
             .WithCondition((Expression)Visit(context.condition));
 
         var thenAst = Visit(context.ifpart);
         var thenBlock = thenAst as BlockStatement ?? new BlockStatement
         {
-            Annotations = [],
             Statements = [(Statement)thenAst],
             Location = GetLocationDetails(context.ifpart),
             Type = Void
@@ -968,7 +942,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             var elseAst = Visit(context.elsepart);
             var elseBlock = elseAst as BlockStatement ?? new BlockStatement
             {
-                Annotations = [],
                 Statements = [(Statement)elseAst],
                 Location = GetLocationDetails(context.elsepart),
                 Type = Void
@@ -999,8 +972,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitList_comprehension([NotNull] FifthParser.List_comprehensionContext context)
     {
-        var b = new ListComprehensionBuilder()
-            .WithAnnotations([]);
+        var b = new ListComprehensionBuilder();
 
         // Set the projection expression (what to produce for each item)
         b.WithProjection((Expression)Visit(context.projection));
@@ -1026,8 +998,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitList_literal([NotNull] FifthParser.List_literalContext context)
     {
-        var b = new ListLiteralBuilder()
-            .WithAnnotations([]);
+        var b = new ListLiteralBuilder();
         if (context.expressionList() is not null)
         {
             foreach (var exp in context.expressionList()._expressions)
@@ -1129,8 +1100,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
                         Position = contentPosition,
                         Length = placeholder.Length,
                         Location = GetLocationDetails(interpCtx),
-                        Parent = null,
-                        Annotations = []
+                        Parent = null
                     });
 
                     contentPosition += placeholder.Length;
@@ -1172,8 +1142,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             Interpolations = interpolations,
             Location = GetLocationDetails(context),
             Parent = null,
-            Type = new FifthType.TType { Name = TypeName.From("Store") },
-            Annotations = []
+            Type = new FifthType.TType { Name = TypeName.From("Store") }
         };
     }
 
@@ -1215,8 +1184,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
                         Position = currentPosition,
                         Length = placeholder.Length,
                         Location = GetLocationDetails(interpCtx),
-                        Parent = null,
-                        Annotations = []
+                        Parent = null
                     });
 
                     currentPosition += placeholder.Length;
@@ -1249,8 +1217,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             Bindings = new List<VariableBinding>(), // Will be populated by SparqlVariableBindingVisitor
             Location = GetLocationDetails(context),
             Parent = null,
-            Type = new FifthType.TType { Name = TypeName.From("Query") },
-            Annotations = []
+            Type = new FifthType.TType { Name = TypeName.From("Query") }
         };
     }
 
@@ -1274,7 +1241,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         payload = payload.Replace("_", string.Empty);
         return new Int32LiteralExp
         {
-            Annotations = [],
             Location = GetLocationDetails(context),
             Parent = null,
             Type = new FifthType.TDotnetType(typeof(int)) { Name = TypeName.From(typeof(int).FullName) },
@@ -1291,7 +1257,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         payload = payload.Replace("_", string.Empty);
         return new Int32LiteralExp
         {
-            Annotations = [],
             Location = GetLocationDetails(context),
             Parent = null,
             Type = new FifthType.TDotnetType(typeof(int)) { Name = TypeName.From(typeof(int).FullName) },
@@ -1309,7 +1274,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         payload = payload.Replace("_", string.Empty);
         return new Int32LiteralExp
         {
-            Annotations = [],
             Location = GetLocationDetails(context),
             Parent = null,
             Type = new FifthType.TDotnetType(typeof(int)) { Name = TypeName.From(typeof(int).FullName) },
@@ -1324,7 +1288,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         {
             return new Int32LiteralExp
             {
-                Annotations = [],
                 Location = GetLocationDetails(context),
                 Parent = null,
                 Type = new FifthType.TDotnetType(typeof(int)) { Name = TypeName.From(typeof(int).FullName) },
@@ -1359,7 +1322,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
         return new Int32LiteralExp
         {
-            Annotations = [],
             Location = GetLocationDetails(context),
             Parent = null,
             Type = new FifthType.TDotnetType(typeof(int)) { Name = TypeName.From(typeof(int).FullName) },
@@ -1372,7 +1334,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         var (typeName, collectionType) = ParseTypeSpec(context.type_spec());
         var b = new ParamDefBuilder()
                 .WithVisibility(Visibility.Public)
-                .WithAnnotations([])
                 .WithName(context.var_name().GetText())
             .WithTypeName(typeName)
             .WithCollectionType(collectionType)
@@ -1405,7 +1366,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             .WithName(MemberName.From("Apply"))
             .WithBody((BlockStatement)VisitBlock(context.function_body().block()))
             .WithReturnType(returnType)
-            .WithAnnotations([])
             .WithVisibility(Visibility.Public)
             .WithIsStatic(false)
             .WithIsConstructor(false);
@@ -1425,7 +1385,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             var (typeName, collectionType) = ParseTypeSpec(paramCtx.type_spec());
             var param = new ParamDefBuilder()
                 .WithVisibility(Visibility.Public)
-                .WithAnnotations([])
                 .WithName(paramCtx.var_name().GetText())
                 .WithTypeName(typeName)
                 .WithCollectionType(collectionType)
@@ -1441,14 +1400,12 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
         var functor = new FunctorDefBuilder()
             .WithInvocationFuncDev(applyFunc)
-            .WithAnnotations([])
             .Build() with
         { Location = GetLocationDetails(context), Type = Void };
 
         return new LambdaExp
         {
             FunctorDef = functor,
-            Annotations = [],
             Location = GetLocationDetails(context),
             Parent = null,
             Type = new FifthType.UnknownType { Name = TypeName.anonymous }
@@ -1484,7 +1441,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         var returnExpr = (Expression)Visit(context.expression());
 
         var b = new ReturnStatementBuilder()
-            .WithAnnotations([])
             .WithReturnValue(returnExpr);
         var result = b.Build() with { Location = GetLocationDetails(context), Type = Void };
 
@@ -1493,8 +1449,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
     public override IAstThing VisitVar_decl(FifthParser.Var_declContext context)
     {
-        var b = new VariableDeclBuilder()
-            .WithAnnotations([]);
+        var b = new VariableDeclBuilder();
         b.WithName(context.var_name().GetText());
 
         var typeSpec = context.type_spec();
@@ -1606,7 +1561,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
         var triple = new TripleLiteralExp
         {
-            Annotations = new Dictionary<string, object> { ["Kind"] = "TripleLiteral" },
+            Annotations = new AnnotationMap { ["Kind"] = "TripleLiteral" },
             SubjectExp = subj,
             PredicateExp = pred,
             ObjectExp = obj,
@@ -1647,7 +1602,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
                 {
                     components.Add(new UriLiteralExp
                     {
-                        Annotations = new Dictionary<string, object> { ["Source"] = "MalformedTripleComponent" },
+                        Annotations = new AnnotationMap { ["Source"] = "MalformedTripleComponent" },
                         Location = GetLocationDetails(prc),
                         Parent = null,
                         Type = null,
@@ -1659,7 +1614,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
                     // prefixed form; still treat as URI-like
                     components.Add(new UriLiteralExp
                     {
-                        Annotations = new Dictionary<string, object> { ["Source"] = "MalformedTripleComponent" },
+                        Annotations = new AnnotationMap { ["Source"] = "MalformedTripleComponent" },
                         Location = GetLocationDetails(prc),
                         Parent = null,
                         Type = null,
@@ -1671,7 +1626,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
         return new MalformedTripleExp
         {
-            Annotations = new Dictionary<string, object> { ["Kind"] = kind, ["OriginalText"] = ctx.GetText() },
+            Annotations = new AnnotationMap { ["Kind"] = kind, ["OriginalText"] = ctx.GetText() },
             MalformedKind = kind,
             Components = components, // ensure non-null to satisfy generated visitor enumeration
             Location = GetLocationDetails(ctx),
@@ -1685,7 +1640,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         var text = ctx.GetText();
         return new UriLiteralExp
         {
-            Annotations = new Dictionary<string, object> { ["Source"] = "TripleComponent" },
+            Annotations = new AnnotationMap { ["Source"] = "TripleComponent" },
             Location = GetLocationDetails(ctx),
             Parent = null,
             Type = null,
@@ -1738,25 +1693,23 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
             }
             var uriLiteral = new StringLiteralExp
             {
-                Annotations = [],
                 Location = GetLocationDetails(context),
                 Parent = null,
                 Type = new FifthType.TDotnetType(typeof(string)) { Name = TypeName.From(typeof(string).FullName) },
                 Value = uriText
             };
-            var kgVar = new VarRefExp { VarName = "KG", Annotations = [], Location = GetLocationDetails(context), Type = Void };
+            var kgVar = new VarRefExp { VarName = "KG", Location = GetLocationDetails(context), Type = Void };
             var func = new FuncCallExp
             {
                 FunctionDef = null,
                 InvocationArguments = [uriLiteral],
-                Annotations = new Dictionary<string, object> { ["FunctionName"] = "sparql_store" },
+                Annotations = new AnnotationMap { ["FunctionName"] = "sparql_store" },
                 Location = GetLocationDetails(context),
                 Parent = null,
                 Type = null
             };
             callExpr = new MemberAccessExp
             {
-                Annotations = [],
                 LHS = kgVar,
                 RHS = func,
                 Location = GetLocationDetails(context),
@@ -1782,7 +1735,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
                         }
                         arguments.Add(new StringLiteralExp
                         {
-                            Annotations = [],
                             Location = GetLocationDetails(context),
                             Parent = null,
                             Type = new FifthType.TDotnetType(typeof(string)) { Name = TypeName.From(typeof(string).FullName) },
@@ -1795,19 +1747,18 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
                     }
                 }
             }
-            var kgVar = new VarRefExp { VarName = "KG", Annotations = [], Location = GetLocationDetails(context), Type = Void };
+            var kgVar = new VarRefExp { VarName = "KG", Location = GetLocationDetails(context), Type = Void };
             var func = new FuncCallExp
             {
                 FunctionDef = null,
                 InvocationArguments = arguments,
-                Annotations = new Dictionary<string, object> { ["FunctionName"] = funcName },
+                Annotations = new AnnotationMap { ["FunctionName"] = funcName },
                 Location = GetLocationDetails(context),
                 Parent = null,
                 Type = null
             };
             callExpr = new MemberAccessExp
             {
-                Annotations = [],
                 LHS = kgVar,
                 RHS = func,
                 Location = GetLocationDetails(context),
@@ -1817,12 +1768,11 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         else
         {
             // Fallback — should not happen with current grammar
-            callExpr = new VarRefExp { VarName = "KG", Annotations = [], Location = GetLocationDetails(context), Type = Void };
+            callExpr = new VarRefExp { VarName = "KG", Location = GetLocationDetails(context), Type = Void };
         }
 
         var varDecl = new VariableDecl
         {
-            Annotations = [],
             CollectionType = CollectionType.SingleInstance,
             Name = name,
             Visibility = Visibility.Public,
@@ -1831,7 +1781,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
         return new VarDeclStatement
         {
-            Annotations = new Dictionary<string, object> { ["Kind"] = "StoreDecl" },
+            Annotations = new AnnotationMap { ["Kind"] = "StoreDecl" },
             VariableDecl = varDecl,
             InitialValue = callExpr,
             Location = GetLocationDetails(context),
@@ -1851,7 +1801,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
         var varDecl = new VariableDecl
         {
-            Annotations = [],
             CollectionType = CollectionType.SingleInstance,
             Name = name,
             Visibility = Visibility.Public,
@@ -1861,7 +1810,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
         return new VarDeclStatement
         {
-            Annotations = new Dictionary<string, object> { ["Kind"] = "GraphDecl" },
+            Annotations = new AnnotationMap { ["Kind"] = "GraphDecl" },
             VariableDecl = varDecl,
             // Do not inject a default graph; leave uninitialized if no RHS provided
             InitialValue = initExpr,
@@ -1873,8 +1822,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     public override IAstThing VisitVar_name(FifthParser.Var_nameContext context)
     {
         var b = new VarRefExpBuilder()
-            .WithVarName(context.GetText())
-            .WithAnnotations([]);
+            .WithVarName(context.GetText());
         var result = b.Build() with { Location = GetLocationDetails(context), Type = Void };
         return result;
     }
@@ -1887,13 +1835,12 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     public override IAstThing VisitWhile_statement([NotNull] FifthParser.While_statementContext context)
     {
         var b = new WhileStatementBuilder();
-        b.WithAnnotations([])
+        b
             .WithCondition((Expression)Visit(context.condition));
 
         var bodyAst = Visit(context.looppart);
         var bodyBlock = bodyAst as BlockStatement ?? new BlockStatement
         {
-            Annotations = [],
             Statements = [(Statement)bodyAst],
             Location = GetLocationDetails(context.looppart),
             Type = Void
@@ -1912,7 +1859,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         var indexExpr = (Expression)Visit(indexCtx.expression());
 
         var b = new IndexerExpressionBuilder()
-            .WithAnnotations([])
             .WithIndexExpression(target)
             .WithOffsetExpression(indexExpr);
         var result = b.Build() with { Location = GetLocationDetails(context), Type = Void };
@@ -1997,11 +1943,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         }
 
         // Create the ObjectInitializerExp
-        var annotations = new Dictionary<string, object>();
-        if (arraySizeExpr != null)
-        {
-            annotations["ArraySize"] = arraySizeExpr;
-        }
+        var annotations = arraySizeExpr != null ? new AnnotationMap { ["ArraySize"] = arraySizeExpr } : null;
 
         var result = new ObjectInitializerExp
         {
@@ -2059,7 +2001,7 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
 
         var result = new PropertyInitializerExp
         {
-            Annotations = new Dictionary<string, object>(),
+            Annotations = new AnnotationMap(),
             PropertyToInitialize = propertyRef,
             RHS = expression ?? new StringLiteralExp { Value = "" },
             Location = GetLocationDetails(context),
@@ -2071,13 +2013,11 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     public override IAstThing VisitTry_statement([NotNull] FifthParser.Try_statementContext context)
     {
         var b = new TryStatementBuilder();
-        b.WithAnnotations([]);
 
         // Visit the try block
         var tryBlockAst = Visit(context.tryBlock);
         var tryBlock = tryBlockAst as BlockStatement ?? new BlockStatement
         {
-            Annotations = [],
             Statements = [(Statement)tryBlockAst],
             Location = GetLocationDetails(context.tryBlock),
             Type = Void
@@ -2107,13 +2047,11 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     public override IAstThing VisitCatch_clause([NotNull] FifthParser.Catch_clauseContext context)
     {
         var b = new CatchClauseBuilder();
-        b.WithAnnotations([]);
 
         // Visit the catch body
         var catchBodyAst = Visit(context.catchBody);
         var catchBody = catchBodyAst as BlockStatement ?? new BlockStatement
         {
-            Annotations = [],
             Statements = [(Statement)catchBodyAst],
             Location = GetLocationDetails(context.catchBody),
             Type = Void
@@ -2152,7 +2090,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
         var finallyBodyAst = Visit(context.finallyBody);
         var finallyBlock = finallyBodyAst as BlockStatement ?? new BlockStatement
         {
-            Annotations = [],
             Statements = [(Statement)finallyBodyAst],
             Location = GetLocationDetails(context.finallyBody),
             Type = Void
@@ -2163,7 +2100,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     public override IAstThing VisitThrow_statement([NotNull] FifthParser.Throw_statementContext context)
     {
         var b = new ThrowStatementBuilder();
-        b.WithAnnotations([]);
 
         var result = b.Build() with { Location = GetLocationDetails(context), Type = Void };
 
@@ -2180,7 +2116,6 @@ public class AstBuilderVisitor : FifthParserBaseVisitor<IAstThing>
     public override IAstThing VisitExp_throw([NotNull] FifthParser.Exp_throwContext context)
     {
         var b = new ThrowExpBuilder();
-        b.WithAnnotations([]);
 
         var exceptionExpr = (Expression)Visit(context.expression());
         b.WithException(exceptionExpr);
@@ -28,6 +28,10 @@ import IriLexerFragments;
     
     // Track nesting depth of angle brackets in SPARQL literals
     private int sparqlAngleBracketDepth = 0;
+    
+    // The depths are part of the lexer state; exposed so an editor can resume lexing mid-document
+    public int TrigAngleBracketDepth { get => trigAngleBracketDepth; set => trigAngleBracketDepth = value; }
+    public int SparqlAngleBracketDepth { get => sparqlAngleBracketDepth; set => sparqlAngleBracketDepth = value; }
 }
 
 // Keywords
@@ -0,0 +1,99 @@
+using ast;
+using FluentAssertions;
+
+namespace ast_tests;
+
+public class AnnotationMapTests
+{
+    [Fact]
+    public void WellKnownKeys_AreVisibleThroughTypedPropertiesAndKeys()
+    {
+        var annotations = new AnnotationMap
+        {
+            ["FunctionName"] = "Assert",
+            ["ExternalType"] = typeof(string),
+            ["IsInstanceMethod"] = true
+        };
+        annotations.ExternalMethodName = "Merge";
+
+        annotations.FunctionName.Should().Be("Assert");
+        annotations.ExternalType.Should().Be(typeof(string));
+        annotations.IsInstanceMethod.Should().BeTrue();
+        annotations["ExternalMethodName"].Should().Be("Merge");
+        annotations.Should().HaveCount(4);
+        annotations.Keys.Should().BeEquivalentTo("FunctionName", "ExternalType", "ExternalMethodName", "IsInstanceMethod");
+    }
+
+    [Fact]
+    public void OtherKeys_AndUnexpectedValueTypes_AreKeptInTheSideTable()
+    {
+        var annotations = new AnnotationMap
+        {
+            ["Kind"] = "StoreDecl",
+            ["FunctionName"] = 42
+        };
+
+        annotations["Kind"].Should().Be("StoreDecl");
+        annotations["FunctionName"].Should().Be(42);
+        annotations.FunctionName.Should().BeNull();
+
+        annotations["FunctionName"] = "print";
+        annotations.FunctionName.Should().Be("print");
+        annotations.Should().HaveCount(2);
+    }
+
+    [Fact]
+    public void Remove_ClearsTypedSlots()
+    {
+        var annotations = new AnnotationMap { ["ExternalMethodName"] = "Assert" };
+
+        annotations.Remove("ExternalMethodName").Should().BeTrue();
+        annotations.Remove("ExternalMethodName").Should().BeFalse();
+        annotations.ContainsKey("ExternalMethodName").Should().BeFalse();
+        annotations.Should().BeEmpty();
+    }
+
+    [Fact]
+    public void Dictionaries_ConvertImplicitly()
+    {
+        var node = new VarRefExp
+        {
+            VarName = "x",
+            Annotations = new Dictionary<string, object> { ["FunctionName"] = "f", ["Kind"] = "StoreDecl" }
+        };
+
+        node.Annotations.FunctionName.Should().Be("f");
+        node["Kind"].Should().Be("StoreDecl");
+    }
+
+    [Fact]
+    public void UnannotatedNode_ReadsWithoutAllocating_AndWritesThroughIndexer()
+    {
+        var node = new VarRefExp { VarName = "x" };
+
+        node.HasAnnotation("FunctionName").Should().BeFalse();
+        node["FunctionName"].Should().BeNull();
+
+        node["FunctionName"] = "f";
+
+        node.TryGetAnnotation<string>("FunctionName", out var name).Should().BeTrue();
+        name.Should().Be("f");
+    }
+
+    [Fact]
+    public void WithCopies_ShareAllocatedAnnotations_ButNotUnallocatedOnes()
+    {
+        var annotated = new VarRefExp { VarName = "x" };
+        annotated["Kind"] = "a";
+        var annotatedCopy = annotated with { VarName = "y" };
+        annotatedCopy["Kind"] = "b";
+
+        annotated["Kind"].Should().Be("b");
+
+        var unannotated = new VarRefExp { VarName = "x" };
+        var unannotatedCopy = unannotated with { VarName = "y" };
+        unannotatedCopy["Kind"] = "b";
+
+        unannotated.HasAnnotation("Kind").Should().BeFalse();
+    }
+}
@@ -0,0 +1,122 @@
+using ast;
+using ast_generated;
+using ast_model.TypeSystem;
+using compiler.LanguageTransformations;
+using FluentAssertions;
+
+namespace ast_tests;
+
+public class ClosureOptimizationRewriterTests : VisitorTestsBase
+{
+    private const string IntClosure = "Fifth.System.Runtime.IClosure<int, int>";
+
+    [Fact]
+    public void ClosureClasses_ShouldBeSealed_AndCaptureFreeOnesShared()
+    {
+        var module = CreateModule(
+            [ClosureClass("__lambda_closure_0"), ClosureClass("__lambda_closure_1", "y"), BuildClass("Person", [], [])],
+            CreateFunctionDef("main", "int"));
+
+        var result = (ModuleDef)new ClosureOptimizationRewriter().Rewrite(module).Node;
+
+        var captureFree = result.Classes[0].Annotations;
+        captureFree.Should().ContainKey(ClosureOptimizationRewriter.SealedAnnotation);
+        captureFree.Should().ContainKey(ClosureOptimizationRewriter.SingletonAnnotation);
+
+        var capturing = result.Classes[1].Annotations;
+        capturing.Should().ContainKey(ClosureOptimizationRewriter.SealedAnnotation);
+        capturing.Should().NotContainKey(ClosureOptimizationRewriter.SingletonAnnotation);
+
+        result.Classes[2].Annotations.Should().NotContainKey(ClosureOptimizationRewriter.SealedAnnotation,
+            "only classes generated by closure conversion are sealed");
+    }
+
+    [Fact]
+    public void LocalBoundOnceToClosure_ShouldBeRetypedToClosureClass()
+    {
+        // f: [int] -> int = fun(x: int): int { ... };  (capture-free)
+        // g: [int] -> int = fun(x: int): int { ... y ... };  g = fun(...) { ... y ... };
+        var main = CreateFunctionDef("main", "int");
+        main.Body = new BlockStatement
+        {
+            Statements =
+            [
+                Declare("f", New("__lambda_closure_0")),
+                Declare("g", New("__lambda_closure_1", Var("y"))),
+                new AssignmentStatement { LValue = Var("g"), RValue = New("__lambda_closure_1", Var("y")) }
+            ]
+        };
+        var module = CreateModule(
+            [ClosureClass("__lambda_closure_0"), ClosureClass("__lambda_closure_1", "y")],
+            main);
+
+        var result = (ModuleDef)new ClosureOptimizationRewriter().Rewrite(module).Node;
+        var statements = ((FunctionDef)result.Functions[0]).Body.Statements;
+
+        var f = statements[0].Should().BeOfType<VarDeclStatement>().Subject;
+        f.VariableDecl.TypeName.Value.Should().Be("__lambda_closure_0");
+        f.InitialValue!.Annotations.Should().ContainKey(ClosureOptimizationRewriter.SingletonAnnotation);
+
+        var g = statements[1].Should().BeOfType<VarDeclStatement>().Subject;
+        g.VariableDecl.TypeName.Value.Should().Be(IntClosure, "g is reassigned, so it must keep the interface type");
+        g.InitialValue!.Annotations.Should().NotContainKey(ClosureOptimizationRewriter.SingletonAnnotation);
+    }
+
+    private static ModuleDef CreateModule(List<ClassDef> classes, FunctionDef function) => new ModuleDefBuilder()
+        .WithOriginalModuleName("TestModule")
+        .WithNamespaceDecl(NamespaceName.From("test"))
+        .WithClasses(classes)
+        .WithFunctions([function])
+        .WithVisibility(Visibility.Public)
+        .WithAnnotations([])
+        .Build();
+
+    private static ClassDef BuildClass(string name, List<MemberDef> members, List<string> baseClasses) => new()
+    {
+        Name = TypeName.From(name),
+        TypeParameters = [],
+        MemberDefs = members,
+        BaseClasses = baseClasses,
+        AliasScope = null,
+        Annotations = [],
+        Visibility = Visibility.Public
+    };
+
+    private static ClassDef ClosureClass(string name, params string[] captures) => BuildClass(
+        name,
+        captures.Select(c => (MemberDef)new FieldDef
+        {
+            Name = MemberName.From(c),
+            TypeName = TypeName.From("int"),
+            CollectionType = CollectionType.SingleInstance,
+            IsReadOnly = true,
+            AccessConstraints = [],
+            Annotations = [],
+            Visibility = Visibility.Public
+        }).ToList(),
+        [IntClosure]);
+
+    private static VarDeclStatement Declare(string name, Expression value) => new()
+    {
+        VariableDecl = new VariableDecl
+        {
+            Name = name,
+            TypeName = TypeName.From(IntClosure),
+            CollectionType = CollectionType.SingleInstance,
+            Visibility = Visibility.Public,
+            Annotations = []
+        },
+        InitialValue = value
+    };
+
+    private static ObjectInitializerExp New(string closureClass, params Expression[] captures) => new()
+    {
+        TypeToInitialize = new FifthType.TType { Name = TypeName.From(closureClass) },
+        ConstructorArguments = captures.ToList(),
+        PropertyInitialisers = [],
+        Annotations = [],
+        Type = new FifthType.TType { Name = TypeName.From(closureClass) }
+    };
+
+    private static VarRefExp Var(string name) => new() { VarName = name };
+}
@@ -155,6 +155,65 @@ namespace MixLib
 
         result.Should().BeEmpty();
     }
+
+    [Fact]
+    public void NestedPublicStaticClass_UsesReflectionFullName()
+    {
+        var source = @"
+namespace NestLib
+{
+    public class Outer
+    {
+        public static class Inner
+        {
+            public static int One() => 1;
+        }
+
+        private static class Hidden
+        {
+            public static int Two() => 2;
+        }
+    }
+}";
+        var dllPath = CompileToDll(source);
+
+        var result = LoweredAstToRoslynTranslator.DiscoverPublicStaticTypes(dllPath);
+
+        result.Should().ContainSingle()
+            .Which.Should().Be("NestLib.Outer+Inner");
+    }
+
+    [Fact]
+    public void RepeatedDiscovery_ReusesResultUntilAssemblyChanges()
+    {
+        var dllPath = CompileToDll(@"
+namespace CacheLib
+{
+    public static class First
+    {
+        public static int One() => 1;
+    }
+}");
+
+        var first = LoweredAstToRoslynTranslator.DiscoverPublicStaticTypes(dllPath);
+        var second = LoweredAstToRoslynTranslator.DiscoverPublicStaticTypes(dllPath);
+
+        second.Should().BeSameAs(first);
+
+        var replacement = CompileToDll(@"
+namespace CacheLib
+{
+    public static class Second
+    {
+        public static int Two() => 2;
+    }
+}");
+        File.Copy(replacement, dllPath, overwrite: true);
+        File.SetLastWriteTimeUtc(dllPath, DateTime.UtcNow.AddMinutes(1));
+
+        LoweredAstToRoslynTranslator.DiscoverPublicStaticTypes(dllPath)
+            .Should().ContainSingle().Which.Should().Be("CacheLib.Second");
+    }
 }
 
 
@@ -0,0 +1,40 @@
+using compiler.TypeSystem;
+using FluentAssertions;
+
+namespace ast_tests;
+
+public class ExternalMemberCacheTests
+{
+    [Fact]
+    public void GetMethods_ByName_ReturnsStaticAndInstanceOverloads()
+    {
+        // string.Equals has both instance overloads (Equals(string)) and static ones (Equals(string, string))
+        var methods = ExternalMemberCache.GetMethods(typeof(string), "Equals");
+
+        methods.Should().OnlyContain(m => m.Name == "Equals");
+        methods.Should().Contain(m => m.IsStatic && m.Parameters.Length == 2);
+        methods.Should().Contain(m => !m.IsStatic && m.Parameters.Length == 1);
+        ExternalMemberCache.GetMethods(typeof(string), "NoSuchMethod").Should().BeEmpty();
+    }
+
+    [Fact]
+    public void GetMethods_ByArity_FiltersParameterCountAndStaticness()
+    {
+        var statics = ExternalMemberCache.GetMethods(typeof(Math), "Max", 2, isStatic: true);
+        var instances = ExternalMemberCache.GetMethods(typeof(string), "Contains", 1, isStatic: false);
+
+        statics.Should().NotBeEmpty().And.OnlyContain(m => m.Parameters.Length == 2 && m.IsStatic);
+        instances.Should().NotBeEmpty().And.OnlyContain(m => m.Parameters.Length == 1 && !m.IsStatic);
+        ExternalMemberCache.GetMethods(typeof(Math), "Max", 2, isStatic: false).Should().BeEmpty();
+    }
+
+    [Fact]
+    public void GetMethods_RepeatedLookups_ShareCachedResults()
+    {
+        var first = ExternalMemberCache.GetMethods(typeof(Math), "Abs");
+        var second = ExternalMemberCache.GetMethods(typeof(Math), "Abs");
+
+        second.Should().BeSameAs(first);
+        second[0].Parameters.Should().BeSameAs(first[0].Parameters);
+    }
+}
@@ -1,6 +1,8 @@
 using System;
 using compiler;
 using FluentAssertions;
+using Microsoft.CodeAnalysis.CSharp;
+using Microsoft.CodeAnalysis.CSharp.Syntax;
 using Xunit;
 
 namespace ast_tests;
@@ -29,4 +31,173 @@ public class LoweredToRoslynMappingTests
         found.Should().NotBeNull();
         found!.NodeId.Should().Be("node-x");
     }
+
+    [Fact]
+    public void MappingTable_FindByPosition_Returns_InnermostEntry()
+    {
+        var table = new MappingTable();
+        table.Add(new MappingEntry("class", 0, 1, 1, 20, 2));
+        table.Add(new MappingEntry("method-a", 0, 3, 5, 8, 6));
+        table.Add(new MappingEntry("method-b", 0, 10, 5, 15, 6));
+        table.Add(new MappingEntry("other-source", 1, 1, 1, 30, 1));
+
+        table.FindByPosition(0, 4, 1)!.NodeId.Should().Be("method-a");
+        table.FindByPosition(0, 15, 6)!.NodeId.Should().Be("method-b");
+        table.FindByPosition(0, 9, 1)!.NodeId.Should().Be("class");
+        table.FindByPosition(0, 21, 1).Should().BeNull();
+        table.FindByPosition(2, 1, 1).Should().BeNull();
+    }
+
+    [Fact]
+    public void MappingTable_Update_Replaces_EntryForNode()
+    {
+        var table = new MappingTable();
+        table.Add(new MappingEntry("node", 0, 1, 1, 1, 10));
+        table.FindByPosition(0, 5, 1).Should().BeNull();
+
+        table.Update(new MappingEntry("node", 0, 4, 1, 6, 1));
+
+        table.Entries.Should().ContainSingle();
+        table.FindByPosition(0, 5, 1)!.NodeId.Should().Be("node");
+    }
+
+    [Fact]
+    public void MappingTable_RoundTrips_ThroughItsSerializedForm()
+    {
+        var table = new MappingTable();
+        table.Add(new MappingEntry("b", 1, 40, 5, 44, 6));
+        table.Add(new MappingEntry("a", 0, 12, 9, 30, 10));
+        table.Add(new MappingEntry("c", 1, 7, 5, 9, 6));
+
+        using var stream = new MemoryStream();
+        table.Write(stream);
+        stream.Position = 0;
+        var read = MappingTable.Read(stream);
+
+        read.Entries.Should().BeEquivalentTo(table.Entries);
+        read.FindByPosition(1, 42, 1)!.NodeId.Should().Be("b");
+    }
+
+    [Fact]
+    public void MappingTable_RoundTrips_SourcePaths_AndFindsBySourcePath()
+    {
+        var table = new MappingTable();
+        table.Add(new MappingEntry("a", 0, 3, 5, 8, 6));
+        table.Add(new MappingEntry("b", 1, 3, 5, 8, 6));
+        table.SetSourcePaths(["generated_0.cs", "generated_1.cs"]);
+
+        using var stream = new MemoryStream();
+        table.Write(stream);
+        stream.Position = 0;
+        var read = MappingTable.Read(stream);
+
+        read.SourcePaths.Should().Equal("generated_0.cs", "generated_1.cs");
+        read.IndexOfSource("generated_1.cs").Should().Be(1);
+        read.FindByPosition("generated_1.cs", 4, 1)!.NodeId.Should().Be("b");
+        read.FindByPosition(Path.Combine("obj", "generated_0.cs"), 4, 1)!.NodeId.Should().Be("a");
+        read.FindByPosition("generated_2.cs", 4, 1).Should().BeNull();
+    }
+
+    [Fact]
+    public void Translate_RecordsTheGeneratedSpanOfEachFunction()
+    {
+        var result = new LoweredAstToRoslynTranslator().Translate(CreateAssembly("First", "Second"));
+        result.Diagnostics.Should().BeEmpty();
+        result.Mapping.SetSourcePaths(["generated_0.cs", "generated_1.cs"]);
+
+        var tree = CSharpSyntaxTree.ParseText(result.Sources[1]);
+        var method = tree.GetRoot().DescendantNodes().OfType<MethodDeclarationSyntax>()
+            .Single(m => m.Identifier.Text == "answer");
+        var span = tree.GetLineSpan(method.Span);
+        int startLine = span.StartLinePosition.Line + 1, startColumn = span.StartLinePosition.Character + 1;
+        int endLine = span.EndLinePosition.Line + 1, endColumn = span.EndLinePosition.Character + 1;
+
+        var entry = result.Mapping.FindByPosition("generated_1.cs", startLine, startColumn);
+
+        entry.Should().NotBeNull();
+        entry!.NodeId.Should().StartWith("func_answer_1_");
+        entry.Should().Be(new MappingEntry(entry.NodeId, 1, startLine, startColumn, endLine, endColumn));
+        result.Mapping.FindByNodeId(entry.NodeId).Should().Be(entry);
+        result.Mapping.FindByPosition("generated_1.cs", endLine, endColumn).Should().Be(entry);
+        result.Mapping.FindByPosition("generated_0.cs", startLine, startColumn)!.NodeId.Should().StartWith("func_answer_0_");
+    }
+
+    [Fact]
+    public void MappingTable_Read_RejectsOtherData()
+    {
+        using var stream = new MemoryStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+        var act = () => MappingTable.Read(stream);
+
+        act.Should().Throw<InvalidDataException>();
+    }
+
+    private static ast.AssemblyDef CreateAssembly(params string[] moduleNames)
+    {
+        var intType = new ast_model.TypeSystem.FifthType.TType { Name = ast_model.TypeSystem.TypeName.From("int") };
+        var voidType = new ast_model.TypeSystem.FifthType.TVoidType { Name = ast_model.TypeSystem.TypeName.From("void") };
+
+        ast.ModuleDef CreateModule(string name) => new()
+        {
+            Annotations = new Dictionary<string, object>(),
+            OriginalModuleName = $"{name}.5th",
+            NamespaceDecl = ast.NamespaceName.From(name),
+            Classes = [],
+            Functions =
+            [
+                new ast.FunctionDef
+                {
+                    Name = ast.MemberName.From("answer"),
+                    TypeParameters = [],
+                    Params = [],
+                    Body = new ast.BlockStatement
+                    {
+                        Statements =
+                        [
+                            new ast.ReturnStatement
+                            {
+                                ReturnValue = new ast.Int32LiteralExp
+                                {
+                                    Value = 42,
+                                    Annotations = new Dictionary<string, object>(),
+                                    Type = intType,
+                                    Parent = null
+                                },
+                                Annotations = new Dictionary<string, object>(),
+                                Type = voidType,
+                                Parent = null
+                            }
+                        ],
+                        Annotations = new Dictionary<string, object>(),
+                        Type = voidType,
+                        Parent = null
+                    },
+                    ReturnType = intType,
+                    IsStatic = true,
+                    IsConstructor = false,
+                    Annotations = new Dictionary<string, object>(),
+                    Type = intType,
+                    Parent = null,
+                    Visibility = ast.Visibility.Public
+                }
+            ],
+            Type = voidType,
+            Parent = null,
+            Visibility = ast.Visibility.Public
+        };
+
+        return new ast.AssemblyDef
+        {
+            Annotations = new Dictionary<string, object>(),
+            Name = ast.AssemblyName.From("MappingAssembly"),
+            PublicKeyToken = "",
+            Version = "0.0.0",
+            TestProperty = "",
+            AssemblyRefs = [],
+            Modules = moduleNames.Select(CreateModule).ToList(),
+            Type = voidType,
+            Parent = null,
+            Visibility = ast.Visibility.Public
+        };
+    }
 }
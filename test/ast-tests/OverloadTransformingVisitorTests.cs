@@ -78,4 +78,75 @@ public class OverloadTransformingVisitorTests : VisitorTestsBase
     cd.MemberDefs.Should().Contain(m => m.Name == "Test1_subclause1");
     cd.MemberDefs.Should().Contain(m => m.Name == "Test1_subclause2");
     }
+
+    [Fact]
+    public void GenerateModuleGuardFunction_DisjointIntegerGuards_ShouldEmitDecisionTree()
+    {
+        // Arrange
+        var visitor = new OverloadTransformingVisitor();
+        var clauses = new List<(Expression?, MethodDef)>
+        {
+            GuardedClause("f_subclause1", Compare("n", Operator.Equal, 0)),
+            GuardedClause("f_subclause2", And(Compare("n", Operator.GreaterThanOrEqual, 1), Compare("n", Operator.LessThanOrEqual, 9))),
+            GuardedClause("f_subclause3", Compare("n", Operator.Equal, 10)),
+            GuardedClause("f_subclause4", Compare("n", Operator.GreaterThan, 10)),
+            GuardedClause("f_subclause5", null)
+        };
+
+        // Act
+        var statements = visitor.GenerateDispatchStatements(clauses[0].Item2.FunctionDef.Params, clauses);
+
+        // Assert
+        statements.Should().HaveCount(2);
+        var root = statements[0].Should().BeOfType<IfElseStatement>().Subject;
+        root.ElseBlock.Should().NotBeNull();
+        var pivot = root.Condition.Should().BeOfType<BinaryExp>().Subject;
+        pivot.Operator.Should().Be(Operator.LessThan);
+        ((Int32LiteralExp)pivot.RHS).Value.Should().Be(10);
+        CalledSubclauses(root.ThenBlock).Should().Equal("f_subclause1", "f_subclause2");
+        CalledSubclauses(root.ElseBlock).Should().Equal("f_subclause3", "f_subclause4");
+        var fallback = statements[1].Should().BeOfType<ReturnStatement>().Subject;
+        ((FuncCallExp)fallback.ReturnValue).FunctionDef.Name.Value.Should().Be("f_subclause5");
+    }
+
+    [Fact]
+    public void GenerateModuleGuardFunction_OverlappingGuards_ShouldKeepLinearChain()
+    {
+        // Arrange
+        var visitor = new OverloadTransformingVisitor();
+        var clauses = new List<(Expression?, MethodDef)>
+        {
+            GuardedClause("f_subclause1", Compare("n", Operator.LessThan, 0)),
+            GuardedClause("f_subclause2", Compare("n", Operator.LessThan, 10)),
+            GuardedClause("f_subclause3", Compare("n", Operator.LessThan, 100)),
+            GuardedClause("f_subclause4", Compare("n", Operator.LessThan, 1000)),
+            GuardedClause("f_subclause5", null)
+        };
+
+        // Act
+        var statements = visitor.GenerateDispatchStatements(clauses[0].Item2.FunctionDef.Params, clauses);
+
+        // Assert
+        statements.Should().HaveCount(5);
+        statements.Take(4).Should().AllBeOfType<IfElseStatement>();
+        statements.Take(4).Cast<IfElseStatement>().Select(s => s.Condition)
+            .Should().Equal(clauses.Take(4).Select(c => c.Item1));
+    }
+
+    private (Expression?, MethodDef) GuardedClause(string name, Expression? precondition)
+    {
+        var methodDef = CreateMethodDef(name, "int");
+        methodDef.FunctionDef.Params = [CreateParamDef("n", "int", precondition)];
+        return (precondition, methodDef);
+    }
+
+    private static BinaryExp Compare(string varName, Operator op, int value)
+        => new BinaryExp { LHS = new VarRefExp { VarName = varName }, Operator = op, RHS = new Int32LiteralExp { Value = value } };
+
+    private static BinaryExp And(Expression lhs, Expression rhs)
+        => new BinaryExp { LHS = lhs, Operator = Operator.LogicalAnd, RHS = rhs };
+
+    private static IEnumerable<string> CalledSubclauses(BlockStatement block)
+        => block.Statements.Cast<IfElseStatement>()
+            .Select(s => ((FuncCallExp)((ReturnStatement)s.ThenBlock.Statements[0]).ReturnValue).FunctionDef.Name.Value);
 }
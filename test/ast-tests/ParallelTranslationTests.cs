@@ -0,0 +1,92 @@
+using FluentAssertions;
+using compiler;
+using test_infra;
+
+namespace ast_tests;
+
+/// <summary>
+/// Tests that translating the modules of an assembly concurrently gives the same output as translating them
+/// one after another.
+/// </summary>
+public class ParallelTranslationTests
+{
+    private static readonly ast_model.TypeSystem.FifthType VoidType = new ast_model.TypeSystem.FifthType.TVoidType
+    {
+        Name = ast_model.TypeSystem.TypeName.From("void")
+    };
+
+    /// <summary>
+    /// Every module declares the same class, function and closure names, so any per-module translator state
+    /// that leaked between concurrent modules would show up in the sources or the mapping ids.
+    /// </summary>
+    private static ast.ModuleDef CreateModule(int index)
+    {
+        var source = $$"""
+            namespace Module{{index}};
+
+            class Point {
+                X: int;
+                Y: int;
+            }
+
+            scale(p: Point, k: int): int {
+                f: [int] -> int = fun(x: int): int { return x * k + {{index}}; };
+                return f(p.X) + f(p.Y);
+            }
+            """;
+
+        var result = ParseHarness.ParseString(source);
+        var module = result.Root!.Modules.Single();
+        module.Classes.Should().Contain(c => c.Name.Value == "Point");
+        module.Classes.Should().Contain(c => c.Name.Value.StartsWith("__lambda_closure_"), "the fixture must be lowered");
+        return module;
+    }
+
+    private static ast.AssemblyDef CreateAssembly(int moduleCount) => new()
+    {
+        Annotations = new Dictionary<string, object>(),
+        Name = ast.AssemblyName.From("ParallelAssembly"),
+        PublicKeyToken = "",
+        Version = "0.0.0",
+        TestProperty = "",
+        AssemblyRefs = [],
+        Modules = Enumerable.Range(0, moduleCount).Select(CreateModule).ToList(),
+        Type = VoidType,
+        Parent = null,
+        Visibility = ast.Visibility.Public
+    };
+
+    [Fact]
+    public void ParallelTranslation_MatchesSerialTranslation()
+    {
+        var assembly = CreateAssembly(16);
+
+        var serial = new LoweredAstToRoslynTranslator().Translate(assembly, new TranslatorOptions { MaxDegreeOfParallelism = 1 });
+        var parallel = new LoweredAstToRoslynTranslator().Translate(assembly, new TranslatorOptions());
+
+        serial.Diagnostics.Should().BeEmpty();
+        parallel.Diagnostics.Should().BeEmpty();
+        parallel.Sources.Should().Equal(serial.Sources);
+        parallel.Mapping.Entries.Select(e => e.NodeId).Should().Equal(serial.Mapping.Entries.Select(e => e.NodeId));
+        parallel.Mapping.Entries.Should().Equal(serial.Mapping.Entries);
+
+        serial.Mapping.Entries.Select(e => e.NodeId).Should().OnlyHaveUniqueItems();
+        for (var i = 0; i < 16; i++)
+        {
+            serial.Mapping.Entries.Should().Contain(e => e.SourceIndex == i && e.NodeId.StartsWith("func_scale_"));
+        }
+    }
+
+    [Fact]
+    public void ParallelTranslation_KeepsModuleOrder()
+    {
+        var result = new LoweredAstToRoslynTranslator().Translate(CreateAssembly(8), new TranslatorOptions());
+
+        result.Sources.Should().HaveCount(8);
+        for (var i = 0; i < 8; i++)
+        {
+            result.Sources[i].Should().Contain($"namespace Module{i}");
+            result.Sources[i].Should().Contain("class Point");
+        }
+    }
+}
@@ -17,10 +17,10 @@ public class TransformationPipelineTests
     #region Default Pipeline Structure Tests
 
     [Fact]
-    public void DefaultPipeline_HasExpected38Phases()
+    public void DefaultPipeline_HasExpected39Phases()
     {
         var pipeline = TransformationPipeline.CreateDefault();
-        pipeline.Phases.Should().HaveCount(38);
+        pipeline.Phases.Should().HaveCount(39);
     }
 
     [Fact]
@@ -61,9 +61,9 @@ public class TransformationPipelineTests
     }
 
     [Fact]
-    public void DefaultPipelineOptions_TailCallOptimizationIsSkipped()
+    public void DefaultPipelineOptions_TailCallOptimizationIsEnabled()
     {
-        PipelineOptions.Default.SkipPhases.Should().Contain("TailCallOptimization");
+        PipelineOptions.Default.SkipPhases.Should().NotContain("TailCallOptimization");
     }
 
     #endregion
@@ -77,15 +77,74 @@ public class TransformationPipelineTests
     }
 
     [Fact]
-    public void PipelineOptionsDefault_SkipPhasesContainsOnlyTailCallOptimization()
+    public void PipelineOptionsDefault_SkipPhasesIsEmpty()
     {
-        PipelineOptions.Default.SkipPhases.Should().BeEquivalentTo(new[] { "TailCallOptimization" });
+        PipelineOptions.Default.SkipPhases.Should().BeEmpty();
     }
 
     [Fact]
     public void PipelineOptionsDefault_StopAfterIsNull()
     {
         PipelineOptions.Default.StopAfter.Should().BeNull();
+        PipelineOptions.Default.StopAfterCapabilities.Should().BeNull();
+    }
+
+    #endregion
+
+    #region StopAfterCapabilities Tests
+
+    [Fact]
+    public void StopAfterCapabilities_StopsOnceEveryCapabilityIsProvided()
+    {
+        var pipeline = new TransformationPipeline();
+        pipeline.RegisterPhase(new MockPhase { Name = "Phase1", ProvidedCapabilities = new[] { "Cap1" } });
+        pipeline.RegisterPhase(new MockPhase { Name = "Phase2", ProvidedCapabilities = new[] { "Cap2" } });
+        pipeline.RegisterPhase(new MockPhase { Name = "Phase3", ProvidedCapabilities = new[] { "Cap3" } });
+
+        var result = pipeline.Execute(CreateMinimalAst(), new PipelineOptions
+        {
+            StopAfterCapabilities = new HashSet<string> { "Cap2", "Cap1" }
+        });
+
+        result.Success.Should().BeTrue();
+        result.PhaseTimings.Keys.Should().BeEquivalentTo(new[] { "Phase1", "Phase2" });
+    }
+
+    [Fact]
+    public void StopAfterCapabilities_ThrowsForCapabilityNoPhaseProvides()
+    {
+        var pipeline = new TransformationPipeline();
+        pipeline.RegisterPhase(new MockPhase { Name = "Phase1", ProvidedCapabilities = new[] { "Cap1" } });
+
+        var act = () => pipeline.Execute(CreateMinimalAst(), new PipelineOptions
+        {
+            StopAfterCapabilities = new HashSet<string> { "Missing" }
+        });
+
+        act.Should().Throw<ArgumentException>().WithMessage("*Missing*");
+    }
+
+    [Fact]
+    public void DeclarationsOnly_StopsAfterTypeAnnotationInDefaultPipeline()
+    {
+        var pipeline = TransformationPipeline.CreateDefault();
+
+        pipeline.GetCapabilitiesAfter("TypeAnnotation")
+            .Should().Contain(PipelineOptions.DeclarationsOnly.StopAfterCapabilities!);
+        pipeline.GetCapabilitiesAfter("VarRefResolver")
+            .Should().NotContain("Types");
+    }
+
+    [Fact]
+    public void EditorDiagnostics_SkipsOnlyLoweringPhasesAfterTypeAnnotation()
+    {
+        var pipeline = TransformationPipeline.CreateDefault();
+        var names = pipeline.Phases.Select(p => p.Name).ToList();
+        var skipped = PipelineOptions.EditorDiagnostics.SkipPhases;
+
+        names.Should().Contain(skipped);
+        skipped.Should().OnlyContain(name => names.IndexOf(name) > names.IndexOf("TypeAnnotation"));
+        skipped.Should().NotContain(name => name.EndsWith("Validation") || name.EndsWith("TypeCheck"));
     }
 
     #endregion
@@ -254,7 +313,7 @@ public class TransformationPipelinePropertyTests
         var pipeline = TransformationPipeline.CreateDefault();
 
         // Expected phase count
-        if (pipeline.Phases.Count != 38)
+        if (pipeline.Phases.Count != 39)
             return false;
 
         // All names unique
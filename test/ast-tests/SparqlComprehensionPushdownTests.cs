@@ -0,0 +1,123 @@
+using ast;
+using compiler.LanguageTransformations;
+using FluentAssertions;
+
+namespace ast_tests;
+
+public class SparqlComprehensionPushdownTests
+{
+    private static MemberAccessExp Row(string property) => new()
+    {
+        LHS = new VarRefExp { VarName = "x" },
+        RHS = new VarRefExp { VarName = property }
+    };
+
+    private static MemberAccessExp IntParse(Expression argument) => new()
+    {
+        LHS = new VarRefExp { VarName = "int" },
+        RHS = new FuncCallExp
+        {
+            InvocationArguments = [argument],
+            Annotations = new AnnotationMap { FunctionName = "Parse" }
+        }
+    };
+
+    private static ListComprehension Comprehension(Expression projection, params Expression[] constraints) => new()
+    {
+        Projection = projection,
+        Source = new VarRefExp { VarName = "result" },
+        VarName = "x",
+        Constraints = constraints.ToList()
+    };
+
+    [Fact]
+    public void StringEquality_BecomesGuardedFilter()
+    {
+        var pushdown = SparqlComprehensionPushdown.Translate(Comprehension(
+            Row("age"),
+            new BinaryExp { LHS = Row("name"), Operator = Operator.Equal, RHS = new StringLiteralExp { Value = "Al\"ice" } }));
+
+        pushdown.Filter.Should().Be("COALESCE(IF(isLITERAL(?name), STR(?name) = \"Al\\\"ice\", true), true)");
+        pushdown.Variables.Should().Be("age name");
+    }
+
+    [Fact]
+    public void IntParseComparison_WithLiteralOnTheLeft_IsMirrored()
+    {
+        var pushdown = SparqlComprehensionPushdown.Translate(Comprehension(
+            Row("age"),
+            new BinaryExp { LHS = new Int32LiteralExp { Value = 25 }, Operator = Operator.LessThan, RHS = IntParse(Row("age")) }));
+
+        pushdown.Filter.Should().Contain("isLITERAL(?age) && REGEX(STR(?age), ")
+            .And.Contain("<http://www.w3.org/2001/XMLSchema#integer>(STR(?age)) > 25");
+        pushdown.Variables.Should().Be("age");
+    }
+
+    [Fact]
+    public void Conjunctions_PushOnlyTheTranslatableParts()
+    {
+        var pushdown = SparqlComprehensionPushdown.Translate(Comprehension(
+            Row("name"),
+            new BinaryExp
+            {
+                LHS = new BinaryExp { LHS = Row("name"), Operator = Operator.NotEqual, RHS = new StringLiteralExp { Value = "Bob" } },
+                Operator = Operator.LogicalAnd,
+                RHS = new BinaryExp { LHS = Row("name"), Operator = Operator.LessThan, RHS = new StringLiteralExp { Value = "M" } }
+            }));
+
+        pushdown.Filter.Should().Be("COALESCE(IF(isLITERAL(?name), STR(?name) != \"Bob\", true), true)");
+    }
+
+    [Fact]
+    public void LaterConjuncts_AreGuardedByTheConjunctsBeforeThem()
+    {
+        // A row whose b does not parse must still reach int.Parse, whatever its a is
+        var pushdown = SparqlComprehensionPushdown.Translate(Comprehension(
+            Row("a"),
+            new BinaryExp
+            {
+                LHS = new BinaryExp { LHS = IntParse(Row("b")), Operator = Operator.GreaterThan, RHS = new Int32LiteralExp { Value = 3 } },
+                Operator = Operator.LogicalAnd,
+                RHS = new BinaryExp { LHS = Row("a"), Operator = Operator.Equal, RHS = new StringLiteralExp { Value = "q" } }
+            }));
+
+        var filters = pushdown.Filter.Split(" && COALESCE");
+        filters.Should().HaveCount(2);
+        filters[0].Should().NotContain("?a");
+        filters[1].Should().StartWith("(IF(isLITERAL(?b) && REGEX(STR(?b), ")
+            .And.Contain("&& isLITERAL(?a), STR(?a) = \"q\", true), true)");
+    }
+
+    [Fact]
+    public void ConjunctsAfterAnUntranslatableOne_AreNotPushed()
+    {
+        var pushdown = SparqlComprehensionPushdown.Translate(Comprehension(
+            Row("name"),
+            new BinaryExp { LHS = Row("name"), Operator = Operator.Equal, RHS = Row("nick") },
+            new BinaryExp { LHS = Row("name"), Operator = Operator.Equal, RHS = new StringLiteralExp { Value = "Alice" } }));
+
+        pushdown.Filter.Should().BeEmpty();
+    }
+
+    [Fact]
+    public void RowVariableUsedDirectly_KeepsTheProjection()
+    {
+        var pushdown = SparqlComprehensionPushdown.Translate(Comprehension(
+            new VarRefExp { VarName = "x" },
+            new BinaryExp { LHS = Row("name"), Operator = Operator.Equal, RHS = new StringLiteralExp { Value = "Alice" } }));
+
+        pushdown.Variables.Should().BeEmpty();
+        pushdown.Filter.Should().NotBeEmpty();
+    }
+
+    [Fact]
+    public void UntranslatableConstraints_ProduceNoFilter()
+    {
+        var pushdown = SparqlComprehensionPushdown.Translate(Comprehension(
+            Row("name"),
+            new BinaryExp { LHS = Row("name"), Operator = Operator.Equal, RHS = Row("nick") }));
+
+        pushdown.Filter.Should().BeEmpty();
+        pushdown.Variables.Should().Be("name nick");
+    }
+}
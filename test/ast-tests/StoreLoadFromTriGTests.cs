@@ -252,4 +252,93 @@ public class StoreLoadFromTriGTests
         var vdsGraph = graph.ToVds();
         vdsGraph.Triples.Count.Should().Be(2, "Whitespace should not affect triple count");
     }
+
+    [Fact]
+    public void LoadFromFrozenTriG_ShouldMatchLoadFromTriG()
+    {
+        // Arrange
+        var trigContent = @"
+            @prefix ex: <http://example.org/> .
+            
+            ex:graph1 {
+                ex:Andrew ex:name ""Andrew"" ;
+                         ex:age 42 .
+            }
+            ex:graph2 { ex:Item ex:value ""test"" . }
+        ";
+
+        // Act
+        var parsed = Store.LoadFromTriG(trigContent);
+        var frozen = Store.LoadFromFrozenTriG(trigContent);
+
+        // Assert
+        foreach (var uri in new[] { "http://example.org/graph1", "http://example.org/graph2" })
+        {
+            var expected = parsed.LoadGraph(new Uri(uri)).ToVds();
+            var actual = frozen.LoadGraph(new Uri(uri)).ToVds();
+            actual.Triples.Count.Should().Be(expected.Triples.Count);
+            actual.Equals(expected).Should().BeTrue($"graph {uri} should be identical");
+        }
+    }
+
+    [Fact]
+    public void LoadFromFrozenTriG_RepeatedEvaluation_ShouldReturnIndependentStores()
+    {
+        // Arrange
+        var trigContent = @"
+            @prefix ex: <http://example.org/> .
+            ex:frozen { ex:Item ex:value ""test"" . }
+        ";
+        var graphUri = new Uri("http://example.org/frozen");
+        var first = Store.LoadFromFrozenTriG(trigContent);
+
+        // Act - mutate the first store's graph in place and drop it from the store
+        var tripleStore = first.GetTripleStore()!;
+        var vdsGraph = tripleStore.Graphs.First(g => g.Name is IUriNode n && n.Uri == graphUri);
+        vdsGraph.Assert(new VDS.RDF.Triple(
+            vdsGraph.CreateUriNode(new Uri("http://example.org/Other")),
+            vdsGraph.CreateUriNode(new Uri("http://example.org/value")),
+            vdsGraph.CreateLiteralNode("other")));
+        first.DeleteGraph(graphUri);
+        var second = Store.LoadFromFrozenTriG(trigContent);
+
+        // Assert
+        second.LoadGraph(graphUri).ToVds().Triples.Count.Should().Be(1);
+    }
+
+    [Fact]
+    public void LoadFromFrozenTriG_MergingTwoEvaluations_ShouldKeepBlankNodesDistinct()
+    {
+        // Arrange
+        var trigContent = @"
+            @prefix ex: <http://example.org/> .
+            ex:bnodes { _:item ex:value ""test"" ; ex:label ""item"" . }
+        ";
+        var graphUri = new Uri("http://example.org/bnodes");
+        VDS.RDF.IGraph Evaluate() =>
+            Store.LoadFromFrozenTriG(trigContent).GetTripleStore()!.Graphs.First(g => g.Name is IUriNode n && n.Uri == graphUri);
+
+        // Act
+        var first = Evaluate();
+        var second = Evaluate();
+        var merged = Fifth.System.Graph.FromVds(first) + Fifth.System.Graph.FromVds(second);
+
+        // Assert
+        first.Triples.Select(t => t.Subject).Distinct().Should().HaveCount(1, "one evaluation keeps a single blank node");
+        merged.Count.Should().Be(4, "each evaluation has its own blank node, as LoadFromTriG would give");
+    }
+
+    [Fact]
+    public void LoadFromFrozenTriG_WithInvalidTriG_ShouldThrowOnEveryEvaluation()
+    {
+        // Arrange
+        var trigContent = "@prefix ex: <http://example.org/> . ex:g { ex:Item ex:value ";
+
+        // Act
+        var act = () => Store.LoadFromFrozenTriG(trigContent);
+
+        // Assert
+        act.Should().Throw<Exception>();
+        act.Should().Throw<Exception>("failed parses must not be cached");
+    }
 }
@@ -293,6 +293,118 @@ public class SystemKGTypesTests
         graph.Count.Should().Be(1);
     }
     
+    [Fact]
+    public void Graph_PlusTriple_Chained_EachVersionKeepsItsTriples()
+    {
+        var t1 = Triple.Create(CreateUri("http://ex/s1"), CreateUri("http://ex/p"), CreateLiteral("v1"));
+        var t2 = Triple.Create(CreateUri("http://ex/s2"), CreateUri("http://ex/p"), CreateLiteral("v2"));
+        var t3 = Triple.Create(CreateUri("http://ex/s3"), CreateUri("http://ex/p"), CreateLiteral("v3"));
+        
+        var g1 = Graph.Create() + t1;
+        var g2 = g1 + t2;
+        var g3 = g2 + t3;
+        var g4 = g3 - t1;
+        
+        g1.Count.Should().Be(1);
+        g2.Count.Should().Be(2);
+        g3.Count.Should().Be(3);
+        g4.Count.Should().Be(2);
+        g4.Triples.Should().NotContain(t1);
+        (g3 + t2).Count.Should().Be(3); // Set semantics
+    }
+    
+    [Fact]
+    public void Graph_PlusTriple_IndexedLookupsBySubjectPredicateObject()
+    {
+        var s1 = CreateUri("http://ex/s1");
+        var p1 = CreateUri("http://ex/p1");
+        var p2 = CreateUri("http://ex/p2");
+        var o = CreateLiteral("v");
+        var t1 = Triple.Create(s1, p1, o);
+        var t2 = Triple.Create(s1, p2, CreateLiteral("w"));
+        var t3 = Triple.Create(CreateUri("http://ex/s2"), p1, o);
+        
+        var g = Graph.Create() + t1 + t2 + t3;
+        
+        g.GetTriplesWithSubject(s1).Should().HaveCount(2).And.Contain(new[] { t1, t2 });
+        g.GetTriplesWithPredicate(p1).Should().HaveCount(2).And.Contain(new[] { t1, t3 });
+        g.GetTriplesWithObject(o).Should().HaveCount(2).And.Contain(new[] { t1, t3 });
+        (g - t1).GetTriplesWithPredicate(p1).Should().HaveCount(1).And.Contain(new[] { t3 });
+    }
+    
+    [Fact]
+    public void Graph_PlusTriple_ToVds_MaterializesAndStaysLive()
+    {
+        var t1 = Triple.Create(CreateUri("http://ex/s1"), CreateUri("http://ex/p"), CreateLiteral("v1"));
+        var t2 = Triple.Create(CreateUri("http://ex/s2"), CreateUri("http://ex/p"), CreateLiteral("v2"));
+        var g = Graph.Create() + t1;
+        
+        var vds = g.ToVds();
+        vds.Triples.Count.Should().Be(1);
+        
+        g.Add(t2);
+        vds.Triples.Count.Should().Be(2);
+        object.ReferenceEquals(vds, g.ToVds()).Should().BeTrue();
+    }
+    
+    [Fact]
+    public void Graph_AddRange_AddsAllTriplesWithSetSemantics()
+    {
+        var t1 = Triple.Create(CreateUri("http://ex/s1"), CreateUri("http://ex/p"), CreateLiteral("v1"));
+        var t2 = Triple.Create(CreateUri("http://ex/s2"), CreateUri("http://ex/p"), CreateLiteral("v2"));
+        var g = Graph.Create();
+        
+        g.AddRange(new[] { t1, t2, t1 });
+        
+        g.Count.Should().Be(2);
+    }
+    
+    [Fact]
+    public void Graph_AddRange_OnPersistentGraph_LeavesEarlierVersionUnchanged()
+    {
+        var t1 = Triple.Create(CreateUri("http://ex/s1"), CreateUri("http://ex/p"), CreateLiteral("v1"));
+        var t2 = Triple.Create(CreateUri("http://ex/s2"), CreateUri("http://ex/p"), CreateLiteral("v2"));
+        var t3 = Triple.Create(CreateUri("http://ex/s3"), CreateUri("http://ex/p"), CreateLiteral("v3"));
+        var g1 = Graph.Create() + t1;
+        var g2 = g1 + t2;
+        
+        g2.AddRange(new[] { t3 });
+        
+        g1.Count.Should().Be(1);
+        g2.Count.Should().Be(3);
+        g2.GetTriplesWithSubject(CreateUri("http://ex/s3")).Should().HaveCount(1);
+    }
+    
+    [Fact]
+    public void Graph_RemoveRange_RemovesOnlyListedTriples()
+    {
+        var t1 = Triple.Create(CreateUri("http://ex/s1"), CreateUri("http://ex/p"), CreateLiteral("v1"));
+        var t2 = Triple.Create(CreateUri("http://ex/s2"), CreateUri("http://ex/p"), CreateLiteral("v2"));
+        var t3 = Triple.Create(CreateUri("http://ex/s3"), CreateUri("http://ex/p"), CreateLiteral("v3"));
+        var g = Graph.Create();
+        g.AddRange(new[] { t1, t2, t3 });
+        
+        g.RemoveRange(new[] { t1, t3 });
+        
+        g.Count.Should().Be(1);
+        g.GetTriplesWithSubject(CreateUri("http://ex/s2")).Should().HaveCount(1);
+    }
+    
+    [Fact]
+    public void Graph_DifferenceInPlace_WithItself_EmptiesGraph()
+    {
+        var g = Graph.Create();
+        g.AddRange(new[]
+        {
+            Triple.Create(CreateUri("http://ex/s1"), CreateUri("http://ex/p"), CreateLiteral("v1")),
+            Triple.Create(CreateUri("http://ex/s2"), CreateUri("http://ex/p"), CreateLiteral("v2"))
+        });
+        
+        g.DifferenceInPlace(g);
+        
+        g.Count.Should().Be(0);
+    }
+    
     #endregion
     
     #region Store Tests
@@ -370,5 +482,69 @@ public class SystemKGTypesTests
         vdsStore.Should().NotBeNull();
     }
     
+    [Fact]
+    public void Store_PlusGraph_LeavesOriginalStoreUnchanged()
+    {
+        var store = Store.CreateInMemory();
+        var graph = store.CreateGraph(new Uri("http://example.org/graph"));
+        graph.Add(Triple.Create(CreateUri("http://ex/s"), CreateUri("http://ex/p"), CreateLiteral("v")));
+        
+        var result = store + graph;
+        
+        object.ReferenceEquals(store, result).Should().BeFalse();
+        store.GetTripleStore()!.Graphs.Any(g => g.BaseUri == graph.BaseUri).Should().BeFalse();
+        result.LoadGraph(new Uri("http://example.org/graph")).Count.Should().Be(1);
+    }
+    
+    [Fact]
+    public void Store_PlusGraph_SharesUnchangedGraphsBetweenDerivedStores()
+    {
+        var empty = Store.CreateInMemory();
+        var g1 = empty.CreateGraph(new Uri("http://example.org/g1"));
+        g1.Add(Triple.Create(CreateUri("http://ex/s1"), CreateUri("http://ex/p"), CreateLiteral("v1")));
+        var g2 = empty.CreateGraph(new Uri("http://example.org/g2"));
+        g2.Add(Triple.Create(CreateUri("http://ex/s2"), CreateUri("http://ex/p"), CreateLiteral("v2")));
+        var g3 = empty.CreateGraph(new Uri("http://example.org/g3"));
+        g3.Add(Triple.Create(CreateUri("http://ex/s3"), CreateUri("http://ex/p"), CreateLiteral("v3")));
+        
+        var s1 = empty + g1;
+        var s2 = s1 + g2;
+        var s3 = s2 + g3;
+        
+        var inS2 = s2.GetTripleStore()!.Graphs.Single(g => g.BaseUri == g1.BaseUri);
+        var inS3 = s3.GetTripleStore()!.Graphs.Single(g => g.BaseUri == g1.BaseUri);
+        object.ReferenceEquals(inS2, inS3).Should().BeTrue();
+        s3.GetTripleStore()!.Graphs.Should().Contain(g => g.BaseUri == g3.BaseUri);
+    }
+    
+    [Fact]
+    public void Store_PlusGraph_DerivedStoreIsIsolatedFromLaterGraphMutation()
+    {
+        var store = Store.CreateInMemory();
+        var g1 = store.CreateGraph(new Uri("http://example.org/g1"));
+        g1.Add(Triple.Create(CreateUri("http://ex/s1"), CreateUri("http://ex/p"), CreateLiteral("v1")));
+        store.SaveGraph(g1);
+        
+        var derived = store + store.CreateGraph(new Uri("http://example.org/g2"));
+        g1.Add(Triple.Create(CreateUri("http://ex/s1"), CreateUri("http://ex/p"), CreateLiteral("v2")));
+        
+        derived.LoadGraph(new Uri("http://example.org/g1")).Count.Should().Be(1);
+    }
+    
+    [Fact]
+    public void Store_MinusGraph_RemovesGraphOnlyFromResult()
+    {
+        var graphUri = new Uri("http://example.org/graph");
+        var empty = Store.CreateInMemory();
+        var graph = empty.CreateGraph(graphUri);
+        graph.Add(Triple.Create(CreateUri("http://ex/s"), CreateUri("http://ex/p"), CreateLiteral("v")));
+        var store = empty + graph;
+        
+        var result = store - graph;
+        
+        result.GetTripleStore()!.Graphs.Any(g => g.BaseUri == graphUri).Should().BeFalse();
+        store.GetTripleStore()!.Graphs.Any(g => g.BaseUri == graphUri).Should().BeTrue();
+    }
+    
     #endregion
 }
@@ -0,0 +1,141 @@
+using ast;
+using ast_generated;
+using ast_model.TypeSystem;
+using compiler.LanguageTransformations;
+using FluentAssertions;
+
+namespace ast_tests;
+
+public class TailCallOptimizationRewriterTests : VisitorTestsBase
+{
+    [Fact]
+    public void SelfTailCall_ShouldBecomeLoopAndGuardTheRestOfTheBody()
+    {
+        // sum(n: int, acc: int): int { if (n > 0) { return sum(n - 1, acc + n); } return acc; }
+        var sum = CreateFunction("sum", "n", "acc");
+        sum.Body = Block(
+            new IfElseStatement
+            {
+                Condition = new BinaryExp { LHS = Var("n"), Operator = Operator.GreaterThan, RHS = Int(0) },
+                ThenBlock = Block(Return(Call("sum",
+                    new BinaryExp { LHS = Var("n"), Operator = Operator.ArithmeticSubtract, RHS = Int(1) },
+                    new BinaryExp { LHS = Var("acc"), Operator = Operator.ArithmeticAdd, RHS = Var("n") }))),
+                ElseBlock = null!
+            },
+            Return(Var("acc")));
+
+        var result = new TailCallOptimizationRewriter().VisitFunctionDef(sum);
+
+        result.Body.Statements.Should().HaveCount(2);
+        result.Body.Statements[0].Should().BeOfType<VarDeclStatement>()
+            .Which.VariableDecl.Name.Should().Be(TailCallOptimizationRewriter.ContinueVariableName);
+        var loop = result.Body.Statements[1].Should().BeOfType<WhileStatement>().Subject;
+        loop.Body.Statements.Should().HaveCount(3);
+
+        var jump = loop.Body.Statements[1].Should().BeOfType<IfElseStatement>().Subject.ThenBlock.Statements;
+        jump.OfType<VarDeclStatement>().Should().HaveCount(2, "both parameters change, so both need temporaries");
+        jump.OfType<AssignmentStatement>().Select(a => ((VarRefExp)a.LValue).VarName)
+            .Should().Equal("n", "acc", TailCallOptimizationRewriter.ContinueVariableName);
+        jump.Should().NotContain(s => s is ReturnStatement);
+
+        var rest = loop.Body.Statements[2].Should().BeOfType<IfElseStatement>().Subject;
+        ((BooleanLiteralExp)((BinaryExp)rest.Condition).RHS).Value.Should().BeFalse();
+        rest.ThenBlock.Statements.Should().ContainSingle().Which.Should().BeOfType<ReturnStatement>();
+    }
+
+    [Fact]
+    public void NonTailRecursion_ShouldBeLeftUnchanged()
+    {
+        // fact(n: int): int { if (n <= 1) { return 1; } return n * fact(n - 1); }
+        var fact = CreateFunction("fact", "n");
+        fact.Body = Block(
+            new IfElseStatement
+            {
+                Condition = new BinaryExp { LHS = Var("n"), Operator = Operator.LessThanOrEqual, RHS = Int(1) },
+                ThenBlock = Block(Return(Int(1))),
+                ElseBlock = null!
+            },
+            Return(new BinaryExp
+            {
+                LHS = Var("n"),
+                Operator = Operator.ArithmeticMultiply,
+                RHS = Call("fact", new BinaryExp { LHS = Var("n"), Operator = Operator.ArithmeticSubtract, RHS = Int(1) })
+            }));
+
+        var result = new TailCallOptimizationRewriter().VisitFunctionDef(fact);
+
+        result.Should().BeSameAs(fact);
+    }
+
+    [Fact]
+    public void MutuallyTailRecursiveFunctions_ShouldBeFusedIntoOneLoop()
+    {
+        var isEven = CreateFunction("is_even", "n");
+        isEven.Body = Block(
+            new IfElseStatement
+            {
+                Condition = new BinaryExp { LHS = Var("n"), Operator = Operator.Equal, RHS = Int(0) },
+                ThenBlock = Block(Return(Int(1))),
+                ElseBlock = null!
+            },
+            Return(Call("is_odd", new BinaryExp { LHS = Var("n"), Operator = Operator.ArithmeticSubtract, RHS = Int(1) })));
+        var isOdd = CreateFunction("is_odd", "n");
+        isOdd.Body = Block(
+            new IfElseStatement
+            {
+                Condition = new BinaryExp { LHS = Var("n"), Operator = Operator.Equal, RHS = Int(0) },
+                ThenBlock = Block(Return(Int(0))),
+                ElseBlock = null!
+            },
+            Return(Call("is_even", new BinaryExp { LHS = Var("n"), Operator = Operator.ArithmeticSubtract, RHS = Int(1) })));
+        var main = CreateFunction("main");
+        main.Body = Block(Return(Call("is_even", Int(10))));
+
+        var module = new ModuleDef
+        {
+            OriginalModuleName = "tco",
+            NamespaceDecl = NamespaceName.From("tco"),
+            Classes = [],
+            Functions = [isEven, isOdd, main],
+            Visibility = Visibility.Public
+        };
+
+        var result = (ModuleDef)new TailCallOptimizationRewriter().Visit(module);
+
+        var functions = result.Functions.Cast<FunctionDef>().ToList();
+        functions.Select(f => f.Name.Value).Should().Equal("is_even", "is_odd", "main", "_tco_group_is_even_is_odd");
+
+        var group = functions[3];
+        group.Params.Select(p => p.Name).Should().Equal(TailCallOptimizationRewriter.TargetParameterName, "_tco_0_n", "_tco_1_n");
+        group.Body.Statements[1].Should().BeOfType<WhileStatement>();
+
+        var entry = functions[0].Body.Statements.Last().Should().BeOfType<ReturnStatement>().Subject;
+        var call = entry.ReturnValue.Should().BeOfType<FuncCallExp>().Subject;
+        call.FunctionDef.Should().BeSameAs(group);
+        ((Int32LiteralExp)call.InvocationArguments[0]).Value.Should().Be(0);
+        ((VarRefExp)call.InvocationArguments[1]).VarName.Should().Be("n");
+
+        functions[2].Should().BeSameAs(main, "main only makes a non-recursive call");
+    }
+
+    private FunctionDef CreateFunction(string name, params string[] parameters)
+    {
+        var fd = CreateFunctionDef(name, "int");
+        fd.Params = parameters.Select(p => CreateParamDef(p, "int", null!)).ToList();
+        return fd;
+    }
+
+    private static BlockStatement Block(params Statement[] statements) => new() { Statements = statements.ToList() };
+
+    private static ReturnStatement Return(Expression value) => new() { ReturnValue = value };
+
+    private static VarRefExp Var(string name) => new() { VarName = name };
+
+    private static Int32LiteralExp Int(int value) => new() { Value = value };
+
+    private static FuncCallExp Call(string name, params Expression[] args) => new()
+    {
+        InvocationArguments = args.ToList(),
+        Annotations = new Dictionary<string, object> { ["FunctionName"] = name }
+    };
+}
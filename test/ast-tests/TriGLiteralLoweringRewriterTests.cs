@@ -311,4 +311,63 @@ public class TriGLiteralLoweringRewriterTests
         // Assert
         result.Node.Location.Should().Be(location, "Location information should be preserved for diagnostics");
     }
+
+    [Theory]
+    [InlineData("@prefix ex: <http://example.org/> .\nex:graph1 { ex:Item ex:value \"test\" . }", "LoadFromFrozenTriG")]
+    [InlineData("@prefix ex: <http://example.org/> .\nex:graph1 { ex:Item ex:value ", "LoadFromTriG")]
+    public void VisitTriGLiteralExpression_WithNoInterpolations_ShouldUseFrozenLoaderOnlyWhenContentParses(string content, string expectedMethod)
+    {
+        // Arrange
+        var rewriter = new TriGLiteralLoweringRewriter();
+        var trigLiteral = new TriGLiteralExpression
+        {
+            Content = content,
+            Interpolations = new List<InterpolatedExpression>(),
+            Type = new FifthType.TType { Name = TypeName.From("Store") },
+            Location = null,
+            Annotations = new Dictionary<string, object>()
+        };
+
+        // Act
+        var result = rewriter.VisitTriGLiteralExpression(trigLiteral);
+
+        // Assert
+        var funcCall = (FuncCallExp)result.Node;
+        funcCall.Annotations["ExternalType"].Should().Be(typeof(Fifth.System.Store));
+        funcCall.Annotations["ExternalMethodName"].Should().Be(expectedMethod);
+    }
+
+    [Fact]
+    public void VisitTriGLiteralExpression_WithInterpolations_ShouldParseAtRuntime()
+    {
+        // Arrange
+        var rewriter = new TriGLiteralLoweringRewriter();
+        var interpolation = new InterpolatedExpression
+        {
+            Expression = new VarRefExp
+            {
+                VarName = "name",
+                Type = new FifthType.TDotnetType(typeof(string)) { Name = TypeName.From("string") },
+                Annotations = new Dictionary<string, object>()
+            },
+            Position = 10,
+            Length = 20,
+            Location = null,
+            Annotations = new Dictionary<string, object>()
+        };
+        var trigLiteral = new TriGLiteralExpression
+        {
+            Content = "ex:Person ex:name {{__INTERP_0__}} .",
+            Interpolations = new List<InterpolatedExpression> { interpolation },
+            Type = new FifthType.TType { Name = TypeName.From("Store") },
+            Location = null,
+            Annotations = new Dictionary<string, object>()
+        };
+
+        // Act
+        var result = rewriter.VisitTriGLiteralExpression(trigLiteral);
+
+        // Assert
+        ((FuncCallExp)result.Node).Annotations["ExternalMethodName"].Should().Be("LoadFromTriG");
+    }
 }
@@ -0,0 +1,209 @@
+using ast;
+using ast_generated;
+using ast_model.TypeSystem;
+using compiler.LanguageTransformations;
+using FluentAssertions;
+
+namespace ast_tests;
+
+/// <summary>
+/// Tests for TripleBatchingRewriter - coalescing consecutive per-triple Assert/Retract
+/// calls emitted by TripleGraphAdditionLoweringRewriter into bulk AssertRange/RetractRange calls.
+/// </summary>
+public class TripleBatchingRewriterTests
+{
+    private static SourceLocationMetadata TestLocation => new(0, string.Empty, 0, string.Empty);
+
+    private static VarRefExp CreateGraphVarRef(string name)
+    {
+        return new VarRefExp
+        {
+            VarName = name,
+            Type = new FifthType.TType { Name = TypeName.From("graph") },
+            Location = TestLocation
+        };
+    }
+
+    private static TripleLiteralExp CreateTriple(string subjUri, string predUri, string objValue)
+    {
+        return new TripleLiteralExp
+        {
+            SubjectExp = new UriLiteralExp { Value = new System.Uri(subjUri) },
+            PredicateExp = new UriLiteralExp { Value = new System.Uri(predUri) },
+            ObjectExp = new StringLiteralExp { Value = objValue, Location = TestLocation },
+            Location = TestLocation
+        };
+    }
+
+    private static Statement CreateAugmentedAssignment(string graphName, TripleLiteralExp triple, Operator op = Operator.ArithmeticAdd)
+    {
+        return new AssignmentStatement
+        {
+            LValue = CreateGraphVarRef(graphName),
+            RValue = new BinaryExp
+            {
+                LHS = CreateGraphVarRef(graphName),
+                RHS = triple,
+                Operator = op,
+                Location = TestLocation
+            },
+            Location = TestLocation
+        };
+    }
+
+    private static Statement CreateKGCall(string graphName, string methodName, Expression arg)
+    {
+        return new ExpStatement
+        {
+            RHS = new MemberAccessExp
+            {
+                LHS = CreateGraphVarRef(graphName),
+                RHS = new FuncCallExp
+                {
+                    InvocationArguments = new List<Expression> { arg },
+                    Annotations = new Dictionary<string, object>
+                    {
+                        ["FunctionName"] = methodName,
+                        ["ExternalType"] = typeof(Fifth.System.KG),
+                        ["ExternalMethodName"] = methodName
+                    },
+                    Location = TestLocation
+                },
+                Location = TestLocation
+            },
+            Location = TestLocation
+        };
+    }
+
+    private static BlockStatement Lower(params Statement[] statements)
+    {
+        var block = new BlockStatement { Statements = statements.ToList(), Location = TestLocation };
+        var lowered = (BlockStatement)new TripleGraphAdditionLoweringRewriter().Rewrite(block).Node;
+        return (BlockStatement)new TripleBatchingRewriter().Rewrite(lowered).Node;
+    }
+
+    private static (string method, int argCount) DescribeCall(Statement statement)
+    {
+        statement.Should().BeOfType<ExpStatement>();
+        var access = (MemberAccessExp)((ExpStatement)statement).RHS;
+        var call = (FuncCallExp)access.RHS!;
+        return ((string)call.Annotations["ExternalMethodName"], call.InvocationArguments.Count);
+    }
+
+    [Fact]
+    public void ConsecutiveAdditionsToSameGraph_ShouldCoalesceIntoSingleAssertRange()
+    {
+        var result = Lower(
+            CreateAugmentedAssignment("g", CreateTriple("http://example.org/s1", "http://example.org/p", "o1")),
+            CreateAugmentedAssignment("g", CreateTriple("http://example.org/s2", "http://example.org/p", "o2")),
+            CreateAugmentedAssignment("g", CreateTriple("http://example.org/s3", "http://example.org/p", "o3")));
+
+        var calls = result.Statements.Where(s => s is not EmptyStatement).ToList();
+        calls.Should().HaveCount(1);
+        DescribeCall(calls[0]).Should().Be(("AssertRange", 3));
+        var annotations = ((FuncCallExp)((MemberAccessExp)((ExpStatement)calls[0]).RHS).RHS!).Annotations;
+        annotations["FunctionName"].Should().Be("AssertRange");
+        annotations["ExternalType"].Should().Be(typeof(Fifth.System.KG));
+    }
+
+    [Fact]
+    public void GraphLiteral_ShouldExpandToSingleAssertRange()
+    {
+        var graphLiteral = new ast.Graph
+        {
+            Triples = new List<TripleLiteralExp>
+            {
+                CreateTriple("http://example.org/s1", "http://example.org/p1", "o1"),
+                CreateTriple("http://example.org/s2", "http://example.org/p2", "o2")
+            },
+            Location = TestLocation
+        };
+        var statement = new ExpStatement
+        {
+            RHS = new BinaryExp
+            {
+                LHS = CreateGraphVarRef("g"),
+                RHS = graphLiteral,
+                Operator = Operator.ArithmeticAdd,
+                Location = TestLocation
+            },
+            Location = TestLocation
+        };
+
+        var result = Lower(statement);
+
+        DescribeCall(result.Statements[0]).Should().Be(("AssertRange", 2));
+    }
+
+    [Fact]
+    public void ConsecutiveRemovals_ShouldCoalesceIntoRetractRange()
+    {
+        var result = Lower(
+            CreateAugmentedAssignment("g", CreateTriple("http://example.org/s1", "http://example.org/p", "o1"), Operator.ArithmeticSubtract),
+            CreateAugmentedAssignment("g", CreateTriple("http://example.org/s2", "http://example.org/p", "o2"), Operator.ArithmeticSubtract));
+
+        var calls = result.Statements.Where(s => s is not EmptyStatement).ToList();
+        calls.Should().HaveCount(1);
+        DescribeCall(calls[0]).Should().Be(("RetractRange", 2));
+    }
+
+    [Fact]
+    public void DifferentGraphsOrOperations_ShouldBreakTheRun()
+    {
+        var t = CreateTriple("http://example.org/s", "http://example.org/p", "o");
+        var result = Lower(
+            CreateAugmentedAssignment("g", t),
+            CreateAugmentedAssignment("g", t),
+            CreateAugmentedAssignment("h", t),
+            CreateAugmentedAssignment("g", t, Operator.ArithmeticSubtract),
+            CreateAugmentedAssignment("g", t));
+
+        var calls = result.Statements.Where(s => s is not EmptyStatement).Select(DescribeCall).ToList();
+        calls.Should().Equal(("AssertRange", 2), ("Assert", 1), ("Retract", 1), ("Assert", 1));
+    }
+
+    [Fact]
+    public void InterveningStatement_ShouldBreakTheRun()
+    {
+        var t = CreateTriple("http://example.org/s", "http://example.org/p", "o");
+        var result = Lower(
+            CreateAugmentedAssignment("g", t),
+            new ReturnStatement { ReturnValue = new Int32LiteralExp { Value = 0, Location = TestLocation }, Location = TestLocation },
+            CreateAugmentedAssignment("g", t));
+
+        var calls = result.Statements.OfType<ExpStatement>().Select(DescribeCall).ToList();
+        calls.Should().Equal(("Assert", 1), ("Assert", 1));
+    }
+
+    [Fact]
+    public void ArgumentReferencingTheGraph_ShouldNotBeBatched()
+    {
+        var result = (BlockStatement)new TripleBatchingRewriter().Rewrite(new BlockStatement
+        {
+            Statements = new List<Statement>
+            {
+                CreateKGCall("g", "Assert", new VarRefExp { VarName = "t", Location = TestLocation }),
+                CreateKGCall("g", "Assert", new VarRefExp { VarName = "g", Location = TestLocation })
+            },
+            Location = TestLocation
+        }).Node;
+
+        result.Statements.Select(DescribeCall).Should().Equal(("Assert", 1), ("Assert", 1));
+    }
+
+    [Fact]
+    public void TripleVariables_ShouldBeBatched()
+    {
+        var result = (BlockStatement)new TripleBatchingRewriter().Rewrite(new BlockStatement
+        {
+            Statements = new List<Statement>
+            {
+                CreateKGCall("g", "Assert", new VarRefExp { VarName = "t1", Location = TestLocation }),
+                CreateKGCall("g", "Assert", new VarRefExp { VarName = "t2", Location = TestLocation })
+            },
+            Location = TestLocation
+        }).Node;
+
+        result.Statements.Select(DescribeCall).Should().Equal(("AssertRange", 2));
+    }
+}
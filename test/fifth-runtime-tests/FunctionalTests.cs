@@ -112,6 +112,15 @@ public class FunctionalTests
         result.Should().Be(321);
     }
 
+    [Fact]
+    public void FoldRight_NonIndexableSource_ProcessesInRightToLeftOrder()
+    {
+        var source = Enumerable.Range(1, 40);
+        var result = Functional.foldright(Functional.filter(source, x => x % 10 == 0), 0, (x, acc) => acc * 100 + x);
+
+        result.Should().Be(40302010);
+    }
+
     [Fact]
     public void FlatMap_NullArguments_Throw()
     {
@@ -178,6 +187,68 @@ public class FunctionalTests
         result.Should().Equal(11);
     }
 
+    [Fact]
+    public void NestedMapFilterMap_IsDeferredUntilConsumed()
+    {
+        var calls = 0;
+        IEnumerable<int> source = new List<int> { 1, 2, 3, 4 };
+
+        var result = Functional.map(
+            Functional.filter(Functional.map(source, x => { calls++; return x * 10; }), x => x > 10),
+            x => x + 1);
+
+        calls.Should().Be(0);
+        var materialized = result.ToList();
+        calls.Should().Be(4);
+        materialized.Should().Equal(21, 31, 41);
+    }
+
+    [Fact]
+    public void Head_OfLazyChain_StopsAfterFirstMatch()
+    {
+        var calls = 0;
+        IEnumerable<int> source = new List<int> { 1, 2, 3, 4, 5 };
+
+        var evens = Functional.filter(Functional.map(source, x => { calls++; return x; }), x => x % 2 == 0);
+
+        List.head(evens).Should().Be(2);
+        calls.Should().Be(2);
+    }
+
+    [Fact]
+    public void Len_OfMappedList_DoesNotInvokeSelector()
+    {
+        var calls = 0;
+        IEnumerable<int> source = new List<int> { 1, 2, 3 };
+
+        var mapped = Functional.map(Functional.map(source, x => { calls++; return x; }), x => x * 2);
+
+        List.len(mapped).Should().Be(3);
+        calls.Should().Be(0);
+    }
+
+    [Fact]
+    public void LazySeq_ConvertsImplicitlyToList()
+    {
+        IEnumerable<int> source = new List<int> { 1, 2, 3 };
+
+        List<int> materialized = Functional.flatmap(source, x => new List<int> { x, -x });
+
+        materialized.Should().Equal(1, -1, 2, -2, 3, -3);
+    }
+
+    [Fact]
+    public void FoldLeft_OverZippedFilter_RunsInSinglePass()
+    {
+        IEnumerable<int> a = new List<int> { 1, 2, 3, 4 };
+        IEnumerable<int> b = new List<int> { 10, 20, 30 };
+
+        var zipped = Functional.zip(Functional.filter(a, x => x != 2), b, (x, y) => x * y);
+        var result = Functional.foldleft(zipped, 0, (acc, x) => acc + x);
+
+        result.Should().Be(1 * 10 + 3 * 20 + 4 * 30);
+    }
+
     [Fact]
     public void Compose_NullArguments_Throw()
     {
@@ -303,4 +303,59 @@ public class KGTests
         g2.Triples.Count.Should().Be(0);
         ReferenceEquals(g1, g2).Should().BeFalse();
     }
+
+    [Fact]
+    public void CreateUriNode_SameIri_ReturnsInternedNode()
+    {
+        var iri = $"http://ex/interned/{Guid.NewGuid():N}";
+        var before = NodeInterner.Statistics;
+
+        var first = KG.CreateUriNode(iri);
+        var second = KG.CreateUriNode(iri);
+        var viaUri = KG.CreateUriNode(new Uri(iri));
+        var viaGraph = KG.CreateGraph().CreateUri(iri);
+
+        ReferenceEquals(first, second).Should().BeTrue();
+        ReferenceEquals(first, viaUri).Should().BeTrue();
+        ReferenceEquals(first, viaGraph).Should().BeTrue();
+        first.Uri.AbsoluteUri.Should().Be(iri);
+
+        var after = NodeInterner.Statistics;
+        after.Hits.Should().BeGreaterThanOrEqualTo(before.Hits + 3);
+        after.Misses.Should().BeGreaterThanOrEqualTo(before.Misses + 1);
+        after.HitRate.Should().BeInRange(0, 1);
+    }
+
+    [Fact]
+    public void CreateLiteralNode_SmallIntsAndBooleans_AreShared()
+    {
+        ReferenceEquals(KG.CreateLiteralNode(42), KG.CreateLiteralNode(42)).Should().BeTrue();
+        ReferenceEquals(KG.CreateLiteralNode(true), KG.CreateLiteralNode(true)).Should().BeTrue();
+        ReferenceEquals(KG.CreateLiteralNode(false), KG.CreateLiteral(KG.CreateGraph(), false)).Should().BeTrue();
+
+        var big = NodeInterner.MaxCachedInt + 1;
+        var a = KG.CreateLiteralNode(big);
+        var b = KG.CreateLiteralNode(big);
+        ReferenceEquals(a, b).Should().BeFalse();
+        a.Should().Be(b);
+        a.DataType.Should().Be(XsdDataTypes.Int);
+        KG.CreateLiteralNode(-1).Value.Should().Be("-1");
+    }
+
+    [Fact]
+    public void InternedNodes_CanBeAssertedIntoSeveralGraphs()
+    {
+        var s = KG.CreateUriNode("http://ex/shared/s");
+        var p = KG.CreateUriNode("http://ex/shared/p");
+        var o = KG.CreateLiteralNode(1);
+        var g1 = KG.CreateGraph();
+        var g2 = KG.CreateGraph();
+
+        g1.Assert(KG.CreateTriple(s, p, o));
+        g2.Assert(KG.CreateTriple(s, p, o));
+        g1.Retract(KG.CreateTriple(s, p, o));
+
+        g1.Triples.Count.Should().Be(0);
+        g2.Triples.Count.Should().Be(1);
+    }
 }
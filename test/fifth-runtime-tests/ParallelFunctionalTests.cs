@@ -0,0 +1,128 @@
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Threading;
+using FluentAssertions;
+using Fifth.System;
+
+namespace fifth_runtime_tests;
+
+public class ParallelFunctionalTests
+{
+    // Large enough to be split across workers rather than run inline.
+    private const int LargeCount = ParallelRunner.SequentialThreshold * 8;
+
+    [Fact]
+    public void PMap_NullArguments_Throw()
+    {
+        IEnumerable<int> source = new List<int> { 1, 2 };
+        Assert.Throws<ArgumentNullException>(() => Functional.pmap<int, int>(null!, x => x));
+        Assert.Throws<ArgumentNullException>(() => Functional.pmap<int, int>(source, null!));
+    }
+
+    [Fact]
+    public void PMap_InvalidDegreeOfParallelism_Throws()
+    {
+        IEnumerable<int> source = new List<int> { 1, 2 };
+        Assert.Throws<ArgumentOutOfRangeException>(() => Functional.pmap(source, x => x, 0));
+    }
+
+    [Fact]
+    public void PMap_LargeInput_PreservesOrder()
+    {
+        var source = Enumerable.Range(0, LargeCount).ToList();
+        var result = Functional.pmap(source, x => x * 2, 4);
+
+        result.Should().Equal(source.Select(x => x * 2));
+    }
+
+    [Fact]
+    public void PMap_LargeInput_RunsOnMoreThanOneThread()
+    {
+        var threads = new HashSet<int>();
+        var source = Enumerable.Range(0, LargeCount).ToList();
+
+        Functional.pmap(source, x =>
+        {
+            lock (threads)
+                threads.Add(Environment.CurrentManagedThreadId);
+            Thread.SpinWait(200);
+            return x;
+        }, 4);
+
+        if (Environment.ProcessorCount > 1)
+            threads.Count.Should().BeGreaterThan(1);
+    }
+
+    [Fact]
+    public void PMap_SelectorThrows_SurfacesOriginalException()
+    {
+        var source = Enumerable.Range(0, LargeCount).ToList();
+
+        Assert.Throws<InvalidOperationException>(() =>
+            Functional.pmap<int, int>(source, x => x == LargeCount / 2 ? throw new InvalidOperationException("boom") : x, 4));
+    }
+
+    [Fact]
+    public void PFilter_LargeInput_PreservesOrder()
+    {
+        var source = Enumerable.Range(0, LargeCount).ToList();
+        var result = Functional.pfilter(source, x => x % 3 == 0, 4);
+
+        result.Should().Equal(source.Where(x => x % 3 == 0));
+    }
+
+    [Fact]
+    public void PFlatMap_LargeInput_PreservesOrderAndSkipsNulls()
+    {
+        var source = Enumerable.Range(0, LargeCount).ToList();
+        var result = Functional.pflatmap(source, x => x % 2 == 0 ? new List<int> { x, -x } : null!, 4);
+
+        result.Should().Equal(source.Where(x => x % 2 == 0).SelectMany(x => new[] { x, -x }));
+    }
+
+    [Fact]
+    public void PFold_EmptySource_ReturnsSeed()
+    {
+        var result = Functional.pfold(Array.Empty<int>(), 7, (acc, x) => acc + x, (a, b) => a + b);
+
+        result.Should().Be(7);
+    }
+
+    [Fact]
+    public void PFold_NonCommutativeCombiner_MergesInSourceOrder()
+    {
+        var source = Enumerable.Range(0, LargeCount).Select(x => (char)('a' + x % 26)).ToList();
+        var result = Functional.pfold(source, string.Empty, (acc, c) => acc + c, (a, b) => a + b, 4);
+
+        result.Should().Be(new string(source.ToArray()));
+    }
+
+    [Fact]
+    public void PReduce_EmptySource_Throws()
+    {
+        Assert.Throws<InvalidOperationException>(() => Functional.preduce(Array.Empty<int>(), (a, b) => a + b));
+    }
+
+    [Fact]
+    public void PReduce_LargeInput_MatchesSequentialFold()
+    {
+        var source = Enumerable.Range(1, LargeCount).Select(x => (long)x).ToList();
+        var result = Functional.preduce(source, (a, b) => a + b, 4);
+
+        result.Should().Be(source.Sum());
+    }
+
+    [Fact]
+    public void PMap_OverLazySequence_MaterializesOnce()
+    {
+        var calls = 0;
+        IEnumerable<int> source = Enumerable.Range(0, 100).ToList();
+        var lazy = Functional.map(source, x => { Interlocked.Increment(ref calls); return x + 1; });
+
+        var result = Functional.pmap(lazy, x => x * 10);
+
+        result.Should().Equal(Enumerable.Range(1, 100).Select(x => x * 10));
+        calls.Should().Be(100);
+    }
+}
@@ -0,0 +1,125 @@
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using FluentAssertions;
+using Fifth.System;
+
+namespace fifth_runtime_tests;
+
+public class PersistentListTests
+{
+    [Fact]
+    public void Tail_SharesStorageAndLeavesSourceUnchanged()
+    {
+        var list = PersistentList<int>.Of(1, 2, 3);
+
+        var tail = list.Tail();
+
+        tail.Should().Equal(2, 3);
+        list.Should().Equal(1, 2, 3);
+        PersistentList<int>.Empty.Tail().Should().BeEmpty();
+    }
+
+    [Fact]
+    public void Append_ToSharedPrefix_DoesNotLeakIntoSiblings()
+    {
+        var prefix = PersistentList<int>.Of(1, 2);
+
+        var left = prefix.Append(3);
+        var right = prefix.Append(4);
+
+        left.Should().Equal(1, 2, 3);
+        right.Should().Equal(1, 2, 4);
+        prefix.Should().Equal(1, 2);
+    }
+
+    [Fact]
+    public void Prepend_ToSharedSuffix_DoesNotLeakIntoSiblings()
+    {
+        var suffix = PersistentList<int>.Of(1, 2, 3).Tail();
+
+        var left = suffix.Prepend(10);
+        var right = suffix.Prepend(20);
+
+        left.Should().Equal(10, 2, 3);
+        right.Should().Equal(20, 2, 3);
+    }
+
+    [Fact]
+    public void Concat_AccumulatesInOrder()
+    {
+        var acc = PersistentList<int>.Empty;
+        for (var i = 0; i < 1000; i++)
+            acc = acc.Concat(new[] { i, -i });
+
+        acc.Count.Should().Be(2000);
+        acc[0].Should().Be(0);
+        acc[1999].Should().Be(-999);
+        acc.Where((_, index) => index % 2 == 0).Should().Equal(Enumerable.Range(0, 1000));
+    }
+
+    [Fact]
+    public void Indexer_OutOfRange_Throws()
+    {
+        var list = PersistentList<int>.Of(1, 2, 3).Tail();
+
+        Assert.Throws<ArgumentOutOfRangeException>(() => list[2]);
+        Assert.Throws<ArgumentOutOfRangeException>(() => list[-1]);
+    }
+
+    [Fact]
+    public void Head_EmptyList_Throws()
+    {
+        Assert.Throws<InvalidOperationException>(() => PersistentList<string>.Empty.Head);
+    }
+
+    [Fact]
+    public void ImplicitConversions_RoundTripThroughList()
+    {
+        PersistentList<int> persistent = new List<int> { 1, 2, 3 };
+        List<int> copy = persistent.Prepend(0);
+
+        copy.Should().Equal(0, 1, 2, 3);
+    }
+
+    [Fact]
+    public void ListBuiltins_HeadTailRecursion_WalksWholeList()
+    {
+        IEnumerable<int> xs = Enumerable.Range(0, 100_000).ToList();
+        var total = 0L;
+
+        while (List.len(xs) > 0)
+        {
+            total += List.head(xs);
+            xs = List.tail(xs);
+        }
+
+        total.Should().Be(Enumerable.Range(0, 100_000).Sum(x => (long)x));
+    }
+
+    [Fact]
+    public void ListBuiltins_ConsAndConcat_ReturnPersistentLists()
+    {
+        var list = List.cons(0, new List<int> { 1, 2 });
+        var joined = List.op_PlusPlus(list, new[] { 3, 4 });
+
+        joined.Should().BeOfType<PersistentList<int>>();
+        joined.Should().Equal(0, 1, 2, 3, 4);
+        list.Should().Equal(0, 1, 2);
+    }
+
+    [Fact]
+    public void ListBuiltins_OnLists_ReturnNewLists()
+    {
+        var list = new List<int> { 1, 2, 3 };
+
+        List<int> rest = List.tail(list);
+        List<int> joined = List.op_PlusPlus(list, new List<int> { 4 });
+
+        rest.Should().Equal(2, 3);
+        joined.Should().Equal(1, 2, 3, 4);
+        List.tail(new List<int>()).Should().BeEmpty();
+        List.concat(list, list).Should().Equal(1, 2, 3, 1, 2, 3);
+        list.Should().Equal(1, 2, 3);
+    }
+}
@@ -15,4 +15,67 @@ public class ParsingServiceTests
         result.Diagnostics.Should().NotBeEmpty();
         result.Ast.Should().BeNull();
     }
+
+    [Fact]
+    public void Parse_CommentOnlyEdit_ReusesPreviousAnalysis()
+    {
+        var service = new ParsingService();
+        var uri = new Uri("file:///test.5th");
+        var first = service.Parse(uri, "main(): int { return 0; } // first");
+
+        var second = service.Parse(uri, "main(): int { return 0; } // second", first, CancellationToken.None);
+
+        second.Text.Should().EndWith("// second");
+        second.Ast.Should().BeSameAs(first.Ast);
+        second.AnalyzedAst.Should().BeSameAs(first.AnalyzedAst);
+    }
+
+    [Fact]
+    public void Parse_TokenEdit_ReparsesDocument()
+    {
+        var service = new ParsingService();
+        var uri = new Uri("file:///test.5th");
+        var first = service.Parse(uri, "main(): int { return 0; }");
+
+        var second = service.Parse(uri, "main(): int { return 1; }", first, CancellationToken.None);
+
+        second.Ast.Should().NotBeNull();
+        second.Ast.Should().NotBeSameAs(first.Ast);
+    }
+
+    [Fact]
+    public void Parse_CancelledToken_Throws()
+    {
+        var service = new ParsingService();
+        using var cts = new CancellationTokenSource();
+        cts.Cancel();
+
+        var act = () => service.Parse(new Uri("file:///test.5th"), "main(): int { return 0; }", null, cts.Token);
+
+        act.Should().Throw<OperationCanceledException>();
+    }
+
+    [Fact]
+    public void Parse_Lambda_AnalyzesDeclarationsWithoutLowering()
+    {
+        var service = new ParsingService();
+        var text = "main(): int { f : [int] -> int = fun(x: int): int { return x + 1; }; return f(41); }";
+
+        var result = service.Parse(new Uri("file:///test.5th"), text);
+
+        result.AnalyzedAst.Should().NotBeNull();
+        result.AnalyzedAst!.Modules.SelectMany(m => m.Classes)
+            .Should().NotContain(c => c.Name.Value.StartsWith("__lambda_closure_"));
+    }
+
+    [Fact]
+    public void Parse_ReportsDiagnosticsOfValidationPhasesAfterTypeAnnotation()
+    {
+        var service = new ParsingService();
+        var text = "main(): int { y: int = 10; f : [int] -> int = fun(x: int): int { y = x + 1; return y; }; return f(5); }";
+
+        var result = service.Parse(new Uri("file:///test.5th"), text);
+
+        result.SemanticDiagnostics.Should().Contain(d => d.Message.Contains("captures are read-only"));
+    }
 }
@@ -0,0 +1,69 @@
+﻿using Fifth.LanguageServer;
+using FluentAssertions;
+using Xunit;
+
+namespace LanguageServerSmoke;
+
+public class PieceTableTests
+{
+    [Fact]
+    public void Edit_InsertReplaceAndDeleteAcrossLines()
+    {
+        var table = new PieceTable("main(): int {\n    return 0;\n}");
+
+        table.Edit(1, 11, 1, 12, "42");
+        table.ToString().Should().Be("main(): int {\n    return 42;\n}");
+
+        table.Edit(0, 13, 0, 13, "\n    x: int = 1;");
+        table.ToString().Should().Be("main(): int {\n    x: int = 1;\n    return 42;\n}");
+
+        table.Edit(1, 0, 2, 0, "");
+        table.ToString().Should().Be("main(): int {\n    return 42;\n}");
+    }
+
+    [Fact]
+    public void Edit_PositionsPastLineEnd_AreClamped()
+    {
+        var table = new PieceTable("ab\ncd");
+
+        table.Edit(0, 99, 0, 99, "!");
+        table.Edit(7, 0, 7, 0, "?");
+
+        table.ToString().Should().Be("ab!\ncd?");
+    }
+
+    [Fact]
+    public void Edit_RangeEndingBeforeStart_Throws()
+    {
+        var table = new PieceTable("abc");
+
+        var act = () => table.Edit(0, 2, 0, 1, "x");
+
+        act.Should().Throw<ArgumentException>();
+    }
+
+    [Fact]
+    public void ManyEdits_MatchStringEditsAndStayCompact()
+    {
+        var expected = "line0\nline1\nline2\n";
+        var table = new PieceTable(expected);
+        var random = new Random(7);
+
+        for (var i = 0; i < 2000; i++)
+        {
+            var lines = expected.Split('\n');
+            var line = random.Next(lines.Length);
+            var character = random.Next(lines[line].Length + 1);
+            var insert = i % 10 == 0 ? "\n" : ((char)('a' + i % 26)).ToString();
+
+            table.Edit(line, character, line, character, insert);
+
+            var offset = lines.Take(line).Sum(l => l.Length + 1) + character;
+            expected = expected.Insert(offset, insert);
+        }
+
+        table.ToString().Should().Be(expected);
+        table.Length.Should().Be(expected.Length);
+        table.PieceCount.Should().BeLessThanOrEqualTo(300);
+    }
+}
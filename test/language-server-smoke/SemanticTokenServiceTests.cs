@@ -0,0 +1,136 @@
+﻿using Fifth.LanguageServer;
+using FluentAssertions;
+using Xunit;
+
+namespace LanguageServerSmoke;
+
+public class SemanticTokenServiceTests
+{
+    private static readonly Uri Uri = new("file:///tmp/tokens.5th");
+
+    private const string Source =
+        "// graph helpers\n" +
+        "build(s: Store): int {\n" +
+        "    g: graph = @<\n" +
+        "        <http://example.org/a> <http://example.org/p> {{ 1 + 2 }} .\n" +
+        "    >;\n" +
+        "    q: Query = ?<SELECT ?s WHERE { ?s ?p <http://example.org/o> }>;\n" +
+        "    /* block\n" +
+        "       comment */\n" +
+        "    return 42;\n" +
+        "}\n";
+
+    [Fact]
+    public void GetTokens_ClassifiesCodeLiteralsAndInterpolations()
+    {
+        var tokens = Decode(Source, new SemanticTokenService().GetTokens(Uri, Source).Data);
+
+        tokens.Should().Contain(("// graph helpers", "comment"));
+        tokens.Should().Contain(("build", "variable"));
+        tokens.Should().Contain(("return", "keyword"));
+        tokens.Should().Contain(("42", "number"));
+        tokens.Should().Contain(("@<", "operator"));
+        tokens.Should().Contain(("?<", "operator"));
+        tokens.Should().Contain(("{{", "operator"));
+        tokens.Should().Contain(("+", "operator"));
+        tokens.Should().Contain(("/* block", "comment"));
+        tokens.Should().Contain(("       comment */", "comment"));
+
+        // Inside the interpolation the tokens are code again
+        tokens.Should().Contain(("1", "number"));
+        tokens.Should().Contain(("2", "number"));
+        tokens.Where(t => t.Type == "string").Should().NotContain(t => t.Text.Contains("{{"));
+    }
+
+    [Fact]
+    public void RandomEdits_MatchAFreshLex()
+    {
+        var fragments = new[] { "@<", ">", "?<", "{{", "}}", "<", "/*", "*/", "//", "\n", "\"", "x", " 1 ", "{", "}" };
+        var service = new SemanticTokenService();
+        var text = string.Concat(Enumerable.Repeat(Source, 5));
+        var previous = service.GetTokens(Uri, text);
+        var random = new Random(11);
+
+        for (var i = 0; i < 300; i++)
+        {
+            var start = random.Next(text.Length + 1);
+            var length = Math.Min(random.Next(4), text.Length - start);
+            text = text.Remove(start, length).Insert(start, fragments[random.Next(fragments.Length)]);
+
+            var delta = service.GetDelta(Uri, text, previous.ResultId);
+            delta.Should().NotBeNull();
+            var expected = new SemanticTokenService().GetTokens(Uri, text).Data;
+            Apply(previous.Data, delta!.Edits).Should().Equal(expected, $"after edit {i} at {start}");
+
+            previous = service.GetTokens(Uri, text);
+            previous.ResultId.Should().Be(delta.ResultId);
+            previous.Data.Should().Equal(expected);
+        }
+    }
+
+    [Fact]
+    public void Delta_OnALargeDocument_RelexesOnlyTheEditedRegion()
+    {
+        var service = new SemanticTokenService();
+        var text = string.Concat(Enumerable.Repeat(Source, 1000));
+        var previous = service.GetTokens(Uri, text);
+        var edit = text.IndexOf("return 42", text.Length / 2, StringComparison.Ordinal);
+        text = text.Insert(edit + "return ".Length, "1");
+
+        var delta = service.GetDelta(Uri, text, previous.ResultId);
+
+        delta.Should().NotBeNull();
+        delta!.TokensLexed.Should().BeLessThan(10);
+        delta.Edits.Should().ContainSingle();
+        Apply(previous.Data, delta.Edits).Should().Equal(new SemanticTokenService().GetTokens(Uri, text).Data);
+    }
+
+    [Fact]
+    public void Delta_OpeningALiteral_RelexesToItsEnd()
+    {
+        var service = new SemanticTokenService();
+        var text = "a: int = 1;\nb: int = 2;\n";
+        var previous = service.GetTokens(Uri, text);
+        text = text.Insert(text.IndexOf('b'), "g: graph = @<");
+
+        var delta = service.GetDelta(Uri, text, previous.ResultId);
+
+        Decode(text, Apply(previous.Data, delta!.Edits)).Should().Contain(("b: int = 2;", "string"));
+    }
+
+    [Fact]
+    public void Delta_WithAStaleResultId_ReturnsNull()
+    {
+        var service = new SemanticTokenService();
+        var first = service.GetTokens(Uri, "a: int = 1;");
+        service.GetTokens(Uri, "a: int = 2;");
+
+        service.GetDelta(Uri, "a: int = 3;", first.ResultId).Should().BeNull();
+        service.GetDelta(new Uri("file:///tmp/unknown.5th"), "a", "1").Should().BeNull();
+    }
+
+    private static int[] Apply(int[] data, IReadOnlyList<SemanticTokenEdit> edits)
+    {
+        var result = data.ToList();
+        foreach (var edit in edits.OrderByDescending(e => e.Start))
+        {
+            result.RemoveRange(edit.Start, edit.DeleteCount);
+            result.InsertRange(edit.Start, edit.Data);
+        }
+        return result.ToArray();
+    }
+
+    private static List<(string Text, string Type)> Decode(string text, int[] data)
+    {
+        var lines = text.Split('\n');
+        var tokens = new List<(string, string)>();
+        int line = 0, character = 0;
+        for (var i = 0; i < data.Length; i += 5)
+        {
+            character = data[i] == 0 ? character + data[i + 1] : data[i + 1];
+            line += data[i];
+            tokens.Add((lines[line].Substring(character, data[i + 2]), SemanticTokenService.TokenTypes[data[i + 3]]));
+        }
+        return tokens;
+    }
+}
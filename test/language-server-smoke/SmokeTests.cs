@@ -33,6 +33,34 @@ public class SmokeTests
         updated.Diagnostics.Should().BeEmpty();
     }
 
+    [Fact]
+    public async Task DocumentService_IncrementalChanges_AnalyzeOnlyTheLatestText()
+    {
+        var service = new Fifth.LanguageServer.DocumentService(
+            new Fifth.LanguageServer.DocumentStore(),
+            new Fifth.LanguageServer.Parsing.ParsingService())
+        {
+            AnalysisDelay = TimeSpan.FromMilliseconds(50)
+        };
+
+        var uri = new Uri("file:///test.5th");
+        service.Open(uri, "main(): int { return 0; }");
+
+        service.ApplyChange(uri, new Fifth.LanguageServer.TextChange(0, 21, 0, 22, "!!!")).Should().BeTrue();
+        var superseded = service.AnalyzeAsync(uri, CancellationToken.None);
+        service.ApplyChange(uri, new Fifth.LanguageServer.TextChange(0, 21, 0, 24, "7")).Should().BeTrue();
+        var latest = service.AnalyzeAsync(uri, CancellationToken.None);
+
+        (await superseded).Should().BeNull();
+        var analyzed = await latest;
+        analyzed.Should().NotBeNull();
+        analyzed!.Text.Should().Be("main(): int { return 7; }");
+        analyzed.Diagnostics.Should().BeEmpty();
+
+        service.TryGetParsed(uri, out var stored).Should().BeTrue();
+        stored.Should().BeSameAs(analyzed);
+    }
+
     [Fact]
     public async Task DefinitionHandler_ResolvesUnopenedWorkspaceFile()
     {
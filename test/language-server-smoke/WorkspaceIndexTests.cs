@@ -0,0 +1,130 @@
+﻿using System.IO;
+using Fifth.LanguageServer;
+using FluentAssertions;
+using Xunit;
+
+namespace LanguageServerSmoke;
+
+public class WorkspaceIndexTests
+{
+    [Fact]
+    public void WarmRestart_ReusesPersistedIndexForUnchangedFiles()
+    {
+        var temp = Directory.CreateTempSubdirectory("fifth-lsp-");
+        try
+        {
+            var file = Path.Combine(temp.FullName, "defs.5th");
+            File.WriteAllText(file, "first");
+            var cacheFile = Path.Combine(temp.FullName, "cache", "index.json");
+
+            using (var cold = CreateIndex(temp.FullName, cacheFile))
+            {
+                cold.FilesIndexed.Should().Be(1);
+            }
+
+            using var warm = CreateIndex(temp.FullName, cacheFile);
+
+            warm.FilesIndexed.Should().Be(0);
+            warm.Snapshot()[file].Should().ContainSingle().Which.Name.Should().Be("first");
+        }
+        finally
+        {
+            temp.Delete(true);
+        }
+    }
+
+    [Fact]
+    public void MarkDirty_ReindexesOnlyChangedAndDeletedFiles()
+    {
+        var temp = Directory.CreateTempSubdirectory("fifth-lsp-");
+        try
+        {
+            var changed = Path.Combine(temp.FullName, "changed.5th");
+            var touched = Path.Combine(temp.FullName, "touched.5th");
+            var deleted = Path.Combine(temp.FullName, "deleted.5th");
+            File.WriteAllText(changed, "before");
+            File.WriteAllText(touched, "same");
+            File.WriteAllText(deleted, "gone");
+
+            using var index = CreateIndex(temp.FullName, cacheFile: null);
+            var version = index.Version;
+
+            File.WriteAllText(changed, "after");
+            File.Delete(deleted);
+            index.MarkDirty(changed);
+            index.MarkDirty(touched);
+            index.MarkDirty(deleted);
+
+            var snapshot = index.Snapshot();
+
+            index.FilesIndexed.Should().Be(4, "three files at start, then only the one whose content changed");
+            index.Version.Should().BeGreaterThan(version);
+            snapshot.Keys.Should().BeEquivalentTo(changed, touched);
+            snapshot[changed].Single().Name.Should().Be("after");
+        }
+        finally
+        {
+            temp.Delete(true);
+        }
+    }
+
+    [Fact]
+    public void MarkDirty_IgnoresFilesUnderBuildAndToolDirectories()
+    {
+        var temp = Directory.CreateTempSubdirectory("fifth-lsp-");
+        try
+        {
+            var source = Path.Combine(temp.FullName, "src", "defs.5th");
+            var output = Path.Combine(temp.FullName, "bin", "Debug", "defs.5th");
+            var repository = Path.Combine(temp.FullName, ".git", "defs.5th");
+            Directory.CreateDirectory(Path.GetDirectoryName(source)!);
+            File.WriteAllText(source, "source");
+
+            using var index = CreateIndex(temp.FullName, cacheFile: null);
+
+            Directory.CreateDirectory(Path.GetDirectoryName(output)!);
+            Directory.CreateDirectory(Path.GetDirectoryName(repository)!);
+            File.WriteAllText(output, "copy");
+            File.WriteAllText(repository, "object");
+            index.MarkDirty(output);
+            index.MarkDirty(repository);
+
+            index.Snapshot().Keys.Should().BeEquivalentTo(source);
+            index.FilesIndexed.Should().Be(1);
+        }
+        finally
+        {
+            temp.Delete(true);
+        }
+    }
+
+    [Fact]
+    public void FindByPrefix_ReturnsOnlyMatchingNames()
+    {
+        var uri = new Uri("file:///test.5th");
+        var index = new WorkspaceSymbolIndex(new Dictionary<string, List<SymbolDefinition>>(StringComparer.Ordinal)
+        {
+            ["myprint"] = [Definition("myprint", uri)],
+            ["myparse"] = [Definition("myparse", uri)],
+            ["main"] = [Definition("main", uri)],
+            ["other"] = [Definition("other", uri)]
+        });
+
+        index.FindByPrefix("my").Select(d => d.Name).Should().BeEquivalentTo("myprint", "myparse");
+        index.FindByPrefix("myz").Should().BeEmpty();
+        index.FindByPrefix(string.Empty).Should().HaveCount(4);
+        index.HasDefinitionsIn(uri).Should().BeTrue();
+        index.HasDefinitionsIn(new Uri("file:///elsewhere.5th")).Should().BeFalse();
+    }
+
+    // Indexes each file as a single definition named after its content.
+    private static WorkspaceIndex CreateIndex(string root, string? cacheFile) => new(
+        root,
+        cacheFile,
+        (uri, text) => [Definition(text, uri)],
+        Directory.EnumerateFiles(root, "*.5th", SearchOption.AllDirectories),
+        watch: false);
+
+    private static SymbolDefinition Definition(string name, Uri uri) =>
+        new(name, uri, new OmniSharp.Extensions.LanguageServer.Protocol.Models.Range(0, 0, 0, name.Length), null, ast.SymbolKind.FunctionDef, null);
+}
@@ -0,0 +1,143 @@
+using BenchmarkDotNet.Attributes;
+using BenchmarkDotNet.Configs;
+using ast;
+
+namespace AstAnnotationPerf;
+
+/// <summary>
+/// Compares the annotation storage of AST nodes before and after typed slots. The baselines reproduce the
+/// previous layout, where every node allocated an empty <c>Dictionary&lt;string, object&gt;</c> and a linked
+/// external call kept <c>FunctionName</c>, <c>ExternalType</c> and <c>ExternalMethodName</c> in it.
+/// </summary>
+[MemoryDiagnoser]
+[GroupBenchmarksBy(BenchmarkLogicalGroupRule.ByCategory)]
+[CategoriesColumn]
+public class AnnotationStorageBenchmarks
+{
+    [Params(10_000)]
+    public int NodeCount { get; set; }
+
+    private Dictionary<string, object>[] _dictionaries = default!;
+    private AnnotationMap[] _maps = default!;
+
+    [GlobalSetup]
+    public void Setup()
+    {
+        _dictionaries = new Dictionary<string, object>[NodeCount];
+        _maps = new AnnotationMap[NodeCount];
+        for (var i = 0; i < NodeCount; i++)
+        {
+            _dictionaries[i] = CallAnnotations(i);
+            _maps[i] = new AnnotationMap
+            {
+                FunctionName = "Assert",
+                ExternalType = typeof(string),
+                ExternalMethodName = i % 2 == 0 ? "Assert" : "Merge"
+            };
+        }
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("UnannotatedNodes")]
+    public int UnannotatedNodes_Dictionary()
+    {
+        var total = 0;
+        for (var i = 0; i < NodeCount; i++)
+        {
+            var node = new VarRefExp { VarName = "x" };
+            var annotations = new Dictionary<string, object>();
+            total += node.VarName.Length + annotations.Count;
+        }
+        return total;
+    }
+
+    [Benchmark, BenchmarkCategory("UnannotatedNodes")]
+    public int UnannotatedNodes_Lazy()
+    {
+        var total = 0;
+        for (var i = 0; i < NodeCount; i++)
+        {
+            var node = new VarRefExp { VarName = "x" };
+            total += node.VarName.Length + (node.HasAnnotation(AnnotationKeys.FunctionName) ? 1 : 0);
+        }
+        return total;
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("Create")]
+    public int Create_Dictionary()
+    {
+        var total = 0;
+        for (var i = 0; i < NodeCount; i++)
+        {
+            total += CallAnnotations(i).Count;
+        }
+        return total;
+    }
+
+    [Benchmark, BenchmarkCategory("Create")]
+    public int Create_TypedSlots()
+    {
+        var total = 0;
+        for (var i = 0; i < NodeCount; i++)
+        {
+            var annotations = new AnnotationMap
+            {
+                [AnnotationKeys.FunctionName] = "Assert",
+                [AnnotationKeys.ExternalType] = typeof(string),
+                [AnnotationKeys.ExternalMethodName] = i % 2 == 0 ? "Assert" : "Merge"
+            };
+            total += annotations.Count;
+        }
+        return total;
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("Lookup")]
+    public int Lookup_Dictionary()
+    {
+        var total = 0;
+        foreach (var annotations in _dictionaries)
+        {
+            if (annotations.TryGetValue("ExternalType", out var typeObj) && typeObj is Type
+                && annotations.TryGetValue("ExternalMethodName", out var nameObj) && nameObj is string name)
+            {
+                total += name.Length;
+            }
+        }
+        return total;
+    }
+
+    [Benchmark, BenchmarkCategory("Lookup")]
+    public int Lookup_TypedSlots()
+    {
+        var total = 0;
+        foreach (var annotations in _maps)
+        {
+            if (annotations.ExternalType != null && annotations.ExternalMethodName is string name)
+            {
+                total += name.Length;
+            }
+        }
+        return total;
+    }
+
+    [Benchmark, BenchmarkCategory("Lookup")]
+    public int Lookup_StringKeys()
+    {
+        var total = 0;
+        foreach (var annotations in _maps)
+        {
+            if (annotations.TryGetValue("ExternalType", out var typeObj) && typeObj is Type
+                && annotations.TryGetValue("ExternalMethodName", out var nameObj) && nameObj is string name)
+            {
+                total += name.Length;
+            }
+        }
+        return total;
+    }
+
+    private static Dictionary<string, object> CallAnnotations(int i) => new()
+    {
+        ["FunctionName"] = "Assert",
+        ["ExternalType"] = typeof(string),
+        ["ExternalMethodName"] = i % 2 == 0 ? "Assert" : "Merge"
+    };
+}
@@ -0,0 +1,70 @@
+using System;
+using BenchmarkDotNet.Attributes;
+using Fifth.System;
+using VDS.RDF;
+
+namespace KgNodeInterningPerf;
+
+/// <summary>
+/// Builds a graph of <see cref="TripleCount"/> triples over a vocabulary of
+/// <see cref="DistinctIris"/> IRIs, the shape produced by lowered triple literals:
+/// every component goes through KG.CreateUriNode / KG.CreateLiteralNode.
+/// Baseline reproduces the previous per-call NodeFactory + Uri parsing.
+/// </summary>
+[MemoryDiagnoser]
+public class NodeInterningBenchmarks
+{
+    [Params(100_000)]
+    public int TripleCount { get; set; }
+
+    [Params(100, 5_000)]
+    public int DistinctIris { get; set; }
+
+    private string[] _iris = default!;
+
+    [GlobalSetup]
+    public void Setup()
+    {
+        _iris = new string[DistinctIris];
+        for (var i = 0; i < DistinctIris; i++)
+        {
+            _iris[i] = $"http://example.org/vocab/term{i}";
+        }
+        NodeInterner.Reset();
+    }
+
+    [GlobalCleanup]
+    public void Cleanup()
+    {
+        var stats = NodeInterner.Statistics;
+        Console.WriteLine($"// NodeInterner: hits={stats.Hits} misses={stats.Misses} hitRate={stats.HitRate:P2} cached={stats.CachedIris} evictions={stats.Evictions}");
+    }
+
+    [Benchmark(Baseline = true)]
+    public int UncachedNodes()
+    {
+        var graph = new VDS.RDF.Graph();
+        for (var i = 0; i < TripleCount; i++)
+        {
+            var s = new NodeFactory().CreateUriNode(new Uri(_iris[i % DistinctIris]));
+            var p = new NodeFactory().CreateUriNode(new Uri(_iris[(i * 7) % DistinctIris]));
+            var o = new NodeFactory().CreateLiteralNode((i % 512).ToString(), XsdDataTypes.Int);
+            graph.Assert(new VDS.RDF.Triple(s, p, o));
+        }
+        return graph.Triples.Count;
+    }
+
+    [Benchmark]
+    public int InternedNodes()
+    {
+        var graph = new VDS.RDF.Graph();
+        for (var i = 0; i < TripleCount; i++)
+        {
+            var s = KG.CreateUriNode(_iris[i % DistinctIris]);
+            var p = KG.CreateUriNode(_iris[(i * 7) % DistinctIris]);
+            var o = KG.CreateLiteralNode(i % 512);
+            graph.Assert(KG.CreateTriple(s, p, o).ToVdsTriple());
+        }
+        return graph.Triples.Count;
+    }
+}
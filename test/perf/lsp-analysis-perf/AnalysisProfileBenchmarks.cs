@@ -0,0 +1,62 @@
+using System.Text;
+using BenchmarkDotNet.Attributes;
+using compiler;
+using compiler.Pipeline;
+
+namespace LspAnalysisPerf;
+
+/// <summary>
+/// Measures what the language server pays to re-analyze a document after an edit: parse plus the
+/// transformation pipeline, once with every phase (Baseline) and once with the
+/// <see cref="PipelineOptions.DeclarationsOnly"/> profile the editor uses. The generated document mixes
+/// classes, lambdas and list comprehensions so the skipped lowering phases have real work to do.
+/// </summary>
+[MemoryDiagnoser]
+public class AnalysisProfileBenchmarks
+{
+    [Params(10, 50)]
+    public int FunctionCount { get; set; }
+
+    private string _source = default!;
+
+    [GlobalSetup]
+    public void Setup()
+    {
+        var sb = new StringBuilder();
+        for (var i = 0; i < FunctionCount; i++)
+        {
+            sb.AppendLine($"class Item{i} {{");
+            sb.AppendLine("    Value: int;");
+            sb.AppendLine($"    Item{i}() {{ Value = 0; }}");
+            sb.AppendLine("}");
+            sb.AppendLine();
+            sb.AppendLine($"work{i}(n: int): int {{");
+            sb.AppendLine($"    item: Item{i} = new Item{i} {{ Value = n }};");
+            sb.AppendLine("    numbers: [int] = [1, 2, 3, 4, 5];");
+            sb.AppendLine("    evens: [int] = [x * 2 from x in numbers where x % 2 == 0];");
+            sb.AppendLine("    f : [int] -> int = fun(x: int): int { return x + n; };");
+            sb.AppendLine("    return f(item.Value);");
+            sb.AppendLine("}");
+            sb.AppendLine();
+        }
+
+        sb.AppendLine("main(): int {");
+        sb.AppendLine("    return work0(1);");
+        sb.AppendLine("}");
+        _source = sb.ToString();
+    }
+
+    [Benchmark(Baseline = true)]
+    public bool FullPipeline() => Analyze(PipelineOptions.Default);
+
+    [Benchmark]
+    public bool DeclarationsOnly() => Analyze(PipelineOptions.DeclarationsOnly);
+
+    private bool Analyze(PipelineOptions options)
+    {
+        // Parse every time: the pipeline rewrites and relinks the tree, and the editor reparses on each edit anyway.
+        var ast = FifthParserManager.ParseString(_source);
+        var result = TransformationPipeline.CreateDefault().Execute(ast, options);
+        return result.Success;
+    }
+}
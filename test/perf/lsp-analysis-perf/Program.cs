@@ -0,0 +1,11 @@
+using BenchmarkDotNet.Running;
+
+namespace LspAnalysisPerf;
+
+public class Program
+{
+    public static void Main(string[] args)
+    {
+        BenchmarkRunner.Run<AnalysisProfileBenchmarks>();
+    }
+}
@@ -179,4 +179,37 @@ public class CollectionRuntimeTests : RuntimeTestBase
         
         // TODO: When PE emission is fixed, expect exit code 6 (1+2+3)
     }
+
+    [Fact]
+    public async Task PersistentList_HeadTailRecursion_ShouldRunInLinearTime()
+    {
+        // Arrange - ++ accumulation and head/tail recursion over 200k elements
+        var sourceCode = """
+            count(xs: plist<int>, acc: int): int {
+                if (len(xs) == 0) {
+                    return acc;
+                }
+                return count(tail(xs), acc + 1);
+            }
+
+            main(): int {
+                xs: plist<int> = [];
+                i: int = 0;
+                while (i < 200000) {
+                    xs = xs ++ [i];
+                    i = i + 1;
+                }
+                small: plist<int> = [1, 2, 3];
+                return count(xs, 0) - 200000 + head(tail(small ++ [4]));
+            }
+            """;
+
+        // Act
+        var executablePath = await CompileSourceAsync(sourceCode, "persistent_list_recursion");
+        var result = await ExecuteAsync(executablePath);
+
+        // Assert
+        result.ExitCode.Should().Be(2);
+        result.StandardError.Should().BeEmpty();
+    }
 }
\ No newline at end of file
@@ -107,6 +107,92 @@ public class FunctionRuntimeTests : RuntimeTestBase
         result.StandardError.Should().BeEmpty("No errors should occur");
     }
 
+    [Fact]
+    public async Task DeepTailRecursion_ShouldNotOverflowTheStack()
+    {
+        // Arrange - one million frames would overflow the default stack without TCO
+        var sourceCode = """
+            count_up(n: int, acc: int): int {
+                if (n <= 0) {
+                    return acc;
+                }
+                return count_up(n - 1, acc + 1);
+            }
+
+            main(): int {
+                return count_up(1000000, 0) - 999958;
+            }
+            """;
+
+        // Act
+        var executablePath = await CompileSourceAsync(sourceCode);
+        var result = await ExecuteAsync(executablePath);
+
+        // Assert
+        result.ExitCode.Should().Be(42, "1000000 - 999958 = 42");
+        result.StandardError.Should().BeEmpty("No errors should occur");
+    }
+
+    [Fact]
+    public async Task MutualTailRecursion_ShouldNotOverflowTheStack()
+    {
+        // Arrange
+        var sourceCode = """
+            is_even(n: int): int {
+                if (n == 0) {
+                    return 1;
+                }
+                return is_odd(n - 1);
+            }
+
+            is_odd(n: int): int {
+                if (n == 0) {
+                    return 0;
+                }
+                return is_even(n - 1);
+            }
+
+            main(): int {
+                return is_even(1000000) + is_odd(1000001) * 2;
+            }
+            """;
+
+        // Act
+        var executablePath = await CompileSourceAsync(sourceCode);
+        var result = await ExecuteAsync(executablePath);
+
+        // Assert
+        result.ExitCode.Should().Be(3, "1000000 is even and 1000001 is odd");
+        result.StandardError.Should().BeEmpty("No errors should occur");
+    }
+
+    [Fact]
+    public async Task GuardedOverloadTailRecursion_ShouldNotOverflowTheStack()
+    {
+        // Arrange - recursion runs through the generated guard and subclause functions
+        var sourceCode = """
+            count_down(n: int | n <= 0, acc: int): int {
+                return acc;
+            }
+
+            count_down(n: int, acc: int): int {
+                return count_down(n - 1, acc + 2);
+            }
+
+            main(): int {
+                return count_down(500000, 0) - 999958;
+            }
+            """;
+
+        // Act
+        var executablePath = await CompileSourceAsync(sourceCode);
+        var result = await ExecuteAsync(executablePath);
+
+        // Assert
+        result.ExitCode.Should().Be(42, "500000 * 2 - 999958 = 42");
+        result.StandardError.Should().BeEmpty("No errors should occur");
+    }
+
     [Fact]
     public async Task FunctionWithLocalVariables_ShouldManageScope()
     {
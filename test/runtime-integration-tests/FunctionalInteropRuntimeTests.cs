@@ -42,4 +42,46 @@ public class FunctionalInteropRuntimeTests : RuntimeTestBase
         result.ExitCode.Should().Be(33);
         result.StandardError.Should().BeEmpty();
     }
+
+    [Fact]
+    public async Task Functional_NestedCalls_ShouldFuseAndMaterializeAtConsumer()
+    {
+        var sourceCode = """
+            main(): int {
+                numbers: [int] = [1, 2, 3, 4, 5, 6];
+                total: int = foldleft(
+                    filter(map(numbers, fun(x: int): int { return x * 3; }), fun(x: int): bool { return x % 2 == 0; }),
+                    0,
+                    fun(acc: int, x: int): int { return acc + x; });
+                odds: [int] = filter(numbers, fun(x: int): bool { return x % 2 == 1; });
+                return total + List.len(odds);
+            }
+            """;
+
+        var executablePath = await CompileSourceAsync(sourceCode, "functional_nested_fused");
+        var result = await ExecuteAsync(executablePath);
+
+        result.ExitCode.Should().Be(39);
+        result.StandardError.Should().BeEmpty();
+    }
+
+    [Fact]
+    public async Task Functional_ParallelBuiltins_WithLambda_ShouldRun()
+    {
+        var sourceCode = """
+            main(): int {
+                numbers: [int] = [1, 2, 3, 4, 5, 6, 7, 8];
+                squares: [int] = pmap(numbers, fun(x: int): int { return x * x; });
+                evens: [int] = pfilter(squares, fun(x: int): bool { return x % 2 == 0; }, 2);
+                total: int = pfold(evens, 0, fun(acc: int, x: int): int { return acc + x; }, fun(a: int, b: int): int { return a + b; });
+                return total - preduce(numbers, fun(a: int, b: int): int { return a + b; });
+            }
+            """;
+
+        var executablePath = await CompileSourceAsync(sourceCode, "functional_parallel");
+        var result = await ExecuteAsync(executablePath);
+
+        result.ExitCode.Should().Be(84);
+        result.StandardError.Should().BeEmpty();
+    }
 }
@@ -0,0 +1,150 @@
+using compiler;
+using compiler.Incremental;
+using FluentAssertions;
+
+namespace runtime_integration_tests;
+
+public class IncrementalBuildTests : RuntimeTestBase
+{
+    private const string MathModule = """
+        namespace Utilities.Math;
+
+        export add(a: int, b: int): int {
+            return a + b;
+        }
+        """;
+
+    private const string TextModule = """
+        namespace Utilities.Text;
+
+        export twice(a: int): int {
+            return a * 2;
+        }
+        """;
+
+    private const string Consumer = """
+        namespace App.Core;
+        import Utilities.Math;
+
+        main(): int {
+            return add(2, 3);
+        }
+        """;
+
+    [Fact]
+    public async Task BodyOnlyChange_ReanalysesOnlyTheChangedModule()
+    {
+        var (outputFile, mathPath) = await WriteProgramAsync();
+
+        var first = await BuildAsync(outputFile);
+        first.Success.Should().BeTrue();
+        AnalysedModules(first).Should().Be("3 of 3");
+
+        await File.WriteAllTextAsync(mathPath, MathModule.Replace("a + b", "a + b + 1"));
+        var second = await BuildAsync(outputFile);
+
+        second.Success.Should().BeTrue();
+        AnalysedModules(second).Should().Be("1 of 3", "the consumer only depends on the unchanged signature of add");
+        (await ExecuteAsync(outputFile)).ExitCode.Should().Be(6);
+    }
+
+    [Fact]
+    public async Task SignatureChange_ReanalysesImportersButNotUnrelatedModules()
+    {
+        var (outputFile, mathPath) = await WriteProgramAsync();
+        (await BuildAsync(outputFile)).Success.Should().BeTrue();
+
+        await File.WriteAllTextAsync(mathPath, MathModule + "\nexport sub(a: int, b: int): int { return a - b; }\n");
+        var second = await BuildAsync(outputFile);
+
+        second.Success.Should().BeTrue();
+        AnalysedModules(second).Should().Be("2 of 3", "only the consumer imports Utilities.Math");
+        (await ExecuteAsync(outputFile)).ExitCode.Should().Be(5);
+    }
+
+    [Fact]
+    public async Task UnchangedProgram_ReusesEveryModule()
+    {
+        var (outputFile, _) = await WriteProgramAsync();
+        (await BuildAsync(outputFile)).Success.Should().BeTrue();
+
+        var second = await BuildAsync(outputFile);
+
+        second.Success.Should().BeTrue();
+        AnalysedModules(second).Should().Be("0 of 3");
+        (await ExecuteAsync(outputFile)).ExitCode.Should().Be(5);
+    }
+
+    [Fact]
+    public async Task SignatureChange_ReanalysesTheImportsOfModulesSharingTheNamespace()
+    {
+        // helpers.5th shares Utilities.Math with math.5th and is the only module that imports Utilities.Text
+        const string helpers = """
+            namespace Utilities.Math;
+            import Utilities.Text;
+
+            export quadruple(a: int): int {
+                return twice(twice(a));
+            }
+            """;
+        const string consumer = """
+            namespace App.Core;
+            import Utilities.Text;
+
+            main(): int {
+                return twice(3);
+            }
+            """;
+        var sourceDir = Path.Combine(TempDirectory, "src");
+        var mathPath = await NamespaceImportTestHelpers.WriteSourceAsync(sourceDir, "math.5th", MathModule);
+        await NamespaceImportTestHelpers.WriteSourceAsync(sourceDir, "helpers.5th", helpers);
+        await NamespaceImportTestHelpers.WriteSourceAsync(sourceDir, "text.5th", TextModule);
+        await NamespaceImportTestHelpers.WriteSourceAsync(sourceDir, "consumer.5th", consumer);
+        var outputFile = Path.Combine(TempDirectory, "incremental.dll");
+        GeneratedFiles.Add(outputFile);
+        GeneratedDirectories.Add(Path.Combine(TempDirectory, IncrementalBuild.CacheDirectoryName));
+        (await BuildAsync(outputFile)).Success.Should().BeTrue();
+
+        await File.WriteAllTextAsync(mathPath, MathModule + "\nexport sub(a: int, b: int): int { return a - b; }\n");
+        var second = await BuildAsync(outputFile);
+
+        second.Success.Should().BeTrue();
+        AnalysedModules(second).Should().Be("3 of 4", "helpers.5th is re-checked with Utilities.Math and needs Utilities.Text");
+        (await ExecuteAsync(outputFile)).ExitCode.Should().Be(6);
+    }
+
+    private async Task<(string OutputFile, string MathPath)> WriteProgramAsync()
+    {
+        var sourceDir = Path.Combine(TempDirectory, "src");
+        var mathPath = await NamespaceImportTestHelpers.WriteSourceAsync(sourceDir, "math.5th", MathModule);
+        await NamespaceImportTestHelpers.WriteSourceAsync(sourceDir, "text.5th", TextModule);
+        await NamespaceImportTestHelpers.WriteSourceAsync(sourceDir, "consumer.5th", Consumer);
+
+        var outputFile = Path.Combine(TempDirectory, "incremental.dll");
+        GeneratedFiles.Add(outputFile);
+        GeneratedDirectories.Add(Path.Combine(TempDirectory, IncrementalBuild.CacheDirectoryName));
+        return (outputFile, mathPath);
+    }
+
+    private Task<CompilationResult> BuildAsync(string outputFile)
+    {
+        var options = new CompilerOptions(
+            Command: CompilerCommand.Build,
+            Source: Path.Combine(TempDirectory, "src"),
+            Output: outputFile,
+            Diagnostics: true,
+            Incremental: true);
+
+        return new Compiler().CompileAsync(options);
+    }
+
+    private static string? AnalysedModules(CompilationResult result)
+    {
+        const string prefix = "Incremental build: analysing ";
+        return result.Diagnostics
+            .Select(d => d.Message)
+            .Where(m => m.StartsWith(prefix, StringComparison.Ordinal))
+            .Select(m => m[prefix.Length..].Replace(" modules", string.Empty))
+            .SingleOrDefault();
+    }
+}
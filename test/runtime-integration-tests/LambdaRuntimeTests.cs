@@ -60,6 +60,33 @@ public class LambdaRuntimeTests : RuntimeTestBase
         result.StandardError.Should().BeEmpty();
     }
 
+    [Fact]
+    public async Task Lambda_CaptureFreeInLoop_PassedToBuiltins_ShouldReuseInstance()
+    {
+        // Capture-free lambdas become shared singletons; the capturing one is still allocated per iteration.
+        var sourceCode = """
+            main(): int {
+                numbers: [int] = [1, 2, 3];
+                total: int = 0;
+                i: int = 0;
+                while (i < 3) {
+                    step: int = i;
+                    doubled: [int] = map(numbers, fun(x: int): int { return x * 2; });
+                    shifted: [int] = map(doubled, fun(x: int): int { return x + step; });
+                    total = total + foldleft(shifted, 0, fun(acc: int, x: int): int { return acc + x; });
+                    i = i + 1;
+                }
+                return total;
+            }
+            """;
+
+        var executablePath = await CompileSourceAsync(sourceCode);
+        var result = await ExecuteAsync(executablePath);
+
+        result.ExitCode.Should().Be(45);
+        result.StandardError.Should().BeEmpty();
+    }
+
     [Fact]
     public async Task Lambda_ShadowingOuterVar_ShouldFailWithDiagnostic()
     {
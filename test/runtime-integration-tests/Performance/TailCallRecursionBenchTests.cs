@@ -0,0 +1,103 @@
+using System.Diagnostics;
+using FluentAssertions;
+using Xunit;
+
+namespace runtime_integration_tests.Performance;
+
+/// <summary>
+/// Recursion-depth micro-benchmark for tail-call optimization. Compares a tail-recursive
+/// accumulator, a mutually tail-recursive pair and the equivalent while loop across depths
+/// that would overflow the stack if each call took a frame.
+/// </summary>
+public class TailCallRecursionBenchTests : RuntimeTestBase
+{
+    private static readonly int[] Depths = [100_000, 1_000_000, 10_000_000];
+
+    private static string SelfRecursiveSource(int depth) => $$"""
+        count_up(n: int, acc: int): int {
+            if (n <= 0) {
+                return acc;
+            }
+            return count_up(n - 1, acc + 1);
+        }
+
+        main(): int {
+            return count_up({{depth}}, 0) - {{depth}};
+        }
+        """;
+
+    private static string MutuallyRecursiveSource(int depth) => $$"""
+        ping(n: int, acc: int): int {
+            if (n <= 0) {
+                return acc;
+            }
+            return pong(n - 1, acc + 1);
+        }
+
+        pong(n: int, acc: int): int {
+            if (n <= 0) {
+                return acc;
+            }
+            return ping(n - 1, acc + 1);
+        }
+
+        main(): int {
+            return ping({{depth}}, 0) - {{depth}};
+        }
+        """;
+
+    private static string LoopSource(int depth) => $$"""
+        main(): int {
+            n: int = {{depth}};
+            acc: int = 0;
+            while (n > 0) {
+                n = n - 1;
+                acc = acc + 1;
+            }
+            return acc - {{depth}};
+        }
+        """;
+
+    [Fact]
+    public async Task BenchRecursionDepth_ShouldReportTimesWhenEnabled()
+    {
+        var benchEnabled = (Environment.GetEnvironmentVariable("FIFTH_TCO_BENCH") ?? string.Empty) == "1";
+        if (!benchEnabled)
+        {
+            Console.WriteLine("BENCH: Skipping recursion-depth bench since FIFTH_TCO_BENCH is not set.");
+            return;
+        }
+
+        foreach (var depth in Depths)
+        {
+            var loop = await TimeProgramAsync(LoopSource(depth), $"tco_loop_{depth}");
+            var self = await TimeProgramAsync(SelfRecursiveSource(depth), $"tco_self_{depth}");
+            var mutual = await TimeProgramAsync(MutuallyRecursiveSource(depth), $"tco_mutual_{depth}");
+
+            Console.WriteLine($"BENCH: depth={depth} loop={loop}ms selfTailRecursive={self}ms mutualTailRecursive={mutual}ms");
+        }
+    }
+
+    private async Task<long> TimeProgramAsync(string source, string name)
+    {
+        var executablePath = await CompileSourceAsync(source, name);
+
+        // Warmup
+        await ExecuteAsync(executablePath);
+
+        const int runs = 3;
+        var times = new List<long>(runs);
+        for (var r = 0; r < runs; r++)
+        {
+            var sw = Stopwatch.StartNew();
+            var result = await ExecuteAsync(executablePath);
+            sw.Stop();
+
+            result.ExitCode.Should().Be(0, $"{name} should run to completion without overflowing the stack");
+            result.StandardError.Should().BeEmpty();
+            times.Add(sw.ElapsedMilliseconds);
+        }
+
+        return times.OrderBy(t => t).ElementAt(runs / 2);
+    }
+}
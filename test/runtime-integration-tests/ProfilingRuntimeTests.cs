@@ -0,0 +1,87 @@
+using System.Reflection;
+using compiler;
+using FluentAssertions;
+using Fifth.System;
+
+namespace runtime_integration_tests;
+
+/// <summary>
+/// Tests for programs compiled with <c>--profile</c> and the <see cref="Profiling"/> runtime support.
+/// </summary>
+public class ProfilingRuntimeTests : RuntimeTestBase
+{
+    [Fact]
+    public async Task ProfiledProgram_CountsFunctionsClausesAndQueryApplications()
+    {
+        var src = """
+            profiled_sign(i: int | i < 0): int {
+                return 0 - 1;
+            }
+
+            profiled_sign(i: int): int {
+                return 1;
+            }
+
+            main(): int {
+                myStore: Store = Store.CreateInMemory();
+                myQuery: Query = ?<ASK { ?s ?p ?o }>;
+                result: Result = myQuery <- myStore;
+                return profiled_sign(0 - 5) + profiled_sign(3) + profiled_sign(7) + 10;
+            }
+            """;
+
+        var (assembly, fileName) = await CompileProfiledAsync(src, "profiled_program");
+
+        assembly.EntryPoint!.Invoke(null, assembly.EntryPoint.GetParameters().Length == 0 ? null : new object[] { Array.Empty<string>() })
+            .Should().Be(11);
+
+        var sites = Profiling.Snapshot();
+        sites.Should().ContainEquivalentOf(new { Kind = ProfileSiteKind.Function, Name = "profiled_sign", Count = 3L });
+        sites.Should().ContainEquivalentOf(new { Kind = ProfileSiteKind.Clause, Name = "profiled_sign#1", Count = 1L });
+        sites.Should().ContainEquivalentOf(new { Kind = ProfileSiteKind.Clause, Name = "profiled_sign#2", Count = 2L });
+        sites.Should().Contain(s => s.Kind == ProfileSiteKind.Query && s.Name.StartsWith(fileName + ":") && s.Count == 1);
+    }
+
+    [Fact]
+    public void Stop_PassesTheValueThroughAndCounts()
+    {
+        var site = Profiling.Query($"stop-{Guid.NewGuid():N}");
+
+        Profiling.Stop(site, Profiling.Start(), "value").Should().Be("value");
+        Profiling.Record(site, Profiling.Start());
+
+        site.Snapshot().Count.Should().Be(2);
+        Profiling.Query(site.Name).Should().BeSameAs(site);
+    }
+
+    [Fact]
+    public void Sites_AreCountedAcrossThreads()
+    {
+        var site = Profiling.Function($"threads-{Guid.NewGuid():N}");
+
+        Parallel.For(0, 10_000, _ => Profiling.Record(site, Profiling.Start()));
+
+        site.Snapshot().Count.Should().Be(10_000);
+        Profiling.ToJson().Should().Contain(site.Name);
+    }
+
+    private async Task<(Assembly Assembly, string FileName)> CompileProfiledAsync(string sourceCode, string name)
+    {
+        var fileName = $"{name}_{Guid.NewGuid():N}.5th";
+        var sourceFile = Path.Combine(TempDirectory, fileName);
+        var outputFile = Path.ChangeExtension(sourceFile, ".dll");
+        await File.WriteAllTextAsync(sourceFile, sourceCode);
+        GeneratedFiles.Add(sourceFile);
+        GeneratedFiles.Add(outputFile);
+
+        var result = await new Compiler().CompileAsync(new CompilerOptions(
+            Command: CompilerCommand.Build,
+            Source: sourceFile,
+            Output: outputFile,
+            Diagnostics: true,
+            Profile: true));
+
+        result.Success.Should().BeTrue(string.Join("\n", result.Diagnostics.Select(d => d.Message)));
+        return (Assembly.LoadFrom(outputFile), fileName);
+    }
+}
@@ -0,0 +1,64 @@
+using FluentAssertions;
+using Fifth.System;
+
+namespace runtime_integration_tests;
+
+/// <summary>
+/// Tests for QueryPushdown.Refine, which lowered list comprehensions use to push their
+/// constraints and projection into the SPARQL query they iterate.
+/// </summary>
+[Trait("Category", "SparqlComprehensions")]
+public class QueryPushdownTests
+{
+    private static Store People() => Store.LoadFromTriG("""
+        <http://ex.org/p1> <http://ex.org/name> "Alice" ; <http://ex.org/age> "28" .
+        <http://ex.org/p2> <http://ex.org/name> "Bob" ; <http://ex.org/age> "35" .
+        <http://ex.org/p3> <http://ex.org/name> "Carol" ; <http://ex.org/age> "unknown" .
+        """);
+
+    private static List<VDS.RDF.Query.ISparqlResult> Rows(Query query) =>
+        TabularResultBindings.EnumerateRows(QueryApplicationExecutor.Execute(query, People())).ToList();
+
+    [Fact]
+    public void Refine_AddsFilterAndNarrowsProjection()
+    {
+        var query = Query.Parse("SELECT ?p ?name ?age WHERE { ?p <http://ex.org/name> ?name ; <http://ex.org/age> ?age . }");
+
+        var refined = QueryPushdown.Refine(query, "STR(?name) != \"Bob\"", "name");
+        var rows = Rows(refined);
+
+        rows.Select(r => TabularResultBindings.GetBindingAsString(r, "name")).Should().BeEquivalentTo("Alice", "Carol");
+        rows.Should().OnlyContain(r => !r.HasValue("age"));
+    }
+
+    [Fact]
+    public void Refine_IsCachedPerQueryAndArguments()
+    {
+        var query = Query.Parse("SELECT ?name WHERE { ?p <http://ex.org/name> ?name . }");
+
+        QueryPushdown.Refine(query, "STR(?name) = \"Bob\"", "").Should()
+            .BeSameAs(QueryPushdown.Refine(query, "STR(?name) = \"Bob\"", ""));
+        QueryPushdown.Refine(query, "", "").Should().BeSameAs(query);
+    }
+
+    [Theory]
+    [InlineData("SELECT ?name WHERE { ?p <http://ex.org/name> ?name . } LIMIT 1")]
+    [InlineData("SELECT (COUNT(?p) AS ?name) WHERE { ?p <http://ex.org/name> ?n . }")]
+    [InlineData("ASK WHERE { ?p <http://ex.org/name> ?name . }")]
+    public void Refine_LeavesQueriesWhoseShapeWouldChangeTheRows(string text)
+    {
+        var query = Query.Parse(text);
+
+        QueryPushdown.Refine(query, "STR(?name) = \"Bob\"", "name").Should().BeSameAs(query);
+    }
+
+    [Fact]
+    public void Refine_KeepsProjectionOfDistinctQueries()
+    {
+        var query = Query.Parse("SELECT DISTINCT ?name ?age WHERE { ?p <http://ex.org/name> ?name ; <http://ex.org/age> ?age . }");
+
+        var rows = Rows(QueryPushdown.Refine(query, "", "name"));
+
+        rows.Should().HaveCount(3).And.OnlyContain(r => r.HasValue("age"));
+    }
+}
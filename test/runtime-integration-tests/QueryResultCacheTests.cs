@@ -0,0 +1,94 @@
+using FluentAssertions;
+using Fifth.System;
+
+namespace runtime_integration_tests;
+
+/// <summary>
+/// Tests for the opt-in query result cache of <see cref="Store"/>.
+/// </summary>
+[Trait("Category", "QueryApplication")]
+public class QueryResultCacheTests
+{
+    private static Store People() => Store.LoadFromTriG("""
+        <http://ex.org/p1> <http://ex.org/name> "Alice" .
+        <http://ex.org/p2> <http://ex.org/name> "Bob" .
+        """);
+
+    private static readonly Query Names = Query.Parse("SELECT ?name WHERE { ?p <http://ex.org/name> ?name . }");
+
+    [Fact]
+    public void RepeatedApplication_IsServedFromTheCache()
+    {
+        var store = People();
+        store.EnableQueryCache();
+
+        var first = QueryApplicationExecutor.Execute(Names, store);
+        var second = QueryApplicationExecutor.Execute(Query.Parse("SELECT ?name  WHERE { ?p <http://ex.org/name> ?name }"), store);
+
+        second.Should().BeSameAs(first);
+        store.QueryCacheStatistics.Should().BeEquivalentTo(new { Hits = 1L, Misses = 1L, Count = 1, Rows = 2L });
+    }
+
+    [Fact]
+    public void WritesThroughTheStore_InvalidateCachedResults()
+    {
+        var store = People();
+        store.EnableQueryCache();
+        var before = QueryApplicationExecutor.Execute(Names, store);
+        var version = store.Version;
+
+        var graph = store.CreateGraph(new Uri("http://ex.org/g"));
+        graph.Add(Triple.Create(
+            new VDS.RDF.UriNode(new Uri("http://ex.org/p3")),
+            new VDS.RDF.UriNode(new Uri("http://ex.org/name")),
+            new VDS.RDF.LiteralNode("Carol")));
+        store.AddGraphInPlace(graph);
+
+        var after = QueryApplicationExecutor.Execute(Names, store);
+
+        store.Version.Should().BeGreaterThan(version);
+        after.Should().NotBeSameAs(before);
+        store.QueryCacheStatistics.Should().BeEquivalentTo(new { Hits = 0L, Misses = 2L, Invalidations = 1L });
+    }
+
+    [Fact]
+    public void LeastRecentlyUsedEntry_IsEvictedFirst()
+    {
+        var store = People();
+        store.EnableQueryCache(maxEntries: 2);
+        var alice = Query.Parse("SELECT ?p WHERE { ?p <http://ex.org/name> \"Alice\" . }");
+        var bob = Query.Parse("SELECT ?p WHERE { ?p <http://ex.org/name> \"Bob\" . }");
+
+        QueryApplicationExecutor.Execute(Names, store);
+        QueryApplicationExecutor.Execute(alice, store);
+        QueryApplicationExecutor.Execute(Names, store);
+        QueryApplicationExecutor.Execute(bob, store);
+        QueryApplicationExecutor.Execute(Names, store);
+
+        store.QueryCacheStatistics.Should().BeEquivalentTo(new { Hits = 2L, Misses = 3L, Evictions = 1L, Count = 2 });
+    }
+
+    [Fact]
+    public void GraphResults_AreNotCached()
+    {
+        var store = People();
+        store.EnableQueryCache();
+        var construct = Query.Parse("CONSTRUCT { ?p <http://ex.org/label> ?name } WHERE { ?p <http://ex.org/name> ?name . }");
+
+        var first = QueryApplicationExecutor.Execute(construct, store);
+        var second = QueryApplicationExecutor.Execute(construct, store);
+
+        second.Should().NotBeSameAs(first);
+        store.QueryCacheStatistics!.Count.Should().Be(0);
+    }
+
+    [Fact]
+    public void CacheIsOffByDefault()
+    {
+        var store = People();
+
+        QueryApplicationExecutor.Execute(Names, store)
+            .Should().NotBeSameAs(QueryApplicationExecutor.Execute(Names, store));
+        store.QueryCacheStatistics.Should().BeNull();
+    }
+}
@@ -616,4 +616,42 @@ public class SparqlComprehensionIntegrationTests : RuntimeTestBase
         // Assert
         exitCode.Should().Be(3, $"Filtered comprehension should populate list correctly. Error: {error}");
     }
+
+    [Fact]
+    public async Task SparqlComprehension_OverQueryApplication_PushesConstraintsIntoQuery()
+    {
+        // Arrange - the source is the query application itself, so its constraints are pushed into the query
+        var source = """
+            main(): int {
+                myStore: Store = @<
+                    <http://ex.org/n1> <http://ex.org/num> "10" ;
+                                       <http://ex.org/name> "ten" .
+                    <http://ex.org/n2> <http://ex.org/num> "25" ;
+                                       <http://ex.org/name> "twenty-five" .
+                    <http://ex.org/n3> <http://ex.org/num> "30" ;
+                                       <http://ex.org/name> "thirty" .
+                    <http://ex.org/n4> <http://ex.org/num> "45" ;
+                                       <http://ex.org/name> "skip" .
+                >;
+
+                query: Query = ?<
+                    SELECT ?item ?num ?name
+                    WHERE {
+                        ?item <http://ex.org/num> ?num ;
+                              <http://ex.org/name> ?name .
+                    }
+                >;
+
+                names: [string] = [x.name from x in (query <- myStore) where int.Parse(x.num) > 20, x.name != "skip"];
+
+                return List.len(names);
+            }
+            """;
+
+        // Act
+        var (exitCode, output, error) = await CompileAndRunAsync(source, "sparql_comp_pushdown");
+
+        // Assert
+        exitCode.Should().Be(2, $"Pushed-down constraints should select the same rows. Error: {error}");
+    }
 }
@@ -0,0 +1,210 @@
+using System.Collections.Concurrent;
+using System.Net;
+using System.Net.Sockets;
+using FluentAssertions;
+using Fifth.System;
+using VDS.RDF.Storage;
+
+namespace runtime_integration_tests;
+
+/// <summary>
+/// Tests for the async and batched I/O API of <see cref="Store"/>, using a local stand-in for a
+/// Graph Store Protocol endpoint.
+/// </summary>
+public class StoreAsyncTests
+{
+    private static Graph NamedGraph(Store store, int i)
+    {
+        var graph = store.CreateGraph(new Uri($"http://ex.org/g{i}"));
+        graph.Add(Triple.Create(
+            new VDS.RDF.UriNode(new Uri($"http://ex.org/s{i}")),
+            new VDS.RDF.UriNode(new Uri("http://ex.org/p")),
+            new VDS.RDF.LiteralNode(i.ToString())));
+        return graph;
+    }
+
+    [Fact]
+    public async Task SaveGraphsAsync_InMemory_SavesEveryGraphAndBumpsTheVersionOnce()
+    {
+        var store = Store.CreateInMemory();
+        var version = store.Version;
+
+        await store.SaveGraphsAsync(Enumerable.Range(0, 3).Select(i => NamedGraph(store, i)));
+
+        store.Version.Should().Be(version + 1);
+        for (var i = 0; i < 3; i++)
+        {
+            (await store.LoadGraphAsync(new Uri($"http://ex.org/g{i}"))).Count.Should().Be(1);
+        }
+    }
+
+    [Fact]
+    public async Task SaveGraphsAsync_ArgumentValidation()
+    {
+        var store = Store.CreateInMemory();
+
+        await store.Invoking(s => s.SaveGraphsAsync(null!)).Should().ThrowAsync<ArgumentNullException>();
+        await store.Invoking(s => s.SaveGraphsAsync(new Graph[] { null! })).Should().ThrowAsync<ArgumentException>();
+    }
+
+    [Fact]
+    public async Task SaveGraphsAsync_GraphStoreEndpoint_PipelinesRequests()
+    {
+        using var endpoint = new GraphStoreStandIn(TimeSpan.FromMilliseconds(100));
+        var store = Store.CreateSparqlStore(endpoint.Uri);
+        var graphs = Enumerable.Range(0, 16).Select(i => NamedGraph(store, i)).ToList();
+
+        await store.SaveGraphsAsync(graphs);
+
+        endpoint.Writes.Should().HaveCount(16);
+        endpoint.MaxInFlight.Should().BeGreaterThan(1, "batched writes should not wait for each round trip");
+    }
+
+    [Fact]
+    public async Task SaveGraphsAsync_GraphStoreEndpoint_PartialFailure_StillBumpsTheVersion()
+    {
+        using var endpoint = new GraphStoreStandIn(TimeSpan.FromMilliseconds(20), failingGraph: "g2");
+        var store = Store.CreateSparqlStore(endpoint.Uri);
+        var graphs = Enumerable.Range(0, 4).Select(i => NamedGraph(store, i)).ToList();
+        var version = store.Version;
+
+        await store.Invoking(s => s.SaveGraphsAsync(graphs)).Should().ThrowAsync<Exception>();
+
+        endpoint.Writes.Should().HaveCount(3);
+        store.Version.Should().Be(version + 1, "the graphs that were written make cached results stale");
+    }
+
+    [Fact]
+    public async Task SaveGraphsAsync_UpdateableProvider_ReplacesEveryGraphInOneUpdate()
+    {
+        var tripleStore = new VDS.RDF.TripleStore();
+        var store = Store.FromVds(new InMemoryManager(tripleStore));
+        store.SaveGraph(NamedGraph(store, 0));
+        store.SaveGraph(NamedGraph(store, 1));
+        var version = store.Version;
+
+        var replacement = store.CreateGraph(new Uri("http://ex.org/g0"));
+        replacement.Add(Triple.Create(
+            new VDS.RDF.UriNode(new Uri("http://ex.org/s9")),
+            new VDS.RDF.UriNode(new Uri("http://ex.org/p")),
+            new VDS.RDF.LiteralNode("9")));
+        var cleared = store.CreateGraph(new Uri("http://ex.org/g1"));
+
+        await store.SaveGraphsAsync([replacement, cleared, NamedGraph(store, 2)]);
+
+        store.Version.Should().Be(version + 1);
+        tripleStore[new VDS.RDF.UriNode(new Uri("http://ex.org/g0"))].Triples.Should().ContainSingle()
+            .Which.Subject.Should().Be(new VDS.RDF.UriNode(new Uri("http://ex.org/s9")));
+        tripleStore.HasGraph(new VDS.RDF.UriNode(new Uri("http://ex.org/g1")))
+            .Should().BeFalse("the update drops a graph saved empty rather than storing an empty graph");
+        tripleStore[new VDS.RDF.UriNode(new Uri("http://ex.org/g2"))].Triples.Should().HaveCount(1);
+    }
+
+    [Fact]
+    public void SaveGraph_GraphStoreEndpoint_IsOneRoundTripAtATime()
+    {
+        using var endpoint = new GraphStoreStandIn(TimeSpan.FromMilliseconds(20));
+        var store = Store.CreateSparqlStore(endpoint.Uri);
+
+        foreach (var graph in Enumerable.Range(0, 4).Select(i => NamedGraph(store, i)))
+        {
+            store.SaveGraph(graph);
+        }
+
+        endpoint.Writes.Should().HaveCount(4);
+        endpoint.MaxInFlight.Should().Be(1);
+    }
+
+    /// <summary>
+    /// Accepts Graph Store Protocol writes on a loopback port, answering each after a fixed latency.
+    /// </summary>
+    private sealed class GraphStoreStandIn : IDisposable
+    {
+        private readonly HttpListener _listener = new();
+        private readonly TimeSpan _latency;
+        private readonly string? _failingGraph;
+        private int _inFlight;
+        private int _maxInFlight;
+
+        /// <param name="failingGraph">Writes to a graph whose name contains this text are answered with an error.</param>
+        public GraphStoreStandIn(TimeSpan latency, string? failingGraph = null)
+        {
+            _latency = latency;
+            _failingGraph = failingGraph;
+            Uri = new Uri($"http://localhost:{FreePort()}/data/");
+            _listener.Prefixes.Add(Uri.AbsoluteUri);
+            _listener.Start();
+            _ = Task.Run(AcceptLoop);
+        }
+
+        public Uri Uri { get; }
+
+        public ConcurrentBag<string> Writes { get; } = new();
+
+        public int MaxInFlight => Volatile.Read(ref _maxInFlight);
+
+        public void Dispose() => _listener.Close();
+
+        private async Task AcceptLoop()
+        {
+            while (_listener.IsListening)
+            {
+                HttpListenerContext context;
+                try
+                {
+                    context = await _listener.GetContextAsync();
+                }
+                catch (Exception ex) when (ex is HttpListenerException or ObjectDisposedException)
+                {
+                    return;
+                }
+
+                _ = Task.Run(() => Handle(context));
+            }
+        }
+
+        private async Task Handle(HttpListenerContext context)
+        {
+            var inFlight = Interlocked.Increment(ref _inFlight);
+            int max;
+            while (inFlight > (max = Volatile.Read(ref _maxInFlight)) &&
+                   Interlocked.CompareExchange(ref _maxInFlight, inFlight, max) != max)
+            {
+            }
+
+            try
+            {
+                using var reader = new StreamReader(context.Request.InputStream);
+                await reader.ReadToEndAsync();
+                await Task.Delay(_latency);
+                var query = context.Request.Url!.Query;
+                if (_failingGraph != null && query.Contains(_failingGraph, StringComparison.Ordinal))
+                {
+                    context.Response.StatusCode = (int)HttpStatusCode.InternalServerError;
+                    return;
+                }
+
+                if (context.Request.HttpMethod is "PUT" or "POST")
+                {
+                    Writes.Add(query);
+                }
+
+                context.Response.StatusCode = (int)HttpStatusCode.Created;
+            }
+            finally
+            {
+                Interlocked.Decrement(ref _inFlight);
+                context.Response.Close();
+            }
+        }
+
+        private static int FreePort()
+        {
+            var listener = new TcpListener(IPAddress.Loopback, 0);
+            listener.Start();
+            var port = ((IPEndPoint)listener.LocalEndpoint).Port;
+            listener.Stop();
+            return port;
+        }
+    }
+}
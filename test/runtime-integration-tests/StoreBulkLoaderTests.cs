@@ -0,0 +1,159 @@
+using FluentAssertions;
+using Fifth.System;
+
+namespace runtime_integration_tests;
+
+/// <summary>
+/// Tests for streaming RDF files into stores with <see cref="StoreBulkLoader"/>.
+/// </summary>
+public class StoreBulkLoaderTests : IDisposable
+{
+    private readonly string _dir = Path.Combine(Path.GetTempPath(), $"fifth-bulk-{Guid.NewGuid():N}");
+
+    public StoreBulkLoaderTests()
+    {
+        Directory.CreateDirectory(_dir);
+    }
+
+    public void Dispose()
+    {
+        try { if (Directory.Exists(_dir)) Directory.Delete(_dir, true); } catch { }
+    }
+
+    private string WriteFile(string name, string content)
+    {
+        var path = Path.Combine(_dir, name);
+        File.WriteAllText(path, content);
+        return path;
+    }
+
+    private string NQuads(int count, string graph)
+    {
+        var path = Path.Combine(_dir, $"data-{count}.nq");
+        using var writer = new StreamWriter(path);
+        for (var i = 0; i < count; i++)
+        {
+            writer.WriteLine($"<http://ex.org/s{i}> <http://ex.org/p> \"{i}\" <{graph}> .");
+        }
+        return path;
+    }
+
+    [Fact]
+    public void Load_NQuads_InBatches_ReportsProgress()
+    {
+        var store = Store.CreateInMemory();
+        var path = NQuads(1_000, "http://ex.org/g");
+        var reports = new List<BulkLoadProgress>();
+
+        var result = StoreBulkLoader.Load(store, path, batchSize: 300, progress: new SynchronousProgress(reports.Add));
+
+        result.Triples.Should().Be(1_000);
+        result.BytesRead.Should().Be(result.TotalBytes);
+        reports.Select(r => r.Triples).Should().BeInAscendingOrder().And.HaveCountGreaterThanOrEqualTo(4);
+        store.LoadGraph(new Uri("http://ex.org/g")).Count.Should().Be(1_000);
+    }
+
+    [Fact]
+    public void Load_TriG_WritesNamedAndDefaultGraphs()
+    {
+        var store = Store.CreateInMemory();
+        var version = store.Version;
+        var path = WriteFile("data.trig", """
+            @prefix ex: <http://ex.org/> .
+            ex:a ex:p ex:b .
+            ex:g { ex:c ex:p ex:d . ex:e ex:p ex:f . }
+            """);
+
+        var result = StoreBulkLoader.Load(store, path, batchSize: 1);
+
+        result.Triples.Should().Be(3);
+        store.LoadGraph(new Uri("http://ex.org/g")).Count.Should().Be(2);
+        store.Version.Should().BeGreaterThan(version);
+    }
+
+    [Fact]
+    public void Load_Turtle_GoesToTheDefaultGraph()
+    {
+        var store = Store.CreateInMemory();
+        var path = WriteFile("data.ttl", """
+            @prefix ex: <http://ex.org/> .
+            ex:a ex:p ex:b, ex:c .
+            """);
+
+        StoreBulkLoader.Load(store, path).Triples.Should().Be(2);
+        store.GetTripleStore()!.Graphs.Sum(g => g.Triples.Count).Should().Be(2);
+    }
+
+    [Fact]
+    public void Load_IntoADerivedStore_LeavesTheOriginalsUnchanged()
+    {
+        var a = Store.CreateInMemory();
+        var saved = NamedGraph(a, "http://ex.org/g", "s0");
+        a.SaveGraph(saved);
+        var b = NamedGraph(a, "http://ex.org/h", "s0");
+        var derived = a + b;
+        var path = WriteFile("more.nq", """
+            <http://ex.org/s1> <http://ex.org/p> "1" <http://ex.org/g> .
+            <http://ex.org/s1> <http://ex.org/p> "1" <http://ex.org/h> .
+            """);
+
+        StoreBulkLoader.Load(derived, path).Triples.Should().Be(2);
+
+        derived.LoadGraph(new Uri("http://ex.org/g")).Count.Should().Be(2);
+        derived.LoadGraph(new Uri("http://ex.org/h")).Count.Should().Be(2);
+        a.LoadGraph(new Uri("http://ex.org/g")).Count.Should().Be(1);
+        a.GetTripleStore()!.HasGraph(new VDS.RDF.UriNode(new Uri("http://ex.org/h"))).Should().BeFalse();
+        saved.Count.Should().Be(1);
+        b.Count.Should().Be(1);
+    }
+
+    [Fact]
+    [Trait("Category", "QuadStore")]
+    public void Load_FileStore_PersistsEveryBatch()
+    {
+        var store = Store.CreateFileStore(Path.Combine(_dir, "store"));
+        var path = NQuads(250, "http://ex.org/big");
+
+        StoreBulkLoader.Load(store, path, batchSize: 100).Triples.Should().Be(250);
+
+        store.LoadGraph(new Uri("http://ex.org/big")).Count.Should().Be(250);
+    }
+
+    private static Graph NamedGraph(Store store, string uri, string subject)
+    {
+        var graph = store.CreateGraph(new Uri(uri));
+        graph.Add(Triple.Create(
+            new VDS.RDF.UriNode(new Uri($"http://ex.org/{subject}")),
+            new VDS.RDF.UriNode(new Uri("http://ex.org/p")),
+            new VDS.RDF.LiteralNode("0")));
+        return graph;
+    }
+
+    [Theory]
+    [InlineData("a.trig", RdfFileFormat.TriG)]
+    [InlineData("a.NQ", RdfFileFormat.NQuads)]
+    [InlineData("a.ttl", RdfFileFormat.Turtle)]
+    [InlineData("a.nt", RdfFileFormat.NTriples)]
+    public void InferFormat_UsesTheExtension(string path, RdfFileFormat expected)
+    {
+        StoreBulkLoader.InferFormat(path).Should().Be(expected);
+    }
+
+    [Fact]
+    public void Load_UnknownExtension_Throws()
+    {
+        var path = WriteFile("data.bin", "");
+
+        var act = () => StoreBulkLoader.Load(Store.CreateInMemory(), path);
+
+        act.Should().Throw<NotSupportedException>();
+    }
+
+    /// <summary>
+    /// Reports on the calling thread, unlike <see cref="Progress{T}"/>, so assertions see every report.
+    /// </summary>
+    private sealed class SynchronousProgress(Action<BulkLoadProgress> report) : IProgress<BulkLoadProgress>
+    {
+        public void Report(BulkLoadProgress value) => report(value);
+    }
+}